@@ -0,0 +1,106 @@
+-- Index tagFQN to rename tag labels by FQN prefix without scanning tag_usage
+CREATE INDEX tag_usage_tag_fqn_index ON tag_usage(tagFQN);
+
+-- Index usage by entity to compute the rolling weekly and monthly counts from the last 30 days of an entity
+CREATE INDEX entity_usage_id_date_index ON entity_usage(id, usageDate);
+
+-- Generated columns for the list filters of users and teams, so that they are indexed instead of extracted from json
+ALTER TABLE user_entity
+ADD COLUMN isBot BOOLEAN GENERATED ALWAYS AS (json -> '$.isBot'),
+ADD COLUMN isAdmin BOOLEAN GENERATED ALWAYS AS (json -> '$.isAdmin'),
+ADD INDEX user_entity_is_bot_index (isBot),
+ADD INDEX user_entity_is_admin_index (isAdmin);
+
+ALTER TABLE team_entity
+ADD COLUMN isJoinable BOOLEAN GENERATED ALWAYS AS (json -> '$.isJoinable'),
+ADD INDEX team_entity_is_joinable_index (isJoinable);
+
+-- Index the test cases by the entity they test. The column is shortened to fit the maximum index key length
+ALTER TABLE test_case MODIFY entityFQN VARCHAR(768) GENERATED ALWAYS AS (json ->> '$.entityFQN') NOT NULL;
+ALTER TABLE test_case ADD INDEX test_case_entity_fqn_index (entityFQN);
+
+CREATE INDEX type_entity_category_index ON type_entity(category);
+
+-- Posts of the feed threads, stored one per row so that a reply is appended instead of rewriting the thread.
+-- The thread documents keep the posts count and their latest posts for listing threads
+CREATE TABLE IF NOT EXISTS thread_post_entity (
+    id VARCHAR(36) GENERATED ALWAYS AS (json ->> '$.id') STORED NOT NULL,
+    threadId VARCHAR(36) NOT NULL,
+    postTs BIGINT UNSIGNED GENERATED ALWAYS AS (json ->> '$.postTs') STORED NOT NULL,
+    json JSON NOT NULL,
+    PRIMARY KEY (id),
+    INDEX thread_post_entity_thread_ts_index (threadId, postTs, id)
+);
+
+INSERT INTO thread_post_entity (threadId, json)
+SELECT t.id, p.post FROM thread_entity t, JSON_TABLE(t.json, '$.posts[*]' COLUMNS (post JSON PATH '$')) p;
+
+-- Counts of the threads by entity link, maintained with the threads for the feed count APIs
+CREATE TABLE IF NOT EXISTS thread_count (
+    entityLink VARCHAR(256) NOT NULL,
+    type VARCHAR(64) NOT NULL,
+    taskStatus VARCHAR(64) NOT NULL,
+    resolved BOOLEAN NOT NULL,
+    entityId VARCHAR(36) NOT NULL,
+    aboutFQN VARCHAR(256) NOT NULL,
+    aboutType VARCHAR(256) NOT NULL,
+    count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (entityLink, type, taskStatus, resolved),
+    INDEX thread_count_about_fqn_index (aboutFQN),
+    INDEX thread_count_entity_id_index (entityId)
+);
+
+INSERT INTO thread_count(entityLink, type, taskStatus, resolved, entityId, aboutFQN, aboutType, count)
+SELECT te.entityLink, te.type, COALESCE(te.taskStatus, ''), COALESCE(te.resolved, FALSE), te.entityId,
+MIN(fr.toFQN), MIN(fr.toType), COUNT(te.id)
+FROM thread_entity te INNER JOIN field_relationship fr ON fr.fromFQN = te.id
+WHERE fr.fromType = 'THREAD' AND fr.relation = 3
+GROUP BY te.entityLink, te.type, COALESCE(te.taskStatus, ''), COALESCE(te.resolved, FALSE), te.entityId;
+
+-- Counts of the threads in the inbox of each user, the threads they created or replied to and the threads about the
+-- entities owned by them or their teams, so that the count of the threads of a user is read from its own rows
+CREATE TABLE IF NOT EXISTS thread_owner_count (
+    ownerId VARCHAR(36) NOT NULL,
+    entityLink VARCHAR(256) NOT NULL,
+    type VARCHAR(64) NOT NULL,
+    resolved BOOLEAN NOT NULL,
+    entityId VARCHAR(36) NOT NULL,
+    count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (ownerId, entityLink, type, resolved),
+    INDEX thread_owner_count_entity_id_index (entityId)
+);
+
+INSERT INTO thread_owner_count(ownerId, entityLink, type, resolved, entityId, count)
+SELECT o.ownerId, te.entityLink, te.type, COALESCE(te.resolved, FALSE), te.entityId, COUNT(te.id)
+FROM thread_entity te INNER JOIN (
+    SELECT fromId ownerId, toId threadId FROM entity_relationship
+    WHERE fromEntity = 'user' AND toEntity = 'THREAD' AND relation IN (1, 2)
+    UNION
+    SELECT er.fromId, t.id FROM thread_entity t INNER JOIN entity_relationship er ON er.toId = t.entityId
+    WHERE er.fromEntity = 'user' AND er.relation = 8
+    UNION
+    SELECT m.toId, t.id FROM thread_entity t INNER JOIN entity_relationship er ON er.toId = t.entityId
+    INNER JOIN entity_relationship m ON m.fromId = er.fromId
+    WHERE er.fromEntity = 'team' AND er.relation = 8 AND m.fromEntity = 'team' AND m.toEntity = 'user' AND m.relation = 10
+) o ON o.threadId = te.id
+GROUP BY o.ownerId, te.entityLink, te.type, COALESCE(te.resolved, FALSE), te.entityId;
+
+-- Sample data of the tables in chunks of rows and columns, compressed, so that a page of rows or a few columns are
+-- read without the rest. The sample data stored as JSON in entity_extension is converted when it is first read
+CREATE TABLE IF NOT EXISTS table_sample_data (
+    tableId VARCHAR(36) NOT NULL,
+    chunk INT NOT NULL,
+    data MEDIUMBLOB NOT NULL,
+    PRIMARY KEY (tableId, chunk)
+);
+
+-- The rollups of each report data type are updated under a lock of its row, and rebuilt once after the upgrade from the
+-- report data added before the rollups were maintained
+CREATE TABLE IF NOT EXISTS report_data_rollup_state (
+    reportDataType VARCHAR(256) NOT NULL,
+    rebuilt BOOLEAN NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (reportDataType)
+);
+
+-- Page through the report data of a type by timestamp when rebuilding its rollups
+CREATE INDEX entity_extension_time_series_fqn_ts_index ON entity_extension_time_series(entityFQN(512), timestamp);
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.annotations.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes, at compile time, the index of the REST collections and of the classes providing
+ * policy functions. The server reads the index at startup instead of scanning the classpath for these annotations.
+ *
+ * <p>The annotations are matched by name, since they are declared in modules that depend on this one.
+ */
+@SupportedAnnotationTypes({ResourceIndexProcessor.COLLECTION_ANNOTATION, ResourceIndexProcessor.FUNCTION_ANNOTATION})
+public class ResourceIndexProcessor extends AbstractProcessor {
+  static final String COLLECTION_ANNOTATION = "org.openmetadata.service.resources.Collection";
+  static final String FUNCTION_ANNOTATION = "org.openmetadata.schema.Function";
+
+  /** Class names of the resources annotated with {@code @Collection}, one per line */
+  public static final String COLLECTION_INDEX = "META-INF/openmetadata/collections.idx";
+
+  /** Class names of the classes with methods annotated with {@code @Function}, one per line */
+  public static final String FUNCTION_INDEX = "META-INF/openmetadata/functions.idx";
+
+  private final Set<String> collections = new TreeSet<>();
+  private final Set<String> functions = new TreeSet<>();
+
+  /** Classes compiled by this compilation, the other classes of an existing index are kept */
+  private final Set<String> compiled = new HashSet<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getRootElements()) {
+      if (element instanceof TypeElement) {
+        addCompiled((TypeElement) element);
+      }
+    }
+    for (TypeElement annotation : annotations) {
+      String name = annotation.getQualifiedName().toString();
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        if (COLLECTION_ANNOTATION.equals(name) && element instanceof TypeElement) {
+          collections.add(binaryName((TypeElement) element));
+        } else if (FUNCTION_ANNOTATION.equals(name) && element.getEnclosingElement() instanceof TypeElement) {
+          functions.add(binaryName((TypeElement) element.getEnclosingElement()));
+        }
+      }
+    }
+    if (roundEnv.processingOver()) {
+      writeIndex(COLLECTION_INDEX, merge(COLLECTION_INDEX, collections));
+      writeIndex(FUNCTION_INDEX, merge(FUNCTION_INDEX, functions));
+    }
+    // Do not claim the annotations, other processors may need them
+    return false;
+  }
+
+  private void addCompiled(TypeElement element) {
+    compiled.add(binaryName(element));
+    for (Element enclosed : element.getEnclosedElements()) {
+      if (enclosed instanceof TypeElement) {
+        addCompiled((TypeElement) enclosed);
+      }
+    }
+  }
+
+  /**
+   * Add the classes of the existing index that were not compiled again. An incremental compilation only processes the
+   * changed sources, and would otherwise write an index without the classes of the other sources. The classes that no
+   * longer exist are dropped.
+   */
+  private Set<String> merge(String location, Set<String> classNames) {
+    Set<String> merged = new TreeSet<>(classNames);
+    try {
+      FileObject file = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", location);
+      try (BufferedReader reader = new BufferedReader(file.openReader(true))) {
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+          String className = line.trim();
+          if (!className.isEmpty() && !compiled.contains(className) && exists(className)) {
+            merged.add(className);
+          }
+        }
+      }
+    } catch (IOException e) {
+      // No index from a previous compilation
+    }
+    return merged;
+  }
+
+  private boolean exists(String binaryName) {
+    return processingEnv.getElementUtils().getTypeElement(binaryName.replace('$', '.')) != null;
+  }
+
+  private String binaryName(TypeElement element) {
+    return processingEnv.getElementUtils().getBinaryName(element).toString();
+  }
+
+  private void writeIndex(String location, Set<String> classNames) {
+    if (classNames.isEmpty()) {
+      return; // Nothing to index in this module
+    }
+    try {
+      FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", location);
+      try (Writer writer = file.openWriter()) {
+        for (String className : classNames) {
+          writer.write(className);
+          writer.write('\n');
+        }
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + location + ": " + e);
+    }
+  }
+}
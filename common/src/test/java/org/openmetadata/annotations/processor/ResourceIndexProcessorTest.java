@@ -0,0 +1,105 @@
+package org.openmetadata.annotations.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResourceIndexProcessorTest {
+  @TempDir Path dir;
+
+  @Test
+  void testIndexesCollectionsAndFunctions() throws IOException {
+    Path output =
+        compile(
+            source(
+                "org/openmetadata/service/resources/Collection.java",
+                "package org.openmetadata.service.resources; public @interface Collection { String name(); }"),
+            source(
+                "org/openmetadata/schema/Function.java",
+                "package org.openmetadata.schema; public @interface Function { String name(); }"),
+            source(
+                "test/TableResource.java",
+                "package test; @org.openmetadata.service.resources.Collection(name = \"tables\")"
+                    + " public class TableResource { @org.openmetadata.service.resources.Collection(name = \"nested\")"
+                    + " public static class Nested {} }"),
+            source(
+                "test/RuleEvaluator.java",
+                "package test; public class RuleEvaluator {"
+                    + " @org.openmetadata.schema.Function(name = \"a\") public boolean a() { return true; }"
+                    + " @org.openmetadata.schema.Function(name = \"b\") public boolean b() { return true; } }"));
+
+    assertEquals(
+        List.of("test.TableResource", "test.TableResource$Nested"),
+        Files.readAllLines(output.resolve(ResourceIndexProcessor.COLLECTION_INDEX)));
+    assertEquals(
+        List.of("test.RuleEvaluator"), Files.readAllLines(output.resolve(ResourceIndexProcessor.FUNCTION_INDEX)));
+  }
+
+  @Test
+  void testIncrementalCompilationKeepsIndexedClasses() throws IOException {
+    compile(
+        source(
+            "org/openmetadata/service/resources/Collection.java",
+            "package org.openmetadata.service.resources; public @interface Collection { String name(); }"),
+        source(
+            "test/TableResource.java",
+            "package test; @org.openmetadata.service.resources.Collection(name = \"tables\")"
+                + " public class TableResource {}"),
+        source(
+            "test/ChartResource.java",
+            "package test; @org.openmetadata.service.resources.Collection(name = \"charts\")"
+                + " public class ChartResource {}"));
+    Files.delete(dir.resolve("classes/test/ChartResource.class"));
+
+    // Compile only the changed source, the classes compiled before are on the classpath
+    Path output =
+        compile(
+            source(
+                "test/TopicResource.java",
+                "package test; @org.openmetadata.service.resources.Collection(name = \"topics\")"
+                    + " public class TopicResource {}"));
+
+    assertEquals(
+        List.of("test.TableResource", "test.TopicResource"),
+        Files.readAllLines(output.resolve(ResourceIndexProcessor.COLLECTION_INDEX)));
+  }
+
+  @Test
+  void testNoIndexWithoutAnnotations() throws IOException {
+    Path output = compile(source("test/Plain.java", "package test; public class Plain {}"));
+
+    assertTrue(Files.exists(output.resolve("test/Plain.class")));
+    assertFalse(Files.exists(output.resolve(ResourceIndexProcessor.COLLECTION_INDEX)));
+    assertFalse(Files.exists(output.resolve(ResourceIndexProcessor.FUNCTION_INDEX)));
+  }
+
+  private Path source(String path, String content) throws IOException {
+    Path file = dir.resolve("src").resolve(path);
+    Files.createDirectories(file.getParent());
+    return Files.writeString(file, content);
+  }
+
+  private Path compile(Path... sources) throws IOException {
+    Path output = Files.createDirectories(dir.resolve("classes"));
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+      Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sources);
+      List<String> options = List.of("-d", output.toString(), "-classpath", output.toString());
+      JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, options, null, units);
+      task.setProcessors(List.of(new ResourceIndexProcessor()));
+      assertTrue(task.call());
+    }
+    return output;
+  }
+}
@@ -21,14 +21,12 @@ import json
 import os
 import shutil
 import traceback
-from datetime import datetime
 from pathlib import Path
 from typing import List, Optional
 
 from pydantic import ValidationError
 
 from metadata.config.common import ConfigModel
-from metadata.generated.schema.entity.data.database import Database
 from metadata.generated.schema.entity.data.table import (
     ColumnJoins,
     JoinedWith,
@@ -38,8 +36,8 @@ from metadata.generated.schema.entity.data.table import (
 from metadata.generated.schema.entity.services.connections.metadata.openMetadataConnection import (
     OpenMetadataConnection,
 )
+from metadata.generated.schema.type.bulkUsage import BulkUsage, EntityUsageCount
 from metadata.generated.schema.type.tableUsageCount import TableColumn, TableUsageCount
-from metadata.generated.schema.type.usageRequest import UsageRequest
 from metadata.ingestion.api.bulk_sink import BulkSink, BulkSinkStatus
 from metadata.ingestion.lineage.sql_lineage import (
     get_column_fqn,
@@ -84,7 +82,6 @@ class MetadataUsageBulkSink(BulkSink):
         self.status = BulkSinkStatus()
         self.table_join_dict = {}
         self.table_usage_map = {}
-        self.today = datetime.today().strftime("%Y-%m-%d")
 
     @classmethod
     def create(cls, config_dict: dict, metadata_config: OpenMetadataConnection):
@@ -119,40 +116,50 @@ class MetadataUsageBulkSink(BulkSink):
         """
         Method to publish SQL Queries, Table Usage
         """
+        usage_by_date = {}
         for _, value_dict in self.table_usage_map.items():
-            table_usage_request = None
             try:
-                table_usage_request = UsageRequest(
-                    date=value_dict["usage_date"], count=value_dict["usage_count"]
-                )
                 self.metadata.ingest_table_queries_data(
                     table=value_dict["table_entity"],
                     table_queries=value_dict["sql_queries"],
                 )
-                self.metadata.publish_table_usage(
-                    value_dict["table_entity"], table_usage_request
-                )
-                logger.info(
-                    f"Successfully table usage published for {value_dict['table_entity'].fullyQualifiedName.__root__}"
-                )
-                self.status.records_written(
-                    f"Table: {value_dict['table_entity'].fullyQualifiedName.__root__}"
+                usage_by_date.setdefault(value_dict["usage_date"], []).append(
+                    EntityUsageCount(
+                        id=value_dict["table_entity"].id,
+                        count=value_dict["usage_count"],
+                    )
                 )
             except ValidationError as err:
                 logger.debug(traceback.format_exc())
                 logger.warning(
-                    f"Cannot construct UsageRequest from {value_dict['table_entity']}: {err}"
+                    f"Cannot construct EntityUsageCount from {value_dict['table_entity']}: {err}"
                 )
             except Exception as exc:
                 logger.debug(traceback.format_exc())
                 logger.warning(
-                    f"Failed to update usage for {value_dict['table_entity'].fullyQualifiedName.__root__} :{exc}"
+                    f"Failed to ingest queries for {value_dict['table_entity'].fullyQualifiedName.__root__} :{exc}"
                 )
-                self.status.failures.append(table_usage_request)
                 self.status.failures.append(
                     f"Table: {value_dict['table_entity'].fullyQualifiedName.__root__}"
                 )
 
+        # Publish the usage of all the tables of a date in a single request
+        for usage_date, usage in usage_by_date.items():
+            try:
+                self.metadata.publish_bulk_table_usage(
+                    BulkUsage(entityType="table", date=usage_date, usage=usage)
+                )
+                logger.info(
+                    f"Successfully published usage of {len(usage)} tables on {usage_date}"
+                )
+                self.status.records_written(
+                    f"Table usage: {len(usage)} tables on {usage_date}"
+                )
+            except Exception as exc:
+                logger.debug(traceback.format_exc())
+                logger.warning(f"Failed to publish table usage on {usage_date}: {exc}")
+                self.status.failures.append(f"Table usage on {usage_date}")
+
     def iterate_files(self):
         """
         Iterate through files in the given directory
@@ -321,11 +328,5 @@ class MetadataUsageBulkSink(BulkSink):
     def close(self):
         if Path(self.config.filename).exists():
             shutil.rmtree(self.config.filename)
-        try:
-            self.metadata.compute_percentile(Table, self.today)
-            self.metadata.compute_percentile(Database, self.today)
-        except APIError as err:
-            logger.debug(traceback.format_exc())
-            logger.warning(f"Failed to publish compute.percentile: {err}")
 
         self.metadata.close()
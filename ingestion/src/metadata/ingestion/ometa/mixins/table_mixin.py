@@ -35,6 +35,7 @@ from metadata.generated.schema.entity.data.table import (
     TableProfilerConfig,
 )
 from metadata.generated.schema.type.basic import FullyQualifiedEntityName, Uuid
+from metadata.generated.schema.type.bulkUsage import BulkUsage
 from metadata.generated.schema.type.usageRequest import UsageRequest
 from metadata.ingestion.ometa.client import REST
 from metadata.ingestion.ometa.models import EntityList
@@ -200,6 +201,15 @@ class OMetaTableMixin:
         )
         logger.debug("published table usage %s", resp)
 
+    def publish_bulk_table_usage(self, bulk_usage: BulkUsage) -> None:
+        """
+        POST usage details of many Tables on the same date
+
+        :param bulk_usage: Usage counts of the tables on a date
+        """
+        resp = self.client.post("/usage/bulk", data=bulk_usage.json())
+        logger.debug("published bulk table usage %s", resp)
+
     def publish_frequently_joined_with(
         self, table: Table, table_join_request: TableJoins
     ) -> None:
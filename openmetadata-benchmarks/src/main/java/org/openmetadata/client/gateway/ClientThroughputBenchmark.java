@@ -0,0 +1,140 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.gateway;
+
+import com.google.common.io.CountingInputStream;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Headers;
+import feign.RequestLine;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.client.ApiClient;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.services.connections.metadata.OpenMetadataConnection;
+import org.openmetadata.service.benchmarks.BenchmarkFixtures;
+
+/**
+ * Bulk ingestion of tables through the Java client, from several threads, against a local server reading the request
+ * bodies. On the loopback interface the network is never the bottleneck, so the server can emulate a link of limited
+ * bandwidth by holding each request for the time its body takes to be transferred.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ClientThroughputBenchmark {
+  private static final byte[] RESPONSE = "{}".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"200"})
+  public int columns;
+
+  @Param({"false", "true"})
+  public boolean gzip;
+
+  /** Below the number of benchmark threads, connections are closed and opened again between requests */
+  @Param({"2", "16"})
+  public int maxIdleConnections;
+
+  /** Bandwidth of the emulated link in Mbit/s, 0 for the loopback interface as it is */
+  @Param({"0", "100"})
+  public int linkMbps;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private TablesApi api;
+  private Table table;
+
+  @Setup
+  public void setup() throws IOException {
+    serverExecutor = Executors.newFixedThreadPool(16);
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::createOrUpdate);
+    server.setExecutor(serverExecutor);
+    server.start();
+
+    OpenMetadataConnection connection =
+        new OpenMetadataConnection().withHostPort("http://localhost:" + server.getAddress().getPort() + "/api");
+    HttpClientConfig httpConfig =
+        HttpClientConfig.builder().gzipRequests(gzip).maxIdleConnections(maxIdleConnections).build();
+    api = new OpenMetadata(connection, httpConfig, false).buildClient(TablesApi.class);
+    table = BenchmarkFixtures.table("orders", columns);
+  }
+
+  @TearDown
+  public void tearDown() {
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Benchmark
+  public void createOrUpdateTable() {
+    api.createOrUpdateTable(table);
+  }
+
+  private void createOrUpdate(HttpExchange exchange) throws IOException {
+    long transferred = 0;
+    try (InputStream body = exchange.getRequestBody()) {
+      // Count the bytes received on the wire
+      CountingInputStream counting = new CountingInputStream(body);
+      boolean compressed = "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+      // Read the body as the server does, decompressing it when needed
+      try (InputStream content = compressed ? new GZIPInputStream(counting) : counting) {
+        content.transferTo(OutputStream.nullOutputStream());
+      }
+      transferred = counting.getCount();
+    }
+    if (linkMbps > 0) {
+      try {
+        TimeUnit.NANOSECONDS.sleep(transferred * 8 * 1000 / linkMbps);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, RESPONSE.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(RESPONSE);
+    }
+  }
+
+  interface TablesApi extends ApiClient.Api {
+    @RequestLine("PUT /v1/tables")
+    @Headers({"Content-Type: application/json", "Accept: application/json"})
+    void createOrUpdateTable(Table table);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.util.FullyQualifiedName;
+
+/** Entities shaped like the large ones seen in production, shared by the benchmarks */
+public final class BenchmarkFixtures {
+  public static final String SERVICE = "mysql_prod";
+  public static final String DATABASE = "warehouse";
+  public static final String SCHEMA = "analytics";
+
+  private BenchmarkFixtures() {}
+
+  /** A table with the given number of columns, each with a description and two tags */
+  public static Table table(String name, int columnCount) {
+    String fqn = FullyQualifiedName.build(SERVICE, DATABASE, SCHEMA, name);
+    List<Column> columns = new ArrayList<>(columnCount);
+    for (int i = 0; i < columnCount; i++) {
+      String columnName = String.format("column_%04d", i);
+      columns.add(
+          new Column()
+              .withName(columnName)
+              .withFullyQualifiedName(FullyQualifiedName.add(fqn, columnName))
+              .withDataType(i % 2 == 0 ? ColumnDataType.VARCHAR : ColumnDataType.BIGINT)
+              .withDataLength(i % 2 == 0 ? 256 : null)
+              .withDataTypeDisplay(i % 2 == 0 ? "varchar(256)" : "bigint")
+              .withOrdinalPosition(i)
+              .withDescription("Description of " + columnName + " used by the reporting dashboards")
+              .withTags(List.of(tag("PII.Sensitive"), tag("Tier.Tier" + (i % 3 + 1)))));
+    }
+    return new Table()
+        .withId(UUID.randomUUID())
+        .withName(name)
+        .withFullyQualifiedName(fqn)
+        .withDescription("Table " + name)
+        .withColumns(columns)
+        .withTags(List.of(tag("Tier.Tier1")))
+        .withOwner(reference(Entity.TEAM, "data_platform"))
+        .withDatabaseSchema(reference(Entity.DATABASE_SCHEMA, SCHEMA))
+        .withDatabase(reference(Entity.DATABASE, DATABASE))
+        .withService(reference(Entity.DATABASE_SERVICE, SERVICE))
+        .withVersion(0.1)
+        .withUpdatedAt(System.currentTimeMillis())
+        .withUpdatedBy("admin");
+  }
+
+  /** Change description of an update of the descriptions and tags of the given number of columns */
+  public static ChangeDescription columnChanges(Table table, int changedColumns) {
+    ChangeDescription change = new ChangeDescription().withPreviousVersion(table.getVersion());
+    for (int i = 0; i < changedColumns; i++) {
+      Column column = table.getColumns().get(i);
+      String prefix = "columns" + Entity.SEPARATOR + FullyQualifiedName.quoteName(column.getName());
+      change
+          .getFieldsUpdated()
+          .add(
+              new FieldChange()
+                  .withName(prefix + Entity.SEPARATOR + "description")
+                  .withOldValue(column.getDescription())
+                  .withNewValue(column.getDescription() + " and by the finance team"));
+      String tags = prefix + Entity.SEPARATOR + "tags";
+      change.getFieldsAdded().add(new FieldChange().withName(tags).withNewValue(List.of(tag("PII.None"))));
+      change.getFieldsDeleted().add(new FieldChange().withName(tags).withOldValue(List.of(tag("PII.Sensitive"))));
+    }
+    return change;
+  }
+
+  public static TagLabel tag(String tagFQN) {
+    return new TagLabel()
+        .withTagFQN(tagFQN)
+        .withSource(TagLabel.TagSource.TAG)
+        .withLabelType(TagLabel.LabelType.MANUAL)
+        .withState(TagLabel.State.CONFIRMED);
+  }
+
+  public static EntityReference reference(String type, String name) {
+    return new EntityReference().withId(UUID.randomUUID()).withType(type).withName(name).withFullyQualifiedName(name);
+  }
+}
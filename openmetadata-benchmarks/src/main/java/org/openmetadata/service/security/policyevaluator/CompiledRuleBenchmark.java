@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.security.policyevaluator;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.entity.teams.User;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.benchmarks.BenchmarkFixtures;
+import org.openmetadata.service.jdbi3.TableRepository;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/** Parsing and evaluation of the SpEL conditions of policy rules */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledRuleBenchmark {
+  @Param({
+    "isOwner()",
+    "noOwner() || isOwner()",
+    "matchAnyTag('PII.Sensitive', 'Tier.Tier1')",
+    "!isOwner() && matchAllTags('Tier.Tier1', 'PII.Sensitive', 'PersonalData.Personal')"
+  })
+  public String condition;
+
+  private Expression expression;
+  private RuleEvaluator ruleEvaluator;
+  private EvaluationContext evaluationContext;
+
+  @Setup
+  public void setup() {
+    User user = new User().withId(UUID.randomUUID()).withName("user").withTeams(List.of());
+    Table table = BenchmarkFixtures.table("orders", 20).withOwner(BenchmarkFixtures.reference(Entity.USER, "owner"));
+    ResourceContext resourceContext =
+        ResourceContext.builder()
+            .resource(Entity.TABLE)
+            .entity(table)
+            .entityRepository(Mockito.mock(TableRepository.class))
+            .build();
+    ruleEvaluator = new RuleEvaluator(null, new SubjectContext(user), resourceContext);
+    evaluationContext = new StandardEvaluationContext(ruleEvaluator);
+    expression = CompiledRule.parseExpression(condition);
+  }
+
+  @Benchmark
+  public Expression parse() {
+    return CompiledRule.parseExpression(condition);
+  }
+
+  @Benchmark
+  public Boolean evaluate() {
+    return expression.getValue(evaluationContext, Boolean.class);
+  }
+
+  /** Evaluation as done for each rule by the policy evaluator, with a new evaluation context */
+  @Benchmark
+  public Boolean evaluateWithNewContext() {
+    return expression.getValue(new StandardEvaluationContext(ruleEvaluator), Boolean.class);
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.security.policyevaluator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.entity.policies.Policy;
+import org.openmetadata.schema.entity.policies.accessControl.Rule;
+import org.openmetadata.schema.entity.teams.Role;
+import org.openmetadata.schema.entity.teams.Team;
+import org.openmetadata.schema.entity.teams.User;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.MetadataOperation;
+import org.openmetadata.schema.type.ResourcePermission;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.benchmarks.BenchmarkFixtures;
+import org.openmetadata.service.jdbi3.CollectionDAO.PolicyDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.RoleDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TeamDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.UserDAO;
+import org.openmetadata.service.jdbi3.PolicyRepository;
+import org.openmetadata.service.jdbi3.RoleRepository;
+import org.openmetadata.service.jdbi3.TableRepository;
+import org.openmetadata.service.jdbi3.TeamRepository;
+import org.openmetadata.service.jdbi3.UserRepository;
+
+/**
+ * Access control checks of a user whose roles and team hierarchy have 200 policies of 3 rules each. The operation is
+ * allowed only by the last policy, so that every rule is evaluated as in the worst case of a real deployment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyEvaluatorBenchmark {
+  private static final int USER_ROLES = 10;
+  private static final int TEAM_LEVELS = 3; // Team of the user and its parent teams
+  private static final int TEAM_ROLES = 5;
+  private static final int TEAM_POLICIES = 25;
+  private static final int POLICIES_PER_ROLE = 5;
+
+  private SubjectContext subjectContext;
+  private ResourceContext resourceContext;
+
+  @Setup
+  public void setup() {
+    Entity.registerEntity(User.class, Entity.USER, Mockito.mock(UserDAO.class), Mockito.mock(UserRepository.class));
+    Entity.registerEntity(Team.class, Entity.TEAM, Mockito.mock(TeamDAO.class), Mockito.mock(TeamRepository.class));
+    Entity.registerEntity(
+        Policy.class, Entity.POLICY, Mockito.mock(PolicyDAO.class), Mockito.mock(PolicyRepository.class));
+    Entity.registerEntity(Role.class, Entity.ROLE, Mockito.mock(RoleDAO.class), Mockito.mock(RoleRepository.class));
+    PolicyCache.initialize();
+    RoleCache.initialize();
+    SubjectCache.initialize();
+
+    // Teams from the organization down to the team of the user, the last policy is in the organization
+    Team parent = null;
+    List<Team> teams = new ArrayList<>();
+    for (int level = 0; level < TEAM_LEVELS; level++) {
+      String name = "team" + level;
+      Team team =
+          new Team()
+              .withId(UUID.randomUUID())
+              .withName(name)
+              .withDefaultRoles(roles(name, TEAM_ROLES))
+              .withParents(parent == null ? null : List.of(parent.getEntityReference()));
+      teams.add(team);
+      parent = team;
+    }
+    for (int level = TEAM_LEVELS - 1; level >= 0; level--) {
+      Team team = teams.get(level);
+      team.withPolicies(policies(team.getName(), TEAM_POLICIES, level == 0));
+      SubjectCache.TEAM_CACHE.put(team.getId(), team);
+    }
+
+    User user =
+        new User()
+            .withId(UUID.randomUUID())
+            .withName("user")
+            .withRoles(roles("user", USER_ROLES))
+            .withTeams(List.of(parent.getEntityReference()));
+    subjectContext = new SubjectContext(user);
+    SubjectCache.USER_CACHE.put(user.getName(), subjectContext);
+
+    Table table = BenchmarkFixtures.table("orders", 20).withOwner(parent.getEntityReference());
+    resourceContext =
+        ResourceContext.builder()
+            .resource(Entity.TABLE)
+            .entity(table)
+            .entityRepository(Mockito.mock(TableRepository.class))
+            .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    SubjectCache.cleanUp();
+    PolicyCache.cleanUp();
+    RoleCache.cleanUp();
+  }
+
+  @Benchmark
+  public OperationContext hasPermission() throws IOException {
+    OperationContext operationContext = new OperationContext(Entity.TABLE, MetadataOperation.EDIT_DESCRIPTION);
+    PolicyEvaluator.hasPermission(subjectContext, resourceContext, operationContext);
+    return operationContext;
+  }
+
+  @Benchmark
+  public ResourcePermission getPermission() throws IOException {
+    return PolicyEvaluator.getPermission(subjectContext, resourceContext);
+  }
+
+  @Benchmark
+  public List<ResourcePermission> listPermission() {
+    return PolicyEvaluator.listPermission(subjectContext);
+  }
+
+  private List<EntityReference> roles(String prefix, int count) {
+    List<EntityReference> roles = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String name = prefix + "_role_" + i;
+      Role role =
+          new Role().withId(UUID.randomUUID()).withName(name).withPolicies(policies(name, POLICIES_PER_ROLE, false));
+      RoleCache.ROLE_CACHE.put(role.getId(), role);
+      roles.add(role.getEntityReference());
+    }
+    return roles;
+  }
+
+  private List<EntityReference> policies(String prefix, int count, boolean allowInLast) {
+    List<EntityReference> policies = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String name = prefix + "_policy_" + i;
+      Policy policy =
+          new Policy().withId(UUID.randomUUID()).withName(name).withRules(rules(name, allowInLast && i == count - 1));
+      PolicyCache.POLICY_CACHE.put(policy.getId(), PolicyCache.getInstance().getRules(policy));
+      policies.add(policy.getEntityReference());
+    }
+    return policies;
+  }
+
+  private static List<Rule> rules(String prefix, boolean allow) {
+    List<Rule> rules = new ArrayList<>();
+    rules.add(
+        new Rule()
+            .withName(prefix + "_deny")
+            .withEffect(Rule.Effect.DENY)
+            .withResources(List.of(Entity.TABLE))
+            .withOperations(List.of(MetadataOperation.EDIT_DESCRIPTION, MetadataOperation.DELETE))
+            .withCondition("matchAllTags('Tier.Tier5', 'PII.Sensitive')"));
+    rules.add(
+        new Rule()
+            .withName(prefix + "_allow")
+            .withEffect(Rule.Effect.ALLOW)
+            .withResources(List.of(Entity.TABLE))
+            .withOperations(List.of(MetadataOperation.EDIT_ALL))
+            .withCondition(
+                allow ? "isOwner() || matchAnyTag('Tier.Tier1')" : "!noOwner() && matchAnyTag('PII.None')"));
+    rules.add(
+        new Rule()
+            .withName(prefix + "_view")
+            .withEffect(Rule.Effect.ALLOW)
+            .withResources(List.of(Entity.DASHBOARD))
+            .withOperations(List.of(MetadataOperation.VIEW_ALL)));
+    return rules;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.service.benchmarks.BenchmarkFixtures;
+import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
+import org.openmetadata.service.util.ChangeEventParser.PUBLISH_TO;
+
+/** Formatting of the feed and notification messages of an update of many columns of a table */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeEventParserBenchmark {
+  @Param({"10", "500"})
+  public int changedColumns;
+
+  private Table table;
+  private ChangeDescription changeDescription;
+
+  @Setup
+  public void setup() {
+    table = BenchmarkFixtures.table("orders", 2000);
+    changeDescription = BenchmarkFixtures.columnChanges(table, changedColumns);
+  }
+
+  @Benchmark
+  public Map<EntityLink, String> formatFeedMessages() {
+    return ChangeEventParser.getFormattedMessages(PUBLISH_TO.FEED, changeDescription, table);
+  }
+
+  @Benchmark
+  public Map<EntityLink, String> formatSlackMessages() {
+    return ChangeEventParser.getFormattedMessages(PUBLISH_TO.SLACK, changeDescription, table);
+  }
+}
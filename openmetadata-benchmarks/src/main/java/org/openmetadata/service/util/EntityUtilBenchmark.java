@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.benchmarks.BenchmarkFixtures;
+
+/** Sorting and matching with the EntityUtil comparators, used when updating the lists of fields of an entity */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityUtilBenchmark {
+  private List<Column> columns;
+  private List<TagLabel> tags;
+  private List<EntityReference> references;
+  private List<FieldChange> fieldChanges;
+
+  @Setup
+  public void setup() {
+    Table table = BenchmarkFixtures.table("orders", 2000);
+    columns = new ArrayList<>(table.getColumns());
+    Collections.shuffle(columns);
+    tags = new ArrayList<>();
+    references = new ArrayList<>();
+    for (Column column : columns) {
+      tags.add(BenchmarkFixtures.tag(column.getFullyQualifiedName()));
+      references.add(BenchmarkFixtures.reference(Entity.USER, column.getName()));
+    }
+    fieldChanges = new ArrayList<>(BenchmarkFixtures.columnChanges(table, 2000).getFieldsUpdated());
+    Collections.shuffle(fieldChanges);
+  }
+
+  @Benchmark
+  public List<TagLabel> sortTagLabels() {
+    List<TagLabel> sorted = new ArrayList<>(tags);
+    sorted.sort(EntityUtil.compareTagLabel);
+    return sorted;
+  }
+
+  @Benchmark
+  public List<EntityReference> sortEntityReferences() {
+    List<EntityReference> sorted = new ArrayList<>(references);
+    sorted.sort(EntityUtil.compareEntityReference);
+    return sorted;
+  }
+
+  @Benchmark
+  public List<FieldChange> sortFieldChanges() {
+    List<FieldChange> sorted = new ArrayList<>(fieldChanges);
+    sorted.sort(EntityUtil.compareFieldChange);
+    return sorted;
+  }
+
+  /** Matching the columns of two versions of a table, as done by the entity updater */
+  @Benchmark
+  public int matchColumns() {
+    int matched = 0;
+    for (Column column : columns) {
+      for (Column other : columns) {
+        if (EntityUtil.columnMatch.test(column, other)) {
+          matched++;
+          break;
+        }
+      }
+    }
+    return matched;
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Building and parsing of fully qualified names, done for every entity, column and tag label */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FullyQualifiedNameBenchmark {
+  private final String[] parts = {"mysql_prod", "warehouse", "analytics", "orders", "customer_id"};
+  private final String[] quotedParts = {"mysql_prod", "warehouse", "analytics", "daily.orders", "customer.id"};
+  private final String fqn = FullyQualifiedName.build(parts);
+  private final String quotedFqn = FullyQualifiedName.build(quotedParts);
+
+  @Benchmark
+  public String build() {
+    return FullyQualifiedName.build(parts);
+  }
+
+  @Benchmark
+  public String buildQuoted() {
+    return FullyQualifiedName.build(quotedParts);
+  }
+
+  @Benchmark
+  public String[] split() {
+    return FullyQualifiedName.split(fqn);
+  }
+
+  @Benchmark
+  public String[] splitQuoted() {
+    return FullyQualifiedName.split(quotedFqn);
+  }
+
+  @Benchmark
+  public String getParent() {
+    return FullyQualifiedName.getParent(fqn);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.json.JsonPatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.service.benchmarks.BenchmarkFixtures;
+
+/** Serialization and patching of a table entity, done on every read, write and PATCH of an entity */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonUtilsBenchmark {
+  @Param({"20", "2000"})
+  public int columns;
+
+  private Table table;
+  private String json;
+  private JsonPatch patch;
+
+  @Setup
+  public void setup() throws IOException {
+    table = BenchmarkFixtures.table("orders", columns);
+    json = JsonUtils.pojoToJson(table);
+
+    // Patch of the kind sent by the UI when editing a column description and the table tags
+    Table updated = JsonUtils.readValue(json, Table.class);
+    updated.getColumns().get(columns / 2).setDescription("Updated description");
+    updated.getTags().add(BenchmarkFixtures.tag("PersonalData.Personal"));
+    patch = JsonUtils.getJsonPatch(table, updated);
+  }
+
+  @Benchmark
+  public Table readValue() throws IOException {
+    return JsonUtils.readValue(json, Table.class);
+  }
+
+  @Benchmark
+  public String pojoToJson() throws IOException {
+    return JsonUtils.pojoToJson(table);
+  }
+
+  @Benchmark
+  public Table applyPatch() {
+    return JsonUtils.applyPatch(table, patch, Table.class);
+  }
+}
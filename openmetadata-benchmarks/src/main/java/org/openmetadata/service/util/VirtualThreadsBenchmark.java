@@ -0,0 +1,90 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.service.benchmarks.BenchmarkFixtures;
+
+/**
+ * Bursts of requests that block, like the database, Elasticsearch and Airflow calls of the server, handled by a pool
+ * of at most maxThreads platform or virtual threads as the Jetty pool does. The throughput and the percentiles of the
+ * sample time compare both modes with the same heap. Virtual threads need JDK 21 or later, their runs fail on older
+ * JDKs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@Threads(1000)
+public class VirtualThreadsBenchmark {
+  @Param({"false", "true"})
+  public boolean virtualThreads;
+
+  @Param({"200", "4000"})
+  public int maxThreads;
+
+  /** Time a request is blocked, waiting on I/O */
+  @Param({"5"})
+  public int blockedMillis;
+
+  private ExecutorService executor;
+  private Table table;
+
+  @Setup
+  public void setup() {
+    if (virtualThreads && !VirtualThreads.isSupported()) {
+      throw new IllegalStateException("Virtual threads need JDK 21 or later, running on " + Runtime.version());
+    }
+    VirtualThreads.setEnabled(virtualThreads);
+    executor =
+        Executors.newFixedThreadPool(
+            maxThreads, VirtualThreads.threadFactory("benchmark", Executors.defaultThreadFactory()));
+    table = BenchmarkFixtures.table("orders", 20);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public String request() throws ExecutionException, InterruptedException {
+    return executor
+        .submit(
+            () -> {
+              Thread.sleep(blockedMillis);
+              return JsonUtils.pojoToJson(table);
+            })
+        .get();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.gateway;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.openmetadata.client.ApiClient;
+
+/**
+ * Asynchronous variant of a generated API. The blocking calls of the API run on an executor and their results are
+ * returned as {@link CompletableFuture}s, for example:
+ *
+ * <pre>
+ *   AsyncApi&lt;TablesApi&gt; tables = openMetadata.buildAsyncClient(TablesApi.class);
+ *   CompletableFuture&lt;Table&gt; table = tables.call(api -&gt; api.getTableByFQN(fqn, queryParams));
+ * </pre>
+ */
+public class AsyncApi<T extends ApiClient.Api> {
+  /** Executor of the client requests running in the background, its threads don't prevent the JVM from exiting */
+  public static final ExecutorService DEFAULT_EXECUTOR = Executors.newCachedThreadPool(new DaemonThreadFactory());
+
+  private final T api;
+  private final Executor executor;
+
+  public AsyncApi(T api, Executor executor) {
+    this.api = api;
+    this.executor = executor;
+  }
+
+  /** The blocking API, for the calls that are made synchronously */
+  public T getApi() {
+    return api;
+  }
+
+  /** Make the given call of the API asynchronously */
+  public <R> CompletableFuture<R> call(Function<T, R> request) {
+    return CompletableFuture.supplyAsync(() -> request.apply(api), executor);
+  }
+
+  /** Make the given call of the API that has no result asynchronously */
+  public CompletableFuture<Void> run(Consumer<T> request) {
+    return CompletableFuture.runAsync(() -> request.accept(api), executor);
+  }
+
+  private static class DaemonThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "openmetadata-client-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
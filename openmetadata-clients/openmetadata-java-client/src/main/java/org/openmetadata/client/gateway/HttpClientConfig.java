@@ -0,0 +1,47 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.gateway;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Configuration of the HTTP connections of the client. The defaults suit a client making a few requests at a time,
+ * bulk ingestion with many threads should size the connection pool to the number of threads. Responses are always
+ * requested and accepted compressed with gzip.
+ */
+@Getter
+@Builder
+public class HttpClientConfig {
+  public static final HttpClientConfig DEFAULT = HttpClientConfig.builder().build();
+
+  /** Connections kept open for reuse once idle, connections above it are closed after their request */
+  @Builder.Default private int maxIdleConnections = 5;
+
+  /** Time after which an idle connection is closed */
+  @Builder.Default private long keepAliveMillis = 5 * 60 * 1000L;
+
+  @Builder.Default private long connectTimeoutMillis = 10 * 1000L;
+  @Builder.Default private long readTimeoutMillis = 60 * 1000L;
+  @Builder.Default private long writeTimeoutMillis = 60 * 1000L;
+
+  /** Compress the request bodies with gzip. The server must be a version that accepts compressed requests */
+  @Builder.Default private boolean gzipRequests = false;
+
+  /** Request bodies smaller than this are sent uncompressed, as compressing them costs more than it saves */
+  @Builder.Default private int gzipMinimumSize = 1024;
+
+  /** Use HTTP/2 with servers that negotiate it over TLS, HTTP/1.1 otherwise */
+  @Builder.Default private boolean http2 = true;
+}
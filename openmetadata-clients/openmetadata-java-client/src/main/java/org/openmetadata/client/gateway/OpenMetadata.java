@@ -15,15 +15,22 @@ package org.openmetadata.client.gateway;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import feign.Feign;
+import feign.Request;
 import feign.form.FormEncoder;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonEncoder;
 import feign.okhttp.OkHttpClient;
 import feign.slf4j.Slf4jLogger;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.ConnectionPool;
+import okhttp3.Protocol;
 import org.openmetadata.client.ApiClient;
 import org.openmetadata.client.api.SystemApi;
 import org.openmetadata.client.interceptors.CustomRequestInterceptor;
+import org.openmetadata.client.interceptors.GzipRequestInterceptor;
 import org.openmetadata.client.security.factory.AuthenticationProviderFactory;
 import org.openmetadata.schema.api.OpenMetadataServerVersion;
 import org.openmetadata.schema.services.connections.metadata.OpenMetadataConnection;
@@ -50,14 +57,30 @@ public class OpenMetadata {
     if (validateVersion) validateVersion();
   }
 
+  public OpenMetadata(OpenMetadataConnection config, HttpClientConfig httpConfig, boolean validateVersion) {
+    initClient(config, httpConfig);
+    if (validateVersion) validateVersion();
+  }
+
   public void initClient(OpenMetadataConnection config) {
+    initClient(config, HttpClientConfig.DEFAULT);
+  }
+
+  public void initClient(OpenMetadataConnection config, HttpClientConfig httpConfig) {
     apiClient = new ApiClient();
     Feign.Builder builder =
         Feign.builder()
             .encoder(new FormEncoder(new JacksonEncoder(apiClient.getObjectMapper())))
             .decoder(new JacksonDecoder(apiClient.getObjectMapper()))
             .logger(new Slf4jLogger())
-            .client(new OkHttpClient());
+            .options(
+                new Request.Options(
+                    httpConfig.getConnectTimeoutMillis(),
+                    TimeUnit.MILLISECONDS,
+                    httpConfig.getReadTimeoutMillis(),
+                    TimeUnit.MILLISECONDS,
+                    true))
+            .client(new OkHttpClient(buildHttpClient(httpConfig)));
     apiClient.setFeignBuilder(builder);
     AuthenticationProviderFactory factory = new AuthenticationProviderFactory();
     apiClient.addAuthorization("oauth", factory.getAuthProvider(config));
@@ -66,6 +89,27 @@ public class OpenMetadata {
     apiClient.getObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
   }
 
+  /**
+   * Build the HTTP client shared by all the APIs of this client. OkHttp requests the responses compressed with gzip and
+   * decompresses them transparently, only the compression of the requests is configured here.
+   */
+  private static okhttp3.OkHttpClient buildHttpClient(HttpClientConfig httpConfig) {
+    okhttp3.OkHttpClient.Builder builder =
+        new okhttp3.OkHttpClient.Builder()
+            .connectionPool(
+                new ConnectionPool(
+                    httpConfig.getMaxIdleConnections(), httpConfig.getKeepAliveMillis(), TimeUnit.MILLISECONDS))
+            .connectTimeout(httpConfig.getConnectTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .readTimeout(httpConfig.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .writeTimeout(httpConfig.getWriteTimeoutMillis(), TimeUnit.MILLISECONDS)
+            .protocols(
+                httpConfig.isHttp2() ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1));
+    if (httpConfig.isGzipRequests()) {
+      builder.addInterceptor(new GzipRequestInterceptor(httpConfig.getGzipMinimumSize()));
+    }
+    return builder.build();
+  }
+
   public <T extends ApiClient.Api> T buildClient(Class<T> clientClass) {
     return apiClient.buildClient(clientClass);
   }
@@ -75,6 +119,15 @@ public class OpenMetadata {
     return apiClient.buildClient(clientClass);
   }
 
+  /** Build the asynchronous variant of an API, making its calls on the default executor of the client */
+  public <T extends ApiClient.Api> AsyncApi<T> buildAsyncClient(Class<T> clientClass) {
+    return buildAsyncClient(clientClass, AsyncApi.DEFAULT_EXECUTOR);
+  }
+
+  public <T extends ApiClient.Api> AsyncApi<T> buildAsyncClient(Class<T> clientClass, Executor executor) {
+    return new AsyncApi<>(apiClient.buildClient(clientClass), executor);
+  }
+
   public <K> void updateRequestType(Class<K> requestClass) {
     apiClient.getApiAuthorizations().remove(REQUEST_INTERCEPTOR_KEY);
     CustomRequestInterceptor<K> newInterceptor =
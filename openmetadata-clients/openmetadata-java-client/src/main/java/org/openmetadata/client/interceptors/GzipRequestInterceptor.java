@@ -0,0 +1,62 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.interceptors;
+
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+/** Compresses the request bodies larger than the minimum size with gzip */
+public class GzipRequestInterceptor implements Interceptor {
+  private static final String CONTENT_ENCODING = "Content-Encoding";
+
+  private final int minimumSize;
+
+  public GzipRequestInterceptor(int minimumSize) {
+    this.minimumSize = minimumSize;
+  }
+
+  @Override
+  public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    RequestBody body = request.body();
+    if (body == null || request.header(CONTENT_ENCODING) != null || body.contentLength() < minimumSize) {
+      return chain.proceed(request);
+    }
+    Request compressed =
+        request
+            .newBuilder()
+            .header(CONTENT_ENCODING, "gzip")
+            .method(request.method(), gzip(body))
+            .build();
+    return chain.proceed(compressed);
+  }
+
+  /** Compress the body upfront, so that the request has a content length instead of being chunked */
+  private static RequestBody gzip(RequestBody body) throws IOException {
+    Buffer buffer = new Buffer();
+    try (BufferedSink sink = Okio.buffer(new GzipSink(buffer))) {
+      body.writeTo(sink);
+    }
+    MediaType contentType = body.contentType();
+    return RequestBody.create(buffer.readByteString(), contentType);
+  }
+}
@@ -5,13 +5,54 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.openmetadata.client.gateway.AsyncApi;
 import org.openmetadata.client.model.Paging;
 
 public class ListUtils {
 
   private ListUtils() {}
 
+  /**
+   * Iterate lazily over the results of a list endpoint, prefetching the next page while the current one is consumed.
+   * For example, to iterate over all the tables:
+   *
+   * <pre>
+   *   ListUtils.iterator(
+   *       after -&gt; tablesApi.listTables(new TablesApi.ListTablesQueryParams().limit(1000).after(after)),
+   *       TableList::getData,
+   *       TableList::getPaging)
+   * </pre>
+   *
+   * @param listPage requests the page after the given cursor, the first page for a null cursor
+   */
+  public static <L, T> PagedIterator<L, T> iterator(
+      Function<String, L> listPage, Function<L, List<T>> getData, Function<L, Paging> getPaging) {
+    return new PagedIterator<>(listPage, getData, getPaging, AsyncApi.DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * Stream over the results of a list endpoint, see {@link #iterator(Function, Function, Function)}. Closing the stream
+   * discards the page being prefetched.
+   */
+  public static <L, T> Stream<T> stream(
+      Function<String, L> listPage, Function<L, List<T>> getData, Function<L, Paging> getPaging) {
+    PagedIterator<L, T> iterator = iterator(listPage, getData, getPaging);
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .onClose(iterator::close);
+  }
+
+  /**
+   * Collect all the results of a list endpoint into a list, calling the list method of the client by reflection. Prefer
+   * {@link #iterator(Function, Function, Function)} or {@link #stream(Function, Function, Function)} for large lists.
+   */
   public static ArrayList<Object> listResults(Object client, String methodName, Class<?> className)
       throws NoSuchMethodException, InvocationTargetException, IllegalAccessException, InstantiationException {
     Map<String, Object> data = new HashMap<>();
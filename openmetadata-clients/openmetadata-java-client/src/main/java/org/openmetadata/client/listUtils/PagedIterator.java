@@ -0,0 +1,104 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.client.listUtils;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import org.openmetadata.client.model.Paging;
+
+/**
+ * Iterates lazily over the results of a list endpoint, page by page. The next page is requested in the background as
+ * soon as the current page is received, so that it is usually ready when the current page has been consumed. Only the
+ * current page and the next one are held in memory.
+ *
+ * @param <L> type of a page of results, such as {@code TableList}
+ * @param <T> type of the results
+ */
+public class PagedIterator<L, T> implements Iterator<T>, AutoCloseable {
+  private final Function<String, L> listPage;
+  private final Function<L, List<T>> getData;
+  private final Function<L, Paging> getPaging;
+  private final Executor executor;
+
+  private Iterator<T> current = Collections.emptyIterator();
+  private CompletableFuture<L> next;
+
+  /**
+   * @param listPage requests the page after the given cursor, the first page for a null cursor
+   * @param getData returns the results of a page
+   * @param getPaging returns the paging of a page
+   * @param executor runs the requests of the next pages
+   */
+  public PagedIterator(
+      Function<String, L> listPage, Function<L, List<T>> getData, Function<L, Paging> getPaging, Executor executor) {
+    this.listPage = listPage;
+    this.getData = getData;
+    this.getPaging = getPaging;
+    this.executor = executor;
+    this.next = CompletableFuture.supplyAsync(() -> listPage.apply(null), executor);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!current.hasNext()) {
+      if (next == null) {
+        return false;
+      }
+      L page = join(next);
+      Paging paging = getPaging.apply(page);
+      String after = paging == null ? null : paging.getAfter();
+      // Prefetch the following page while this one is being consumed
+      next = after == null ? null : CompletableFuture.supplyAsync(() -> listPage.apply(after), executor);
+      List<T> data = getData.apply(page);
+      current = data == null ? Collections.emptyIterator() : data.iterator();
+    }
+    return true;
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  /** Stop iterating, the response of a page being prefetched is discarded */
+  @Override
+  public void close() {
+    if (next != null) {
+      next.cancel(true);
+      next = null;
+    }
+    current = Collections.emptyIterator();
+  }
+
+  private static <L> L join(CompletableFuture<L> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      // Rethrow the exception of the request, such as a feign.FeignException, as it is
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package org.openmetadata.client.listUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.FeignException;
+import feign.Headers;
+import feign.Param;
+import feign.RequestLine;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openmetadata.client.ApiClient;
+import org.openmetadata.client.gateway.OpenMetadata;
+import org.openmetadata.client.model.Paging;
+import org.openmetadata.schema.services.connections.metadata.OpenMetadataConnection;
+
+/** Lists the items of a stub server returning 5 pages of 2 items, with the page number as the cursor */
+public class PagedIteratorTest {
+  private static final int PAGES = 5;
+
+  private HttpServer server;
+  private OpenMetadata openMetadata;
+  private final List<String> requestedPages = new ArrayList<>();
+  private final CountDownLatch secondPageRequested = new CountDownLatch(1);
+  private volatile int failingPage = -1;
+
+  @Before
+  public void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/", this::listItems);
+    server.start();
+    OpenMetadataConnection connection =
+        new OpenMetadataConnection().withHostPort("http://localhost:" + server.getAddress().getPort() + "/api");
+    openMetadata = new OpenMetadata(connection, false);
+  }
+
+  @After
+  public void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  public void test_iteratorPrefetchesNextPage() throws InterruptedException {
+    ItemsApi api = openMetadata.buildClient(ItemsApi.class);
+    try (PagedIterator<ItemList, String> items =
+        ListUtils.iterator(api::listItems, ItemList::getData, ItemList::getPaging)) {
+      assertEquals("item-1-1", items.next());
+      // The second page is requested while the first one is being consumed
+      assertTrue(secondPageRequested.await(5, TimeUnit.SECONDS));
+      List<String> names = new ArrayList<>(List.of("item-1-1"));
+      items.forEachRemaining(names::add);
+      assertEquals(PAGES * 2, names.size());
+      assertEquals("item-5-2", names.get(names.size() - 1));
+    }
+    assertEquals(List.of("1", "2", "3", "4", "5"), requestedPages);
+  }
+
+  @Test
+  public void test_stream() {
+    ItemsApi api = openMetadata.buildClient(ItemsApi.class);
+    try (Stream<String> items = ListUtils.stream(api::listItems, ItemList::getData, ItemList::getPaging)) {
+      assertEquals(List.of("item-1-1", "item-1-2", "item-2-1"), items.limit(3).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void test_pageRequestFailure() {
+    failingPage = 3;
+    ItemsApi api = openMetadata.buildClient(ItemsApi.class);
+    PagedIterator<ItemList, String> items = ListUtils.iterator(api::listItems, ItemList::getData, ItemList::getPaging);
+    for (int i = 0; i < 4; i++) {
+      items.next();
+    }
+    assertThrows(FeignException.class, items::hasNext);
+  }
+
+  @Test
+  public void test_asyncApi() throws Exception {
+    CompletableFuture<ItemList> request = openMetadata.buildAsyncClient(ItemsApi.class).call(api -> api.listItems("2"));
+    ItemList page = request.get(5, TimeUnit.SECONDS);
+    assertEquals(List.of("item-3-1", "item-3-2"), page.getData());
+    assertEquals("3", page.getPaging().getAfter());
+  }
+
+  private void listItems(HttpExchange exchange) throws IOException {
+    String query = exchange.getRequestURI().getQuery();
+    int page = query != null && query.contains("after=") ? Integer.parseInt(query.split("after=")[1]) + 1 : 1;
+    synchronized (requestedPages) {
+      requestedPages.add(String.valueOf(page));
+    }
+    if (page == 2) {
+      secondPageRequested.countDown();
+    }
+    if (page == failingPage) {
+      exchange.sendResponseHeaders(500, -1);
+      exchange.close();
+      return;
+    }
+    String after = page < PAGES ? "\"" + page + "\"" : "null";
+    String json =
+        String.format(
+            "{\"data\": [\"item-%d-1\", \"item-%d-2\"], \"paging\": {\"total\": %d, \"after\": %s}}",
+            page, page, PAGES * 2, after);
+    byte[] body = json.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  interface ItemsApi extends ApiClient.Api {
+    @RequestLine("GET /v1/items?limit=2&after={after}")
+    @Headers({"Accept: application/json"})
+    ItemList listItems(@Param("after") String after);
+  }
+
+  @Getter
+  @Setter
+  public static class ItemList {
+    private List<String> data;
+    private Paging paging;
+  }
+}
@@ -17,6 +17,7 @@ import io.dropwizard.Application;
 import io.dropwizard.configuration.EnvironmentVariableSubstitutor;
 import io.dropwizard.configuration.SubstitutingSourceProvider;
 import io.dropwizard.db.DataSourceFactory;
+import io.dropwizard.db.ManagedDataSource;
 import io.dropwizard.health.conf.HealthConfiguration;
 import io.dropwizard.health.core.HealthCheckBundle;
 import io.dropwizard.jdbi3.JdbiFactory;
@@ -25,16 +26,17 @@ import io.dropwizard.jersey.errors.LoggingExceptionMapper;
 import io.dropwizard.jersey.jackson.JsonProcessingExceptionMapper;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.server.ServerFactory;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
 import io.federecio.dropwizard.swagger.SwaggerBundle;
 import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
 import io.github.maksymdolgykh.dropwizard.micrometer.MicrometerHttpFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.socket.engineio.server.EngineIoServerOptions;
 import io.socket.engineio.server.JettyWebSocketHandler;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.time.temporal.ChronoUnit;
 import java.util.EnumSet;
 import java.util.Optional;
 import javax.naming.ConfigurationException;
@@ -42,7 +44,6 @@ import javax.servlet.DispatcherType;
 import javax.servlet.FilterRegistration;
 import javax.servlet.ServletException;
 import javax.ws.rs.container.ContainerRequestFilter;
-import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.core.Response;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -55,8 +56,7 @@ import org.eclipse.jetty.websocket.server.WebSocketUpgradeFilter;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.glassfish.jersey.server.ServerProperties;
 import org.jdbi.v3.core.Jdbi;
-import org.jdbi.v3.core.statement.SqlLogger;
-import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.HandlerDecorators;
 import org.jdbi.v3.sqlobject.SqlObjects;
 import org.openmetadata.schema.api.security.AuthenticationConfiguration;
 import org.openmetadata.schema.api.security.AuthorizerConfiguration;
@@ -69,12 +69,21 @@ import org.openmetadata.service.exception.JsonMappingExceptionMapper;
 import org.openmetadata.service.fernet.Fernet;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
+import org.openmetadata.service.jdbi3.routing.ReadRouting;
+import org.openmetadata.service.jdbi3.routing.ReplicaConfiguration;
+import org.openmetadata.service.jdbi3.routing.RoutingDataSource;
 import org.openmetadata.service.migration.Migration;
 import org.openmetadata.service.migration.MigrationConfiguration;
 import org.openmetadata.service.monitoring.EventMonitor;
 import org.openmetadata.service.monitoring.EventMonitorFactory;
 import org.openmetadata.service.monitoring.EventMonitorPublisher;
+import org.openmetadata.service.monitoring.QueryCountFilter;
+import org.openmetadata.service.monitoring.QueryLogger;
+import org.openmetadata.service.monitoring.QueryMetrics;
+import org.openmetadata.service.monitoring.QueryMetricsConfiguration;
+import org.openmetadata.service.monitoring.StartupMetrics;
 import org.openmetadata.service.resources.CollectionRegistry;
+import org.openmetadata.service.resources.ETagFilter;
 import org.openmetadata.service.secrets.SecretsManager;
 import org.openmetadata.service.secrets.SecretsManagerFactory;
 import org.openmetadata.service.secrets.SecretsManagerUpdateService;
@@ -92,6 +101,8 @@ import org.openmetadata.service.socket.SocketAddressFilter;
 import org.openmetadata.service.socket.WebSocketManager;
 import org.openmetadata.service.util.EmailUtil;
 import org.openmetadata.service.util.MicrometerBundleSingleton;
+import org.openmetadata.service.util.TextDiff;
+import org.openmetadata.service.util.VirtualThreads;
 
 /** Main catalog application */
 @Slf4j
@@ -104,11 +115,19 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
   public void run(OpenMetadataApplicationConfig catalogConfig, Environment environment)
       throws ClassNotFoundException, IllegalAccessException, InstantiationException, NoSuchMethodException,
           InvocationTargetException, IOException, ConfigurationException {
+    StartupMetrics startupMetrics = new StartupMetrics(MicrometerBundleSingleton.prometheusMeterRegistry);
+    environment.lifecycle().addServerLifecycleListener(server -> startupMetrics.ready());
     validateConfiguration(catalogConfig);
+    if (catalogConfig.getServerFactory() instanceof OpenMetadataServerFactory) {
+      OpenMetadataServerFactory serverFactory = (OpenMetadataServerFactory) catalogConfig.getServerFactory();
+      VirtualThreads.setEnabled(serverFactory.isEnableVirtualThreads());
+    }
 
     // init email Util for handling
     EmailUtil.initialize(catalogConfig);
-    final Jdbi jdbi = createAndSetupJDBI(environment, catalogConfig.getDataSourceFactory());
+    TextDiff.initialize(
+        catalogConfig.getChangeEventDiffConfiguration(), MicrometerBundleSingleton.prometheusMeterRegistry);
+    final Jdbi jdbi = createAndSetupJDBI(environment, catalogConfig);
     final SecretsManager secretsManager =
         SecretsManagerFactory.createSecretsManager(
             catalogConfig.getSecretsManagerConfiguration(), catalogConfig.getClusterName());
@@ -123,8 +142,11 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     jdbi.getConfig(SqlObjects.class)
         .setSqlLocator(new ConnectionAwareAnnotationSqlLocator(catalogConfig.getDataSourceFactory().getDriverClass()));
 
+    startupMetrics.endPhase("configuration");
+
     // Validate flyway Migrations
     validateMigrations(jdbi, catalogConfig.getMigrationConfiguration());
+    startupMetrics.endPhase("migrations");
 
     // Register Authorizer
     registerAuthorizer(catalogConfig, environment);
@@ -150,13 +172,17 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     // start event hub before registering publishers
     EventPubSub.start();
 
+    startupMetrics.endPhase("jersey");
+
     registerResources(catalogConfig, environment, jdbi);
+    startupMetrics.endPhase("resources");
 
     // Register Event Handler
     registerEventFilter(catalogConfig, environment, jdbi);
     environment.lifecycle().manage(new ManagedShutdown());
     // Register Event publishers
     registerEventPublisher(catalogConfig, jdbi);
+    startupMetrics.endPhase("events");
 
     // update entities secrets if required
     new SecretsManagerUpdateService(secretsManager, catalogConfig.getClusterName()).updateEntities();
@@ -167,10 +193,17 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
 
     // authenticationHandler Handles auth related activities
     authenticatorHandler.init(catalogConfig, jdbi);
+    startupMetrics.endPhase("security");
 
     FilterRegistration.Dynamic micrometerFilter =
         environment.servlets().addFilter("MicrometerHttpFilter", new MicrometerHttpFilter());
     micrometerFilter.addMappingForUrlPatterns(EnumSet.allOf(DispatcherType.class), true, "/*");
+    environment
+        .jersey()
+        .register(
+            new QueryCountFilter(
+                MicrometerBundleSingleton.prometheusMeterRegistry,
+                catalogConfig.getQueryMetricsConfiguration().isQueryCountHeader()));
 
     initializeWebsockets(catalogConfig, environment);
 
@@ -178,28 +211,33 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     OpenMetadataAssetServlet assetServlet = new OpenMetadataAssetServlet("/assets", "/", "index.html");
     String pathPattern = "/" + '*';
     environment.servlets().addServlet("static", assetServlet).addMapping(pathPattern);
+    startupMetrics.endPhase("servlets");
   }
 
-  private Jdbi createAndSetupJDBI(Environment environment, DataSourceFactory dbFactory) {
-    Jdbi jdbi = new JdbiFactory().build(environment, dbFactory, "database");
-    SqlLogger sqlLogger =
-        new SqlLogger() {
-          @Override
-          public void logBeforeExecution(StatementContext context) {
-            LOG.debug("sql {}, parameters {}", context.getRenderedSql(), context.getBinding());
-          }
-
-          @Override
-          public void logAfterExecution(StatementContext context) {
-            LOG.debug(
-                "sql {}, parameters {}, timeTaken {} ms",
-                context.getRenderedSql(),
-                context.getBinding(),
-                context.getElapsedTime(ChronoUnit.MILLIS));
-          }
-        };
-    if (LOG.isDebugEnabled()) {
-      jdbi.setSqlLogger(sqlLogger);
+  private Jdbi createAndSetupJDBI(Environment environment, OpenMetadataApplicationConfig catalogConfig) {
+    DataSourceFactory dbFactory = catalogConfig.getDataSourceFactory();
+    QueryMetricsConfiguration queryMetricsConfig = catalogConfig.getQueryMetricsConfiguration();
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    ReplicaConfiguration replicaConfig = catalogConfig.getReplicaConfiguration();
+    Jdbi jdbi;
+    if (replicaConfig != null && replicaConfig.getDataSourceFactory() != null) {
+      // Route reads outside of transactions to the replica, the pools are named after their configuration
+      ManagedDataSource dataSource =
+          new RoutingDataSource(
+              dbFactory.build(environment.metrics(), "database"),
+              replicaConfig.getDataSourceFactory().build(environment.metrics(), "database-replica"),
+              replicaConfig,
+              registry);
+      jdbi = new JdbiFactory().build(environment, dbFactory, dataSource, "database");
+      jdbi.getConfig(HandlerDecorators.class).register(new ReadRouting.Decorator());
+      environment.jersey().register(new ReadRouting.RequestFilter());
+    } else {
+      jdbi = new JdbiFactory().build(environment, dbFactory, "database");
+    }
+    jdbi.setSqlLogger(new QueryLogger(queryMetricsConfig));
+    if (queryMetricsConfig.isEnabled() && registry != null) {
+      // Time every DAO method and record how many rows it returned or updated
+      jdbi.getConfig(HandlerDecorators.class).register(new QueryMetrics(registry));
     }
     // Set the Database type for choosing correct queries from annotations
     jdbi.getConfig(SqlObjects.class).setSqlLocator(new ConnectionAwareAnnotationSqlLocator(dbFactory.getDriverClass()));
@@ -210,6 +248,7 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
   @SneakyThrows
   @Override
   public void initialize(Bootstrap<OpenMetadataApplicationConfig> bootstrap) {
+    bootstrap.getObjectMapper().addMixIn(ServerFactory.class, OpenMetadataServerFactory.DefaultTypeMixIn.class);
     bootstrap.setConfigurationSourceProvider(
         new SubstitutingSourceProvider(
             bootstrap.getConfigurationSourceProvider(), new EnvironmentVariableSubstitutor(false)));
@@ -303,8 +342,9 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
 
   private void registerEventFilter(OpenMetadataApplicationConfig catalogConfig, Environment environment, Jdbi jdbi) {
     if (catalogConfig.getEventHandlerConfiguration() != null) {
-      ContainerResponseFilter eventFilter = new EventFilter(catalogConfig, jdbi);
+      EventFilter eventFilter = new EventFilter(catalogConfig, jdbi);
       environment.jersey().register(eventFilter);
+      environment.lifecycle().manage(eventFilter);
     }
   }
 
@@ -331,6 +371,7 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
   private void registerResources(OpenMetadataApplicationConfig config, Environment environment, Jdbi jdbi) {
     CollectionRegistry.getInstance().registerResources(jdbi, environment, config, authorizer, authenticatorHandler);
     environment.jersey().register(new JsonPatchProvider());
+    environment.jersey().register(new ETagFilter(environment.getObjectMapper()));
     ErrorPageErrorHandler eph = new ErrorPageErrorHandler();
     eph.addErrorPage(Response.Status.NOT_FOUND.getStatusCode(), "/");
     environment.getApplicationContext().setErrorHandler(eph);
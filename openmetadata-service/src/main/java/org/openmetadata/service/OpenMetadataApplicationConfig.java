@@ -31,8 +31,11 @@ import org.openmetadata.schema.api.security.AuthorizerConfiguration;
 import org.openmetadata.schema.api.security.jwt.JWTTokenConfiguration;
 import org.openmetadata.schema.email.SmtpSettings;
 import org.openmetadata.schema.service.configuration.elasticsearch.ElasticSearchConfiguration;
+import org.openmetadata.service.events.ChangeEventDiffConfiguration;
+import org.openmetadata.service.jdbi3.routing.ReplicaConfiguration;
 import org.openmetadata.service.migration.MigrationConfiguration;
 import org.openmetadata.service.monitoring.EventMonitorConfiguration;
+import org.openmetadata.service.monitoring.QueryMetricsConfiguration;
 import org.openmetadata.service.secrets.SecretsManagerConfiguration;
 
 @Getter
@@ -43,6 +46,10 @@ public class OpenMetadataApplicationConfig extends Configuration {
   @Valid
   private DataSourceFactory dataSourceFactory;
 
+  @JsonProperty("replica")
+  @Valid
+  private ReplicaConfiguration replicaConfiguration;
+
   @JsonProperty("swagger")
   private SwaggerBundleConfiguration swaggerBundleConfig;
 
@@ -85,6 +92,12 @@ public class OpenMetadataApplicationConfig extends Configuration {
   @JsonProperty("eventMonitoringConfiguration")
   private EventMonitorConfiguration eventMonitorConfiguration;
 
+  @JsonProperty("queryMetricsConfiguration")
+  private QueryMetricsConfiguration queryMetricsConfiguration = new QueryMetricsConfiguration();
+
+  @JsonProperty("changeEventDiffConfiguration")
+  private ChangeEventDiffConfiguration changeEventDiffConfiguration = new ChangeEventDiffConfiguration();
+
   @JsonProperty("clusterName")
   private String clusterName;
 
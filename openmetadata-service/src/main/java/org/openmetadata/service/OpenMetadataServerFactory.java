@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.jetty9.InstrumentedQueuedThreadPool;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import io.dropwizard.server.DefaultServerFactory;
+import java.util.concurrent.ThreadFactory;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.util.BlockingArrayQueue;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.openmetadata.service.util.VirtualThreads;
+
+/**
+ * Server factory used when the server configuration does not set a type. It runs the requests on virtual threads when
+ * {@code enableVirtualThreads} is set and the JDK has them.
+ *
+ * <p>The threads of the Jetty pool are then virtual. The pool still bounds the requests handled at once by {@code
+ * maxThreads}, which can be raised well above what platform threads allow since requests blocked on the database,
+ * Elasticsearch or Airflow no longer hold a platform thread.
+ */
+@Slf4j
+public class OpenMetadataServerFactory extends DefaultServerFactory {
+  @JsonProperty @Getter @Setter private boolean enableVirtualThreads = false;
+
+  @Override
+  protected ThreadPool createThreadPool(MetricRegistry metricRegistry) {
+    // Virtual threads are enabled by the application from enableVirtualThreads, when the JDK has them
+    ThreadFactory threadFactory = VirtualThreads.threadFactory("dw", null);
+    if (threadFactory == null) {
+      return super.createThreadPool(metricRegistry);
+    }
+    InstrumentedQueuedThreadPool threadPool =
+        new InstrumentedQueuedThreadPool(
+            metricRegistry,
+            getMaxThreads(),
+            getMinThreads(),
+            (int) getIdleThreadTimeout().toMilliseconds(),
+            new BlockingArrayQueue<>(getMinThreads(), getMaxThreads(), getMaxQueuedRequests())) {
+          @Override
+          protected Thread newThread(Runnable runnable) {
+            return threadFactory.newThread(runnable);
+          }
+        };
+    threadPool.setName("dw");
+    threadPool.setDaemon(true); // Virtual threads are always daemon threads, the pool can't set them otherwise
+    LOG.info("Requests run on virtual threads, at most {} at once", getMaxThreads());
+    return threadPool;
+  }
+
+  /** Makes the server factory the default type of {@code server} in the configuration */
+  @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type", defaultImpl = OpenMetadataServerFactory.class)
+  public interface DefaultTypeMixIn {}
+}
@@ -20,6 +20,9 @@ public abstract class AbstractAlertPublisher implements EventPublisher {
   protected static final int BACKOFF_5_MINUTES = 5 * 60 * 1000;
   protected static final int BACKOFF_1_HOUR = 60 * 60 * 1000;
   protected static final int BACKOFF_24_HOUR = 24 * 60 * 60 * 1000;
+  // Events of the coalescing window, and events held back per destination, beyond them the events are dropped rather
+  // than exhausting the memory
+  protected static final int MAX_HELD_BACK_EVENTS = 10000;
   protected int currentBackoffTime = BACKOFF_NORMAL;
   protected final List<ChangeEvent> batch = new ArrayList<>();
 
@@ -28,10 +31,16 @@ public abstract class AbstractAlertPublisher implements EventPublisher {
   protected final AlertAction alertAction;
   private final int batchSize;
 
+  // Groups the events of the coalescing window, null when each event is sent on its own
+  protected final ChangeEventCoalescer coalescer;
+
   protected AbstractAlertPublisher(Alert alert, AlertAction alertAction) {
     this.alert = alert;
     this.alertAction = alertAction;
     this.batchSize = alertAction.getBatchSize();
+    Integer coalescingWindow = alertAction.getCoalescingWindow();
+    this.coalescer =
+        coalescingWindow != null && coalescingWindow > 0 ? new ChangeEventCoalescer(MAX_HELD_BACK_EVENTS) : null;
   }
 
   @Override
@@ -50,6 +59,14 @@ public abstract class AbstractAlertPublisher implements EventPublisher {
       return;
     }
 
+    // Events are sent as a digest at the end of the coalescing window
+    if (coalescer != null) {
+      if (!coalescer.add(changeEvent)) {
+        dropEvents(1);
+      }
+      return;
+    }
+
     // Batch until either the batch has ended or batch size has reached the max size
     batch.add(changeEventHolder.getEvent());
     if (!endOfBatch && batch.size() < batchSize) {
@@ -69,6 +86,9 @@ public abstract class AbstractAlertPublisher implements EventPublisher {
     }
   }
 
+  /** Count the events dropped because the coalescing window or the events held back are full */
+  protected void dropEvents(int count) {}
+
   protected void setNextBackOff() {
     if (currentBackoffTime == BACKOFF_NORMAL) {
       currentBackoffTime = BACKOFF_3_SECONDS;
@@ -14,18 +14,34 @@
 package org.openmetadata.service.alerts;
 
 import com.lmax.disruptor.BatchEventProcessor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.entity.alerts.Alert;
 import org.openmetadata.schema.entity.alerts.AlertAction;
 import org.openmetadata.schema.entity.alerts.AlertActionStatus;
+import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.FailureDetails;
 import org.openmetadata.service.events.EventPubSub;
 import org.openmetadata.service.events.errors.EventPublisherException;
 import org.openmetadata.service.resources.events.EventResource;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
 
 /**
  * AlertsPublisher publishes events to the alert endpoint using POST http requests/ Email. There is one instance of
@@ -42,14 +58,56 @@ import org.openmetadata.service.resources.events.EventResource;
  *       all the 5 delivery attempts fail, the alerts state is marked as "retryLimitReached" and no further attempt is
  *       made to deliver the events.
  * </ul>
+ *
+ * <p>When the alert action has a coalescing window, the events of the window are grouped by entity, change type and
+ * owner and sent as one digest message at the end of the window. The messages sent to a destination are limited to
+ * maxMessagesPerMinute of the alert action. The events of the messages over the limit are held back, without blocking
+ * the event processor, and sent with the next digest to the destination. The events of a digest that failed with a
+ * 4xx or 5xx response are held back the same way, and the digest is retried after the backoff. So are the events of
+ * the messages that failed without a coalescing window. Beyond {@link #MAX_HELD_BACK_EVENTS} waiting events, the events
+ * are dropped and counted.
  */
 @Slf4j
 public class AlertsActionPublisher extends AbstractAlertPublisher {
   private final CountDownLatch shutdownLatch = new CountDownLatch(1);
   @Getter private BatchEventProcessor<EventPubSub.ChangeEventHolder> processor;
+  private ScheduledExecutorService digestScheduler;
+  // Events held back by the rate limit or a failed digest, by destination, sent with the next digest to it
+  private final Map<String, ChangeEventCoalescer> heldBack = new HashMap<>();
+  private final Counter messagesSent;
+  private final Counter messagesSaved;
+  private final Counter rateLimited;
+  private final Counter eventsDropped;
+  // Events dropped since the last digest, logged once per digest rather than for every event
+  private final AtomicInteger droppedSinceDigest = new AtomicInteger();
 
   public AlertsActionPublisher(Alert alert, AlertAction alertAction) {
     super(alert, alertAction);
+    MeterRegistry registry =
+        MicrometerBundleSingleton.prometheusMeterRegistry != null
+            ? MicrometerBundleSingleton.prometheusMeterRegistry
+            : Metrics.globalRegistry;
+    String type = String.valueOf(alertAction.getAlertActionType());
+    messagesSent =
+        Counter.builder("alert.messages.sent")
+            .tag("alertAction", alertAction.getName())
+            .tag("type", type)
+            .register(registry);
+    messagesSaved =
+        Counter.builder("alert.messages.saved")
+            .tag("alertAction", alertAction.getName())
+            .tag("type", type)
+            .register(registry);
+    rateLimited =
+        Counter.builder("alert.messages.rateLimited")
+            .tag("alertAction", alertAction.getName())
+            .tag("type", type)
+            .register(registry);
+    eventsDropped =
+        Counter.builder("alert.events.dropped")
+            .tag("alertAction", alertAction.getName())
+            .tag("type", type)
+            .register(registry);
   }
 
   @SneakyThrows
@@ -57,12 +115,40 @@ public class AlertsActionPublisher extends AbstractAlertPublisher {
   public void onStart() {
     setSuccessStatus(System.currentTimeMillis());
     onStartDelegate();
+    Integer maxMessagesPerMinute = alertAction.getMaxMessagesPerMinute();
+    boolean rateLimit = maxMessagesPerMinute != null && maxMessagesPerMinute > 0;
+    // Without a window, the events held back are sent as soon as the rate limit allows another message, or as soon as
+    // the backoff after a failure is over
+    long window;
+    if (coalescer != null) {
+      window = alertAction.getCoalescingWindow();
+    } else if (rateLimit) {
+      window = Math.max(1, 60 / maxMessagesPerMinute);
+    } else {
+      window = BACKOFF_3_SECONDS / 1000;
+    }
+    digestScheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "alert-digest-" + alert.getName());
+              thread.setDaemon(true);
+              return thread;
+            });
+    digestScheduler.scheduleWithFixedDelay(this::publishDigest, window, window, TimeUnit.SECONDS);
     LOG.info("Alert-lifecycle-onStart {}", alert.getName());
   }
 
   @Override
   public void onShutdown() {
     currentBackoffTime = BACKOFF_NORMAL;
+    if (digestScheduler != null) {
+      // Like the events of an unfinished batch, the events of the current window and the events held back are not sent
+      digestScheduler.shutdownNow();
+      int eventCount = getPendingEventCount();
+      if (eventCount > 0) {
+        LOG.warn("Dropping {} coalesced events of alert {}", eventCount, alert.getName());
+      }
+    }
     shutdownLatch.countDown();
     onShutdownDelegate();
     LOG.info("Alert-lifecycle-onShutdown {}", alert.getName());
@@ -134,6 +220,182 @@ public class AlertsActionPublisher extends AbstractAlertPublisher {
 
   protected void sendAlert(EventResource.ChangeEventList list) {}
 
+  /**
+   * Send the digest of the groups of events of a coalescing window. By default, all the events are sent together as a
+   * single batch.
+   */
+  protected void sendDigest(List<List<ChangeEvent>> groups) {
+    List<ChangeEvent> events = groups.stream().flatMap(List::stream).collect(Collectors.toList());
+    sendAlert(new EventResource.ChangeEventList(events, null, null, events.size()));
+  }
+
+  /** True when the rate limit of the destination allows sending a message now, counting the message as sent */
+  protected boolean acquirePermit(String destination) {
+    if (!DestinationRateLimiter.tryAcquire(destination, alertAction.getMaxMessagesPerMinute())) {
+      rateLimited.increment();
+      return false;
+    }
+    messagesSent.increment();
+    return true;
+  }
+
+  /** Hold the events back to send them with the next digest to the destination */
+  protected void holdBack(String destination, List<List<ChangeEvent>> groups) {
+    int dropped;
+    synchronized (heldBack) {
+      dropped =
+          heldBack.computeIfAbsent(destination, key -> new ChangeEventCoalescer(MAX_HELD_BACK_EVENTS)).addAll(groups);
+    }
+    dropEvents(dropped);
+  }
+
+  @Override
+  protected void dropEvents(int count) {
+    if (count > 0) {
+      eventsDropped.increment(count);
+      droppedSinceDigest.addAndGet(count);
+    }
+  }
+
+  /** Events of the coalescing window and events held back, waiting to be sent */
+  public int getPendingEventCount() {
+    int eventCount = coalescer == null ? 0 : coalescer.getEventCount();
+    synchronized (heldBack) {
+      for (ChangeEventCoalescer events : heldBack.values()) {
+        eventCount += events.getEventCount();
+      }
+    }
+    return eventCount;
+  }
+
+  /**
+   * Post the message of an event to a webhook. When the rate limit of the webhook is hit, or while the alert action
+   * awaits a retry, the event is held back and sent with the next digest to the webhook. The event of a message that
+   * failed with a 4xx or 5xx response is held back the same way, and sent after the backoff.
+   */
+  protected void postEvent(String destination, Invocation.Builder target, ChangeEvent event, Object message) {
+    if (!isRetryDue() || !acquirePermit(destination) || !postMessage(target, message)) {
+      holdBack(destination, List.of(List.of(event)));
+    }
+  }
+
+  /** Post a message to a webhook and update the status from the response, false when it is to be retried */
+  protected boolean postMessage(Invocation.Builder target, Object message) {
+    long attemptTime = System.currentTimeMillis();
+    Response response = target.post(javax.ws.rs.client.Entity.entity(message, MediaType.APPLICATION_JSON_TYPE));
+    if (response.getStatus() >= 300 && response.getStatus() < 400) {
+      // 3xx response/redirection is not allowed for callback. Set the webhook state as in error
+      setErrorStatus(attemptTime, response.getStatus(), response.getStatusInfo().getReasonPhrase());
+    } else if (response.getStatus() >= 300 && response.getStatus() < 600) {
+      setNextBackOff();
+      setAwaitingRetry(attemptTime, response.getStatus(), response.getStatusInfo().getReasonPhrase());
+      return false;
+    } else if (response.getStatus() == 200) {
+      setSuccessStatus(System.currentTimeMillis());
+    }
+    return true;
+  }
+
+  /** Send the events of the coalescing window, runs on the digest scheduler at the end of each window */
+  protected void publishDigest() {
+    int dropped = droppedSinceDigest.getAndSet(0);
+    if (dropped > 0) {
+      LOG.warn("Dropped {} events of alert {}, over {} were waiting", dropped, alert.getName(), MAX_HELD_BACK_EVENTS);
+    }
+    // The events of the window are kept for the next window while the alert action awaits a retry
+    if (coalescer != null && isRetryDue()) {
+      int eventCount = coalescer.getEventCount();
+      List<List<ChangeEvent>> groups = coalescer.drain();
+      if (!groups.isEmpty()) {
+        long attemptTime = System.currentTimeMillis();
+        try {
+          LOG.info("Sending Alert digest {}:{} events in {} groups", alert.getName(), eventCount, groups.size());
+          sendDigest(groups);
+        } catch (Exception e) {
+          LOG.error("Failed to send the digest of {} events of alert {}", eventCount, alert.getName(), e);
+          if (retryFailure(attemptTime, e)) {
+            dropEvents(coalescer.addAll(groups));
+          }
+        }
+      }
+    }
+    // The destinations without events in the window still get the events held back for them
+    List<String> destinations;
+    synchronized (heldBack) {
+      destinations = new ArrayList<>(heldBack.keySet());
+    }
+    for (String destination : destinations) {
+      sendDigest(destination, List.of());
+    }
+  }
+
+  /**
+   * Send the digest of the groups to a destination, with the events held back for it. The events are held back again
+   * when the rate limit of the destination is hit, or when the digest fails with a 4xx or 5xx response or an error.
+   */
+  protected void sendDigest(String destination, List<List<ChangeEvent>> groups) {
+    synchronized (heldBack) {
+      ChangeEventCoalescer events = heldBack.remove(destination);
+      if (events != null) {
+        events.addAll(groups);
+        groups = events.drain();
+      }
+    }
+    if (groups.isEmpty()) {
+      return;
+    }
+    if (!isRetryDue() || !acquirePermit(destination)) {
+      holdBack(destination, groups);
+      return;
+    }
+    int eventCount = groups.stream().mapToInt(List::size).sum();
+    long attemptTime = System.currentTimeMillis();
+    try {
+      if (sendDigestMessage(destination, groups)) {
+        messagesSaved.increment(eventCount - 1.0);
+        return;
+      }
+    } catch (Exception e) {
+      LOG.error("Failed to send the digest of {} events of alert {}", eventCount, alert.getName(), e);
+      if (!retryFailure(attemptTime, e)) {
+        return;
+      }
+    }
+    holdBack(destination, groups);
+  }
+
+  /** Send one digest message of the groups to the destination, false when it is to be retried */
+  protected boolean sendDigestMessage(String destination, List<List<ChangeEvent>> groups) throws Exception {
+    return true;
+  }
+
+  /**
+   * Mark the alert action as awaiting retry after the failure of a digest, unless the failure set it as failed. Returns
+   * true when the digest is to be retried.
+   */
+  private boolean retryFailure(long attemptTime, Exception e) {
+    AlertActionStatus status = alertAction.getStatusDetails();
+    if (status != null
+        && status.getStatus() == AlertActionStatus.Status.FAILED
+        && status.getTimestamp() >= attemptTime) {
+      return false;
+    }
+    setNextBackOff();
+    setAwaitingRetry(System.currentTimeMillis(), 500, e.getMessage());
+    return true;
+  }
+
+  /** False while the alert action awaits the next attempt after a failure */
+  private boolean isRetryDue() {
+    AlertActionStatus status = alertAction.getStatusDetails();
+    if (status == null
+        || status.getStatus() != AlertActionStatus.Status.AWAITING_RETRY
+        || status.getFailureDetails() == null) {
+      return true;
+    }
+    return System.currentTimeMillis() >= status.getFailureDetails().getNextAttempt();
+  }
+
   protected void onStartDelegate() {}
 
   protected void onShutdownDelegate() {}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.alerts;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EntityReference;
+
+/**
+ * Groups the change events of an alert action by entity, change type and owner during a coalescing window. The groups
+ * of a window are sent as one digest message rather than one message per event, so that a bulk ingestion updating
+ * thousands of entities does not flood the destination.
+ */
+public class ChangeEventCoalescer {
+  private final Map<String, List<ChangeEvent>> groups = new LinkedHashMap<>();
+  private final int maxEvents;
+  private int eventCount;
+
+  /** Coalescer holding at most maxEvents events, the events added beyond are dropped */
+  public ChangeEventCoalescer(int maxEvents) {
+    this.maxEvents = maxEvents;
+  }
+
+  /** Add the event to its group, false when the coalescer is full and the event is dropped */
+  public synchronized boolean add(ChangeEvent event) {
+    if (eventCount >= maxEvents) {
+      return false;
+    }
+    groups.computeIfAbsent(getKey(event), key -> new ArrayList<>()).add(event);
+    eventCount++;
+    return true;
+  }
+
+  /** Add the events of the groups, returning the number of events dropped because the coalescer is full */
+  public synchronized int addAll(List<List<ChangeEvent>> groups) {
+    int dropped = 0;
+    for (List<ChangeEvent> group : groups) {
+      for (ChangeEvent event : group) {
+        if (!add(event)) {
+          dropped++;
+        }
+      }
+    }
+    return dropped;
+  }
+
+  public synchronized int getEventCount() {
+    return eventCount;
+  }
+
+  /** Groups of the events added since the last call, in the order of their first event */
+  public synchronized List<List<ChangeEvent>> drain() {
+    List<List<ChangeEvent>> drained = new ArrayList<>(groups.values());
+    groups.clear();
+    eventCount = 0;
+    return drained;
+  }
+
+  private static String getKey(ChangeEvent event) {
+    EntityReference owner = null;
+    if (event.getEntity() instanceof EntityInterface) {
+      owner = ((EntityInterface) event.getEntity()).getOwner();
+    }
+    return String.format(
+        "%s:%s:%s", event.getEntityId(), event.getEventType(), owner == null ? null : owner.getId());
+  }
+}
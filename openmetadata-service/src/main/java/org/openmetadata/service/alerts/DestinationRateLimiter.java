@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.alerts;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate limits of the messages sent to a destination, such as a webhook URL or an email address. The limit is shared by
+ * all the alert actions sending to the same destination, so that they don't go over the rate limit of the provider
+ * together. When the actions have different limits, the one of the last message sent applies.
+ */
+final class DestinationRateLimiter {
+  private static final Map<String, RateLimiter> RATE_LIMITERS = new ConcurrentHashMap<>();
+
+  private DestinationRateLimiter() {}
+
+  /** True when a message can be sent to the destination now, never waits for the rate limit */
+  static boolean tryAcquire(String destination, Integer maxMessagesPerMinute) {
+    if (maxMessagesPerMinute == null || maxMessagesPerMinute <= 0) {
+      return true;
+    }
+    double permitsPerSecond = maxMessagesPerMinute / 60.0;
+    RateLimiter rateLimiter = RATE_LIMITERS.computeIfAbsent(destination, key -> RateLimiter.create(permitsPerSecond));
+    if (rateLimiter.getRate() != permitsPerSecond) {
+      rateLimiter.setRate(permitsPerSecond);
+    }
+    return rateLimiter.tryAcquire();
+  }
+}
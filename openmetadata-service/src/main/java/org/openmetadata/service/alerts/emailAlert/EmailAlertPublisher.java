@@ -3,8 +3,11 @@ package org.openmetadata.service.alerts.emailAlert;
 import static org.openmetadata.service.Entity.TEAM;
 import static org.openmetadata.service.Entity.USER;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.EntityInterface;
@@ -61,7 +64,11 @@ public class EmailAlertPublisher extends AlertsActionPublisher {
         Set<String> receivers = buildReceiversList(event);
         EmailMessage emailMessage = ChangeEventParser.buildEmailMessage(event);
         for (String email : receivers) {
-          EmailUtil.sendChangeEventMail(email, emailMessage);
+          if (acquirePermit(email)) {
+            EmailUtil.sendChangeEventMail(email, emailMessage);
+          } else {
+            holdBack(email, List.of(List.of(event)));
+          }
         }
         setSuccessStatus(System.currentTimeMillis());
       } catch (Exception e) {
@@ -72,6 +79,27 @@ public class EmailAlertPublisher extends AlertsActionPublisher {
     }
   }
 
+  @Override
+  protected void sendDigest(List<List<ChangeEvent>> groups) {
+    // Each receiver gets one mail with the groups of the entities they receive alerts for
+    Map<String, List<List<ChangeEvent>>> groupsByReceiver = new LinkedHashMap<>();
+    for (List<ChangeEvent> group : groups) {
+      for (String email : buildReceiversList(group.get(group.size() - 1))) {
+        groupsByReceiver.computeIfAbsent(email, key -> new ArrayList<>()).add(group);
+      }
+    }
+    for (Map.Entry<String, List<List<ChangeEvent>>> entry : groupsByReceiver.entrySet()) {
+      sendDigest(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override
+  protected boolean sendDigestMessage(String destination, List<List<ChangeEvent>> groups) {
+    EmailUtil.sendChangeEventMail(destination, ChangeEventParser.buildEmailDigest(groups));
+    setSuccessStatus(System.currentTimeMillis());
+    return true;
+  }
+
   private Set<String> sendToAdmins() {
     Set<String> emailList = new HashSet<>();
     UserRepository userEntityRepository = (UserRepository) Entity.getEntityRepository(USER);
@@ -1,11 +1,10 @@
 package org.openmetadata.service.alerts.slack;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Invocation;
-import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.entity.alerts.Alert;
 import org.openmetadata.schema.entity.alerts.AlertAction;
@@ -19,6 +18,7 @@ import org.openmetadata.service.util.JsonUtils;
 
 @Slf4j
 public class SlackWebhookEventPublisher extends AlertsActionPublisher {
+  private final String endpoint;
   private final Invocation.Builder target;
   private final Client client;
 
@@ -26,12 +26,12 @@ public class SlackWebhookEventPublisher extends AlertsActionPublisher {
     super(alert, alertAction);
     if (alertAction.getAlertActionType() == AlertAction.AlertActionType.SLACK_WEBHOOK) {
       Webhook webhook = JsonUtils.convertValue(alertAction.getAlertActionConfig(), Webhook.class);
-      String slackWebhookURL = webhook.getEndpoint().toString();
+      endpoint = webhook.getEndpoint().toString();
       ClientBuilder clientBuilder = ClientBuilder.newBuilder();
       clientBuilder.connectTimeout(alertAction.getTimeout(), TimeUnit.SECONDS);
       clientBuilder.readTimeout(alertAction.getReadTimeout(), TimeUnit.SECONDS);
       client = clientBuilder.build();
-      target = client.target(slackWebhookURL).request();
+      target = client.target(endpoint).request();
     } else {
       throw new IllegalArgumentException("Slack Alert Invoked with Illegal Type and Settings.");
     }
@@ -52,23 +52,9 @@ public class SlackWebhookEventPublisher extends AlertsActionPublisher {
   @Override
   public void sendAlert(EventResource.ChangeEventList list) {
     for (ChangeEvent event : list.getData()) {
-      long attemptTime = System.currentTimeMillis();
       try {
         SlackMessage slackMessage = ChangeEventParser.buildSlackMessage(event);
-        Response response =
-            target.post(javax.ws.rs.client.Entity.entity(slackMessage, MediaType.APPLICATION_JSON_TYPE));
-        // Successfully sent Alert, update Status
-        if (response.getStatus() >= 300 && response.getStatus() < 400) {
-          // 3xx response/redirection is not allowed for callback. Set the webhook state as in error
-          setErrorStatus(attemptTime, response.getStatus(), response.getStatusInfo().getReasonPhrase());
-        } else if (response.getStatus() >= 300 && response.getStatus() < 600) {
-          // 4xx, 5xx response retry delivering events after timeout
-          setNextBackOff();
-          setAwaitingRetry(attemptTime, response.getStatus(), response.getStatusInfo().getReasonPhrase());
-          Thread.sleep(currentBackoffTime);
-        } else if (response.getStatus() == 200) {
-          setSuccessStatus(System.currentTimeMillis());
-        }
+        postEvent(endpoint, target, event, slackMessage);
       } catch (Exception e) {
         LOG.error("Failed to publish event {} to slack due to {} ", event, e.getMessage());
         throw new EventPublisherException(
@@ -76,4 +62,14 @@ public class SlackWebhookEventPublisher extends AlertsActionPublisher {
       }
     }
   }
+
+  @Override
+  protected void sendDigest(List<List<ChangeEvent>> groups) {
+    sendDigest(endpoint, groups);
+  }
+
+  @Override
+  protected boolean sendDigestMessage(String destination, List<List<ChangeEvent>> groups) {
+    return postMessage(target, ChangeEventParser.buildSlackDigest(groups));
+  }
 }
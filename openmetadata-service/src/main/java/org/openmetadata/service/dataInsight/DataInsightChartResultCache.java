@@ -0,0 +1,86 @@
+package org.openmetadata.service.dataInsight;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult.DataInsightChartType;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Caches the results of the data insight charts by chart, time range, team and tier. The data insight pages request
+ * the same charts on every load, while report data is only added by the data insight pipeline, when the cache is
+ * invalidated.
+ */
+public final class DataInsightChartResultCache {
+  private static final Cache<ChartKey, DataInsightChartResult> CACHE =
+      CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(10, TimeUnit.MINUTES).recordStats().build();
+
+  static {
+    if (MicrometerBundleSingleton.prometheusMeterRegistry != null) {
+      GuavaCacheMetrics.monitor(MicrometerBundleSingleton.prometheusMeterRegistry, CACHE, "data_insight_charts");
+    }
+  }
+
+  private DataInsightChartResultCache() {}
+
+  public static DataInsightChartResult get(
+      DataInsightChartType chartType,
+      String dataReportIndex,
+      long startTs,
+      long endTs,
+      String team,
+      String tier,
+      ChartFunction chart)
+      throws IOException, ParseException {
+    try {
+      return CACHE.get(new ChartKey(chartType, dataReportIndex, startTs, endTs, team, tier), chart::build);
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      }
+      if (ex.getCause() instanceof ParseException) {
+        throw (ParseException) ex.getCause();
+      }
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw new IOException(ex.getCause());
+    }
+  }
+
+  public static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+
+  @FunctionalInterface
+  public interface ChartFunction {
+    DataInsightChartResult build() throws IOException, ParseException;
+  }
+
+  @EqualsAndHashCode
+  private static class ChartKey {
+    private final DataInsightChartType chartType;
+    private final String dataReportIndex;
+    private final long startTs;
+    private final long endTs;
+    private final String team;
+    private final String tier;
+
+    ChartKey(
+        DataInsightChartType chartType, String dataReportIndex, long startTs, long endTs, String team, String tier) {
+      this.chartType = chartType;
+      this.dataReportIndex = dataReportIndex;
+      this.startTs = startTs;
+      this.endTs = endTs;
+      this.team = team;
+      this.tier = tier;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package org.openmetadata.service.dataInsight;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Report data of one day or one week summed up per dimension. The rollups are updated as report data is added and hold
+ * the same sums the data insight charts aggregate from the raw report data, so that charts over long time ranges read a
+ * few rollups instead of aggregating every report data document.
+ */
+@Getter
+@Setter
+public class ReportDataRollup {
+  public static final String ROLLUP_EXTENSION = "reportData.rollup";
+
+  public enum Period {
+    DAILY,
+    WEEKLY;
+
+    /** Ranges longer than this are charted from the weekly rollups */
+    private static final long MAX_DAILY_RANGE = TimeUnit.DAYS.toMillis(92);
+
+    public static Period forRange(long startTs, long endTs) {
+      return endTs - startTs > MAX_DAILY_RANGE ? WEEKLY : DAILY;
+    }
+
+    /** Start of the day, or of the week starting on Monday, of the timestamp in UTC */
+    public long start(long timestamp) {
+      LocalDate day = Instant.ofEpochMilli(timestamp).atZone(ZoneOffset.UTC).toLocalDate();
+      if (this == WEEKLY) {
+        day = day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      }
+      return day.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+
+    /** Rollups are stored under their own FQN so that they are not listed with the raw report data */
+    public String rollupFQN(ReportDataType reportDataType) {
+      return reportDataType.value() + "." + name().toLowerCase();
+    }
+  }
+
+  /** Start of the period */
+  private Long timestamp;
+
+  /** Days of the period that have report data, snapshot metrics of a week are averaged over them */
+  private List<Long> days = new ArrayList<>();
+
+  private List<Bucket> buckets = new ArrayList<>();
+
+  @Getter
+  @Setter
+  public static class Bucket {
+    private String entityType;
+    private String entityTier;
+    private String team;
+    private double entityCount;
+    private double completedDescriptions;
+    private double hasOwner;
+    private double pageViews;
+    private double activeUsers;
+
+    boolean hasDimensions(String entityType, String entityTier, String team) {
+      return Objects.equals(this.entityType, entityType)
+          && Objects.equals(this.entityTier, entityTier)
+          && Objects.equals(this.team, team);
+    }
+  }
+
+  public static ReportDataRollup create(Period period, long timestamp) {
+    ReportDataRollup rollup = new ReportDataRollup();
+    rollup.setTimestamp(period.start(timestamp));
+    return rollup;
+  }
+
+  /** Add the report data to the bucket of its dimensions */
+  public void add(ReportData reportData) {
+    long day = Period.DAILY.start(reportData.getTimestamp());
+    if (!days.contains(day)) {
+      days.add(day);
+    }
+    Map<String, Object> data = JsonUtils.getMap(reportData.getData());
+    switch (reportData.getReportDataType()) {
+      case ENTITY_REPORT_DATA:
+        Bucket entities = bucket(string(data, "entityType"), string(data, "entityTier"), string(data, "team"));
+        entities.entityCount += number(data, "entityCount");
+        entities.completedDescriptions += number(data, "completedDescriptions");
+        entities.hasOwner += number(data, "hasOwner");
+        break;
+      case WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA:
+        bucket(string(data, "entityType"), string(data, "entityTier"), null).pageViews += number(data, "views");
+        break;
+      case WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA:
+        // Each report data is the activity of one user on one day
+        bucket(null, null, string(data, "team")).activeUsers += 1;
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported report data type " + reportData.getReportDataType());
+    }
+  }
+
+  private Bucket bucket(String entityType, String entityTier, String team) {
+    for (Bucket bucket : buckets) {
+      if (bucket.hasDimensions(entityType, entityTier, team)) {
+        return bucket;
+      }
+    }
+    Bucket bucket = new Bucket();
+    bucket.setEntityType(entityType);
+    bucket.setEntityTier(entityTier);
+    bucket.setTeam(team);
+    buckets.add(bucket);
+    return bucket;
+  }
+
+  private static String string(Map<String, Object> data, String field) {
+    Object value = data.get(field);
+    return value == null ? null : value.toString();
+  }
+
+  private static double number(Map<String, Object> data, String field) {
+    Object value = data.get(field);
+    return value instanceof Number ? ((Number) value).doubleValue() : 0;
+  }
+}
@@ -0,0 +1,188 @@
+package org.openmetadata.service.dataInsight;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult.DataInsightChartType;
+import org.openmetadata.schema.dataInsight.type.DailyActiveUsers;
+import org.openmetadata.schema.dataInsight.type.PageViewsByEntities;
+import org.openmetadata.schema.dataInsight.type.PercentageOfEntitiesWithDescriptionByType;
+import org.openmetadata.schema.dataInsight.type.PercentageOfEntitiesWithOwnerByType;
+import org.openmetadata.schema.dataInsight.type.TotalEntitiesByTier;
+import org.openmetadata.schema.dataInsight.type.TotalEntitiesByType;
+import org.openmetadata.service.dataInsight.ReportDataRollup.Bucket;
+
+/**
+ * Builds the time series charts from the daily or weekly {@link ReportDataRollup}s, with the same results as the
+ * aggregators of the raw report data. A weekly point of a snapshot metric, such as the number of entities, is its
+ * average over the days of the week, while page views are summed over the week.
+ */
+public class RollupChartAggregator {
+  public static final Set<DataInsightChartType> SUPPORTED_CHARTS =
+      EnumSet.of(
+          DataInsightChartType.TOTAL_ENTITIES_BY_TYPE,
+          DataInsightChartType.TOTAL_ENTITIES_BY_TIER,
+          DataInsightChartType.PERCENTAGE_OF_ENTITIES_WITH_DESCRIPTION_BY_TYPE,
+          DataInsightChartType.PERCENTAGE_OF_ENTITIES_WITH_OWNER_BY_TYPE,
+          DataInsightChartType.PAGE_VIEWS_BY_ENTITIES,
+          DataInsightChartType.DAILY_ACTIVE_USERS);
+  private static final String NO_TIER = "NoTier";
+
+  private final DataInsightChartType chartType;
+  private final Predicate<Bucket> filter;
+
+  public RollupChartAggregator(DataInsightChartType chartType, Predicate<Bucket> filter) {
+    if (!SUPPORTED_CHARTS.contains(chartType)) {
+      throw new IllegalArgumentException(String.format("Chart type %s is not built from rollups", chartType));
+    }
+    this.chartType = chartType;
+    this.filter = filter;
+  }
+
+  public static ReportDataType getReportDataType(DataInsightChartType chartType) {
+    switch (chartType) {
+      case PAGE_VIEWS_BY_ENTITIES:
+        return ReportDataType.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA;
+      case DAILY_ACTIVE_USERS:
+        return ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA;
+      default:
+        return ReportDataType.ENTITY_REPORT_DATA;
+    }
+  }
+
+  /** Build the chart from the rollups, ordered by their timestamp */
+  public DataInsightChartResult process(List<ReportDataRollup> rollups) {
+    List<Object> data = new ArrayList<>();
+    switch (chartType) {
+      case TOTAL_ENTITIES_BY_TYPE:
+        addTotalEntitiesByType(rollups, data);
+        break;
+      case TOTAL_ENTITIES_BY_TIER:
+        rollups.forEach(rollup -> addTotalEntitiesByTier(rollup, data));
+        break;
+      case PERCENTAGE_OF_ENTITIES_WITH_DESCRIPTION_BY_TYPE:
+        for (ReportDataRollup rollup : rollups) {
+          Map<String, Bucket> byType = sumBy(rollup, Bucket::getEntityType);
+          byType.forEach(
+              (entityType, sum) ->
+                  data.add(
+                      new PercentageOfEntitiesWithDescriptionByType()
+                          .withTimestamp(rollup.getTimestamp())
+                          .withEntityType(entityType)
+                          .withEntityCount(sum.getEntityCount())
+                          .withCompletedDescription(sum.getCompletedDescriptions())
+                          .withCompletedDescriptionFraction(sum.getCompletedDescriptions() / sum.getEntityCount())));
+        }
+        break;
+      case PERCENTAGE_OF_ENTITIES_WITH_OWNER_BY_TYPE:
+        for (ReportDataRollup rollup : rollups) {
+          Map<String, Bucket> byType = sumBy(rollup, Bucket::getEntityType);
+          byType.forEach(
+              (entityType, sum) ->
+                  data.add(
+                      new PercentageOfEntitiesWithOwnerByType()
+                          .withTimestamp(rollup.getTimestamp())
+                          .withEntityType(entityType)
+                          .withEntityCount(sum.getEntityCount())
+                          .withHasOwner(sum.getHasOwner())
+                          .withHasOwnerFraction(sum.getHasOwner() / sum.getEntityCount())));
+        }
+        break;
+      case PAGE_VIEWS_BY_ENTITIES:
+        for (ReportDataRollup rollup : rollups) {
+          Map<String, Bucket> byType = sumBy(rollup, Bucket::getEntityType);
+          byType.forEach(
+              (entityType, sum) ->
+                  data.add(
+                      new PageViewsByEntities()
+                          .withTimestamp(rollup.getTimestamp())
+                          .withEntityType(entityType)
+                          .withPageViews(sum.getPageViews())));
+        }
+        break;
+      case DAILY_ACTIVE_USERS:
+        for (ReportDataRollup rollup : rollups) {
+          double activeUsers = sum(rollup, Bucket::getActiveUsers) / days(rollup);
+          data.add(
+              new DailyActiveUsers()
+                  .withTimestamp(rollup.getTimestamp())
+                  .withActiveUsers((int) Math.round(activeUsers)));
+        }
+        break;
+      default:
+        throw new IllegalArgumentException(String.format("Chart type %s is not built from rollups", chartType));
+    }
+    return new DataInsightChartResult().withData(data).withChartType(chartType);
+  }
+
+  private void addTotalEntitiesByType(List<ReportDataRollup> rollups, List<Object> data) {
+    // As for the raw report data, the fraction is relative to the entities of the whole time range
+    double totalEntities = 0.0;
+    for (ReportDataRollup rollup : rollups) {
+      for (Map.Entry<String, Bucket> entry : sumBy(rollup, Bucket::getEntityType).entrySet()) {
+        double entityCount = entry.getValue().getEntityCount();
+        data.add(
+            new TotalEntitiesByType()
+                .withTimestamp(rollup.getTimestamp())
+                .withEntityType(entry.getKey())
+                .withEntityCount(entityCount));
+        totalEntities += entityCount;
+      }
+    }
+    for (Object o : data) {
+      TotalEntitiesByType el = (TotalEntitiesByType) o;
+      el.withEntityCountFraction(el.getEntityCount() / totalEntities);
+    }
+  }
+
+  private void addTotalEntitiesByTier(ReportDataRollup rollup, List<Object> data) {
+    Map<String, Bucket> byTier =
+        sumBy(rollup, bucket -> bucket.getEntityTier() == null ? NO_TIER : bucket.getEntityTier());
+    double totalEntityCount = byTier.values().stream().mapToDouble(Bucket::getEntityCount).sum();
+    byTier.forEach(
+        (entityTier, sum) ->
+            data.add(
+                new TotalEntitiesByTier()
+                    .withTimestamp(rollup.getTimestamp())
+                    .withEntityTier(entityTier)
+                    .withEntityCount(sum.getEntityCount())
+                    .withEntityCountFraction(sum.getEntityCount() / totalEntityCount)));
+  }
+
+  /**
+   * Sum the buckets of the rollup that pass the filter by the given dimension, skipping the buckets without it.
+   * Snapshot metrics are averaged over the days of the rollup.
+   */
+  private Map<String, Bucket> sumBy(ReportDataRollup rollup, Function<Bucket, String> dimension) {
+    Map<String, Bucket> sums = new TreeMap<>();
+    double days = days(rollup);
+    for (Bucket bucket : rollup.getBuckets()) {
+      String key = dimension.apply(bucket);
+      if (key == null || !filter.test(bucket)) {
+        continue;
+      }
+      Bucket sum = sums.computeIfAbsent(key, k -> new Bucket());
+      sum.setEntityCount(sum.getEntityCount() + bucket.getEntityCount() / days);
+      sum.setCompletedDescriptions(sum.getCompletedDescriptions() + bucket.getCompletedDescriptions() / days);
+      sum.setHasOwner(sum.getHasOwner() + bucket.getHasOwner() / days);
+      sum.setPageViews(sum.getPageViews() + bucket.getPageViews());
+    }
+    return sums;
+  }
+
+  private double sum(ReportDataRollup rollup, ToDoubleFunction<Bucket> metric) {
+    return rollup.getBuckets().stream().filter(filter).mapToDouble(metric).sum();
+  }
+
+  private static double days(ReportDataRollup rollup) {
+    return Math.max(1, rollup.getDays().size());
+  }
+}
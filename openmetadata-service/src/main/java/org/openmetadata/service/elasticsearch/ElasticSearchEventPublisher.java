@@ -16,7 +16,9 @@
 package org.openmetadata.service.elasticsearch;
 
 import static org.openmetadata.service.Entity.ADMIN_USER_NAME;
+import static org.openmetadata.service.Entity.FIELD_DISPLAY_NAME;
 import static org.openmetadata.service.Entity.FIELD_FOLLOWERS;
+import static org.openmetadata.service.Entity.FIELD_NAME;
 import static org.openmetadata.service.Entity.FIELD_USAGE_SUMMARY;
 import static org.openmetadata.service.resources.elasticsearch.BuildSearchIndexResource.ELASTIC_SEARCH_ENTITY_FQN_STREAM;
 import static org.openmetadata.service.resources.elasticsearch.BuildSearchIndexResource.ELASTIC_SEARCH_EXTENSION;
@@ -26,12 +28,14 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.elasticsearch.ElasticsearchException;
@@ -43,13 +47,16 @@ import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.engine.DocumentMissingException;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.TermQueryBuilder;
 import org.elasticsearch.index.query.WildcardQueryBuilder;
 import org.elasticsearch.index.reindex.DeleteByQueryRequest;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
 import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
+import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.api.CreateEventPublisherJob;
 import org.openmetadata.schema.entity.classification.Classification;
 import org.openmetadata.schema.entity.classification.Tag;
@@ -86,7 +93,9 @@ import org.openmetadata.service.events.errors.EventPublisherException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.resources.elasticsearch.BuildSearchIndexResource;
 import org.openmetadata.service.resources.events.EventResource.ChangeEventList;
+import org.openmetadata.service.resources.search.SearchResultCache;
 import org.openmetadata.service.util.ElasticSearchClientUtils;
+import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
 
 @Slf4j
@@ -96,6 +105,54 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
   private final CollectionDAO dao;
   private static final String SERVICE_NAME = "service.name";
   private static final String DATABASE_NAME = "database.name";
+  private final ElasticSearchTaskTracker taskTracker;
+
+  // Indexes of the data assets, which embed references to their owner and their tags
+  private static final ElasticSearchIndexType[] DATA_ASSET_INDEXES = {
+    ElasticSearchIndexType.TABLE_SEARCH_INDEX,
+    ElasticSearchIndexType.TOPIC_SEARCH_INDEX,
+    ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX,
+    ElasticSearchIndexType.PIPELINE_SEARCH_INDEX,
+    ElasticSearchIndexType.MLMODEL_SEARCH_INDEX,
+    ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX
+  };
+  private static final ElasticSearchIndexType[] OWNER_INDEXES =
+      Stream.concat(Arrays.stream(DATA_ASSET_INDEXES), Stream.of(ElasticSearchIndexType.USER_SEARCH_INDEX))
+          .toArray(ElasticSearchIndexType[]::new);
+  private static final List<String> REFERENCE_FIELDS =
+      List.of("service", "database", "databaseSchema", "owner", "teams", "glossary", "parent", "children");
+
+  // Update the references to the renamed entity, and the FQNs that start with its FQN when it is a parent
+  private static final String UPDATE_REFERENCES_SCRIPT =
+      "for (String field : params.fields) {"
+          + " def refs = ctx._source[field];"
+          + " if (refs == null) { continue; }"
+          + " if (!(refs instanceof List)) { refs = [refs]; }"
+          + " for (def ref : refs) {"
+          + "  if (ref.id == params.id) {"
+          + "   ref.name = params.name; ref.displayName = params.displayName; ref.fullyQualifiedName = params.fqn;"
+          + "  } else if (params.prefix != null && ref.fullyQualifiedName != null"
+          + "      && ref.fullyQualifiedName.startsWith(params.prefix)) {"
+          + "   ref.fullyQualifiedName = params.fqn + ref.fullyQualifiedName.substring(params.oldFqn.length());"
+          + "  }"
+          + " }"
+          + "}"
+          + "def fqn = ctx._source.fullyQualifiedName;"
+          + "if (params.prefix != null && fqn != null && fqn.startsWith(params.prefix)) {"
+          + " ctx._source.fullyQualifiedName = params.fqn + fqn.substring(params.oldFqn.length());"
+          + "}";
+
+  // Rename the tag labels of the renamed tag or glossary term, and of its children
+  private static final String UPDATE_TAG_LABELS_SCRIPT =
+      "def labels = ctx._source.tags == null ? new ArrayList() : new ArrayList(ctx._source.tags);"
+          + "if (ctx._source.tier != null) { labels.add(ctx._source.tier); }"
+          + "for (def label : labels) {"
+          + " if (label.tagFQN == params.oldFqn) {"
+          + "  label.tagFQN = params.fqn;"
+          + " } else if (label.tagFQN != null && label.tagFQN.startsWith(params.prefix)) {"
+          + "  label.tagFQN = params.fqn + label.tagFQN.substring(params.oldFqn.length());"
+          + " }"
+          + "}";
 
   public ElasticSearchEventPublisher(ElasticSearchConfiguration esConfig, CollectionDAO dao) {
     super(esConfig.getBatchSize());
@@ -103,6 +160,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     // needs Db connection
     registerElasticSearchJobs();
     this.client = ElasticSearchClientUtils.createElasticSearchClient(esConfig);
+    this.taskTracker = new ElasticSearchTaskTracker(client, dao);
     ElasticSearchIndexDefinition esIndexDefinition = new ElasticSearchIndexDefinition(client, dao);
     esIndexDefinition.createIndexes(esConfig);
   }
@@ -424,6 +482,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         userIndex = new UserIndex((User) event.getEntity());
         scriptedUserUpsert(userIndex.buildESDoc(), updateRequest);
         updateElasticSearch(updateRequest);
+        updateOwnerReferences(event);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -452,6 +511,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         teamIndex = new TeamIndex((Team) event.getEntity());
         scriptedTeamUpsert(teamIndex.buildESDoc(), updateRequest);
         updateElasticSearch(updateRequest);
+        updateOwnerReferences(event);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -481,6 +541,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         glossaryTermIndex = new GlossaryTermIndex((GlossaryTerm) event.getEntity());
         scriptedUpsert(glossaryTermIndex.buildESDoc(), updateRequest);
         updateElasticSearch(updateRequest);
+        updateTagLabels(event);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -506,6 +567,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       request.setQuery(
           QueryBuilders.boolQuery().should(QueryBuilders.matchQuery("glossary.id", glossary.getId().toString())));
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateTagLabels(event);
     }
   }
 
@@ -562,6 +625,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
           scriptedUpsert(tagIndex.buildESDoc(), updateRequest);
         }
         updateElasticSearch(updateRequest);
+        updateTagLabels(event);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
@@ -584,6 +648,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       queryBuilder.must(new TermQueryBuilder(SERVICE_NAME, database.getService().getName()));
       request.setQuery(queryBuilder);
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateParentReferences(event, "database.id", ElasticSearchIndexType.TABLE_SEARCH_INDEX);
     }
   }
 
@@ -596,6 +662,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       queryBuilder.must(new TermQueryBuilder(DATABASE_NAME, databaseSchema.getDatabase().getName()));
       request.setQuery(queryBuilder);
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateParentReferences(event, "databaseSchema.id", ElasticSearchIndexType.TABLE_SEARCH_INDEX);
     }
   }
 
@@ -605,6 +673,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       DeleteByQueryRequest request = new DeleteByQueryRequest(ElasticSearchIndexType.TABLE_SEARCH_INDEX.indexName);
       request.setQuery(new TermQueryBuilder(SERVICE_NAME, databaseService.getName()));
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateParentReferences(event, "service.id", ElasticSearchIndexType.TABLE_SEARCH_INDEX);
     }
   }
 
@@ -614,6 +684,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       DeleteByQueryRequest request = new DeleteByQueryRequest(ElasticSearchIndexType.PIPELINE_SEARCH_INDEX.indexName);
       request.setQuery(new TermQueryBuilder(SERVICE_NAME, pipelineService.getName()));
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateParentReferences(event, "service.id", ElasticSearchIndexType.PIPELINE_SEARCH_INDEX);
     }
   }
 
@@ -623,6 +695,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       DeleteByQueryRequest request = new DeleteByQueryRequest(ElasticSearchIndexType.MLMODEL_SEARCH_INDEX.indexName);
       request.setQuery(new TermQueryBuilder(SERVICE_NAME, mlModelService.getName()));
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateParentReferences(event, "service.id", ElasticSearchIndexType.MLMODEL_SEARCH_INDEX);
     }
   }
 
@@ -632,6 +706,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       DeleteByQueryRequest request = new DeleteByQueryRequest(ElasticSearchIndexType.TOPIC_SEARCH_INDEX.indexName);
       request.setQuery(new TermQueryBuilder(SERVICE_NAME, messagingService.getName()));
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateParentReferences(event, "service.id", ElasticSearchIndexType.TOPIC_SEARCH_INDEX);
     }
   }
 
@@ -641,6 +717,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       DeleteByQueryRequest request = new DeleteByQueryRequest(ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX.indexName);
       request.setQuery(new TermQueryBuilder(SERVICE_NAME, dashboardService.getName()));
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateParentReferences(event, "service.id", ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX);
     }
   }
 
@@ -651,9 +729,113 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       String fqnMatch = classification.getName() + ".*";
       request.setQuery(new WildcardQueryBuilder("fullyQualifiedName", fqnMatch));
       deleteEntityFromElasticSearchByQuery(request);
+    } else if (event.getEventType() == EventType.ENTITY_UPDATED) {
+      updateTagLabels(event);
     }
   }
 
+  /** Update the documents embedding a renamed parent, such as the tables of a database, and rename their FQNs */
+  private void updateParentReferences(ChangeEvent event, String idField, ElasticSearchIndexType indexType)
+      throws IOException {
+    updateReferences(event, QueryBuilders.termQuery(idField, event.getEntityId().toString()), true, indexType);
+  }
+
+  /** Update the owner of the data assets owned by a renamed user or team, and the teams of the users */
+  private void updateOwnerReferences(ChangeEvent event) throws IOException {
+    String id = event.getEntityId().toString();
+    updateReferences(
+        event,
+        QueryBuilders.boolQuery()
+            .should(QueryBuilders.termQuery("owner.id", id))
+            .should(QueryBuilders.termQuery("teams.id", id)),
+        false,
+        OWNER_INDEXES);
+  }
+
+  /**
+   * The documents of the data assets embed references to their parents and owners. When the name or the display name
+   * of one of them changes, update the documents in the background instead of waiting for a reindex.
+   */
+  private void updateReferences(
+      ChangeEvent event, QueryBuilder query, boolean parent, ElasticSearchIndexType... indexTypes) throws IOException {
+    if (!isRenamed(event)) {
+      return;
+    }
+    EntityInterface entity = (EntityInterface) event.getEntity();
+    String oldFqn = getOldFqn(event, entity);
+    Map<String, Object> params = new HashMap<>();
+    params.put("fields", REFERENCE_FIELDS);
+    params.put("id", entity.getId().toString());
+    params.put("name", entity.getName());
+    params.put("displayName", entity.getDisplayName());
+    params.put("fqn", entity.getFullyQualifiedName());
+    params.put("oldFqn", oldFqn);
+    params.put("prefix", parent && !oldFqn.equals(entity.getFullyQualifiedName()) ? oldFqn + Entity.SEPARATOR : null);
+    UpdateByQueryRequest request =
+        new UpdateByQueryRequest(Arrays.stream(indexTypes).map(type -> type.indexName).toArray(String[]::new));
+    request.setQuery(query);
+    request.setScript(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, UPDATE_REFERENCES_SCRIPT, params));
+    taskTracker.submit(
+        request, String.format("Update references to %s %s", event.getEntityType(), entity.getFullyQualifiedName()));
+  }
+
+  /** Rename the tag labels of the data assets when a tag, a glossary term or their parent is renamed */
+  private void updateTagLabels(ChangeEvent event) throws IOException {
+    EntityInterface entity = (EntityInterface) event.getEntity();
+    String oldFqn = getOldFqn(event, entity);
+    if (oldFqn.equals(entity.getFullyQualifiedName())) {
+      return;
+    }
+    Map<String, Object> params = new HashMap<>();
+    params.put("fqn", entity.getFullyQualifiedName());
+    params.put("oldFqn", oldFqn);
+    params.put("prefix", oldFqn + Entity.SEPARATOR);
+    UpdateByQueryRequest request =
+        new UpdateByQueryRequest(Arrays.stream(DATA_ASSET_INDEXES).map(type -> type.indexName).toArray(String[]::new));
+    request.setQuery(
+        QueryBuilders.boolQuery()
+            .should(QueryBuilders.termQuery("tags.tagFQN", oldFqn))
+            .should(QueryBuilders.prefixQuery("tags.tagFQN", oldFqn + Entity.SEPARATOR))
+            .should(QueryBuilders.termQuery("tier.tagFQN", oldFqn))
+            .should(QueryBuilders.prefixQuery("tier.tagFQN", oldFqn + Entity.SEPARATOR)));
+    request.setScript(new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, UPDATE_TAG_LABELS_SCRIPT, params));
+    taskTracker.submit(request, String.format("Rename tag labels %s to %s", oldFqn, entity.getFullyQualifiedName()));
+
+    // The FQNs of the children tags or glossary terms start with the renamed FQN
+    ElasticSearchIndexType childrenIndex =
+        Entity.TAG.equals(event.getEntityType()) || Entity.CLASSIFICATION.equals(event.getEntityType())
+            ? ElasticSearchIndexType.TAG_SEARCH_INDEX
+            : ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX;
+    updateReferences(
+        event, QueryBuilders.prefixQuery("fullyQualifiedName", oldFqn + Entity.SEPARATOR), true, childrenIndex);
+  }
+
+  private static boolean isRenamed(ChangeEvent event) {
+    ChangeDescription change = event.getChangeDescription();
+    if (change == null) {
+      return false;
+    }
+    return Stream.of(change.getFieldsAdded(), change.getFieldsUpdated(), change.getFieldsDeleted())
+        .flatMap(List::stream)
+        .anyMatch(field -> field.getName().equals(FIELD_NAME) || field.getName().equals(FIELD_DISPLAY_NAME));
+  }
+
+  /** Returns the FQN of the entity before the change event renamed it */
+  private static String getOldFqn(ChangeEvent event, EntityInterface entity) {
+    ChangeDescription change = event.getChangeDescription();
+    if (change == null) {
+      return entity.getFullyQualifiedName();
+    }
+    for (FieldChange fieldChange : change.getFieldsUpdated()) {
+      if (fieldChange.getName().equals(FIELD_NAME) && fieldChange.getOldValue() != null) {
+        String parent = FullyQualifiedName.getParent(entity.getFullyQualifiedName());
+        String oldName = fieldChange.getOldValue().toString();
+        return parent == null ? FullyQualifiedName.build(oldName) : FullyQualifiedName.add(parent, oldName);
+      }
+    }
+    return entity.getFullyQualifiedName();
+  }
+
   private void scriptedUpsert(Object doc, UpdateRequest updateRequest) {
     String scriptTxt = "for (k in params.keySet()) { ctx._source.put(k, params.get(k)) }";
     Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt, JsonUtils.getMap(doc));
@@ -688,6 +870,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     if (updateRequest != null) {
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, updateRequest);
       client.update(updateRequest, RequestOptions.DEFAULT);
+      SearchResultCache.invalidateIndex(updateRequest.index());
     }
   }
 
@@ -696,6 +879,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
       deleteRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
       client.delete(deleteRequest, RequestOptions.DEFAULT);
+      SearchResultCache.invalidateIndex(deleteRequest.index());
     }
   }
 
@@ -704,6 +888,9 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
       deleteRequest.setRefresh(true);
       client.deleteByQuery(deleteRequest, RequestOptions.DEFAULT);
+      for (String index : deleteRequest.indices()) {
+        SearchResultCache.invalidateIndex(index);
+      }
     }
   }
 
@@ -778,6 +965,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
   }
 
   public void close() {
+    taskTracker.close();
     try {
       this.client.close();
     } catch (Exception e) {
@@ -12,13 +12,18 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.jackson.Jacksonized;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.client.GetAliasesResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.elasticsearch.client.indices.CreateIndexRequest;
@@ -128,6 +133,53 @@ public class ElasticSearchIndexDefinition {
     return true;
   }
 
+  /** Create a new index with the mapping of the index type, to be swapped in later with {@link #swapIndexAlias} */
+  public void createIndex(ElasticSearchIndexType elasticSearchIndexType, String indexName, String lang)
+      throws IOException {
+    GetIndexRequest gRequest = new GetIndexRequest(indexName);
+    gRequest.local(false);
+    if (!client.indices().exists(gRequest, RequestOptions.DEFAULT)) {
+      CreateIndexRequest request = new CreateIndexRequest(indexName);
+      request.source(getIndexMapping(elasticSearchIndexType, lang), XContentType.JSON);
+      CreateIndexResponse createIndexResponse = client.indices().create(request, RequestOptions.DEFAULT);
+      LOG.info("{} Created {}", indexName, createIndexResponse.isAcknowledged());
+    }
+  }
+
+  /**
+   * Point the alias named after the index type to the given index and delete the indexes it replaces, in a single
+   * atomic request so that searches never see a missing or partially built index. When the index type is still served
+   * by a concrete index of the same name, that index is replaced by the alias.
+   */
+  public void swapIndexAlias(ElasticSearchIndexType elasticSearchIndexType, String indexName) throws IOException {
+    String alias = elasticSearchIndexType.indexName;
+    IndicesAliasesRequest request = new IndicesAliasesRequest();
+    request.addAliasAction(AliasActions.add().index(indexName).alias(alias));
+    Set<String> oldIndexes = getAliasedIndexes(alias);
+    if (oldIndexes.isEmpty() && indexExists(alias)) {
+      oldIndexes = Set.of(alias);
+    }
+    for (String oldIndex : oldIndexes) {
+      if (!oldIndex.equals(indexName)) {
+        request.addAliasAction(AliasActions.removeIndex().index(oldIndex));
+      }
+    }
+    AcknowledgedResponse response = client.indices().updateAliases(request, RequestOptions.DEFAULT);
+    LOG.info("{} Swapped to {} {}", alias, indexName, response.isAcknowledged());
+    setIndexStatus(elasticSearchIndexType, ElasticSearchIndexStatus.CREATED);
+  }
+
+  private Set<String> getAliasedIndexes(String alias) throws IOException {
+    GetAliasesResponse response = client.indices().getAlias(new GetAliasesRequest(alias), RequestOptions.DEFAULT);
+    return response.getAliases().keySet();
+  }
+
+  private boolean indexExists(String indexName) throws IOException {
+    GetIndexRequest gRequest = new GetIndexRequest(indexName);
+    gRequest.local(false);
+    return client.indices().exists(gRequest, RequestOptions.DEFAULT);
+  }
+
   private String getContext(String type, String info) {
     return String.format("Failed While : %s \n Additional Info:  %s ", type, info);
   }
@@ -165,7 +217,12 @@ public class ElasticSearchIndexDefinition {
       gRequest.local(false);
       boolean exists = client.indices().exists(gRequest, RequestOptions.DEFAULT);
       if (exists) {
-        DeleteIndexRequest request = new DeleteIndexRequest(elasticSearchIndexType.indexName);
+        // Indexes that were rebuilt are served through an alias, which can't be deleted by its name
+        Set<String> aliasedIndexes = getAliasedIndexes(elasticSearchIndexType.indexName);
+        DeleteIndexRequest request =
+            aliasedIndexes.isEmpty()
+                ? new DeleteIndexRequest(elasticSearchIndexType.indexName)
+                : new DeleteIndexRequest(aliasedIndexes.toArray(new String[0]));
         AcknowledgedResponse deleteIndexResponse = client.indices().delete(request, RequestOptions.DEFAULT);
         LOG.info("{} Deleted {}", elasticSearchIndexType.indexName, deleteIndexResponse.isAcknowledged());
       }
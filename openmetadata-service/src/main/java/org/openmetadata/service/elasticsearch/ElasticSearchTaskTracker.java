@@ -0,0 +1,234 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.elasticsearch;
+
+import static org.openmetadata.service.resources.elasticsearch.BuildSearchIndexResource.ELASTIC_SEARCH_ENTITY_FQN_STREAM;
+import static org.openmetadata.service.resources.elasticsearch.BuildSearchIndexResource.ELASTIC_SEARCH_EXTENSION;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.tasks.TaskSubmissionResponse;
+import org.elasticsearch.index.reindex.AbstractBulkByScrollRequest;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.openmetadata.schema.settings.EventPublisherJob;
+import org.openmetadata.schema.settings.SearchTask;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.resources.search.SearchResultCache;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Runs the update by query requests that propagate a change of an entity to the search documents embedding it, such as
+ * a renamed service in the documents of its tables. These requests can touch a large part of an index, so they run as
+ * throttled and sliced background tasks in ElasticSearch instead of blocking the event publisher.
+ *
+ * <p>The tasks are recorded in the stream job status and polled until they complete. A task that failed, or failed to
+ * update some of the documents, is recorded as failed with the reason. The results of the completed tasks are then
+ * deleted from ElasticSearch. The tasks recorded as running when the server starts, submitted before a restart, are
+ * polled as well.
+ */
+@Slf4j
+public class ElasticSearchTaskTracker {
+  private static final float REQUESTS_PER_SECOND = 500;
+  private static final long POLL_INTERVAL_SECONDS = 5;
+  private static final int MAX_FINISHED_TASKS = 20;
+
+  private final RestHighLevelClient client;
+  private final CollectionDAO dao;
+  private final Map<String, String[]> runningTasks = new ConcurrentHashMap<>(); // Task Id to the indexes it updates
+  private final ScheduledExecutorService poller =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "search-task-poller");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public ElasticSearchTaskTracker(RestHighLevelClient client, CollectionDAO dao) {
+    this.client = client;
+    this.dao = dao;
+    loadRunningTasks();
+    poller.scheduleWithFixedDelay(this::pollTasks, POLL_INTERVAL_SECONDS, POLL_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  public void submit(UpdateByQueryRequest request, String description) throws IOException {
+    request.setConflicts("proceed");
+    request.setSlices(AbstractBulkByScrollRequest.AUTO_SLICES);
+    request.setRequestsPerSecond(REQUESTS_PER_SECOND);
+    request.setRefresh(true);
+    TaskSubmissionResponse response = client.submitUpdateByQueryTask(request, RequestOptions.DEFAULT);
+    LOG.info("Submitted search task {} : {}", response.getTask(), description);
+    runningTasks.put(response.getTask(), request.indices());
+    updateTasks(
+        tasks ->
+            tasks.add(
+                new SearchTask()
+                    .withTaskId(response.getTask())
+                    .withDescription(description)
+                    .withIndexes(List.of(request.indices()))
+                    .withStatus(SearchTask.Status.RUNNING)
+                    .withStartedAt(now())));
+  }
+
+  /** Poll the tasks recorded as running, which were submitted before the server restarted */
+  private void loadRunningTasks() {
+    try {
+      String recordString =
+          dao.entityExtensionTimeSeriesDao().getExtension(ELASTIC_SEARCH_ENTITY_FQN_STREAM, ELASTIC_SEARCH_EXTENSION);
+      EventPublisherJob lastRecord = JsonUtils.readValue(recordString, EventPublisherJob.class);
+      if (lastRecord == null || lastRecord.getTasks() == null) {
+        return;
+      }
+      for (SearchTask task : lastRecord.getTasks()) {
+        if (task.getStatus() == SearchTask.Status.RUNNING) {
+          List<String> indexes = task.getIndexes() == null ? List.of() : task.getIndexes();
+          runningTasks.put(task.getTaskId(), indexes.toArray(new String[0]));
+        }
+      }
+      LOG.info("Polling {} search tasks running before the start", runningTasks.size());
+    } catch (Exception e) {
+      LOG.error("Failed to load the running search tasks", e);
+    }
+  }
+
+  private void pollTasks() {
+    for (Map.Entry<String, String[]> task : runningTasks.entrySet()) {
+      String taskId = task.getKey();
+      try {
+        JsonNode result;
+        try {
+          Response response = client.getLowLevelClient().performRequest(new Request("GET", "/_tasks/" + taskId));
+          result = JsonUtils.readTree(EntityUtils.toString(response.getEntity()));
+          if (!result.path("completed").asBoolean()) {
+            continue;
+          }
+        } catch (ResponseException e) {
+          if (e.getResponse().getStatusLine().getStatusCode() != 404) {
+            throw e;
+          }
+          // A task that is not found anymore has completed and its result has been cleaned up
+          result = null;
+        }
+        runningTasks.remove(taskId);
+        for (String index : task.getValue()) {
+          SearchResultCache.invalidateIndex(index);
+        }
+        String failure = result == null ? null : getFailure(result);
+        if (failure == null) {
+          updateTaskStatus(taskId, SearchTask.Status.COMPLETED, null);
+        } else {
+          LOG.error("Search task {} failed: {}", taskId, failure);
+          updateTaskStatus(taskId, SearchTask.Status.FAILED, failure);
+        }
+        if (result != null) {
+          deleteTaskResult(taskId);
+        }
+      } catch (Exception e) {
+        LOG.error("Failed to get the status of search task {}", taskId, e);
+        runningTasks.remove(taskId);
+        updateTaskStatus(taskId, SearchTask.Status.FAILED, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Returns why a completed task failed, or null when it succeeded. A task fails as a whole with an error, or completes
+   * with the failures of the documents it could not update. Version conflicts are not failures, as the tasks proceed on
+   * conflicts.
+   */
+  static String getFailure(JsonNode result) {
+    JsonNode error = result.path("error");
+    if (!error.isMissingNode()) {
+      return error.path("reason").asText(error.toString());
+    }
+    JsonNode failures = result.path("response").path("failures");
+    if (failures.isArray() && failures.size() > 0) {
+      JsonNode first = failures.get(0);
+      return String.format(
+          "%d documents failed to update, first: %s", failures.size(), first.path("cause").path("reason").asText());
+    }
+    return null;
+  }
+
+  /** Results of the completed tasks are stored in the .tasks index until they are deleted */
+  private void deleteTaskResult(String taskId) {
+    try {
+      client.getLowLevelClient().performRequest(new Request("DELETE", "/.tasks/_doc/" + taskId));
+    } catch (Exception e) {
+      LOG.debug("Failed to delete the result of search task {}", taskId, e);
+    }
+  }
+
+  private void updateTaskStatus(String taskId, SearchTask.Status status, String failure) {
+    updateTasks(
+        tasks -> {
+          tasks.stream()
+              .filter(task -> task.getTaskId().equals(taskId))
+              .forEach(task -> task.withStatus(status).withFailure(failure).withCompletedAt(now()));
+          // Keep the running tasks and the last finished ones
+          List<SearchTask> finished = new ArrayList<>();
+          tasks.stream().filter(task -> task.getStatus() != SearchTask.Status.RUNNING).forEach(finished::add);
+          for (int i = 0; i < finished.size() - MAX_FINISHED_TASKS; i++) {
+            tasks.remove(finished.get(i));
+          }
+        });
+  }
+
+  private synchronized void updateTasks(Consumer<List<SearchTask>> update) {
+    try {
+      String recordString =
+          dao.entityExtensionTimeSeriesDao().getExtension(ELASTIC_SEARCH_ENTITY_FQN_STREAM, ELASTIC_SEARCH_EXTENSION);
+      EventPublisherJob lastRecord = JsonUtils.readValue(recordString, EventPublisherJob.class);
+      long originalLastUpdate = lastRecord.getTimestamp();
+      List<SearchTask> tasks =
+          lastRecord.getTasks() == null ? new ArrayList<>() : new ArrayList<>(lastRecord.getTasks());
+      update.accept(tasks);
+      lastRecord.setTasks(tasks);
+      lastRecord.setTimestamp(now());
+      dao.entityExtensionTimeSeriesDao()
+          .update(
+              ELASTIC_SEARCH_ENTITY_FQN_STREAM,
+              ELASTIC_SEARCH_EXTENSION,
+              JsonUtils.pojoToJson(lastRecord),
+              originalLastUpdate);
+    } catch (Exception e) {
+      LOG.error("Failed to Update Elastic Search Job Tasks", e);
+    }
+  }
+
+  private static long now() {
+    return Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()).getTime();
+  }
+
+  public void close() {
+    poller.shutdownNow();
+  }
+}
@@ -0,0 +1,31 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** Budgets of the diffs of the old and new values in the messages of change events, feeds and alerts */
+@Getter
+@Setter
+public class ChangeEventDiffConfiguration {
+  /** Values longer than this, old and new value together, are not diffed and are summarized as updated */
+  private int maxDiffLength = 20000;
+
+  /** Time after which a diff stops looking for the smallest changes, and returns coarser ones */
+  private long diffTimeoutMs = 100;
+
+  /** Characters of values and diffs kept in the cache of the diffs, shared by the messages of all the consumers */
+  private long maxCachedCharacters = 10_000_000;
+}
@@ -13,8 +13,11 @@
 
 package org.openmetadata.service.events;
 
+import io.dropwizard.lifecycle.Managed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import java.util.*;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -22,25 +25,31 @@ import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Provider;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.schema.api.configuration.events.EventHandlerConfiguration;
+import org.openmetadata.schema.api.configuration.events.HandlerExecutorConfiguration;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.security.JwtFilter;
-import org.openmetadata.service.util.ParallelStreamUtil;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
 
 @Slf4j
 @Provider
-public class EventFilter implements ContainerResponseFilter {
+public class EventFilter implements ContainerResponseFilter, Managed {
   private static final List<String> AUDITABLE_METHODS = Arrays.asList("POST", "PUT", "PATCH", "DELETE");
-  private static final int FORK_JOIN_POOL_PARALLELISM = 20;
-  private final ForkJoinPool forkJoinPool;
-  private final List<EventHandler> eventHandlers;
+  // Time given to the handlers to handle their queued events when the server stops
+  private static final long DRAIN_TIMEOUT_SECONDS = 30;
+  // Each handler runs its events on its own bounded executor
+  private final Map<EventHandler, EventHandlerExecutor> eventHandlers;
 
   public EventFilter(OpenMetadataApplicationConfig config, Jdbi jdbi) {
-    this.forkJoinPool = new ForkJoinPool(FORK_JOIN_POOL_PARALLELISM);
-    this.eventHandlers = new ArrayList<>();
+    this.eventHandlers = new LinkedHashMap<>();
     registerEventHandlers(config, jdbi);
   }
 
   private void registerEventHandlers(OpenMetadataApplicationConfig config, Jdbi jdbi) {
+    MeterRegistry registry =
+        MicrometerBundleSingleton.prometheusMeterRegistry != null
+            ? MicrometerBundleSingleton.prometheusMeterRegistry
+            : Metrics.globalRegistry;
     try {
       Set<String> eventHandlerClassNames =
           new HashSet<>(config.getEventHandlerConfiguration().getEventHandlerClassNames());
@@ -49,14 +58,33 @@ public class EventFilter implements ContainerResponseFilter {
         EventHandler eventHandler =
             ((Class<EventHandler>) Class.forName(eventHandlerClassName)).getConstructor().newInstance();
         eventHandler.init(config, jdbi);
-        eventHandlers.add(eventHandler);
-        LOG.info("Added event handler {}", eventHandlerClassName);
+        HandlerExecutorConfiguration executorConfig =
+            getExecutorConfiguration(config.getEventHandlerConfiguration(), eventHandlerClassName);
+        eventHandlers.put(
+            eventHandler,
+            new EventHandlerExecutor(eventHandler.getClass().getSimpleName(), executorConfig, registry));
+        LOG.info(
+            "Added event handler {} with {} threads, {} queued events and {} overflow policy",
+            eventHandlerClassName,
+            executorConfig.getThreads(),
+            executorConfig.getQueueSize(),
+            executorConfig.getOverflowPolicy());
       }
     } catch (Exception e) {
       LOG.info("Exception ", e);
     }
   }
 
+  private static HandlerExecutorConfiguration getExecutorConfiguration(
+      EventHandlerConfiguration config, String eventHandlerClassName) {
+    for (HandlerExecutorConfiguration executorConfig : config.getHandlerExecutors()) {
+      if (eventHandlerClassName.equals(executorConfig.getClassName())) {
+        return executorConfig;
+      }
+    }
+    return config.getHandlerExecutor() != null ? config.getHandlerExecutor() : new HandlerExecutorConfiguration();
+  }
+
   @Override
   public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
     int responseCode = responseContext.getStatus();
@@ -64,14 +92,28 @@ public class EventFilter implements ContainerResponseFilter {
     if ((responseCode < 200 || responseCode > 299) || (!AUDITABLE_METHODS.contains(method))) {
       return;
     }
-    eventHandlers
-        .parallelStream()
-        .forEach(
-            (eventHandler) -> {
-              UriInfo uriInfo = requestContext.getUriInfo();
-              if (JwtFilter.EXCLUDED_ENDPOINTS.stream().noneMatch(endpoint -> uriInfo.getPath().contains(endpoint))) {
-                ParallelStreamUtil.runAsync(() -> eventHandler.process(requestContext, responseContext), forkJoinPool);
-              }
-            });
+    UriInfo uriInfo = requestContext.getUriInfo();
+    if (JwtFilter.EXCLUDED_ENDPOINTS.stream().anyMatch(endpoint -> uriInfo.getPath().contains(endpoint))) {
+      return;
+    }
+    eventHandlers.forEach(
+        (eventHandler, executor) -> executor.execute(() -> eventHandler.process(requestContext, responseContext)));
+  }
+
+  @Override
+  public void start() {
+    // The executors are started with the filter
+  }
+
+  /** Stop taking events, wait for the queued events to be handled and close the handlers */
+  @Override
+  public void stop() throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+    eventHandlers.values().forEach(EventHandlerExecutor::shutdown);
+    for (Map.Entry<EventHandler, EventHandlerExecutor> entry : eventHandlers.entrySet()) {
+      entry.getValue().awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      entry.getKey().close();
+    }
+    LOG.info("Stopped the event handlers");
   }
 }
@@ -0,0 +1,127 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.api.configuration.events.HandlerExecutorConfiguration;
+import org.openmetadata.schema.api.configuration.events.HandlerExecutorConfiguration.OverflowPolicy;
+import org.openmetadata.service.util.VirtualThreads;
+
+/**
+ * Bounded executor running the events of an event handler off the request threads. Each handler has its own, so that a
+ * slow handler only delays its own events. When the queue is full, the overflow policy either runs the event on the
+ * request thread, which slows down the writes to the pace of the handler, or drops it.
+ *
+ * <p>Metrics tagged with the handler: the events waiting in the queue ({@code event.handler.queue}), the time from an
+ * event submitted to handled ({@code event.handler.latency}) and the events over the queue size, by overflow policy
+ * ({@code event.handler.rejected}).
+ *
+ * <p>The threads are daemon threads. When the server stops, {@link EventFilter} shuts the executors down and waits a
+ * bounded time for the queued events to be handled.
+ */
+@Slf4j
+public class EventHandlerExecutor {
+  private final String name;
+  private final ThreadPoolExecutor executor;
+  private final Timer latency;
+
+  public EventHandlerExecutor(String name, HandlerExecutorConfiguration config, MeterRegistry registry) {
+    this.name = name;
+    int threads = Math.max(config.getThreads(), 1);
+    // Daemon threads, the events left when the server stops don't keep the JVM running
+    AtomicInteger threadNumber = new AtomicInteger();
+    ThreadFactory threadFactory =
+        VirtualThreads.threadFactory(
+            "event-handler-" + name,
+            runnable -> {
+              Thread thread = new Thread(runnable, "event-handler-" + name + "-" + threadNumber.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            });
+    Counter rejected =
+        Counter.builder("event.handler.rejected")
+            .tag("handler", name)
+            .tag("policy", config.getOverflowPolicy().value())
+            .register(registry);
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(config.getQueueSize(), 1)),
+            threadFactory,
+            rejectedExecutionHandler(config.getOverflowPolicy(), rejected));
+    this.executor.allowCoreThreadTimeOut(true);
+    this.latency = Timer.builder("event.handler.latency").tag("handler", name).register(registry);
+    Gauge.builder("event.handler.queue", executor, e -> e.getQueue().size()).tag("handler", name).register(registry);
+  }
+
+  public void execute(Runnable event) {
+    long submitted = System.nanoTime();
+    executor.execute(
+        () -> {
+          try {
+            event.run();
+          } catch (Exception e) {
+            LOG.error("Event handler {} failed", name, e);
+          } finally {
+            latency.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+          }
+        });
+  }
+
+  /** Stop taking events, the events already queued are still handled */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Wait for the queued events to be handled after {@link #shutdown()}. When the timeout expires, the events left are
+   * dropped and the running ones are interrupted. Returns false when events were dropped.
+   */
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    if (executor.awaitTermination(timeout, unit)) {
+      return true;
+    }
+    List<Runnable> dropped = executor.shutdownNow();
+    LOG.warn("Dropped {} events of handler {} not handled before the shutdown timeout", dropped.size(), name);
+    return false;
+  }
+
+  private RejectedExecutionHandler rejectedExecutionHandler(OverflowPolicy policy, Counter rejected) {
+    if (policy == OverflowPolicy.DROP) {
+      return (event, pool) -> {
+        rejected.increment();
+        LOG.debug("Dropped an event of handler {}, {} events are waiting", name, pool.getQueue().size());
+      };
+    }
+    ThreadPoolExecutor.CallerRunsPolicy callerRuns = new ThreadPoolExecutor.CallerRunsPolicy();
+    return (event, pool) -> {
+      rejected.increment();
+      callerRuns.rejectedExecution(event, pool);
+    };
+  }
+}
@@ -22,12 +22,14 @@ import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.util.DaemonThreadFactory;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.service.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.service.util.VirtualThreads;
 
 /** Change event PubSub built based on LMAX Disruptor. */
 @Slf4j
@@ -39,9 +41,11 @@ public class EventPubSub {
 
   public static void start() {
     if (!started) {
-      disruptor = new Disruptor<>(ChangeEventHolder::new, 1024, DaemonThreadFactory.INSTANCE);
+      // Handlers and publishers block on the database and on HTTP calls, they run on virtual threads when enabled
+      ThreadFactory threadFactory = VirtualThreads.threadFactory("event-pubsub", DaemonThreadFactory.INSTANCE);
+      disruptor = new Disruptor<>(ChangeEventHolder::new, 1024, threadFactory);
       disruptor.setDefaultExceptionHandler(new DefaultExceptionHandler());
-      executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+      executor = Executors.newCachedThreadPool(threadFactory);
       ringBuffer = disruptor.start();
       LOG.info("Disruptor started");
       started = true;
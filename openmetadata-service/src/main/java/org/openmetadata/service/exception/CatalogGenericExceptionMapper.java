@@ -79,6 +79,8 @@ public class CatalogGenericExceptionMapper implements ExceptionMapper<Throwable>
           .type(MediaType.APPLICATION_JSON_TYPE)
           .entity(new ErrorMessage(FORBIDDEN.getStatusCode(), ex.getMessage()))
           .build();
+    } else if (ex instanceof NotModifiedException) {
+      return Response.notModified(((NotModifiedException) ex).getEntityTag()).build();
     } else if (ex instanceof WebServiceException) {
       final Response response = ((WebServiceException) ex).getResponse();
       Family family = response.getStatusInfo().getFamily();
@@ -0,0 +1,30 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.exception;
+
+import javax.ws.rs.core.EntityTag;
+import lombok.Getter;
+
+/**
+ * Thrown when the representation a client already has, identified by its If-None-Match header, is still current. It is
+ * mapped to a 304 response without a body. Being part of normal polling, it carries no stack trace.
+ */
+public class NotModifiedException extends RuntimeException {
+  @Getter private final transient EntityTag entityTag;
+
+  public NotModifiedException(EntityTag entityTag) {
+    super("Not modified " + entityTag, null, false, false);
+    this.entityTag = entityTag;
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.exception;
+
+import javax.ws.rs.core.Response;
+import org.openmetadata.sdk.exception.WebServiceException;
+
+public final class PreconditionFailedException extends WebServiceException {
+  private static final String MODIFIED_MESSAGE = "Entity is at version [%s] and does not match If-Match [%s].";
+  private static final String NOT_FOUND_MESSAGE = "Entity does not exist and does not match If-Match [%s].";
+
+  private PreconditionFailedException(String message) {
+    super(Response.Status.PRECONDITION_FAILED, message);
+  }
+
+  public static PreconditionFailedException modified(Double version, String ifMatch) {
+    return new PreconditionFailedException(String.format(MODIFIED_MESSAGE, version, ifMatch));
+  }
+
+  public static PreconditionFailedException notFound(String ifMatch) {
+    return new PreconditionFailedException(String.format(NOT_FOUND_MESSAGE, ifMatch));
+  }
+}
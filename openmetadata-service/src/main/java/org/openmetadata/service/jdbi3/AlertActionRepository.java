@@ -70,6 +70,8 @@ public class AlertActionRepository extends EntityRepository<AlertAction> {
       recordChange("batchSize", original.getBatchSize(), updated.getBatchSize());
       recordChange("readTimeout", original.getReadTimeout(), updated.getReadTimeout());
       recordChange("timeout", original.getTimeout(), updated.getTimeout());
+      recordChange("coalescingWindow", original.getCoalescingWindow(), updated.getCoalescingWindow());
+      recordChange("maxMessagesPerMinute", original.getMaxMessagesPerMinute(), updated.getMaxMessagesPerMinute());
       recordChange("alertActionConfig", original.getAlertActionConfig(), updated.getAlertActionConfig());
       recordChange("alertActionType", original.getAlertActionType(), updated.getAlertActionType());
       AlertsPublisherManager.getInstance().updateAllAlertUsingAlertAction(updated);
@@ -14,12 +14,13 @@
 package org.openmetadata.service.jdbi3;
 
 import static org.openmetadata.service.Entity.ORGANIZATION_NAME;
-import static org.openmetadata.service.jdbi3.ListFilter.escape;
-import static org.openmetadata.service.jdbi3.ListFilter.escapeApostrophe;
+import static org.openmetadata.service.jdbi3.ListFilter.escapeLike;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -30,20 +31,27 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.core.statement.StatementException;
 import org.jdbi.v3.sqlobject.CreateSqlObject;
+import org.jdbi.v3.sqlobject.config.KeyColumn;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
+import org.jdbi.v3.sqlobject.config.ValueColumn;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindBeanList;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.api.configuration.airflow.TaskNotificationConfiguration;
 import org.openmetadata.api.configuration.airflow.TestResultNotificationConfiguration;
 import org.openmetadata.common.utils.CommonUtil;
@@ -106,6 +114,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.jdbi3.CollectionDAO.TagUsageDAO.TagLabelMapper;
 import org.openmetadata.service.jdbi3.CollectionDAO.UsageDAO.UsageDetailsMapper;
 import org.openmetadata.service.jdbi3.FeedRepository.FilterType;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlBatch;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
 import org.openmetadata.service.resources.tags.TagLabelCache;
@@ -129,9 +138,15 @@ public interface CollectionDAO {
   @CreateSqlObject
   EntityExtensionDAO entityExtensionDAO();
 
+  @CreateSqlObject
+  TableSampleDataDAO tableSampleDataDAO();
+
   @CreateSqlObject
   EntityExtensionTimeSeriesDAO entityExtensionTimeSeriesDao();
 
+  @CreateSqlObject
+  ReportDataRollupDAO reportDataRollupDAO();
+
   @CreateSqlObject
   RoleDAO roleDAO();
 
@@ -219,6 +234,15 @@ public interface CollectionDAO {
   @CreateSqlObject
   FeedDAO feedDAO();
 
+  @CreateSqlObject
+  ThreadPostDAO threadPostDAO();
+
+  @CreateSqlObject
+  ThreadCountDAO threadCountDAO();
+
+  @CreateSqlObject
+  ThreadOwnerCountDAO threadOwnerCountDAO();
+
   @CreateSqlObject
   LocationDAO locationDAO();
 
@@ -480,6 +504,50 @@ public interface CollectionDAO {
     void deleteAll(@Bind("id") String id);
   }
 
+  /**
+   * Chunks of the sample data of the tables, in the format of {@link org.openmetadata.service.util.SampleDataCodec}
+   */
+  interface TableSampleDataDAO {
+    @SqlBatch("INSERT INTO table_sample_data(tableId, chunk, data) VALUES (:tableId, :chunk, :data)")
+    void insert(@Bind("tableId") String tableId, @Bind("chunk") List<Integer> chunks, @Bind("data") List<byte[]> data);
+
+    @SqlQuery("SELECT data FROM table_sample_data WHERE tableId = :tableId AND chunk = :chunk")
+    byte[] getChunk(@Bind("tableId") String tableId, @Bind("chunk") int chunk);
+
+    @SqlQuery("SELECT chunk, data FROM table_sample_data WHERE tableId = :tableId AND chunk IN (<chunks>)")
+    @KeyColumn("chunk")
+    @ValueColumn("data")
+    Map<Integer, byte[]> getChunks(@Bind("tableId") String tableId, @BindList("chunks") List<Integer> chunks);
+
+    @SqlUpdate("DELETE FROM table_sample_data WHERE tableId = :tableId")
+    void delete(@Bind("tableId") String tableId);
+
+    @SqlUpdate("DELETE FROM entity_extension WHERE id = :id AND extension = :extension")
+    int deleteExtension(@Bind("id") String id, @Bind("extension") String extension);
+
+    /**
+     * Replace the sample data of the table by the chunks and delete the sample data stored as JSON, in one transaction.
+     * The JSON extension is deleted first, so that a concurrent conversion of it waits for the replacement.
+     */
+    @Transaction
+    default void replace(String tableId, Map<Integer, byte[]> chunks, String extension) {
+      deleteExtension(tableId, extension);
+      delete(tableId);
+      insert(tableId, new ArrayList<>(chunks.keySet()), new ArrayList<>(chunks.values()));
+    }
+
+    /**
+     * Store the chunks of sample data converted from the JSON extension and delete the extension, in one transaction.
+     * Nothing is stored when the extension was already deleted, by a concurrent conversion or a new sample data.
+     */
+    @Transaction
+    default void insertConverted(String tableId, Map<Integer, byte[]> chunks, String extension) {
+      if (deleteExtension(tableId, extension) > 0) {
+        insert(tableId, new ArrayList<>(chunks.keySet()), new ArrayList<>(chunks.values()));
+      }
+    }
+  }
+
   class EntityVersionPair {
     @Getter private final Double version;
     @Getter private final String entityJson;
@@ -542,6 +610,15 @@ public interface CollectionDAO {
     private ReportData reportData;
   }
 
+  @Getter
+  @AllArgsConstructor
+  class TimeSeriesRow {
+    private String entityFQN;
+    private String extension;
+    private String jsonSchema;
+    private String json;
+  }
+
   interface EntityRelationshipDAO {
     default void insert(UUID fromId, UUID toId, String fromEntity, String toEntity, int relation) {
       insert(fromId, toId, fromEntity, toEntity, relation, null);
@@ -626,6 +703,27 @@ public interface CollectionDAO {
     @RegisterRowMapper(FromRelationshipMapper.class)
     List<EntityRelationshipRecord> findFrom(@Bind("toId") String toId);
 
+    /** Returns the map of the given to entity ids to the id of the entity of type fromEntity related to them */
+    @SqlQuery(
+        "SELECT toId, fromId FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND toEntity = :toEntity AND relation = :relation AND fromEntity = :fromEntity")
+    @KeyColumn("toId")
+    @ValueColumn("fromId")
+    Map<String, String> findFromBatch(
+        @BindList("toIds") List<String> toIds,
+        @Bind("toEntity") String toEntity,
+        @Bind("relation") int relation,
+        @Bind("fromEntity") String fromEntity);
+
+    /** Returns the pairs of from and to ids of all the relationships of the given type between the entity types */
+    @SqlQuery(
+        "SELECT fromId, toId FROM entity_relationship "
+            + "WHERE fromEntity = :fromEntity AND toEntity = :toEntity AND relation = :relation "
+            + "ORDER BY toId, fromId")
+    @RegisterRowMapper(FromToIdMapper.class)
+    List<Pair<UUID, UUID>> findAll(
+        @Bind("fromEntity") String fromEntity, @Bind("toEntity") String toEntity, @Bind("relation") int relation);
+
     @SqlQuery("SELECT count(*) FROM entity_relationship " + "WHERE fromEntity = :fromEntity AND toEntity = :toEntity")
     int findIfAnyRelationExist(@Bind("fromEntity") String fromEntity, @Bind("toEntity") String toEntity);
 
@@ -679,6 +777,13 @@ public interface CollectionDAO {
       }
     }
 
+    class FromToIdMapper implements RowMapper<Pair<UUID, UUID>> {
+      @Override
+      public Pair<UUID, UUID> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(UUID.fromString(rs.getString("fromId")), UUID.fromString(rs.getString("toId")));
+      }
+    }
+
     class ToRelationshipMapper implements RowMapper<EntityRelationshipRecord> {
       @Override
       public EntityRelationshipRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
@@ -698,9 +803,31 @@ public interface CollectionDAO {
         connectionType = POSTGRES)
     void insert(@Bind("json") String json);
 
+    /**
+     * Insert the thread and run the work storing what refers to it, such as its relationships and counts, in the same
+     * transaction. The DAO calls made by the work join the transaction.
+     */
+    @Transaction
+    default <R> R insertWith(String json, EntityDAO.LockedWork<String, R> work) throws IOException {
+      insert(json);
+      return work.run(json);
+    }
+
     @SqlQuery("SELECT json FROM thread_entity WHERE id = :id")
     String findById(@Bind("id") String id);
 
+    @SqlQuery("SELECT json FROM thread_entity WHERE id = :id FOR UPDATE")
+    String findByIdForUpdate(@Bind("id") String id);
+
+    /**
+     * Run the work in one transaction holding the row lock of the thread, passing it the thread document as locked,
+     * null when it does not exist. The DAO calls made by the work join the transaction.
+     */
+    @Transaction
+    default <R> R withThreadLock(String id, EntityDAO.LockedWork<String, R> work) throws IOException {
+      return work.run(findByIdForUpdate(id));
+    }
+
     @SqlQuery("SELECT json FROM thread_entity ORDER BY createdAt DESC")
     List<String> list();
 
@@ -1331,37 +1458,6 @@ public interface CollectionDAO {
         connectionType = POSTGRES)
     void update(@Bind("id") String id, @Bind("json") String json);
 
-    @SqlQuery(
-        "SELECT entityLink, COUNT(id) count FROM field_relationship fr INNER JOIN thread_entity te ON fr.fromFQN=te.id "
-            + "WHERE (:fqnPrefix IS NULL OR fr.toFQN LIKE CONCAT(:fqnPrefix, '.%') OR fr.toFQN=:fqnPrefix) AND "
-            + "(:toType IS NULL OR fr.toType like concat(:toType, '.%') OR fr.toType=:toType) AND fr.fromType = :fromType "
-            + "AND fr.relation = :relation AND te.resolved= :isResolved AND (:status IS NULL OR te.taskStatus = :status) "
-            + "AND (:type IS NULL OR te.type = :type) "
-            + "GROUP BY entityLink")
-    @RegisterRowMapper(CountFieldMapper.class)
-    List<List<String>> listCountByEntityLink(
-        @Bind("fqnPrefix") String fqnPrefix,
-        @Bind("fromType") String fromType,
-        @Bind("toType") String toType,
-        @Bind("relation") int relation,
-        @Bind("type") ThreadType type,
-        @Bind("status") TaskStatus status,
-        @Bind("isResolved") boolean isResolved);
-
-    @SqlQuery(
-        "SELECT entityLink, COUNT(id) count FROM thread_entity WHERE resolved = :resolved AND (:type IS NULL OR type = :type) AND "
-            + "(entityId in (SELECT toId FROM entity_relationship WHERE "
-            + "((fromEntity='user' AND fromId= :userId) OR "
-            + "(fromEntity='team' AND fromId IN (<teamIds>))) AND relation=8) OR "
-            + "id in (SELECT toId FROM entity_relationship WHERE (fromEntity='user' AND fromId= :userId AND toEntity='THREAD' AND relation IN (1,2)))) "
-            + "GROUP BY entityLink")
-    @RegisterRowMapper(CountFieldMapper.class)
-    List<List<String>> listCountByOwner(
-        @Bind("userId") String userId,
-        @BindList("teamIds") List<String> teamIds,
-        @Bind("type") ThreadType type,
-        @Bind("resolved") boolean resolved);
-
     @SqlQuery(
         "SELECT json FROM thread_entity WHERE updatedAt > :before AND resolved = :resolved AND "
             + "(:type IS NULL OR type = :type) AND entityId in ("
@@ -1463,6 +1559,233 @@ public interface CollectionDAO {
     }
   }
 
+  /** Posts of the feed threads, appended one row at a time and read in the order of their timestamp */
+  interface ThreadPostDAO {
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO thread_post_entity(threadId, json) VALUES (:threadId, :json)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO thread_post_entity(threadId, json) VALUES (:threadId, :json :: jsonb)",
+        connectionType = POSTGRES)
+    void insert(@Bind("threadId") String threadId, @Bind("json") String json);
+
+    @ConnectionAwareSqlUpdate(
+        value = "UPDATE thread_post_entity SET json = :json WHERE threadId = :threadId AND id = :id",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "UPDATE thread_post_entity SET json = (:json :: jsonb) WHERE threadId = :threadId AND id = :id",
+        connectionType = POSTGRES)
+    void update(@Bind("threadId") String threadId, @Bind("id") String id, @Bind("json") String json);
+
+    @SqlQuery("SELECT json FROM thread_post_entity WHERE threadId = :threadId AND id = :id")
+    String findById(@Bind("threadId") String threadId, @Bind("id") String id);
+
+    @SqlQuery("SELECT json FROM thread_post_entity WHERE threadId = :threadId ORDER BY postTs, id")
+    List<String> listAll(@Bind("threadId") String threadId);
+
+    /** Posts after the given timestamp and id, oldest first. The id orders the posts with the same timestamp */
+    @SqlQuery(
+        "SELECT json FROM thread_post_entity WHERE threadId = :threadId "
+            + "AND (postTs > :postTs OR (postTs = :postTs AND id > :id)) "
+            + "ORDER BY postTs, id LIMIT :limit")
+    List<String> listAfter(
+        @Bind("threadId") String threadId,
+        @Bind("postTs") long postTs,
+        @Bind("id") String id,
+        @Bind("limit") int limit);
+
+    /** Posts before the given timestamp and id, latest first. The id orders the posts with the same timestamp */
+    @SqlQuery(
+        "SELECT json FROM thread_post_entity WHERE threadId = :threadId "
+            + "AND (postTs < :postTs OR (postTs = :postTs AND id < :id)) "
+            + "ORDER BY postTs DESC, id DESC LIMIT :limit")
+    List<String> listBefore(
+        @Bind("threadId") String threadId,
+        @Bind("postTs") long postTs,
+        @Bind("id") String id,
+        @Bind("limit") int limit);
+
+    @SqlUpdate("DELETE FROM thread_post_entity WHERE threadId = :threadId AND id = :id")
+    void delete(@Bind("threadId") String threadId, @Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM thread_post_entity WHERE threadId = :threadId")
+    void deleteAll(@Bind("threadId") String threadId);
+  }
+
+  /**
+   * Counts of the threads by entity link, thread type, task status and resolved flag. They are updated with the threads
+   * so that the thread counts are read from a few rows instead of aggregating the threads.
+   */
+  interface ThreadCountDAO {
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_count(entityLink, type, taskStatus, resolved, entityId, aboutFQN, aboutType, count) "
+                + "VALUES (:entityLink, :type, :taskStatus, :resolved, :entityId, :aboutFQN, :aboutType, :delta) "
+                + "ON DUPLICATE KEY UPDATE count = count + :delta",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_count(entityLink, type, taskStatus, resolved, entityId, aboutFQN, aboutType, count) "
+                + "VALUES (:entityLink, :type, :taskStatus, :resolved, :entityId, :aboutFQN, :aboutType, :delta) "
+                + "ON CONFLICT (entityLink, type, taskStatus, resolved) "
+                + "DO UPDATE SET count = thread_count.count + :delta",
+        connectionType = POSTGRES)
+    void increment(
+        @Bind("entityLink") String entityLink,
+        @Bind("type") String type,
+        @Bind("taskStatus") String taskStatus,
+        @Bind("resolved") boolean resolved,
+        @Bind("entityId") String entityId,
+        @Bind("aboutFQN") String aboutFQN,
+        @Bind("aboutType") String aboutType,
+        @Bind("delta") int delta);
+
+    /** Thread counts of the entity links about the given FQN or its fields, of all the entity links when it is null */
+    @SqlQuery(
+        "SELECT entityLink, SUM(count) count FROM thread_count "
+            + "WHERE (:fqnPrefix IS NULL OR aboutFQN LIKE CONCAT(:fqnPrefix, '.%') OR aboutFQN = :fqnPrefix) AND "
+            + "(:toType IS NULL OR aboutType LIKE CONCAT(:toType, '.%') OR aboutType = :toType) "
+            + "AND resolved = :isResolved AND (:status IS NULL OR taskStatus = :status) "
+            + "AND (:type IS NULL OR type = :type) "
+            + "GROUP BY entityLink HAVING SUM(count) > 0")
+    @RegisterRowMapper(FeedDAO.CountFieldMapper.class)
+    List<List<String>> listCountByEntityLink(
+        @Bind("fqnPrefix") String fqnPrefix,
+        @Bind("toType") String toType,
+        @Bind("type") ThreadType type,
+        @Bind("status") TaskStatus status,
+        @Bind("isResolved") boolean isResolved);
+
+    @SqlUpdate("DELETE FROM thread_count WHERE entityId = :entityId")
+    void deleteByEntityId(@Bind("entityId") String entityId);
+
+    @SqlUpdate("DELETE FROM thread_count")
+    void deleteAll();
+
+    @SqlUpdate(
+        "INSERT INTO thread_count(entityLink, type, taskStatus, resolved, entityId, aboutFQN, aboutType, count) "
+            + "SELECT te.entityLink, te.type, COALESCE(te.taskStatus, ''), COALESCE(te.resolved, FALSE), te.entityId, "
+            + "MIN(fr.toFQN), MIN(fr.toType), COUNT(te.id) "
+            + "FROM thread_entity te INNER JOIN field_relationship fr ON fr.fromFQN = te.id "
+            + "WHERE fr.fromType = 'THREAD' AND fr.relation = 3 "
+            + "GROUP BY te.entityLink, te.type, COALESCE(te.taskStatus, ''), COALESCE(te.resolved, FALSE), "
+            + "te.entityId")
+    void insertFromThreads();
+
+    /** Recompute the counts from the threads, repairing any drift of the counts maintained with the threads */
+    @Transaction
+    default void recompute() {
+      deleteAll();
+      insertFromThreads();
+    }
+  }
+
+  /**
+   * Counts of the threads in the inbox of the users by entity link, thread type and resolved flag. The inbox of a user
+   * holds the threads they created or replied to, and the threads about the entities owned by them or their teams. They
+   * are updated with the threads so that the thread count of a user is read from its own rows. The changes of the
+   * owners and the team members are not followed, {@link #recompute()} repairs them.
+   */
+  interface ThreadOwnerCountDAO {
+    /** Ids of the users having the thread in their inbox */
+    String THREAD_OWNERS =
+        "SELECT fromId ownerId FROM entity_relationship WHERE toId = :threadId AND fromEntity = 'user' "
+            + "AND toEntity = 'THREAD' AND relation IN (1, 2) "
+            + "UNION SELECT fromId FROM entity_relationship WHERE toId = :entityId AND fromEntity = 'user' "
+            + "AND relation = 8 "
+            + "UNION SELECT m.toId FROM entity_relationship er "
+            + "INNER JOIN entity_relationship m ON m.fromId = er.fromId WHERE er.toId = :entityId "
+            + "AND er.fromEntity = 'team' AND er.relation = 8 "
+            + "AND m.fromEntity = 'team' AND m.toEntity = 'user' AND m.relation = 10";
+
+    @SqlQuery(THREAD_OWNERS)
+    List<String> listOwnerIds(@Bind("threadId") String threadId, @Bind("entityId") String entityId);
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_owner_count(ownerId, entityLink, type, resolved, entityId, count) "
+                + "VALUES (:ownerId, :entityLink, :type, :resolved, :entityId, :delta) "
+                + "ON DUPLICATE KEY UPDATE count = count + :delta",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_owner_count(ownerId, entityLink, type, resolved, entityId, count) "
+                + "VALUES (:ownerId, :entityLink, :type, :resolved, :entityId, :delta) "
+                + "ON CONFLICT (ownerId, entityLink, type, resolved) "
+                + "DO UPDATE SET count = thread_owner_count.count + :delta",
+        connectionType = POSTGRES)
+    void increment(
+        @Bind("ownerId") String ownerId,
+        @Bind("entityLink") String entityLink,
+        @Bind("type") String type,
+        @Bind("resolved") boolean resolved,
+        @Bind("entityId") String entityId,
+        @Bind("delta") int delta);
+
+    /** Add the delta to the counts of all the users having the thread in their inbox */
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_owner_count(ownerId, entityLink, type, resolved, entityId, count) "
+                + "SELECT o.ownerId, :entityLink, :type, :resolved, :entityId, :delta FROM ("
+                + THREAD_OWNERS
+                + ") o ON DUPLICATE KEY UPDATE count = thread_owner_count.count + :delta",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO thread_owner_count(ownerId, entityLink, type, resolved, entityId, count) "
+                + "SELECT o.ownerId, :entityLink, :type, :resolved, :entityId, :delta FROM ("
+                + THREAD_OWNERS
+                + ") o ON CONFLICT (ownerId, entityLink, type, resolved) "
+                + "DO UPDATE SET count = thread_owner_count.count + :delta",
+        connectionType = POSTGRES)
+    void incrementOwners(
+        @Bind("threadId") String threadId,
+        @Bind("entityLink") String entityLink,
+        @Bind("type") String type,
+        @Bind("resolved") boolean resolved,
+        @Bind("entityId") String entityId,
+        @Bind("delta") int delta);
+
+    @SqlQuery(
+        "SELECT entityLink, SUM(count) count FROM thread_owner_count WHERE ownerId = :ownerId "
+            + "AND resolved = :resolved AND (:type IS NULL OR type = :type) "
+            + "GROUP BY entityLink HAVING SUM(count) > 0")
+    @RegisterRowMapper(FeedDAO.CountFieldMapper.class)
+    List<List<String>> listCountByOwner(
+        @Bind("ownerId") String ownerId, @Bind("type") ThreadType type, @Bind("resolved") boolean resolved);
+
+    @SqlUpdate("DELETE FROM thread_owner_count WHERE entityId = :entityId")
+    void deleteByEntityId(@Bind("entityId") String entityId);
+
+    @SqlUpdate("DELETE FROM thread_owner_count")
+    void deleteAll();
+
+    @SqlUpdate(
+        "INSERT INTO thread_owner_count(ownerId, entityLink, type, resolved, entityId, count) "
+            + "SELECT o.ownerId, te.entityLink, te.type, COALESCE(te.resolved, FALSE), te.entityId, COUNT(te.id) "
+            + "FROM thread_entity te INNER JOIN ("
+            + "SELECT fromId ownerId, toId threadId FROM entity_relationship "
+            + "WHERE fromEntity = 'user' AND toEntity = 'THREAD' AND relation IN (1, 2) "
+            + "UNION SELECT er.fromId, t.id FROM thread_entity t "
+            + "INNER JOIN entity_relationship er ON er.toId = t.entityId "
+            + "WHERE er.fromEntity = 'user' AND er.relation = 8 "
+            + "UNION SELECT m.toId, t.id FROM thread_entity t "
+            + "INNER JOIN entity_relationship er ON er.toId = t.entityId "
+            + "INNER JOIN entity_relationship m ON m.fromId = er.fromId "
+            + "WHERE er.fromEntity = 'team' AND er.relation = 8 "
+            + "AND m.fromEntity = 'team' AND m.toEntity = 'user' AND m.relation = 10"
+            + ") o ON o.threadId = te.id "
+            + "GROUP BY o.ownerId, te.entityLink, te.type, COALESCE(te.resolved, FALSE), te.entityId")
+    void insertFromThreads();
+
+    /** Recompute the counts from the threads and the current owners, repairing any drift of the counts */
+    @Transaction
+    default void recompute() {
+      deleteAll();
+      insertFromThreads();
+    }
+  }
+
   interface FieldRelationshipDAO {
     @ConnectionAwareSqlUpdate(
         value =
@@ -2000,13 +2323,31 @@ public interface CollectionDAO {
     @SqlUpdate("DELETE FROM tag_usage where targetFQN LIKE CONCAT(:targetFQN, '%')")
     void deleteTagLabelsByTargetPrefix(@Bind("targetFQN") String targetFQN);
 
-    /** Update all the tagFQN starting with oldPrefix to start with newPrefix due to tag or glossary name change */
+    /**
+     * Update all the tagFQN starting with oldPrefix to start with newPrefix due to tag or glossary name change. The
+     * distinct tagFQNs under the prefix are paged in batches and each one is renamed with an equality match on tagFQN,
+     * so that the update does not scan the whole tag_usage table.
+     */
     default void updateTagPrefix(String oldPrefix, String newPrefix) {
-      String update =
-          String.format(
-              "UPDATE tag_usage set tagFQN = REPLACE(tagFQN, '%s.', '%s.') WHERE tagFQN LIKE '%s.%%'",
-              escapeApostrophe(oldPrefix), escapeApostrophe(newPrefix), escape(oldPrefix));
-      updateTagPrefixInternal(update);
+      if (oldPrefix.equals(newPrefix)) {
+        return;
+      }
+      String oldPrefixWithSeparator = oldPrefix + Entity.SEPARATOR;
+      String newPrefixWithSeparator = newPrefix + Entity.SEPARATOR;
+      String likePrefix = escapeLike(oldPrefix) + Entity.SEPARATOR + "%";
+      String after = "";
+      List<String> tagFQNs;
+      do {
+        tagFQNs = listTagFQNsWithPrefix(likePrefix, after, EntityDAO.FQN_RENAME_BATCH_SIZE);
+        List<String> newTagFQNs = new ArrayList<>(tagFQNs.size());
+        for (String tagFQN : tagFQNs) {
+          newTagFQNs.add(newPrefixWithSeparator + tagFQN.substring(oldPrefixWithSeparator.length()));
+        }
+        if (!tagFQNs.isEmpty()) {
+          renameBatch(tagFQNs, newTagFQNs);
+          after = tagFQNs.get(tagFQNs.size() - 1);
+        }
+      } while (tagFQNs.size() == EntityDAO.FQN_RENAME_BATCH_SIZE);
     }
 
     default void rename(String oldFQN, String newFQN) {
@@ -2018,8 +2359,14 @@ public interface CollectionDAO {
     @SqlUpdate("Update tag_usage set tagFQN = :newFQN WHERE tagFQN = :oldFQN")
     void renameInternal(@Bind("oldFQN") String oldFQN, @Bind("newFQN") String newFQN);
 
-    @SqlUpdate("<update>")
-    void updateTagPrefixInternal(@Define("update") String update);
+    @SqlBatch("UPDATE tag_usage SET tagFQN = :newFQN WHERE tagFQN = :oldFQN")
+    void renameBatch(@Bind("oldFQN") List<String> oldFQNs, @Bind("newFQN") List<String> newFQNs);
+
+    @SqlQuery(
+        "SELECT DISTINCT tagFQN FROM tag_usage WHERE tagFQN LIKE :prefix AND tagFQN > :after "
+            + "ORDER BY tagFQN LIMIT :limit")
+    List<String> listTagFQNsWithPrefix(
+        @Bind("prefix") String prefix, @Bind("after") String after, @Bind("limit") int limit);
 
     class TagLabelMapper implements RowMapper<TagLabel> {
       @Override
@@ -2068,163 +2415,50 @@ public interface CollectionDAO {
 
     @Override
     default int listCount(ListFilter filter) {
-      String parentTeam = filter.getQueryParam("parentTeam");
-      String isJoinable = filter.getQueryParam("isJoinable");
-      String condition = filter.getCondition();
-      if (parentTeam != null) {
-        // validate parent team
-        Team team = findEntityByName(parentTeam, filter.getInclude());
-        if (ORGANIZATION_NAME.equals(team.getName())) {
-          // All the teams without parents should come under "organization" team
-          condition =
-              String.format(
-                  "%s AND id NOT IN ( (SELECT '%s') UNION (SELECT toId FROM entity_relationship WHERE fromId!='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
-                  condition, team.getId(), team.getId(), Relationship.PARENT_OF.ordinal());
-        } else {
-          condition =
-              String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d)",
-                  condition, team.getId(), Relationship.PARENT_OF.ordinal());
-        }
-      }
-      String mySqlCondition = condition;
-      String postgresCondition = condition;
-      if (isJoinable != null) {
-        mySqlCondition = String.format("%s AND JSON_EXTRACT(json, '$.isJoinable') = %s ", mySqlCondition, isJoinable);
-        postgresCondition =
-            String.format("%s AND ((json#>'{isJoinable}')::boolean)  = %s ", postgresCondition, isJoinable);
-      }
-
-      return listCount(getTableName(), getNameColumn(), mySqlCondition, postgresCondition);
+      Map<String, Object> bindings = filter.getBindings();
+      String condition = getParentTeamCondition(filter, bindings);
+      return listCount(getTableName(), getNameColumn(), condition, bindings);
     }
 
     @Override
     default List<String> listBefore(ListFilter filter, int limit, String before) {
-      String parentTeam = filter.getQueryParam("parentTeam");
-      String isJoinable = filter.getQueryParam("isJoinable");
-      String condition = filter.getCondition();
-      if (parentTeam != null) {
-        // validate parent team
-        Team team = findEntityByName(parentTeam);
-        if (ORGANIZATION_NAME.equals(team.getName())) {
-          // All the parentless teams should come under "organization" team
-          condition =
-              String.format(
-                  "%s AND id NOT IN ( (SELECT '%s') UNION (SELECT toId FROM entity_relationship WHERE fromId!='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
-                  condition, team.getId(), team.getId(), Relationship.PARENT_OF.ordinal());
-        } else {
-          condition =
-              String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d)",
-                  condition, team.getId(), Relationship.PARENT_OF.ordinal());
-        }
-      }
-      String mySqlCondition = condition;
-      String postgresCondition = condition;
-      if (isJoinable != null) {
-        mySqlCondition = String.format("%s AND JSON_EXTRACT(json, '$.isJoinable') = %s ", mySqlCondition, isJoinable);
-        postgresCondition =
-            String.format("%s AND ((json#>'{isJoinable}')::boolean)  = %s ", postgresCondition, isJoinable);
-      }
-
+      Map<String, Object> bindings = filter.getBindings();
+      String condition = getParentTeamCondition(filter, bindings);
       // Quoted name is stored in fullyQualifiedName column and not in the name column
       before = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(before) : before;
-      return listBefore(getTableName(), getNameColumn(), mySqlCondition, postgresCondition, limit, before);
+      return listBefore(getTableName(), getNameColumn(), condition, bindings, limit, before);
     }
 
     @Override
     default List<String> listAfter(ListFilter filter, int limit, String after) {
-      String parentTeam = filter.getQueryParam("parentTeam");
-      String isJoinable = filter.getQueryParam("isJoinable");
-      String condition = filter.getCondition();
-      if (parentTeam != null) {
-        // validate parent team
-        Team team = findEntityByName(parentTeam, filter.getInclude());
-        if (ORGANIZATION_NAME.equals(team.getName())) {
-          // All the parentless teams should come under "organization" team
-          condition =
-              String.format(
-                  "%s AND id NOT IN ( (SELECT '%s') UNION (SELECT toId FROM entity_relationship WHERE fromId!='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
-                  condition, team.getId(), team.getId(), Relationship.PARENT_OF.ordinal());
-        } else {
-          condition =
-              String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d)",
-                  condition, team.getId(), Relationship.PARENT_OF.ordinal());
-        }
-      }
-      String mySqlCondition = condition;
-      String postgresCondition = condition;
-      if (isJoinable != null) {
-        mySqlCondition = String.format("%s AND JSON_EXTRACT(json, '$.isJoinable') = %s ", mySqlCondition, isJoinable);
-        postgresCondition =
-            String.format("%s AND ((json#>'{isJoinable}')::boolean)  = %s ", postgresCondition, isJoinable);
-      }
-
+      Map<String, Object> bindings = filter.getBindings();
+      String condition = getParentTeamCondition(filter, bindings);
       // Quoted name is stored in fullyQualifiedName column and not in the name column
       after = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(after) : after;
-      return listAfter(getTableName(), getNameColumn(), mySqlCondition, postgresCondition, limit, after);
+      return listAfter(getTableName(), getNameColumn(), condition, bindings, limit, after);
     }
 
-    @ConnectionAwareSqlQuery(value = "SELECT count(*) FROM <table> <mysqlCond>", connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(value = "SELECT count(*) FROM <table> <postgresCond>", connectionType = POSTGRES)
-    int listCount(
-        @Define("table") String table,
-        @Define("nameColumn") String nameColumn,
-        @Define("mysqlCond") String mysqlCond,
-        @Define("postgresCond") String postgresCond);
-
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM ("
-                + "SELECT <nameColumn>, json FROM <table> <mysqlCond> AND "
-                + "<nameColumn> < :before "
-                + // Pagination by entity fullyQualifiedName or name (when entity does not have fqn)
-                "ORDER BY <nameColumn> DESC "
-                + // Pagination ordering by entity fullyQualifiedName or name (when entity does not have fqn)
-                "LIMIT :limit"
-                + ") last_rows_subquery ORDER BY <nameColumn>",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM ("
-                + "SELECT <nameColumn>, json FROM <table> <postgresCond> AND "
-                + "<nameColumn> < :before "
-                + // Pagination by entity fullyQualifiedName or name (when entity does not have fqn)
-                "ORDER BY <nameColumn> DESC "
-                + // Pagination ordering by entity fullyQualifiedName or name (when entity does not have fqn)
-                "LIMIT :limit"
-                + ") last_rows_subquery ORDER BY <nameColumn>",
-        connectionType = POSTGRES)
-    List<String> listBefore(
-        @Define("table") String table,
-        @Define("nameColumn") String nameColumn,
-        @Define("mysqlCond") String mysqlCond,
-        @Define("postgresCond") String postgresCond,
-        @Bind("limit") int limit,
-        @Bind("before") String before);
-
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM <table> <mysqlCond> AND "
-                + "<nameColumn> > :after "
-                + "ORDER BY <nameColumn> "
-                + "LIMIT :limit",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM <table> <postgresCond> AND "
-                + "<nameColumn> > :after "
-                + "ORDER BY <nameColumn> "
-                + "LIMIT :limit",
-        connectionType = POSTGRES)
-    List<String> listAfter(
-        @Define("table") String table,
-        @Define("nameColumn") String nameColumn,
-        @Define("mysqlCond") String mysqlCond,
-        @Define("postgresCond") String postgresCond,
-        @Bind("limit") int limit,
-        @Bind("after") String after);
+    /** Condition of the filter restricted to the children of the parentTeam query param, bound as :parentTeamId */
+    default String getParentTeamCondition(ListFilter filter, Map<String, Object> bindings) {
+      String condition = filter.getCondition();
+      String parentTeam = filter.getQueryParam("parentTeam");
+      if (parentTeam == null) {
+        return condition;
+      }
+      // validate parent team
+      Team team = findEntityByName(parentTeam, filter.getInclude());
+      bindings.put("parentTeamId", team.getId().toString());
+      String children =
+          String.format(
+              "SELECT toId FROM entity_relationship WHERE fromId %s :parentTeamId AND fromEntity = 'team' "
+                  + "AND toEntity = 'team' AND relation = %d",
+              ORGANIZATION_NAME.equals(team.getName()) ? "!=" : "=", Relationship.PARENT_OF.ordinal());
+      if (ORGANIZATION_NAME.equals(team.getName())) {
+        // All the teams without parents should come under "organization" team
+        return String.format("%s AND id != :parentTeamId AND id NOT IN (%s)", condition, children);
+      }
+      return String.format("%s AND id IN (%s)", condition, children);
+    }
 
     default List<String> listTeamsUnderOrganization(String teamId) {
       return listTeamsUnderOrganization(teamId, Relationship.PARENT_OF.ordinal());
@@ -2258,96 +2492,137 @@ public interface CollectionDAO {
 
   @RegisterRowMapper(UsageDetailsMapper.class)
   interface UsageDAO {
+    /** Set the daily count of an entity on a date, and its rolling counts */
+    default void insertOrReplaceCount(String date, String id, String entityType, int count1) {
+      setCount(date, id, entityType, count1);
+      updateRollingCounts(date, List.of(id));
+    }
+
+    /** Add to the daily count of an entity on a date, and set its rolling counts */
+    default void insertOrUpdateCount(String date, String id, String entityType, int count1) {
+      addCount(date, id, entityType, count1);
+      updateRollingCounts(date, List.of(id));
+    }
+
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT id, usageDate, entityType, count1, count7, count30, "
+                + "percentile1, percentile7, percentile30 FROM entity_usage "
+                + "WHERE id = :id AND usageDate >= :date - INTERVAL :days DAY AND usageDate <= :date ORDER BY usageDate DESC",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT id, usageDate, entityType, count1, count7, count30, "
+                + "percentile1, percentile7, percentile30 FROM entity_usage "
+                + "WHERE id = :id AND usageDate >= (:date :: date) - make_interval(days => :days) AND usageDate <= (:date :: date) ORDER BY usageDate DESC",
+        connectionType = POSTGRES)
+    List<UsageDetails> getUsageById(@Bind("id") String id, @Bind("date") String date, @Bind("days") int days);
+
+    /** Get latest usage record */
+    @SqlQuery(
+        "SELECT id, usageDate, entityType, count1, count7, count30, "
+            + "percentile1, percentile7, percentile30 FROM entity_usage "
+            + "WHERE usageDate IN (SELECT MAX(usageDate) FROM entity_usage WHERE id = :id) AND id = :id")
+    UsageDetails getLatestUsage(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM entity_usage WHERE id = :id")
+    void delete(@Bind("id") String id);
+
+    /** Add to the daily counts of entities. The rolling counts are set by {@link #updateRollingCounts} */
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
+                + "VALUES (:date, :id, :entityType, :count1, :count1, :count1) "
+                + "ON DUPLICATE KEY UPDATE count1 = count1 + :count1",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
+                + "VALUES ((:date :: date), :id, :entityType, :count1, :count1, :count1) "
+                + "ON CONFLICT (usageDate, id) DO UPDATE SET count1 = entity_usage.count1 + :count1",
+        connectionType = POSTGRES)
+    void addCounts(
+        @Bind("date") String date,
+        @Bind("id") List<String> ids,
+        @Bind("entityType") String entityType,
+        @Bind("count1") List<Integer> counts);
+
+    /** Set the daily count of an entity. The rolling counts are set by {@link #updateRollingCounts} */
     @ConnectionAwareSqlUpdate(
         value =
             "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
-                + "SELECT :date, :id, :entityType, :count1, "
-                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
-                + "INTERVAL 6 DAY)), "
-                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
-                + "INTERVAL 29 DAY))"
-                + "ON DUPLICATE KEY UPDATE count7 = count7 - count1 + :count1, count30 = count30 - count1 + :count1, count1 = :count1",
+                + "VALUES (:date, :id, :entityType, :count1, :count1, :count1) "
+                + "ON DUPLICATE KEY UPDATE count1 = :count1",
         connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value =
             "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
-                + "SELECT (:date :: date), :id, :entityType, :count1, "
-                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= (:date :: date) - INTERVAL '6 days')), "
-                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= (:date :: date) - INTERVAL '29 days'))"
-                + "ON CONFLICT (usageDate, id) DO UPDATE SET count7 = entity_usage.count7 - entity_usage.count1 + :count1,"
-                + "count30 = entity_usage.count30 - entity_usage.count1 + :count1, count1 = :count1",
+                + "VALUES ((:date :: date), :id, :entityType, :count1, :count1, :count1) "
+                + "ON CONFLICT (usageDate, id) DO UPDATE SET count1 = :count1",
         connectionType = POSTGRES)
-    void insertOrReplaceCount(
+    void setCount(
         @Bind("date") String date,
         @Bind("id") String id,
         @Bind("entityType") String entityType,
         @Bind("count1") int count1);
 
+    /** Add to the daily count of an entity. The rolling counts are set by {@link #updateRollingCounts} */
     @ConnectionAwareSqlUpdate(
         value =
             "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
-                + "SELECT :date, :id, :entityType, :count1, "
-                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
-                + "INTERVAL 6 DAY)), "
-                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
-                + "INTERVAL 29 DAY)) "
-                + "ON DUPLICATE KEY UPDATE count1 = count1 + :count1, count7 = count7 + :count1, count30 = count30 + :count1",
+                + "VALUES (:date, :id, :entityType, :count1, :count1, :count1) "
+                + "ON DUPLICATE KEY UPDATE count1 = count1 + :count1",
         connectionType = MYSQL)
     @ConnectionAwareSqlUpdate(
         value =
             "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
-                + "SELECT (:date :: date), :id, :entityType, :count1, "
-                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= (:date :: date) - INTERVAL '6 days')), "
-                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= (:date :: date) - INTERVAL '29 days')) "
-                + "ON CONFLICT (usageDate, id) DO UPDATE SET count1 = entity_usage.count1 + :count1, count7 = entity_usage.count7 + :count1, count30 = entity_usage.count30 + :count1",
+                + "VALUES ((:date :: date), :id, :entityType, :count1, :count1, :count1) "
+                + "ON CONFLICT (usageDate, id) DO UPDATE SET count1 = entity_usage.count1 + :count1",
         connectionType = POSTGRES)
-    void insertOrUpdateCount(
+    void addCount(
         @Bind("date") String date,
         @Bind("id") String id,
         @Bind("entityType") String entityType,
         @Bind("count1") int count1);
 
-    @ConnectionAwareSqlQuery(
+    /**
+     * Set the rolling weekly and monthly counts of the entities on a date from their daily counts of the last 7 and 30
+     * days. Each entity only reads its own rows of the window through the (id, usageDate) index.
+     */
+    @ConnectionAwareSqlUpdate(
         value =
-            "SELECT id, usageDate, entityType, count1, count7, count30, "
-                + "percentile1, percentile7, percentile30 FROM entity_usage "
-                + "WHERE id = :id AND usageDate >= :date - INTERVAL :days DAY AND usageDate <= :date ORDER BY usageDate DESC",
+            "UPDATE entity_usage u JOIN ( "
+                + "SELECT id, SUM(CASE WHEN usageDate >= :date - INTERVAL 6 DAY THEN count1 ELSE 0 END) AS c7, "
+                + "SUM(count1) AS c30 FROM entity_usage "
+                + "WHERE id IN (<ids>) AND usageDate BETWEEN :date - INTERVAL 29 DAY AND :date GROUP BY id"
+                + ") sums ON u.id = sums.id AND u.usageDate = :date "
+                + "SET u.count7 = sums.c7, u.count30 = sums.c30",
         connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(
+    @ConnectionAwareSqlUpdate(
         value =
-            "SELECT id, usageDate, entityType, count1, count7, count30, "
-                + "percentile1, percentile7, percentile30 FROM entity_usage "
-                + "WHERE id = :id AND usageDate >= (:date :: date) - make_interval(days => :days) AND usageDate <= (:date :: date) ORDER BY usageDate DESC",
+            "UPDATE entity_usage u SET count7 = sums.c7, count30 = sums.c30 FROM ("
+                + "SELECT id, "
+                + "SUM(CASE WHEN usageDate >= (:date :: date) - INTERVAL '6 days' THEN count1 ELSE 0 END) AS c7, "
+                + "SUM(count1) AS c30 FROM entity_usage "
+                + "WHERE id IN (<ids>) AND usageDate BETWEEN (:date :: date) - INTERVAL '29 days' AND (:date :: date) "
+                + "GROUP BY id"
+                + ") sums WHERE u.id = sums.id AND u.usageDate = (:date :: date)",
         connectionType = POSTGRES)
-    List<UsageDetails> getUsageById(@Bind("id") String id, @Bind("date") String date, @Bind("days") int days);
-
-    /** Get latest usage record */
-    @SqlQuery(
-        "SELECT id, usageDate, entityType, count1, count7, count30, "
-            + "percentile1, percentile7, percentile30 FROM entity_usage "
-            + "WHERE usageDate IN (SELECT MAX(usageDate) FROM entity_usage WHERE id = :id) AND id = :id")
-    UsageDetails getLatestUsage(@Bind("id") String id);
-
-    @SqlUpdate("DELETE FROM entity_usage WHERE id = :id")
-    void delete(@Bind("id") String id);
+    void updateRollingCounts(@Bind("date") String date, @BindList("ids") List<String> ids);
 
     /**
-     * TODO: Not sure I get what the next comment means, but tests now use mysql 8 so maybe tests can be improved here
-     * Note not using in following percentile computation PERCENT_RANK function as unit tests use mysql5.7, and it does
-     * not have window function
+     * Rank the usage of all the entities of a type on a date in a single pass with window functions. The percentile of
+     * an entity is the percentage of entities with a lower usage count.
      */
     @ConnectionAwareSqlUpdate(
         value =
             "UPDATE entity_usage u JOIN ( "
-                + "SELECT u1.id, "
-                + "(SELECT COUNT(*) FROM entity_usage as u2 WHERE u2.count1 <  u1.count1 AND u2.entityType = :entityType "
-                + "AND u2.usageDate = :date) as p1, "
-                + "(SELECT COUNT(*) FROM entity_usage as u3 WHERE u3.count7 <  u1.count7 AND u3.entityType = :entityType "
-                + "AND u3.usageDate = :date) as p7, "
-                + "(SELECT COUNT(*) FROM entity_usage as u4 WHERE u4.count30 <  u1.count30 AND u4.entityType = :entityType "
-                + "AND u4.usageDate = :date) as p30, "
-                + "(SELECT COUNT(*) FROM entity_usage WHERE entityType = :entityType AND usageDate = :date) as total "
-                + "FROM entity_usage u1 WHERE u1.entityType = :entityType AND u1.usageDate = :date"
+                + "SELECT id, "
+                + "RANK() OVER (ORDER BY count1) - 1 AS p1, "
+                + "RANK() OVER (ORDER BY count7) - 1 AS p7, "
+                + "RANK() OVER (ORDER BY count30) - 1 AS p30, "
+                + "COUNT(*) OVER () AS total "
+                + "FROM entity_usage WHERE entityType = :entityType AND usageDate = :date"
                 + ") vals ON u.id = vals.id AND usageDate = :date "
                 + "SET u.percentile1 = ROUND(100 * p1/total, 2), u.percentile7 = ROUND(p7 * 100/total, 2), u.percentile30 ="
                 + " ROUND(p30*100/total, 2)",
@@ -2355,17 +2630,17 @@ public interface CollectionDAO {
     @ConnectionAwareSqlUpdate(
         value =
             "UPDATE entity_usage u "
-                + "SET percentile1 = ROUND(100 * p1 / total, 2), percentile7 = ROUND(p7 * 100 / total, 2), percentile30 = ROUND(p30 * 100 / total, 2) "
+                + "SET percentile1 = ROUND(100 * p1 / total, 2), percentile7 = ROUND(p7 * 100 / total, 2), "
+                + "percentile30 = ROUND(p30 * 100 / total, 2) "
                 + "FROM ("
-                + "   SELECT u1.id, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u2 WHERE u2.count1 < u1.count1 AND u2.entityType = :entityType AND u2.usageDate = (:date :: date)) as p1, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u3 WHERE u3.count7 < u1.count7 AND u3.entityType = :entityType AND u3.usageDate = (:date :: date)) as p7, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u4 WHERE u4.count30 < u1.count30 AND u4.entityType = :entityType AND u4.usageDate = (:date :: date)) as p30, "
-                + "       (SELECT COUNT(*) FROM entity_usage WHERE entityType = :entityType AND usageDate = (:date :: date)"
-                + "   ) as total FROM entity_usage u1 "
-                + "   WHERE u1.entityType = :entityType AND u1.usageDate = (:date :: date)"
+                + "   SELECT id, "
+                + "       RANK() OVER (ORDER BY count1) - 1 AS p1, "
+                + "       RANK() OVER (ORDER BY count7) - 1 AS p7, "
+                + "       RANK() OVER (ORDER BY count30) - 1 AS p30, "
+                + "       COUNT(*) OVER () AS total "
+                + "   FROM entity_usage WHERE entityType = :entityType AND usageDate = (:date :: date)"
                 + ") vals "
-                + "WHERE u.id = vals.id AND usageDate = (:date :: date);",
+                + "WHERE u.id = vals.id AND usageDate = (:date :: date)",
         connectionType = POSTGRES)
     void computePercentile(@Bind("entityType") String entityType, @Bind("date") String date);
 
@@ -2406,94 +2681,29 @@ public interface CollectionDAO {
     @Override
     default int listCount(ListFilter filter) {
       String team = filter.getQueryParam("team");
-      String isBotStr = filter.getQueryParam("isBot");
-      String isAdminStr = filter.getQueryParam("isAdmin");
-      String mySqlCondition = filter.getCondition("ue");
-      String postgresCondition = filter.getCondition("ue");
-      if (isAdminStr != null) {
-        boolean isAdmin = Boolean.parseBoolean(isAdminStr);
-        if (isAdmin) {
-          mySqlCondition = String.format("%s AND JSON_EXTRACT(ue.json, '$.isAdmin') = TRUE ", mySqlCondition);
-          postgresCondition = String.format("%s AND ((ue.json#>'{isAdmin}')::boolean)  = TRUE ", postgresCondition);
-        } else {
-          mySqlCondition =
-              String.format(
-                  "%s AND (JSON_EXTRACT(ue.json, '$.isAdmin') IS NULL OR JSON_EXTRACT(ue.json, '$.isAdmin') = FALSE ) ",
-                  mySqlCondition);
-          postgresCondition =
-              String.format(
-                  "%s AND (ue.json#>'{isAdmin}' IS NULL OR ((ue.json#>'{isAdmin}')::boolean) = FALSE ) ",
-                  postgresCondition);
-        }
-      }
-      if (isBotStr != null) {
-        boolean isBot = Boolean.parseBoolean(isBotStr);
-        if (isBot) {
-          mySqlCondition = String.format("%s AND JSON_EXTRACT(ue.json, '$.isBot') = TRUE ", mySqlCondition);
-          postgresCondition = String.format("%s AND ((ue.json#>'{isBot}')::boolean) = TRUE ", postgresCondition);
-        } else {
-          mySqlCondition =
-              String.format(
-                  "%s AND (JSON_EXTRACT(ue.json, '$.isBot') IS NULL OR JSON_EXTRACT(ue.json, '$.isBot') = FALSE ) ",
-                  mySqlCondition);
-          postgresCondition =
-              String.format(
-                  "%s AND (ue.json#>'{isBot}' IS NULL OR ((ue.json#>'{isBot}')::boolean) = FALSE) ", postgresCondition);
-        }
-      }
-      if (team == null && isAdminStr == null && isBotStr == null) {
+      if (team == null) {
         return EntityDAO.super.listCount(filter);
       }
       return listCount(
-          getTableName(), getNameColumn(), mySqlCondition, postgresCondition, team, Relationship.HAS.ordinal());
+          getTableName(),
+          getNameColumn(),
+          filter.getCondition("ue"),
+          filter.getBindings(),
+          team,
+          Relationship.HAS.ordinal());
     }
 
     @Override
     default List<String> listBefore(ListFilter filter, int limit, String before) {
       String team = filter.getQueryParam("team");
-      String isBotStr = filter.getQueryParam("isBot");
-      String isAdminStr = filter.getQueryParam("isAdmin");
-      String mySqlCondition = filter.getCondition("ue");
-      String postgresCondition = filter.getCondition("ue");
-      if (isAdminStr != null) {
-        boolean isAdmin = Boolean.parseBoolean(isAdminStr);
-        if (isAdmin) {
-          mySqlCondition = String.format("%s AND JSON_EXTRACT(ue.json, '$.isAdmin') = TRUE ", mySqlCondition);
-          postgresCondition = String.format("%s AND ((ue.json#>'{isAdmin}')::boolean) = TRUE ", postgresCondition);
-        } else {
-          mySqlCondition =
-              String.format(
-                  "%s AND (JSON_EXTRACT(ue.json, '$.isAdmin') IS NULL OR JSON_EXTRACT(ue.json, '$.isAdmin') = FALSE ) ",
-                  mySqlCondition);
-          postgresCondition =
-              String.format(
-                  "%s AND (ue.json#>'{isAdmin}' IS NULL OR ((ue.json#>'{isAdmin}')::boolean) = FALSE ) ",
-                  postgresCondition);
-        }
-      }
-      if (isBotStr != null) {
-        boolean isBot = Boolean.parseBoolean(isBotStr);
-        if (isBot) {
-          mySqlCondition = String.format("%s AND JSON_EXTRACT(ue.json, '$.isBot') = TRUE ", mySqlCondition);
-          postgresCondition = String.format("%s AND ((ue.json#>'{isBot}')::boolean) = TRUE ", postgresCondition);
-        } else {
-          mySqlCondition =
-              String.format(
-                  "%s AND (JSON_EXTRACT(ue.json, '$.isBot') IS NULL OR JSON_EXTRACT(ue.json, '$.isBot') = FALSE ) ",
-                  mySqlCondition);
-          postgresCondition =
-              String.format(
-                  "%s AND (ue.json#>'{isBot}' IS NULL OR ((ue.json#>'{isBot}')::boolean) = FALSE) ", postgresCondition);
-        }
-      }
-      if (team == null && isAdminStr == null && isBotStr == null) {
+      if (team == null) {
         return EntityDAO.super.listBefore(filter, limit, before);
       }
       return listBefore(
           getTableName(),
           getNameColumn(),
-          mySqlCondition,
-          postgresCondition,
+          filter.getCondition("ue"),
+          filter.getBindings(),
           team,
           limit,
           before,
@@ -2503,156 +2713,76 @@ public interface CollectionDAO {
     @Override
     default List<String> listAfter(ListFilter filter, int limit, String after) {
       String team = filter.getQueryParam("team");
-      String isBotStr = filter.getQueryParam("isBot");
-      String isAdminStr = filter.getQueryParam("isAdmin");
-      String mySqlCondition = filter.getCondition("ue");
-      String postgresCondition = filter.getCondition("ue");
-      if (isAdminStr != null) {
-        boolean isAdmin = Boolean.parseBoolean(isAdminStr);
-        if (isAdmin) {
-          mySqlCondition = String.format("%s AND JSON_EXTRACT(ue.json, '$.isAdmin') = TRUE ", mySqlCondition);
-          postgresCondition = String.format("%s AND ((ue.json#>'{isAdmin}')::boolean) = TRUE ", postgresCondition);
-        } else {
-          mySqlCondition =
-              String.format(
-                  "%s AND (JSON_EXTRACT(ue.json, '$.isAdmin') IS NULL OR JSON_EXTRACT(ue.json, '$.isAdmin') = FALSE ) ",
-                  mySqlCondition);
-          postgresCondition =
-              String.format(
-                  "%s AND (ue.json#>'{isAdmin}' IS NULL OR ((ue.json#>'{isAdmin}')::boolean) = FALSE ) ",
-                  postgresCondition);
-        }
-      }
-      if (isBotStr != null) {
-        boolean isBot = Boolean.parseBoolean(isBotStr);
-        if (isBot) {
-          mySqlCondition = String.format("%s AND JSON_EXTRACT(ue.json, '$.isBot') = TRUE ", mySqlCondition);
-          postgresCondition = String.format("%s AND ((ue.json#>'{isBot}')::boolean) = TRUE ", postgresCondition);
-        } else {
-          mySqlCondition =
-              String.format(
-                  "%s AND (JSON_EXTRACT(ue.json, '$.isBot') IS NULL OR JSON_EXTRACT(ue.json, '$.isBot') = FALSE ) ",
-                  mySqlCondition);
-          postgresCondition =
-              String.format(
-                  "%s AND (ue.json#>'{isBot}' IS NULL OR ((ue.json#>'{isBot}')::boolean) = FALSE) ", postgresCondition);
-        }
-      }
-      if (team == null && isAdminStr == null && isBotStr == null) {
+      if (team == null) {
         return EntityDAO.super.listAfter(filter, limit, after);
       }
       return listAfter(
           getTableName(),
           getNameColumn(),
-          mySqlCondition,
-          postgresCondition,
+          filter.getCondition("ue"),
+          filter.getBindings(),
           team,
           limit,
           after,
           Relationship.HAS.ordinal());
     }
 
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT count(id) FROM ("
-                + "SELECT ue.id "
-                + "FROM user_entity ue "
-                + "LEFT JOIN entity_relationship er on ue.id = er.toId "
-                + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
-                + " <mysqlCond> "
-                + " AND (:team IS NULL OR te.name = :team) "
-                + "GROUP BY ue.id) subquery",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT count(id) FROM ("
-                + "SELECT ue.id "
-                + "FROM user_entity ue "
-                + "LEFT JOIN entity_relationship er on ue.id = er.toId "
-                + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
-                + " <postgresCond> "
-                + " AND (:team IS NULL OR te.name = :team) "
-                + "GROUP BY ue.id) subquery",
-        connectionType = POSTGRES)
+    @SqlQuery(
+        "SELECT count(id) FROM ("
+            + "SELECT ue.id "
+            + "FROM user_entity ue "
+            + "LEFT JOIN entity_relationship er on ue.id = er.toId "
+            + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
+            + " <cond> "
+            + " AND te.name = :team "
+            + "GROUP BY ue.id) subquery")
     int listCount(
         @Define("table") String table,
         @Define("nameColumn") String nameColumn,
-        @Define("mysqlCond") String mysqlCond,
-        @Define("postgresCond") String postgresCond,
+        @Define("cond") String cond,
+        @BindMap Map<String, ?> bindings,
         @Bind("team") String team,
         @Bind("relation") int relation);
 
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM ("
-                + "SELECT ue.<nameColumn>, ue.json "
-                + "FROM user_entity ue "
-                + "LEFT JOIN entity_relationship er on ue.id = er.toId "
-                + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
-                + " <mysqlCond> "
-                + "AND (:team IS NULL OR te.name = :team) "
-                + "AND ue.<nameColumn> < :before "
-                + "GROUP BY ue.<nameColumn>, ue.json "
-                + "ORDER BY ue.<nameColumn> DESC "
-                + "LIMIT :limit"
-                + ") last_rows_subquery ORDER BY <nameColumn>",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT json FROM ("
-                + "SELECT ue.<nameColumn>, ue.json "
-                + "FROM user_entity ue "
-                + "LEFT JOIN entity_relationship er on ue.id = er.toId "
-                + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
-                + " <postgresCond> "
-                + "AND (:team IS NULL OR te.name = :team) "
-                + "AND ue.<nameColumn> < :before "
-                + "GROUP BY ue.<nameColumn>, ue.json "
-                + "ORDER BY ue.<nameColumn> DESC "
-                + "LIMIT :limit"
-                + ") last_rows_subquery ORDER BY <nameColumn>",
-        connectionType = POSTGRES)
+    @SqlQuery(
+        "SELECT json FROM ("
+            + "SELECT ue.<nameColumn>, ue.json "
+            + "FROM user_entity ue "
+            + "LEFT JOIN entity_relationship er on ue.id = er.toId "
+            + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
+            + " <cond> "
+            + "AND te.name = :team "
+            + "AND ue.<nameColumn> < :before "
+            + "GROUP BY ue.<nameColumn>, ue.json "
+            + "ORDER BY ue.<nameColumn> DESC "
+            + "LIMIT :limit"
+            + ") last_rows_subquery ORDER BY <nameColumn>")
     List<String> listBefore(
         @Define("table") String table,
         @Define("nameColumn") String nameColumn,
-        @Define("mysqlCond") String mysqlCond,
-        @Define("postgresCond") String postgresCond,
+        @Define("cond") String cond,
+        @BindMap Map<String, ?> bindings,
         @Bind("team") String team,
         @Bind("limit") int limit,
         @Bind("before") String before,
         @Bind("relation") int relation);
 
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT ue.json "
-                + "FROM user_entity ue "
-                + "LEFT JOIN entity_relationship er on ue.id = er.toId "
-                + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
-                + " <mysqlCond> "
-                + "AND (:team IS NULL OR te.name = :team) "
-                + "AND ue.<nameColumn> > :after "
-                + "GROUP BY ue.<nameColumn>, ue.json "
-                + "ORDER BY ue.<nameColumn> "
-                + "LIMIT :limit",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT ue.json "
-                + "FROM user_entity ue "
-                + "LEFT JOIN entity_relationship er on ue.id = er.toId "
-                + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
-                + " <postgresCond> "
-                + "AND (:team IS NULL OR te.name = :team) "
-                + "AND ue.<nameColumn> > :after "
-                + "GROUP BY ue.<nameColumn>, ue.json "
-                + "ORDER BY ue.<nameColumn> "
-                + "LIMIT :limit",
-        connectionType = POSTGRES)
+    @SqlQuery(
+        "SELECT ue.json "
+            + "FROM user_entity ue "
+            + "LEFT JOIN entity_relationship er on ue.id = er.toId "
+            + "LEFT JOIN team_entity te on te.id = er.fromId and er.relation = :relation "
+            + " <cond> "
+            + "AND te.name = :team "
+            + "AND ue.<nameColumn> > :after "
+            + "GROUP BY ue.<nameColumn>, ue.json "
+            + "ORDER BY ue.<nameColumn> "
+            + "LIMIT :limit")
     List<String> listAfter(
         @Define("table") String table,
         @Define("nameColumn") String nameColumn,
-        @Define("mysqlCond") String mysqlCond,
-        @Define("postgresCond") String postgresCond,
+        @Define("cond") String cond,
+        @BindMap Map<String, ?> bindings,
         @Bind("team") String team,
         @Bind("limit") int limit,
         @Bind("after") String after,
@@ -2697,6 +2827,12 @@ public interface CollectionDAO {
             + "eventType = :eventType AND eventTime >= :timestamp "
             + "ORDER BY eventTime ASC")
     List<String> listWithoutEntityFilter(@Bind("eventType") String eventType, @Bind("timestamp") long timestamp);
+
+    /** List the events of all types on the given entity types since the timestamp */
+    @SqlQuery(
+        "SELECT json FROM change_event WHERE entityType IN (<entityTypes>) AND eventTime >= :timestamp "
+            + "ORDER BY eventTime ASC")
+    List<String> listSince(@BindList("entityTypes") List<String> entityTypes, @Bind("timestamp") long timestamp);
   }
 
   interface TypeEntityDAO extends EntityDAO<Type> {
@@ -2739,111 +2875,61 @@ public interface CollectionDAO {
 
     @Override
     default List<String> listBefore(ListFilter filter, int limit, String before) {
-      String entityType = filter.getQueryParam("entityType");
-      String testPlatform = filter.getQueryParam("testPlatform");
-      String supportedDataType = filter.getQueryParam("supportedDataType");
-      String condition = filter.getCondition();
-
-      if (entityType == null && testPlatform == null && supportedDataType == null) {
-        return EntityDAO.super.listBefore(filter, limit, before);
-      }
-
-      StringBuilder mysqlCondition = new StringBuilder();
-      StringBuilder psqlCondition = new StringBuilder();
-
-      mysqlCondition.append(String.format("%s ", condition));
-      psqlCondition.append(String.format("%s ", condition));
-
-      if (testPlatform != null) {
-        mysqlCondition.append(String.format("AND json_extract(json, '$.testPlatforms') LIKE '%%%s%%' ", testPlatform));
-        psqlCondition.append(String.format("AND json->>'testPlatforms' LIKE '%%%s%%' ", testPlatform));
-      }
-
-      if (entityType != null) {
-        mysqlCondition.append(String.format("AND entityType='%s' ", entityType));
-        psqlCondition.append(String.format("AND entityType='%s' ", entityType));
-      }
-
-      if (supportedDataType != null) {
-        mysqlCondition.append(String.format("AND supported_data_types LIKE '%%%s%%' ", supportedDataType));
-        String psqlStr = String.format("AND supported_data_types @> '`%s`' ", supportedDataType);
-        psqlCondition.append(psqlStr.replace('`', '"'));
-      }
-
-      return listBefore(
-          getTableName(), getNameColumn(), mysqlCondition.toString(), psqlCondition.toString(), limit, before);
+      Map<String, Object> bindings = filter.getBindings();
+      String mysqlCondition = getTestDefinitionCondition(filter, bindings, false);
+      String psqlCondition = getTestDefinitionCondition(filter, bindings, true);
+      return listBefore(getTableName(), getNameColumn(), mysqlCondition, psqlCondition, bindings, limit, before);
     }
 
     @Override
     default List<String> listAfter(ListFilter filter, int limit, String after) {
-      String entityType = filter.getQueryParam("entityType");
-      String testPlatform = filter.getQueryParam("testPlatform");
-      String supportedDataType = filter.getQueryParam("supportedDataType");
-      String condition = filter.getCondition();
-
-      if (entityType == null && testPlatform == null && supportedDataType == null) {
-        return EntityDAO.super.listAfter(filter, limit, after);
-      }
-
-      StringBuilder mysqlCondition = new StringBuilder();
-      StringBuilder psqlCondition = new StringBuilder();
-
-      mysqlCondition.append(String.format("%s ", condition));
-      psqlCondition.append(String.format("%s ", condition));
-
-      if (testPlatform != null) {
-        mysqlCondition.append(String.format("AND json_extract(json, '$.testPlatforms') LIKE '%%%s%%' ", testPlatform));
-        psqlCondition.append(String.format("AND json->>'testPlatforms' LIKE '%%%s%%' ", testPlatform));
-      }
-
-      if (entityType != null) {
-        mysqlCondition.append(String.format("AND entityType='%s' ", entityType));
-        psqlCondition.append(String.format("AND entityType='%s' ", entityType));
-      }
-
-      if (supportedDataType != null) {
-        mysqlCondition.append(String.format("AND supported_data_types LIKE '%%%s%%' ", supportedDataType));
-        String psqlStr = String.format("AND supported_data_types @> '`%s`' ", supportedDataType);
-        psqlCondition.append(psqlStr.replace('`', '"'));
-      }
-
-      return listAfter(
-          getTableName(), getNameColumn(), mysqlCondition.toString(), psqlCondition.toString(), limit, after);
+      Map<String, Object> bindings = filter.getBindings();
+      String mysqlCondition = getTestDefinitionCondition(filter, bindings, false);
+      String psqlCondition = getTestDefinitionCondition(filter, bindings, true);
+      return listAfter(getTableName(), getNameColumn(), mysqlCondition, psqlCondition, bindings, limit, after);
     }
 
     @Override
     default int listCount(ListFilter filter) {
-      String entityType = filter.getQueryParam("entityType");
-      String testPlatform = filter.getQueryParam("testPlatform");
-      String supportedDataType = filter.getQueryParam("supportedDataType");
-      String condition = filter.getCondition();
-
-      if (entityType == null && testPlatform == null && supportedDataType == null) {
-        return EntityDAO.super.listCount(filter);
-      }
-
-      StringBuilder mysqlCondition = new StringBuilder();
-      StringBuilder psqlCondition = new StringBuilder();
-
-      mysqlCondition.append(String.format("%s ", condition));
-      psqlCondition.append(String.format("%s ", condition));
+      Map<String, Object> bindings = filter.getBindings();
+      String mysqlCondition = getTestDefinitionCondition(filter, bindings, false);
+      String psqlCondition = getTestDefinitionCondition(filter, bindings, true);
+      return listCount(getTableName(), getNameColumn(), mysqlCondition, psqlCondition, bindings);
+    }
 
+    default String getTestDefinitionCondition(ListFilter filter, Map<String, Object> bindings, boolean postgres) {
+      StringBuilder condition = new StringBuilder(filter.getCondition());
+      String testPlatform = filter.getQueryParam("testPlatform");
       if (testPlatform != null) {
-        mysqlCondition.append(String.format("AND json_extract(json, '$.testPlatforms') LIKE '%%%s%%' ", testPlatform));
-        psqlCondition.append(String.format("AND json->>'testPlatforms' LIKE '%%%s%%' ", testPlatform));
+        bindings.put("testPlatform", "%" + escapeLike(testPlatform) + "%");
+        condition.append(
+            postgres
+                ? " AND json->>'testPlatforms' LIKE :testPlatform"
+                : " AND json_extract(json, '$.testPlatforms') LIKE :testPlatform");
       }
 
+      String entityType = filter.getQueryParam("entityType");
       if (entityType != null) {
-        mysqlCondition.append(String.format("AND entityType='%s' ", entityType));
-        psqlCondition.append(String.format("AND entityType='%s' ", entityType));
+        bindings.put("entityType", entityType);
+        condition.append(" AND entityType = :entityType");
       }
 
+      String supportedDataType = filter.getQueryParam("supportedDataType");
       if (supportedDataType != null) {
-        mysqlCondition.append(String.format("AND supported_data_types LIKE '%%%s%%' ", supportedDataType));
-        String psqlStr = String.format("AND supported_data_types @> '`%s`' ", supportedDataType);
-        psqlCondition.append(psqlStr.replace('`', '"'));
+        if (postgres) {
+          // Data types are stored as a JSON array of strings
+          try {
+            bindings.put("supportedDataTypeJson", JsonUtils.pojoToJson(supportedDataType));
+          } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid supportedDataType " + supportedDataType, e);
+          }
+          condition.append(" AND supported_data_types @> (:supportedDataTypeJson :: jsonb)");
+        } else {
+          bindings.put("supportedDataType", "%" + escapeLike(supportedDataType) + "%");
+          condition.append(" AND supported_data_types LIKE :supportedDataType");
+        }
       }
-      return listCount(getTableName(), getNameColumn(), mysqlCondition.toString(), psqlCondition.toString());
+      return condition.toString();
     }
 
     @ConnectionAwareSqlQuery(
@@ -2869,6 +2955,7 @@ public interface CollectionDAO {
         @Define("nameColumn") String nameColumn,
         @Define("mysqlCond") String mysqlCond,
         @Define("psqlCond") String psqlCond,
+        @BindMap Map<String, ?> bindings,
         @Bind("limit") int limit,
         @Bind("before") String before);
 
@@ -2891,6 +2978,7 @@ public interface CollectionDAO {
         @Define("nameColumn") String nameColumn,
         @Define("mysqlCond") String mysqlCond,
         @Define("psqlCond") String psqlCond,
+        @BindMap Map<String, ?> bindings,
         @Bind("limit") int limit,
         @Bind("after") String after);
 
@@ -2900,7 +2988,8 @@ public interface CollectionDAO {
         @Define("table") String table,
         @Define("nameColumn") String nameColumn,
         @Define("mysqlCond") String mysqlCond,
-        @Define("psqlCond") String psqlCond);
+        @Define("psqlCond") String psqlCond,
+        @BindMap Map<String, ?> bindings);
   }
 
   interface TestSuiteDAO extends EntityDAO<TestSuite> {
@@ -3010,6 +3099,28 @@ public interface CollectionDAO {
         @Bind("jsonSchema") String jsonSchema,
         @Bind("json") String json);
 
+    /** Insert the rows with one multi-row insert */
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO entity_extension_time_series(entityFQN, extension, jsonSchema, json) VALUES <rows>",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO entity_extension_time_series(entityFQN, extension, jsonSchema, json) "
+                + "SELECT v.entityFQN, v.extension, v.jsonSchema, (v.json :: jsonb) "
+                + "FROM (VALUES <rows>) AS v(entityFQN, extension, jsonSchema, json)",
+        connectionType = POSTGRES)
+    void insertMany(
+        @BindBeanList(value = "rows", propertyNames = {"entityFQN", "extension", "jsonSchema", "json"})
+            List<TimeSeriesRow> rows);
+
+    /** Insert the rows in one transaction, with a multi-row insert per chunk of rows */
+    @Transaction
+    default void insertAll(List<TimeSeriesRow> rows, int chunkSize) {
+      for (List<TimeSeriesRow> chunk : Lists.partition(rows, chunkSize)) {
+        insertMany(chunk);
+      }
+    }
+
     @ConnectionAwareSqlUpdate(
         value =
             "UPDATE entity_extension_time_series set json = :json where entityFQN=:entityFQN and extension=:extension and timestamp=:timestamp",
@@ -3062,6 +3173,16 @@ public interface CollectionDAO {
     List<ReportDataRow> getAfterExtension(
         @Bind("entityFQN") String entityFQN, @Bind("limit") int limit, @Bind("after") String after);
 
+    /** Timestamps after the given one, in order, for paging by timestamp through all the rows of each timestamp */
+    @SqlQuery(
+        "SELECT DISTINCT timestamp FROM entity_extension_time_series WHERE entityFQN = :entityFQN "
+            + "AND extension = :extension AND timestamp > :after ORDER BY timestamp LIMIT :limit")
+    List<Long> listTimestampsAfter(
+        @Bind("entityFQN") String entityFQN,
+        @Bind("extension") String extension,
+        @Bind("after") long after,
+        @Bind("limit") int limit);
+
     @SqlQuery(
         "SELECT json FROM entity_extension_time_series WHERE entityFQN = :entityFQN AND extension = :extension AND timestamp = :timestamp")
     String getExtensionAtTimestamp(
@@ -3144,6 +3265,47 @@ public interface CollectionDAO {
     }
   }
 
+  /**
+   * One row per report data type, locked while its rollups are read and written back so that servers don't lose each
+   * other's updates, and recording whether the rollups were rebuilt from the report data added before they existed.
+   */
+  interface ReportDataRollupDAO {
+    interface RollupWork {
+      void run() throws IOException;
+    }
+
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT IGNORE INTO report_data_rollup_state(reportDataType) VALUES (:reportDataType)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO report_data_rollup_state(reportDataType) VALUES (:reportDataType) "
+                + "ON CONFLICT (reportDataType) DO NOTHING",
+        connectionType = POSTGRES)
+    void insertState(@Bind("reportDataType") String reportDataType);
+
+    @SqlQuery("SELECT rebuilt FROM report_data_rollup_state WHERE reportDataType = :reportDataType")
+    Boolean isRebuilt(@Bind("reportDataType") String reportDataType);
+
+    @SqlQuery(
+        "SELECT rebuilt FROM report_data_rollup_state WHERE reportDataType IN (<reportDataTypes>) "
+            + "ORDER BY reportDataType FOR UPDATE")
+    List<Boolean> lock(@BindList("reportDataTypes") List<String> reportDataTypes);
+
+    @SqlUpdate("UPDATE report_data_rollup_state SET rebuilt = TRUE WHERE reportDataType = :reportDataType")
+    void setRebuilt(@Bind("reportDataType") String reportDataType);
+
+    /**
+     * Run the work in one transaction holding the rollup locks of the report data types. The DAO calls made by the work
+     * join the transaction.
+     */
+    @Transaction
+    default void withRollupLocks(List<String> reportDataTypes, RollupWork work) throws IOException {
+      lock(reportDataTypes);
+      work.run();
+    }
+  }
+
   class EntitiesCountRowMapper implements RowMapper<EntitiesCount> {
     @Override
     public EntitiesCount map(ResultSet rs, StatementContext ctx) throws SQLException {
@@ -3173,42 +3335,24 @@ public interface CollectionDAO {
   }
 
   interface SystemDAO {
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT (SELECT COUNT(*) FROM table_entity <cond>) as tableCount, "
-                + "(SELECT COUNT(*) FROM topic_entity <cond>) as topicCount, "
-                + "(SELECT COUNT(*) FROM dashboard_entity <cond>) as dashboardCount, "
-                + "(SELECT COUNT(*) FROM pipeline_entity <cond>) as pipelineCount, "
-                + "(SELECT COUNT(*) FROM ml_model_entity <cond>) as mlmodelCount, "
-                + "(SELECT (SELECT COUNT(*) FROM metadata_service_entity <cond>) + "
-                + "(SELECT COUNT(*) FROM dbservice_entity <cond>)+"
-                + "(SELECT COUNT(*) FROM messaging_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM dashboard_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM pipeline_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM mlmodel_service_entity <cond>)) as servicesCount, "
-                + "(SELECT COUNT(*) FROM user_entity <cond> AND (JSON_EXTRACT(json, '$.isBot') IS NULL OR JSON_EXTRACT(json, '$.isBot') = FALSE)) as userCount, "
-                + "(SELECT COUNT(*) FROM team_entity <cond>) as teamCount, "
-                + "(SELECT COUNT(*) FROM test_suite <cond>) as testSuiteCount",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlQuery(
-        value =
-            "SELECT (SELECT COUNT(*) FROM table_entity <cond>) as tableCount, "
-                + "(SELECT COUNT(*) FROM topic_entity <cond>) as topicCount, "
-                + "(SELECT COUNT(*) FROM dashboard_entity <cond>) as dashboardCount, "
-                + "(SELECT COUNT(*) FROM pipeline_entity <cond>) as pipelineCount, "
-                + "(SELECT COUNT(*) FROM ml_model_entity <cond>) as mlmodelCount, "
-                + "(SELECT (SELECT COUNT(*) FROM metadata_service_entity <cond>) + "
-                + "(SELECT COUNT(*) FROM dbservice_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM messaging_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM dashboard_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM pipeline_service_entity <cond>)+ "
-                + "(SELECT COUNT(*) FROM mlmodel_service_entity <cond>)) as servicesCount, "
-                + "(SELECT COUNT(*) FROM user_entity <cond> AND (json#>'{isBot}' IS NULL OR ((json#>'{isBot}')::boolean) = FALSE)) as userCount, "
-                + "(SELECT COUNT(*) FROM team_entity <cond>) as teamCount, "
-                + "(SELECT COUNT(*) FROM test_suite <cond>  ) as testSuiteCount",
-        connectionType = POSTGRES)
+    @SqlQuery(
+        "SELECT (SELECT COUNT(*) FROM table_entity <cond>) as tableCount, "
+            + "(SELECT COUNT(*) FROM topic_entity <cond>) as topicCount, "
+            + "(SELECT COUNT(*) FROM dashboard_entity <cond>) as dashboardCount, "
+            + "(SELECT COUNT(*) FROM pipeline_entity <cond>) as pipelineCount, "
+            + "(SELECT COUNT(*) FROM ml_model_entity <cond>) as mlmodelCount, "
+            + "(SELECT (SELECT COUNT(*) FROM metadata_service_entity <cond>) + "
+            + "(SELECT COUNT(*) FROM dbservice_entity <cond>)+ "
+            + "(SELECT COUNT(*) FROM messaging_service_entity <cond>)+ "
+            + "(SELECT COUNT(*) FROM dashboard_service_entity <cond>)+ "
+            + "(SELECT COUNT(*) FROM pipeline_service_entity <cond>)+ "
+            + "(SELECT COUNT(*) FROM mlmodel_service_entity <cond>)) as servicesCount, "
+            + "(SELECT COUNT(*) FROM user_entity <cond> AND (isBot IS NULL OR isBot = FALSE)) as userCount, "
+            + "(SELECT COUNT(*) FROM team_entity <cond>) as teamCount, "
+            + "(SELECT COUNT(*) FROM test_suite <cond>) as testSuiteCount")
     @RegisterRowMapper(EntitiesCountRowMapper.class)
-    EntitiesCount getAggregatedEntitiesCount(@Define("cond") String cond) throws StatementException;
+    EntitiesCount getAggregatedEntitiesCount(@Define("cond") String cond, @BindMap Map<String, ?> bindings)
+        throws StatementException;
 
     @SqlQuery(
         "SELECT (SELECT COUNT(*) FROM database_entity <cond>) as databaseServiceCount, "
@@ -3217,7 +3361,8 @@ public interface CollectionDAO {
             + "(SELECT COUNT(*) FROM pipeline_service_entity <cond>) as pipelineServiceCount, "
             + "(SELECT COUNT(*) FROM mlmodel_service_entity <cond>) as mlModelServiceCount")
     @RegisterRowMapper(ServicesCountRowMapper.class)
-    ServicesCount getAggregatedServicesCount(@Define("cond") String cond) throws StatementException;
+    ServicesCount getAggregatedServicesCount(@Define("cond") String cond, @BindMap Map<String, ?> bindings)
+        throws StatementException;
 
     @SqlQuery("SELECT configType,json FROM openmetadata_settings")
     @RegisterRowMapper(SettingsRowMapper.class)
@@ -5,6 +5,7 @@ import static org.openmetadata.service.Entity.DATA_INSIGHT_CHART;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Predicate;
 import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.RangeQueryBuilder;
@@ -17,9 +18,13 @@ import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilde
 import org.elasticsearch.search.aggregations.metrics.MaxAggregationBuilder;
 import org.elasticsearch.search.aggregations.metrics.SumAggregationBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
 import org.openmetadata.schema.dataInsight.DataInsightChart;
 import org.openmetadata.schema.dataInsight.DataInsightChartResult;
 import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.service.dataInsight.ReportDataRollup;
+import org.openmetadata.service.dataInsight.ReportDataRollup.Period;
+import org.openmetadata.service.dataInsight.RollupChartAggregator;
 import org.openmetadata.service.util.EntityUtil;
 
 public class DataInsightChartRepository extends EntityRepository<DataInsightChart> {
@@ -74,6 +79,8 @@ public class DataInsightChartRepository extends EntityRepository<DataInsightChar
           "PageViewsByEntities",
           "MostViewedEntities");
 
+  private final ReportDataRepository reportDataRepository;
+
   public DataInsightChartRepository(CollectionDAO dao) {
     super(
         COLLECTION_PATH,
@@ -83,6 +90,7 @@ public class DataInsightChartRepository extends EntityRepository<DataInsightChar
         dao,
         PATCH_FIELDS,
         UPDATE_FIELDS);
+    reportDataRepository = new ReportDataRepository(dao);
   }
 
   @Override
@@ -110,6 +118,45 @@ public class DataInsightChartRepository extends EntityRepository<DataInsightChar
     storeOwner(entity, entity.getOwner());
   }
 
+  /**
+   * Build the chart from the daily or weekly rollups of the report data, picked by the length of the time range.
+   * Returns null when the chart isn't built from rollups, when the rollups aren't rebuilt yet or when there are no
+   * rollups for the range.
+   */
+  public DataInsightChartResult buildChartFromRollups(
+      DataInsightChartResult.DataInsightChartType dataInsightChartName,
+      long startTs,
+      long endTs,
+      String tier,
+      String team)
+      throws IOException {
+    if (!RollupChartAggregator.SUPPORTED_CHARTS.contains(dataInsightChartName)) {
+      return null;
+    }
+    ReportDataType reportDataType = RollupChartAggregator.getReportDataType(dataInsightChartName);
+    if (!reportDataRepository.hasRollups(reportDataType)) {
+      // The rollups don't hold the report data added before the upgrade until they are rebuilt
+      return null;
+    }
+    List<ReportDataRollup> rollups =
+        reportDataRepository.getRollups(reportDataType, Period.forRange(startTs, endTs), startTs, endTs);
+    if (rollups.isEmpty()) {
+      return null;
+    }
+
+    Predicate<ReportDataRollup.Bucket> filter = bucket -> true;
+    String chartName = dataInsightChartName.value();
+    if (team != null && SUPPORTS_TEAM_FILTER.contains(chartName)) {
+      List<String> teamArray = Arrays.asList(team.split("\\s*,\\s*"));
+      filter = filter.and(bucket -> teamArray.contains(bucket.getTeam()));
+    }
+    if (tier != null && SUPPORTS_TIER_FILTER.contains(chartName)) {
+      List<String> tierArray = Arrays.asList(tier.split("\\s*,\\s*"));
+      filter = filter.and(bucket -> tierArray.contains(bucket.getEntityTier()));
+    }
+    return new RollupChartAggregator(dataInsightChartName, filter).process(rollups);
+  }
+
   public SearchSourceBuilder buildQueryFilter(
       Long startTs, Long endTs, String tier, String team, String dataInsightChartName) {
 
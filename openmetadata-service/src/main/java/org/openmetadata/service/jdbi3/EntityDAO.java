@@ -14,26 +14,30 @@
 package org.openmetadata.service.jdbi3;
 
 import static org.openmetadata.service.exception.CatalogExceptionMessage.entityNotFound;
-import static org.openmetadata.service.jdbi3.ListFilter.escape;
-import static org.openmetadata.service.jdbi3.ListFilter.escapeApostrophe;
+import static org.openmetadata.service.jdbi3.ListFilter.escapeLike;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import lombok.SneakyThrows;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlBatch;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
@@ -41,6 +45,9 @@ import org.openmetadata.service.util.JsonUtils;
 public interface EntityDAO<T extends EntityInterface> {
   org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(EntityDAO.class);
 
+  /** Number of rows renamed in each batch when the FQN prefix of an entity hierarchy changes */
+  int FQN_RENAME_BATCH_SIZE = 500;
+
   /** Methods that need to be overridden by interfaces extending this */
   String getTableName();
 
@@ -63,31 +70,60 @@ public interface EntityDAO<T extends EntityInterface> {
       connectionType = POSTGRES)
   void update(@Define("table") String table, @Bind("id") String id, @Bind("json") String json);
 
+  /**
+   * Update the FQN prefix of all the entities whose FQN starts with oldPrefix. The rename is done in batches of {@link
+   * #FQN_RENAME_BATCH_SIZE} rows paged using the unique index on fullyQualifiedName. The rows of a batch are updated
+   * with JSON path updates sent as one JDBC batch, instead of rewriting the JSON text of every matching row in a single
+   * statement.
+   */
   default void updateFqn(String oldPrefix, String newPrefix) {
     LOG.info("Updating FQN for {} from {} to {}", getTableName(), oldPrefix, newPrefix);
-    if (!getNameColumn().equals("fullyQualifiedName")) {
+    if (!getNameColumn().equals("fullyQualifiedName") || oldPrefix.equals(newPrefix)) {
       return;
     }
-    String mySqlUpdate =
-        String.format(
-            "UPDATE %s SET json = "
-                + "JSON_REPLACE(json, '$.fullyQualifiedName', REGEXP_REPLACE(fullyQualifiedName, '^%s\\.', '%s.')) "
-                + "WHERE fullyQualifiedName LIKE '%s.%%'",
-            getTableName(), escape(oldPrefix), escapeApostrophe(newPrefix), escape(oldPrefix));
-
-    String postgresUpdate =
-        String.format(
-            "UPDATE %s SET json = "
-                + "REPLACE(json::text, '\"fullyQualifiedName\": \"%s.', "
-                + "'\"fullyQualifiedName\": \"%s.')::jsonb "
-                + "WHERE fullyQualifiedName LIKE '%s.%%'",
-            getTableName(), escapeApostrophe(oldPrefix), escapeApostrophe(newPrefix), escape(oldPrefix));
-    updateFqnInternal(mySqlUpdate, postgresUpdate);
+    String oldPrefixWithSeparator = oldPrefix + Entity.SEPARATOR;
+    String newPrefixWithSeparator = newPrefix + Entity.SEPARATOR;
+    String likePrefix = escapeLike(oldPrefix) + Entity.SEPARATOR + "%";
+    String after = "";
+    int renamed = 0;
+    List<String> fqns;
+    do {
+      fqns = listFqnsWithPrefix(getTableName(), likePrefix, after, FQN_RENAME_BATCH_SIZE);
+      List<String> newFqns = new ArrayList<>(fqns.size());
+      for (String fqn : fqns) {
+        newFqns.add(newPrefixWithSeparator + fqn.substring(oldPrefixWithSeparator.length()));
+      }
+      if (!fqns.isEmpty()) {
+        updateFqnsByName(getTableName(), fqns, newFqns);
+        renamed += fqns.size();
+        after = fqns.get(fqns.size() - 1);
+        LOG.debug("Renamed {} rows in {} with FQN prefix {}", renamed, getTableName(), oldPrefix);
+      }
+    } while (fqns.size() == FQN_RENAME_BATCH_SIZE);
+    LOG.info("Updated FQN of {} rows in {} from {} to {}", renamed, getTableName(), oldPrefix, newPrefix);
   }
 
-  @ConnectionAwareSqlUpdate(value = "<mySqlUpdate>", connectionType = MYSQL)
-  @ConnectionAwareSqlUpdate(value = "<postgresUpdate>", connectionType = POSTGRES)
-  void updateFqnInternal(@Define("mySqlUpdate") String mySqlUpdate, @Define("postgresUpdate") String postgresUpdate);
+  @SqlQuery(
+      "SELECT fullyQualifiedName FROM <table> WHERE fullyQualifiedName LIKE :prefix "
+          + "AND fullyQualifiedName > :after ORDER BY fullyQualifiedName LIMIT :limit")
+  List<String> listFqnsWithPrefix(
+      @Define("table") String table,
+      @Bind("prefix") String prefix,
+      @Bind("after") String after,
+      @Bind("limit") int limit);
+
+  @ConnectionAwareSqlBatch(
+      value =
+          "UPDATE <table> SET json = JSON_SET(json, '$.fullyQualifiedName', :newFqn) "
+              + "WHERE fullyQualifiedName = :oldFqn",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlBatch(
+      value =
+          "UPDATE <table> SET json = jsonb_set(json, '{fullyQualifiedName}', to_jsonb(:newFqn :: text)) "
+              + "WHERE fullyQualifiedName = :oldFqn",
+      connectionType = POSTGRES)
+  void updateFqnsByName(
+      @Define("table") String table, @Bind("oldFqn") List<String> oldFqns, @Bind("newFqn") List<String> newFqns);
 
   @SqlQuery("SELECT json FROM <table> WHERE id = :id <cond>")
   String findById(@Define("table") String table, @Bind("id") String id, @Define("cond") String cond);
@@ -100,7 +136,11 @@ public interface EntityDAO<T extends EntityInterface> {
       @Define("cond") String cond);
 
   @SqlQuery("SELECT count(*) FROM <table> <cond>")
-  int listCount(@Define("table") String table, @Define("nameColumn") String nameColumn, @Define("cond") String cond);
+  int listCount(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Define("cond") String cond,
+      @BindMap Map<String, ?> bindings);
 
   @SqlQuery(
       "SELECT json FROM ("
@@ -115,6 +155,7 @@ public interface EntityDAO<T extends EntityInterface> {
       @Define("table") String table,
       @Define("nameColumn") String nameColumn,
       @Define("cond") String cond,
+      @BindMap Map<String, ?> bindings,
       @Bind("limit") int limit,
       @Bind("before") String before);
 
@@ -124,6 +165,7 @@ public interface EntityDAO<T extends EntityInterface> {
       @Define("table") String table,
       @Define("nameColumn") String nameColumn,
       @Define("cond") String cond,
+      @BindMap Map<String, ?> bindings,
       @Bind("limit") int limit,
       @Bind("after") String after);
 
@@ -136,6 +178,24 @@ public interface EntityDAO<T extends EntityInterface> {
   @SqlUpdate("DELETE FROM <table> WHERE id = :id")
   int delete(@Define("table") String table, @Bind("id") String id);
 
+  @SqlQuery("SELECT json FROM <table> WHERE id = :id FOR UPDATE")
+  String findJsonForUpdate(@Define("table") String table, @Bind("id") String id);
+
+  @FunctionalInterface
+  interface LockedWork<T, R> {
+    R run(T locked) throws IOException;
+  }
+
+  /**
+   * Run the work in one transaction holding the row lock of the entity, passing it the entity as locked, null when it
+   * does not exist. The DAO calls made by the work join the transaction.
+   */
+  @Transaction
+  default <R> R withEntityLock(UUID id, LockedWork<T, R> work) throws IOException {
+    String json = findJsonForUpdate(getTableName(), id.toString());
+    return work.run(json == null ? null : JsonUtils.readValue(json, getEntityClass()));
+  }
+
   /** Default methods that interfaces with implementation. Don't override */
   default void insert(EntityInterface entity) throws JsonProcessingException {
     insert(getTableName(), JsonUtils.pojoToJson(entity));
@@ -219,19 +279,19 @@ public interface EntityDAO<T extends EntityInterface> {
   }
 
   default int listCount(ListFilter filter) {
-    return listCount(getTableName(), getNameColumn(), filter.getCondition());
+    return listCount(getTableName(), getNameColumn(), filter.getCondition(), filter.getBindings());
   }
 
   default List<String> listBefore(ListFilter filter, int limit, String before) {
     // Quoted name is stored in fullyQualifiedName column and not in the name column
     before = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(before) : before;
-    return listBefore(getTableName(), getNameColumn(), filter.getCondition(), limit, before);
+    return listBefore(getTableName(), getNameColumn(), filter.getCondition(), filter.getBindings(), limit, before);
   }
 
   default List<String> listAfter(ListFilter filter, int limit, String after) {
     // Quoted name is stored in fullyQualifiedName column and not in the name column
     after = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(after) : after;
-    return listAfter(getTableName(), getNameColumn(), filter.getCondition(), limit, after);
+    return listAfter(getTableName(), getNameColumn(), filter.getCondition(), filter.getBindings(), limit, after);
   }
 
   default void exists(UUID id) {
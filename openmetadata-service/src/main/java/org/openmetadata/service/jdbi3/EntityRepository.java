@@ -377,6 +377,26 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /**
+   * Same as {@link #listAfter} without counting the entities that match the filter. Used by the jobs that page through
+   * all the entities, where counting them for every page is wasted work.
+   */
+  @Transaction
+  public final ResultList<T> listAfterWithoutCount(
+      UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String after) throws IOException {
+    List<String> jsons = dao.listAfter(filter, limitParam + 1, after == null ? "" : RestUtil.decodeCursor(after));
+    List<T> entities = new ArrayList<>();
+    for (String json : jsons) {
+      entities.add(withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields)));
+    }
+    String afterCursor = null;
+    if (entities.size() > limitParam) {
+      entities.remove(limitParam);
+      afterCursor = entities.get(limitParam - 1).getFullyQualifiedName();
+    }
+    return getResultList(entities, null, afterCursor, entities.size());
+  }
+
   @Transaction
   public final ResultList<T> listBefore(
       UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String before) throws IOException {
@@ -689,6 +709,10 @@ public abstract class EntityRepository<T extends EntityInterface> {
     // Delete all the usage data
     daoCollection.usageDAO().delete(id);
 
+    // Delete the thread counts of the entity
+    daoCollection.threadCountDAO().deleteByEntityId(id);
+    daoCollection.threadOwnerCountDAO().deleteByEntityId(id);
+
     // Delete the extension data storing custom properties
     removeExtension(entityInterface);
 
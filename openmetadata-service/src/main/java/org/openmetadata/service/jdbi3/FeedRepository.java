@@ -13,6 +13,7 @@
 
 package org.openmetadata.service.jdbi3;
 
+import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
 import static org.openmetadata.schema.type.Include.ALL;
 import static org.openmetadata.schema.type.Relationship.ADDRESSED_TO;
 import static org.openmetadata.schema.type.Relationship.CREATED;
@@ -36,9 +37,9 @@ import static org.openmetadata.service.util.RestUtil.DELETED_USER_DISPLAY;
 import static org.openmetadata.service.util.RestUtil.DELETED_USER_NAME;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import io.jsonwebtoken.lang.Collections;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -92,6 +93,13 @@ import org.openmetadata.service.util.RestUtil.PatchResponse;
 @Slf4j
 public class FeedRepository {
   private static final String UNSUPPORTED_FIELD_NAME_FOR_TASK = "The field name %s is not supported for %s task.";
+
+  /**
+   * Number of the latest posts kept in the document of a thread, so that threads are listed without reading their
+   * posts. All the posts are stored in thread_post_entity.
+   */
+  public static final int RECENT_POSTS = 10;
+
   private final CollectionDAO dao;
 
   public FeedRepository(CollectionDAO dao) {
@@ -117,7 +125,6 @@ public class FeedRepository {
     return dao.feedDAO().getTaskId();
   }
 
-  @Transaction
   public Thread create(Thread thread, UUID entityId, EntityReference entityOwner, EntityLink about) throws IOException {
 
     String createdBy = thread.getCreatedBy();
@@ -145,9 +152,13 @@ public class FeedRepository {
       }
     }
 
-    // Insert a new thread
-    dao.feedDAO().insert(JsonUtils.pojoToJson(thread));
+    // Insert a new thread, with its relationships and counts in the same transaction
+    return dao.feedDAO()
+        .insertWith(
+            JsonUtils.pojoToJson(thread), json -> storeRelationships(thread, createdByUser, entityOwner, about));
+  }
 
+  private Thread storeRelationships(Thread thread, User createdByUser, EntityReference entityOwner, EntityLink about) {
     // Add relationship User -- created --> Thread relationship
     dao.relationshipDAO().insert(createdByUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, CREATED.ordinal());
 
@@ -171,10 +182,11 @@ public class FeedRepository {
     // Add mentions to field relationship table
     storeMentions(thread, thread.getMessage());
 
+    // Count the thread, the creator being known for the counts of the users
+    updateThreadCount(thread, about, 1);
     return thread;
   }
 
-  @Transaction
   public Thread create(Thread thread) throws IOException {
     // Validate about data entity is valid
     EntityLink about = EntityLink.parse(thread.getAbout());
@@ -188,7 +200,14 @@ public class FeedRepository {
     return create(thread, entityId, owner, about);
   }
 
+  /** Get a thread with all its posts */
   public Thread get(String id) throws IOException {
+    Thread thread = getWithRecentPosts(id);
+    return thread.withPosts(readPosts(dao.threadPostDAO().listAll(id)));
+  }
+
+  /** Get a thread with only its latest posts, for the operations that don't return all the posts */
+  public Thread getWithRecentPosts(String id) throws IOException {
     Thread thread = EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
     sortPosts(thread);
     return thread;
@@ -196,7 +215,7 @@ public class FeedRepository {
 
   public Thread getTask(Integer id) throws IOException {
     Thread task = EntityUtil.validate(id.toString(), dao.feedDAO().findByTaskId(id), Thread.class);
-    sortPosts(task);
+    task.withPosts(readPosts(dao.threadPostDAO().listAll(task.getId().toString())));
     return populateAssignees(task);
   }
 
@@ -407,7 +426,7 @@ public class FeedRepository {
             .withId(UUID.randomUUID())
             .withMessage(message)
             .withFrom(user)
-            .withReactions(java.util.Collections.emptyList())
+            .withReactions(Collections.emptyList())
             .withPostTs(System.currentTimeMillis());
     try {
       addPostToThread(thread.getId().toString(), post, user);
@@ -421,7 +440,8 @@ public class FeedRepository {
     task.withStatus(TaskStatus.Closed).withClosedBy(user).withClosedAt(System.currentTimeMillis());
     thread.withTask(task).withUpdatedBy(user).withUpdatedAt(System.currentTimeMillis());
 
-    dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+    // Move the task from the count of its previous status to the closed ones
+    storeThread(thread.getId().toString(), thread);
     addClosingPost(thread, user, closingComment);
     sortPosts(thread);
   }
@@ -445,80 +465,119 @@ public class FeedRepository {
                         null));
   }
 
-  @Transaction
   public Thread addPostToThread(String id, Post post, String userName) throws IOException {
     // Query 1 - validate the user posting the message
     User fromUser = dao.userDAO().findEntityByName(post.getFrom());
 
-    // Query 2 - Find the thread
-    Thread thread = EntityUtil.validate(id, dao.feedDAO().findById(id), Thread.class);
+    // Query 2 - Find the thread, its document only holds the latest posts. Concurrent replies are added one after the
+    // other under the lock of the thread, so that they don't lose the updates of the posts count and latest posts
+    return dao.feedDAO().withThreadLock(id, json -> addPostToThread(json, id, post, userName, fromUser));
+  }
+
+  private Thread addPostToThread(String json, String id, Post post, String userName, User fromUser)
+      throws IOException {
+    Thread thread = EntityUtil.validate(id, json, Thread.class);
     thread.withUpdatedBy(userName).withUpdatedAt(System.currentTimeMillis());
-    FeedUtil.addPost(thread, post);
 
-    // TODO is rewriting entire json okay?
-    // Query 3 - update the JSON document for the feed
-    dao.feedDAO().update(id, JsonUtils.pojoToJson(thread));
-
-    // Query 4 - Add relation User -- repliedTo --> Thread
-    // Add relationship from thread to the user entity that is posting a reply
-    boolean relationAlreadyExists = false;
-    for (Post p : thread.getPosts()) {
-      if (p.getFrom().equals(post.getFrom())) {
-        relationAlreadyExists = true;
-        break;
-      }
+    // Posts are paginated by their timestamp, keep it unique within the thread
+    sortPosts(thread);
+    List<Post> latest = thread.getPosts();
+    if (!latest.isEmpty() && post.getPostTs() <= latest.get(latest.size() - 1).getPostTs()) {
+      post.setPostTs(latest.get(latest.size() - 1).getPostTs() + 1);
     }
-    if (!relationAlreadyExists) {
-      dao.relationshipDAO().insert(fromUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, REPLIED_TO.ordinal());
+
+    // Query 3 - append the post, whatever the number of posts of the thread
+    dao.threadPostDAO().insert(id, JsonUtils.pojoToJson(post));
+
+    // Query 4 - update the posts count and the latest posts of the thread
+    FeedUtil.addPost(thread, post);
+    storeThread(thread);
+
+    // Query 5 - Count the thread in the inbox of the user, when they are new to it
+    String entityId = thread.getEntityId().toString();
+    if (!dao.threadOwnerCountDAO().listOwnerIds(id, entityId).contains(fromUser.getId().toString())) {
+      dao.threadOwnerCountDAO()
+          .increment(
+              fromUser.getId().toString(),
+              thread.getAbout(),
+              thread.getType().value(),
+              Boolean.TRUE.equals(thread.getResolved()),
+              entityId,
+              1);
     }
 
+    // Query 6 - Add relation User -- repliedTo --> Thread
+    // Add relationship from thread to the user entity that is posting a reply, it is kept once for every user
+    dao.relationshipDAO().insert(fromUser.getId(), thread.getId(), Entity.USER, Entity.THREAD, REPLIED_TO.ordinal());
+
     // Add mentions into field relationship table
     storeMentions(thread, post.getMessage());
 
-    sortPostsInThreads(List.of(thread));
-
-    return thread;
+    return thread.withPosts(latestPosts(thread.getPosts(), RECENT_POSTS));
   }
 
-  public Post getPostById(Thread thread, String postId) {
-    Optional<Post> post = thread.getPosts().stream().filter(p -> p.getId().equals(UUID.fromString(postId))).findAny();
-    if (post.isEmpty()) {
+  public Post getPostById(Thread thread, String postId) throws IOException {
+    String json = dao.threadPostDAO().findById(thread.getId().toString(), postId);
+    if (json == null) {
       throw EntityNotFoundException.byMessage(entityNotFound("Post", postId));
     }
-    return post.get();
+    return JsonUtils.readValue(json, Post.class);
   }
 
-  @Transaction
   public DeleteResponse<Post> deletePost(Thread thread, Post post, String userName) throws IOException {
-    List<Post> posts = thread.getPosts();
-    // Remove the post to be deleted from the posts list
-    posts = posts.stream().filter(p -> !p.getId().equals(post.getId())).collect(Collectors.toList());
-    thread
-        .withUpdatedAt(System.currentTimeMillis())
-        .withUpdatedBy(userName)
-        .withPosts(posts)
-        .withPostsCount(posts.size());
-    // update the json document
-    dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
-
-    return new DeleteResponse<>(post, RestUtil.ENTITY_DELETED);
+    String threadId = thread.getId().toString();
+    // Update the posts count of the thread as locked, as replies are added concurrently
+    return dao.feedDAO()
+        .withThreadLock(
+            threadId,
+            json -> {
+              Thread locked = EntityUtil.validate(threadId, json, Thread.class);
+              dao.threadPostDAO().delete(threadId, post.getId().toString());
+
+              // Read the latest posts again, the deleted post may have been one of them
+              List<Post> posts = listLatestPosts(threadId, RECENT_POSTS);
+              int postsCount =
+                  locked.getPostsCount() == null ? posts.size() : Math.max(locked.getPostsCount() - 1, 0);
+              locked
+                  .withUpdatedAt(System.currentTimeMillis())
+                  .withUpdatedBy(userName)
+                  .withPosts(posts)
+                  .withPostsCount(postsCount);
+              // update the json document
+              storeThread(locked);
+              return new DeleteResponse<>(post, RestUtil.ENTITY_DELETED);
+            });
   }
 
-  @Transaction
-  public DeleteResponse<Thread> deleteThread(Thread thread, String deletedByUser) {
+  public DeleteResponse<Thread> deleteThread(Thread thread, String deletedByUser) throws IOException {
     String id = thread.getId().toString();
+    // Uncount the thread as locked, before its relationships to the users counting it are deleted
+    dao.feedDAO()
+        .withThreadLock(
+            id,
+            json -> {
+              if (json != null) {
+                Thread locked = JsonUtils.readValue(json, Thread.class);
+                updateThreadCount(locked, EntityLink.parse(locked.getAbout()), -1);
+                deleteThread(id);
+              }
+              return null;
+            });
 
+    LOG.info("{} deleted thread with id {}", deletedByUser, thread.getId());
+    return new DeleteResponse<>(thread, RestUtil.ENTITY_DELETED);
+  }
+
+  private void deleteThread(String id) {
     // Delete all the relationships to other entities
     dao.relationshipDAO().deleteAll(id, Entity.THREAD);
 
     // Delete all the field relationships to other entities
     dao.fieldRelationshipDAO().deleteAllByPrefix(id);
 
-    // Finally, delete the entity
+    // Delete the posts and finally, the entity
+    dao.threadPostDAO().deleteAll(id);
     dao.feedDAO().delete(id);
-
-    LOG.info("{} deleted thread with id {}", deletedByUser, thread.getId());
-    return new DeleteResponse<>(thread, RestUtil.ENTITY_DELETED);
   }
 
   public EntityReference getOwnerReference(String username) {
@@ -533,29 +592,23 @@ public class FeedRepository {
     AtomicInteger totalCount = new AtomicInteger(0);
     if (link == null) {
       // Get thread count of all entities
-      result =
-          dao.feedDAO()
-              .listCountByEntityLink(null, Entity.THREAD, null, IS_ABOUT.ordinal(), type, taskStatus, isResolved);
+      result = dao.threadCountDAO().listCountByEntityLink(null, null, type, taskStatus, isResolved);
     } else {
       EntityLink entityLink = EntityLink.parse(link);
       EntityReference reference = EntityUtil.validateEntityLink(entityLink);
       if (reference.getType().equals(Entity.USER) || reference.getType().equals(Entity.TEAM)) {
         if (reference.getType().equals(Entity.USER)) {
-          String userId = reference.getId().toString();
-          List<String> teamIds = getTeamIds(userId);
-          result = dao.feedDAO().listCountByOwner(userId, teamIds, type, isResolved);
+          result = dao.threadOwnerCountDAO().listCountByOwner(reference.getId().toString(), type, isResolved);
         } else {
           // team is not supported
           result = new ArrayList<>();
         }
       } else {
         result =
-            dao.feedDAO()
+            dao.threadCountDAO()
                 .listCountByEntityLink(
                     entityLink.getFullyQualifiedFieldValue(),
-                    Entity.THREAD,
                     entityLink.getFullyQualifiedFieldType(),
-                    IS_ABOUT.ordinal(),
                     type,
                     taskStatus,
                     isResolved);
@@ -572,9 +625,102 @@ public class FeedRepository {
     return threadCount;
   }
 
-  public List<Post> listPosts(String threadId) throws IOException {
-    Thread thread = get(threadId);
-    return thread.getPosts();
+  /**
+   * Add the delta to the count of the entity link, thread type, task status and resolved flag of the thread, and to the
+   * counts of the users having it in their inbox
+   */
+  private void updateThreadCount(Thread thread, EntityLink about, int delta) {
+    dao.threadOwnerCountDAO()
+        .incrementOwners(
+            thread.getId().toString(),
+            thread.getAbout(),
+            thread.getType().value(),
+            Boolean.TRUE.equals(thread.getResolved()),
+            thread.getEntityId().toString(),
+            delta);
+    dao.threadCountDAO()
+        .increment(
+            thread.getAbout(),
+            thread.getType().value(),
+            thread.getTask() == null ? StringUtils.EMPTY : thread.getTask().getStatus().value(),
+            Boolean.TRUE.equals(thread.getResolved()),
+            thread.getEntityId().toString(),
+            about.getFullyQualifiedFieldValue(),
+            about.getFullyQualifiedFieldType(),
+            delta);
+  }
+
+  /** Move the thread to the count of its new task status or resolved flag, when they changed */
+  private void moveThreadCount(Thread original, Thread updated) {
+    boolean statusChanged =
+        original.getTask() != null
+            && updated.getTask() != null
+            && original.getTask().getStatus() != updated.getTask().getStatus();
+    if (statusChanged || !Objects.equals(original.getResolved(), updated.getResolved())) {
+      EntityLink about = EntityLink.parse(original.getAbout());
+      updateThreadCount(original, about, -1);
+      updateThreadCount(updated, about, 1);
+    }
+  }
+
+  /** Recompute the thread counts and the thread counts of the users from the threads */
+  public void repairThreadCounts() {
+    dao.threadCountDAO().recompute();
+    dao.threadOwnerCountDAO().recompute();
+  }
+
+  /**
+   * List the posts of a thread in chronological order. Without a limit all the posts are returned, otherwise a page of
+   * posts before or after the given cursor, the first page holding the oldest posts.
+   */
+  public ResultList<Post> listPosts(String threadId, Integer limit, String before, String after) throws IOException {
+    Thread thread = EntityUtil.validate(threadId, dao.feedDAO().findById(threadId), Thread.class);
+    if (limit == null) {
+      return new ResultList<>(readPosts(dao.threadPostDAO().listAll(threadId)));
+    }
+    int total = thread.getPostsCount() == null ? thread.getPosts().size() : thread.getPostsCount();
+    List<Post> posts;
+    String beforeCursor;
+    String afterCursor = null;
+    if (before != null) {
+      // Get one extra result used for computing before cursor
+      String[] cursor = decodePostCursor(before);
+      posts = readPosts(dao.threadPostDAO().listBefore(threadId, Long.parseLong(cursor[0]), cursor[1], limit + 1));
+      beforeCursor = posts.size() > limit ? postCursor(posts.get(limit - 1)) : null;
+      posts = posts.subList(0, Math.min(limit, posts.size()));
+      Collections.reverse(posts);
+      afterCursor = posts.isEmpty() ? null : postCursor(posts.get(posts.size() - 1));
+    } else {
+      String[] cursor = after == null ? new String[] {"-1", ""} : decodePostCursor(after);
+      posts = readPosts(dao.threadPostDAO().listAfter(threadId, Long.parseLong(cursor[0]), cursor[1], limit + 1));
+      beforeCursor = after == null || posts.isEmpty() ? null : postCursor(posts.get(0));
+      if (posts.size() > limit) {
+        posts = posts.subList(0, limit);
+        afterCursor = postCursor(posts.get(limit - 1));
+      }
+    }
+    return new ResultList<>(new ArrayList<>(posts), beforeCursor, afterCursor, total);
+  }
+
+  /** The cursor of a post is its timestamp and its id, which orders the posts with the same timestamp */
+  private static String postCursor(Post post) {
+    return post.getPostTs() + ":" + post.getId();
+  }
+
+  private static String[] decodePostCursor(String cursor) {
+    String[] parts = RestUtil.decodeCursor(cursor).split(":", 2);
+    return parts.length == 2 ? parts : new String[] {parts[0], ""};
+  }
+
+  /** The latest posts of a thread in chronological order */
+  private List<Post> listLatestPosts(String threadId, int limit) throws IOException {
+    List<Post> posts = readPosts(dao.threadPostDAO().listBefore(threadId, Long.MAX_VALUE, "", limit));
+    Collections.reverse(posts);
+    return posts;
+  }
+
+  private static List<Post> readPosts(List<String> jsons) throws IOException {
+    return JsonUtils.readObjects(jsons, Post.class);
   }
 
   /** List threads based on the filters and limits in the order of the updated timestamp. */
@@ -762,10 +908,9 @@ public class FeedRepository {
     // Update the attributes
     populateUserReactions(updated.getReactions());
 
-    // delete the existing post and add the updated post
+    // replace the post in the latest posts of the thread, if it is one of them
     List<Post> posts = thread.getPosts();
-    posts = posts.stream().filter(p -> !p.getId().equals(post.getId())).collect(Collectors.toList());
-    posts.add(updated);
+    posts = posts.stream().map(p -> p.getId().equals(post.getId()) ? updated : p).collect(Collectors.toList());
     thread.withPosts(posts).withUpdatedAt(System.currentTimeMillis()).withUpdatedBy(user);
 
     if (!updated.getReactions().isEmpty()) {
@@ -834,8 +979,13 @@ public class FeedRepository {
   }
 
   private void restorePatchAttributes(Thread original, Thread updated) {
-    // Patch can't make changes to following fields. Ignore the changes
-    updated.withId(original.getId()).withAbout(original.getAbout()).withType(original.getType());
+    // Patch can't make changes to following fields. Ignore the changes. Posts are changed through the posts APIs
+    updated
+        .withId(original.getId())
+        .withAbout(original.getAbout())
+        .withType(original.getType())
+        .withPosts(original.getPosts())
+        .withPostsCount(original.getPostsCount());
   }
 
   private void restorePatchAttributes(Post original, Post updated) {
@@ -844,7 +994,7 @@ public class FeedRepository {
   }
 
   private void populateUserReactions(List<Reaction> reactions) {
-    if (!Collections.isEmpty(reactions)) {
+    if (!nullOrEmpty(reactions)) {
       reactions.forEach(
           reaction -> {
             try {
@@ -856,12 +1006,12 @@ public class FeedRepository {
     }
   }
 
-  private boolean patchUpdate(Thread original, Thread updated) throws JsonProcessingException {
+  private boolean patchUpdate(Thread original, Thread updated) throws IOException {
     // store the updated thread
     // if there is no change, there is no need to apply patch
     if (fieldsChanged(original, updated)) {
       populateUserReactions(updated.getReactions());
-      dao.feedDAO().update(updated.getId().toString(), JsonUtils.pojoToJson(updated));
+      storeThread(original.getId().toString(), updated);
       return true;
     }
     return false;
@@ -871,7 +1021,9 @@ public class FeedRepository {
     // store the updated post
     // if there is no change, there is no need to apply patch
     if (fieldsChanged(originalPost, updatedPost)) {
-      dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+      String threadId = thread.getId().toString();
+      dao.threadPostDAO().update(threadId, updatedPost.getId().toString(), JsonUtils.pojoToJson(updatedPost));
+      storeThread(thread);
       return true;
     }
     return false;
@@ -880,8 +1032,8 @@ public class FeedRepository {
   private boolean fieldsChanged(Post original, Post updated) {
     // Patch supports message, and reactions for now
     return !original.getMessage().equals(updated.getMessage())
-        || (Collections.isEmpty(original.getReactions()) && !Collections.isEmpty(updated.getReactions()))
-        || (!Collections.isEmpty(original.getReactions()) && Collections.isEmpty(updated.getReactions()))
+        || (nullOrEmpty(original.getReactions()) && !nullOrEmpty(updated.getReactions()))
+        || (!nullOrEmpty(original.getReactions()) && nullOrEmpty(updated.getReactions()))
         || original.getReactions().size() != updated.getReactions().size()
         || !original.getReactions().containsAll(updated.getReactions());
   }
@@ -890,8 +1042,8 @@ public class FeedRepository {
     // Patch supports isResolved, message, task assignees, reactions, and announcements for now
     return !original.getResolved().equals(updated.getResolved())
         || !original.getMessage().equals(updated.getMessage())
-        || (Collections.isEmpty(original.getReactions()) && !Collections.isEmpty(updated.getReactions()))
-        || (!Collections.isEmpty(original.getReactions()) && Collections.isEmpty(updated.getReactions()))
+        || (nullOrEmpty(original.getReactions()) && !nullOrEmpty(updated.getReactions()))
+        || (!nullOrEmpty(original.getReactions()) && nullOrEmpty(updated.getReactions()))
         || original.getReactions().size() != updated.getReactions().size()
         || !original.getReactions().containsAll(updated.getReactions())
         || (original.getAnnouncement() != null
@@ -903,6 +1055,38 @@ public class FeedRepository {
                 || !original.getTask().getAssignees().containsAll(updated.getTask().getAssignees())));
   }
 
+  /**
+   * Store the document of a thread with only its latest posts. The thread keeps all the posts it was read with, such
+   * as the ones returned when getting a thread.
+   */
+  private void storeThread(Thread thread) throws JsonProcessingException {
+    List<Post> posts = thread.getPosts();
+    sortPosts(thread);
+    thread.setPosts(latestPosts(posts, RECENT_POSTS));
+    try {
+      dao.feedDAO().update(thread.getId().toString(), JsonUtils.pojoToJson(thread));
+    } finally {
+      thread.setPosts(posts);
+    }
+  }
+
+  /** Store the updated thread and move it to its new counts in one transaction, holding the lock of the thread */
+  private void storeThread(String id, Thread updated) throws IOException {
+    dao.feedDAO()
+        .withThreadLock(
+            id,
+            json -> {
+              Thread locked = EntityUtil.validate(id, json, Thread.class);
+              storeThread(updated);
+              moveThreadCount(locked, updated);
+              return updated;
+            });
+  }
+
+  private static List<Post> latestPosts(List<Post> posts, int limit) {
+    return posts.size() > limit ? new ArrayList<>(posts.subList(posts.size() - limit, posts.size())) : posts;
+  }
+
   private void sortPosts(Thread thread) {
     thread.getPosts().sort(Comparator.comparing(Post::getPostTs));
   }
@@ -913,8 +1097,11 @@ public class FeedRepository {
     }
   }
 
-  /** Limit the number of posts within each thread. */
-  private void limitPostsInThreads(List<Thread> threads, int limitPosts) {
+  /**
+   * Limit the number of posts within each thread. The posts are read only for the threads whose document holds fewer
+   * posts than requested.
+   */
+  private void limitPostsInThreads(List<Thread> threads, int limitPosts) throws IOException {
     for (Thread t : threads) {
       List<Post> posts = t.getPosts();
       sortPosts(t);
@@ -922,6 +1109,8 @@ public class FeedRepository {
         // Only keep the last "n" number of posts
         posts = posts.subList(posts.size() - limitPosts, posts.size());
         t.withPosts(posts);
+      } else if (t.getPostsCount() != null && posts.size() < Math.min(limitPosts, t.getPostsCount())) {
+        t.withPosts(listLatestPosts(t.getId().toString(), limitPosts));
       }
     }
   }
@@ -1,7 +1,6 @@
 package org.openmetadata.service.jdbi3;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,6 +9,12 @@ import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.service.Entity;
 
+/**
+ * Filter used for listing entities. The query parameters of the filter are turned into a condition on the generated and
+ * indexed columns of the entity table. The condition only has named parameters such as {@code :servicePrefix} and the
+ * values of the query parameters are bound to them from {@link #getBindings()}, so that the SQL text of a list query
+ * only depends on which filters are used and not on their values.
+ */
 public class ListFilter {
   @Getter private final Include include;
   private final Map<String, String> queryParams = new HashMap<>();
@@ -36,19 +41,33 @@ public class ListFilter {
   }
 
   public String getCondition(String tableName) {
-    String condition = getIncludeCondition(tableName);
-    condition = addCondition(condition, getDatabaseCondition(tableName));
-    condition = addCondition(condition, getServiceCondition(tableName));
-    condition = addCondition(condition, getParentCondition(tableName));
-    condition = addCondition(condition, getCategoryCondition(tableName));
-    condition = addCondition(condition, getWebhookCondition(tableName));
-    condition = addCondition(condition, getWebhookTypeCondition(tableName));
-    condition = addCondition(condition, getTestCaseCondition());
+    String condition = buildCondition(tableName, new HashMap<>());
     return condition.isEmpty() ? "WHERE TRUE" : "WHERE " + condition;
   }
 
+  /** Values of the named parameters of the condition returned by {@link #getCondition(String)} */
+  public Map<String, Object> getBindings() {
+    Map<String, Object> bindings = new HashMap<>();
+    buildCondition(null, bindings);
+    return bindings;
+  }
+
+  private String buildCondition(String tableName, Map<String, Object> bindings) {
+    List<String> conditions = new ArrayList<>();
+    addCondition(conditions, getIncludeCondition(tableName));
+    addCondition(conditions, getFqnPrefixCondition(tableName, "database", bindings));
+    addCondition(conditions, getFqnPrefixCondition(tableName, "service", bindings));
+    addCondition(conditions, getFqnPrefixCondition(tableName, "parent", bindings));
+    addCondition(conditions, getCategoryCondition(tableName, bindings));
+    addCondition(conditions, getTestCaseCondition(tableName, bindings));
+    addCondition(conditions, getBooleanCondition(tableName, "isAdmin"));
+    addCondition(conditions, getBooleanCondition(tableName, "isBot"));
+    addCondition(conditions, getBooleanCondition(tableName, "isJoinable"));
+    return String.join(" AND ", conditions);
+  }
+
   public String getIncludeCondition(String tableName) {
-    String columnName = tableName == null ? "deleted" : tableName + ".deleted";
+    String columnName = column(tableName, "deleted");
     if (include == Include.NON_DELETED) {
       return columnName + " = FALSE";
     }
@@ -58,118 +77,76 @@ public class ListFilter {
     return "";
   }
 
-  public String getDatabaseCondition(String tableName) {
-    String database = queryParams.get("database");
-    return database == null ? "" : getFqnPrefixCondition(tableName, database);
-  }
-
-  public String getServiceCondition(String tableName) {
-    String service = queryParams.get("service");
-    return service == null ? "" : getFqnPrefixCondition(tableName, service);
-  }
-
-  public String getParentCondition(String tableName) {
-    String parentFqn = queryParams.get("parent");
-    return parentFqn == null ? "" : getFqnPrefixCondition(tableName, parentFqn);
+  private String getFqnPrefixCondition(String tableName, String param, Map<String, Object> bindings) {
+    String fqnPrefix = queryParams.get(param);
+    if (fqnPrefix == null) {
+      return "";
+    }
+    String name = param + "Prefix";
+    bindings.put(name, escapeLike(fqnPrefix) + Entity.SEPARATOR + "%");
+    return String.format("%s LIKE :%s", column(tableName, "fullyQualifiedName"), name);
   }
 
-  public String getCategoryCondition(String tableName) {
+  private String getCategoryCondition(String tableName, Map<String, Object> bindings) {
     String category = queryParams.get("category");
-    return category == null ? "" : getCategoryPrefixCondition(tableName, category);
-  }
-
-  public String getWebhookCondition(String tableName) {
-    String webhookStatus = queryParams.get("status");
-    return webhookStatus == null ? "" : getStatusPrefixCondition(tableName, webhookStatus);
-  }
-
-  public String getWebhookTypeCondition(String tableName) {
-    String webhookType = queryParams.get("webhookType");
-    return webhookType == null ? "" : getWebhookTypePrefixCondition(tableName, webhookType);
+    if (category == null) {
+      return "";
+    }
+    bindings.put("category", escapeLike(category) + "%");
+    return column(tableName, "category") + " LIKE :category";
   }
 
-  private String getTestCaseCondition() {
-    String condition1 = "";
+  private String getTestCaseCondition(String tableName, Map<String, Object> bindings) {
+    List<String> conditions = new ArrayList<>();
     String entityFQN = getQueryParam("entityFQN");
-    boolean includeAllTests = Boolean.parseBoolean(getQueryParam("includeAllTests"));
     if (entityFQN != null) {
-      condition1 =
-          includeAllTests
-              ? String.format(
-                  "entityFQN LIKE '%s%s%%' OR entityFQN = '%s'",
-                  escape(entityFQN), Entity.SEPARATOR, escapeApostrophe(entityFQN))
-              : String.format("entityFQN = '%s'", escapeApostrophe(entityFQN));
+      String column = column(tableName, "entityFQN");
+      bindings.put("entityFQN", entityFQN);
+      if (Boolean.parseBoolean(getQueryParam("includeAllTests"))) {
+        bindings.put("entityFQNPrefix", escapeLike(entityFQN) + Entity.SEPARATOR + "%");
+        conditions.add(String.format("(%s LIKE :entityFQNPrefix OR %s = :entityFQN)", column, column));
+      } else {
+        conditions.add(column + " = :entityFQN");
+      }
     }
 
-    String condition2 = "";
     String testSuiteId = getQueryParam("testSuiteId");
     if (testSuiteId != null) {
-      condition2 =
+      bindings.put("testSuiteId", testSuiteId);
+      conditions.add(
           String.format(
-              "id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND toEntity='%s' AND relation=%d AND fromEntity='%s')",
-              testSuiteId, Entity.TEST_CASE, Relationship.CONTAINS.ordinal(), Entity.TEST_SUITE);
+              "%s IN (SELECT toId FROM entity_relationship WHERE fromId = :testSuiteId AND toEntity = '%s' "
+                  + "AND relation = %d AND fromEntity = '%s')",
+              column(tableName, "id"), Entity.TEST_CASE, Relationship.CONTAINS.ordinal(), Entity.TEST_SUITE));
     }
-    return addCondition(condition1, condition2);
-  }
-
-  private String getFqnPrefixCondition(String tableName, String fqnPrefix) {
-    fqnPrefix = escape(fqnPrefix);
-    return tableName == null
-        ? String.format("fullyQualifiedName LIKE '%s%s%%'", fqnPrefix, Entity.SEPARATOR)
-        : String.format("%s.fullyQualifiedName LIKE '%s%s%%'", tableName, fqnPrefix, Entity.SEPARATOR);
-  }
-
-  private String getWebhookTypePrefixCondition(String tableName, String typePrefix) {
-    typePrefix = escape(typePrefix);
-    return tableName == null
-        ? String.format("webhookType LIKE '%s%%'", typePrefix)
-        : String.format("%s.webhookType LIKE '%s%%'", tableName, typePrefix);
+    return String.join(" AND ", conditions);
   }
 
-  private String getCategoryPrefixCondition(String tableName, String category) {
-    category = escape(category);
-    return tableName == null
-        ? String.format("category LIKE '%s%s%%'", category, "")
-        : String.format("%s.category LIKE '%s%s%%'", tableName, category, "");
-  }
-
-  private String getStatusPrefixCondition(String tableName, String statusPrefix) {
-    if (!statusPrefix.isEmpty()) {
-      List<String> statusList = new ArrayList<>(Arrays.asList(statusPrefix.split(",")));
-      List<String> condition = new ArrayList<>();
-      for (String s : statusList) {
-        String format = "\"" + s + "\"";
-        condition.add(format);
-      }
-      return "status in (" + String.join(",", condition) + ")";
+  /** Condition on a boolean generated column. An entity without the field is treated as false. */
+  private String getBooleanCondition(String tableName, String param) {
+    String value = queryParams.get(param);
+    if (value == null) {
+      return "";
     }
-    return tableName == null
-        ? String.format("status LIKE '%s%s%%'", statusPrefix, "")
-        : String.format("%s.status LIKE '%s%s%%'", tableName, statusPrefix, "");
+    String column = column(tableName, param);
+    return Boolean.parseBoolean(value)
+        ? column + " = TRUE"
+        : String.format("(%s IS NULL OR %s = FALSE)", column, column);
   }
 
-  private String addCondition(String condition1, String condition2) {
-    if (condition1.isEmpty()) {
-      return condition2;
-    }
-    if (condition2.isEmpty()) {
-      return condition1;
-    }
-    return condition1 + " AND " + condition2;
+  private static String column(String tableName, String columnName) {
+    return tableName == null ? columnName : tableName + "." + columnName;
   }
 
-  public static String escapeApostrophe(String name) {
-    // Escape string to be using in LIKE clause
-    // "'" is used for indicated start and end of the string. Use "''" to escape it.
-    // "_" is a wildcard and looks for any single character. Add "\\" in front of it to escape it
-    return name.replace("'", "''");
+  private static void addCondition(List<String> conditions, String condition) {
+    if (!condition.isEmpty()) {
+      conditions.add(condition);
+    }
   }
 
-  public static String escape(String name) {
-    // Escape string to be using in LIKE clause
-    // "'" is used for indicated start and end of the string. Use "''" to escape it.
-    name = escapeApostrophe(name);
-    // "_" is a wildcard and looks for any single character. Add "\\" in front of it to escape it
-    return name.replaceAll("_", "\\\\_");
+  public static String escapeLike(String name) {
+    // Escape string to be bound as a parameter in LIKE clause
+    // "_" and "%" are wildcards. Add "\" in front of them to escape them
+    return name.replace("\\", "\\\\").replace("_", "\\_").replace("%", "\\%");
   }
 }
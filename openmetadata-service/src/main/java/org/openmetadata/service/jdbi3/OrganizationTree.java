@@ -0,0 +1,138 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import static org.openmetadata.service.exception.CatalogExceptionMessage.TEAM_HIERARCHY;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.openmetadata.schema.entity.teams.Team;
+import org.openmetadata.schema.entity.teams.TeamHierarchy;
+
+/**
+ * Immutable snapshot of the team hierarchy under the organization, indexed by parent team. The snapshot is built in
+ * one pass over the teams and the parent relationships between them, and answers hierarchy queries of any subtree
+ * without going back to the database.
+ */
+public class OrganizationTree {
+  private final UUID organizationId;
+  private final Map<UUID, Team> teams;
+  private final Map<UUID, List<UUID>> children;
+
+  /** Teams that are joinable or have joinable descendants */
+  private final Set<UUID> joinable;
+
+  /**
+   * Build the tree from the teams ordered by name and the first parent of each team. Teams without a parent are the
+   * children of the organization.
+   */
+  public OrganizationTree(UUID organizationId, List<Team> teams, Map<UUID, UUID> teamParents) {
+    this.organizationId = organizationId;
+    Map<UUID, Team> teamsById = new LinkedHashMap<>();
+    for (Team team : teams) {
+      if (!team.getId().equals(organizationId)) {
+        teamsById.put(team.getId(), team);
+      }
+    }
+
+    Map<UUID, UUID> parentIds = new HashMap<>();
+    Map<UUID, List<UUID>> childIds = new HashMap<>();
+    for (Team team : teamsById.values()) {
+      UUID parentId = teamParents.getOrDefault(team.getId(), organizationId);
+      if (!parentId.equals(organizationId) && !teamsById.containsKey(parentId)) {
+        throw new IllegalArgumentException(TEAM_HIERARCHY);
+      }
+      parentIds.put(team.getId(), parentId);
+      childIds.computeIfAbsent(parentId, id -> new ArrayList<>()).add(team.getId());
+    }
+
+    // Mark the joinable teams and their ancestors, stopping at the first ancestor already marked
+    Set<UUID> joinableIds = new HashSet<>();
+    for (Team team : teamsById.values()) {
+      UUID id = Boolean.TRUE.equals(team.getIsJoinable()) ? team.getId() : null;
+      while (id != null && !id.equals(organizationId) && joinableIds.add(id)) {
+        id = parentIds.get(id);
+      }
+    }
+
+    this.teams = ImmutableMap.copyOf(teamsById);
+    ImmutableMap.Builder<UUID, List<UUID>> builder = ImmutableMap.builder();
+    childIds.forEach((parentId, ids) -> builder.put(parentId, ImmutableList.copyOf(ids)));
+    this.children = builder.build();
+    this.joinable = ImmutableSet.copyOf(joinableIds);
+  }
+
+  public boolean contains(UUID teamId) {
+    return organizationId.equals(teamId) || teams.containsKey(teamId);
+  }
+
+  /**
+   * Hierarchy of the teams under the given team, or under the organization when no team is given.
+   *
+   * @param rootId team whose descendants are listed, the organization when null
+   * @param depth number of levels of teams to list, all the levels when null
+   * @param isJoinable when true, list only the joinable teams and the teams leading to them
+   * @param limit maximum number of teams to list
+   */
+  public List<TeamHierarchy> getHierarchy(UUID rootId, Integer depth, boolean isJoinable, int limit) {
+    int[] remaining = {limit};
+    UUID parentId = rootId == null ? organizationId : rootId;
+    List<TeamHierarchy> hierarchy =
+        getChildren(parentId, depth == null ? Integer.MAX_VALUE : depth, isJoinable, remaining);
+    return hierarchy == null ? new ArrayList<>() : hierarchy;
+  }
+
+  private List<TeamHierarchy> getChildren(UUID parentId, int depth, boolean isJoinable, int[] remaining) {
+    if (depth <= 0) {
+      return null;
+    }
+    List<TeamHierarchy> hierarchy = null;
+    for (UUID childId : children.getOrDefault(parentId, List.of())) {
+      if (remaining[0] <= 0) {
+        break;
+      }
+      if (isJoinable && !joinable.contains(childId)) {
+        continue;
+      }
+      remaining[0]--;
+      TeamHierarchy child = toHierarchy(teams.get(childId));
+      child.setChildren(getChildren(childId, depth - 1, isJoinable, remaining));
+      if (hierarchy == null) {
+        hierarchy = new ArrayList<>();
+      }
+      hierarchy.add(child);
+    }
+    return hierarchy;
+  }
+
+  private static TeamHierarchy toHierarchy(Team team) {
+    return new TeamHierarchy()
+        .withId(team.getId())
+        .withTeamType(team.getTeamType())
+        .withName(team.getName())
+        .withDisplayName(team.getDisplayName())
+        .withHref(team.getHref())
+        .withFullyQualifiedName(team.getFullyQualifiedName())
+        .withIsJoinable(team.getIsJoinable());
+  }
+}
@@ -1,37 +1,217 @@
 package org.openmetadata.service.jdbi3;
 
+import static org.openmetadata.service.dataInsight.ReportDataRollup.ROLLUP_EXTENSION;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
-import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.analytics.ReportData;
 import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.service.dataInsight.DataInsightChartResultCache;
+import org.openmetadata.service.dataInsight.ReportDataRollup;
+import org.openmetadata.service.dataInsight.ReportDataRollup.Period;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.MicroBatcher;
 import org.openmetadata.service.util.ResultList;
 
 public class ReportDataRepository {
   public static final String COLLECTION_PATH = "/v1/analytics/report";
   public static final String REPORT_DATA_EXTENSION = "reportData.reportDataResult";
+  private static final int REBUILD_TIMESTAMPS_PER_PAGE = 100;
+  private static final Set<ReportDataType> REBUILT = ConcurrentHashMap.newKeySet();
+  private static final int MAX_BATCH_SIZE = 500;
+  private static final long MAX_BATCH_DELAY_MILLIS = 5;
+  /** One batcher per server, the repositories write to the same database whichever of them created it */
+  private static MicroBatcher<ReportData> batcher;
+
   public final CollectionDAO daoCollection;
 
   public ReportDataRepository(CollectionDAO dao) {
     this.daoCollection = dao;
+    synchronized (ReportDataRepository.class) {
+      if (batcher == null) {
+        batcher = new MicroBatcher<>("reportData", MAX_BATCH_SIZE, MAX_BATCH_DELAY_MILLIS, this::insertReportData);
+      }
+    }
   }
 
-  @Transaction
   public Response addReportData(ReportData reportData) throws IOException {
-    reportData.setId(UUID.randomUUID());
+    addReportData(List.of(reportData));
+    return Response.ok(reportData).build();
+  }
 
+  /**
+   * Add the report data. Report data added by concurrent requests is written with one multi-row insert, returning once
+   * the report data is stored.
+   */
+  public List<ReportData> addReportData(List<ReportData> reportData) throws IOException {
+    reportData.forEach(data -> data.setId(UUID.randomUUID()));
+    batcher.write(reportData);
+    return reportData;
+  }
+
+  private void insertReportData(List<ReportData> batch) throws IOException {
+    List<CollectionDAO.TimeSeriesRow> rows = new ArrayList<>(batch.size());
+    for (ReportData reportData : batch) {
+      rows.add(
+          new CollectionDAO.TimeSeriesRow(
+              reportData.getReportDataType().value(),
+              REPORT_DATA_EXTENSION,
+              "reportData",
+              JsonUtils.pojoToJson(reportData)));
+    }
+    List<String> reportDataTypes =
+        batch.stream().map(data -> data.getReportDataType().value()).distinct().collect(Collectors.toList());
+    // The rollups are read and written back, don't let another server or a rebuild lose the update
     daoCollection
-        .entityExtensionTimeSeriesDao()
-        .insert(
-            reportData.getReportDataType().value(),
-            REPORT_DATA_EXTENSION,
-            "reportData",
-            JsonUtils.pojoToJson(reportData));
+        .reportDataRollupDAO()
+        .withRollupLocks(
+            reportDataTypes,
+            () -> {
+              daoCollection.entityExtensionTimeSeriesDao().insertAll(rows, MAX_BATCH_SIZE);
+              updateRollups(batch, Period.DAILY);
+              updateRollups(batch, Period.WEEKLY);
+            });
+    DataInsightChartResultCache.invalidateAll();
+  }
 
-    return Response.ok(reportData).build();
+  /** Update the rollups of the batch, reading and writing each of them once */
+  private void updateRollups(List<ReportData> batch, Period period) throws IOException {
+    Map<String, Map<Long, List<ReportData>>> byRollup = new HashMap<>();
+    for (ReportData reportData : batch) {
+      byRollup
+          .computeIfAbsent(period.rollupFQN(reportData.getReportDataType()), fqn -> new HashMap<>())
+          .computeIfAbsent(period.start(reportData.getTimestamp()), timestamp -> new ArrayList<>())
+          .add(reportData);
+    }
+    for (Map.Entry<String, Map<Long, List<ReportData>>> fqnEntry : byRollup.entrySet()) {
+      for (Map.Entry<Long, List<ReportData>> entry : fqnEntry.getValue().entrySet()) {
+        updateRollup(fqnEntry.getKey(), period, entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  private void updateRollup(String fqn, Period period, long timestamp, List<ReportData> reportData)
+      throws IOException {
+    String json =
+        daoCollection.entityExtensionTimeSeriesDao().getExtensionAtTimestamp(fqn, ROLLUP_EXTENSION, timestamp);
+    ReportDataRollup rollup =
+        json == null ? ReportDataRollup.create(period, timestamp) : JsonUtils.readValue(json, ReportDataRollup.class);
+    reportData.forEach(rollup::add);
+    if (json == null) {
+      daoCollection
+          .entityExtensionTimeSeriesDao()
+          .insert(fqn, ROLLUP_EXTENSION, "reportDataRollup", JsonUtils.pojoToJson(rollup));
+    } else {
+      daoCollection
+          .entityExtensionTimeSeriesDao()
+          .update(fqn, ROLLUP_EXTENSION, JsonUtils.pojoToJson(rollup), timestamp);
+    }
+  }
+
+  /** Rollups of the given period that overlap the time range, ordered by timestamp */
+  public List<ReportDataRollup> getRollups(ReportDataType reportDataType, Period period, long startTs, long endTs)
+      throws IOException {
+    List<ReportDataRollup> rollups =
+        JsonUtils.readObjects(
+            daoCollection
+                .entityExtensionTimeSeriesDao()
+                .listBetweenTimestamps(
+                    period.rollupFQN(reportDataType), ROLLUP_EXTENSION, period.start(startTs), endTs),
+            ReportDataRollup.class);
+    rollups.sort(Comparator.comparing(ReportDataRollup::getTimestamp));
+    return rollups;
+  }
+
+  /**
+   * Rebuild the rollups of the report data types whose rollups were never rebuilt, which holds the report data added
+   * before the rollups were maintained. Runs once after an upgrade, on the first server that gets the lock. The report
+   * data of a type being rebuilt is added once its rebuild completes.
+   */
+  public void initializeRollups() throws IOException {
+    for (ReportDataType reportDataType : ReportDataType.values()) {
+      daoCollection.reportDataRollupDAO().insertState(reportDataType.value());
+      if (!hasRollups(reportDataType)) {
+        rebuildRollups(reportDataType);
+      }
+    }
+  }
+
+  /** True once the rollups of the report data type hold all its report data, charts aren't built from them before */
+  public boolean hasRollups(ReportDataType reportDataType) {
+    if (REBUILT.contains(reportDataType)) {
+      return true;
+    }
+    if (Boolean.TRUE.equals(daoCollection.reportDataRollupDAO().isRebuilt(reportDataType.value()))) {
+      REBUILT.add(reportDataType);
+      return true;
+    }
+    return false;
+  }
+
+  /** Recompute the rollups of a report data type from all its report data */
+  public void rebuildRollups(ReportDataType reportDataType) throws IOException {
+    daoCollection
+        .reportDataRollupDAO()
+        .withRollupLocks(
+            List.of(reportDataType.value()),
+            () -> {
+              doRebuildRollups(reportDataType);
+              daoCollection.reportDataRollupDAO().setRebuilt(reportDataType.value());
+            });
+    REBUILT.add(reportDataType);
+    DataInsightChartResultCache.invalidateAll();
+  }
+
+  private void doRebuildRollups(ReportDataType reportDataType) throws IOException {
+    Map<Period, Map<Long, ReportDataRollup>> rollups = new EnumMap<>(Period.class);
+    // The report data of a pipeline run share their timestamp, each page reads all the report data of its timestamps
+    long after = -1;
+    List<Long> timestamps;
+    do {
+      timestamps =
+          daoCollection
+              .entityExtensionTimeSeriesDao()
+              .listTimestampsAfter(reportDataType.value(), REPORT_DATA_EXTENSION, after, REBUILD_TIMESTAMPS_PER_PAGE);
+      if (timestamps.isEmpty()) {
+        break;
+      }
+      after = timestamps.get(timestamps.size() - 1);
+      List<ReportData> page =
+          JsonUtils.readObjects(
+              daoCollection
+                  .entityExtensionTimeSeriesDao()
+                  .listBetweenTimestamps(reportDataType.value(), REPORT_DATA_EXTENSION, timestamps.get(0), after),
+              ReportData.class);
+      for (ReportData reportData : page) {
+        for (Period period : Period.values()) {
+          rollups
+              .computeIfAbsent(period, p -> new HashMap<>())
+              .computeIfAbsent(
+                  period.start(reportData.getTimestamp()), t -> ReportDataRollup.create(period, t))
+              .add(reportData);
+        }
+      }
+    } while (timestamps.size() == REBUILD_TIMESTAMPS_PER_PAGE);
+
+    for (Period period : Period.values()) {
+      String fqn = period.rollupFQN(reportDataType);
+      daoCollection.entityExtensionTimeSeriesDao().delete(fqn, ROLLUP_EXTENSION);
+      for (ReportDataRollup rollup : rollups.getOrDefault(period, Map.of()).values()) {
+        daoCollection
+            .entityExtensionTimeSeriesDao()
+            .insert(fqn, ROLLUP_EXTENSION, "reportDataRollup", JsonUtils.pojoToJson(rollup));
+      }
+    }
   }
 
   public ResultList<ReportData> getReportData(ReportDataType reportDataType, Long startTs, Long endTs)
@@ -24,11 +24,11 @@ public class SystemRepository {
   }
 
   public EntitiesCount getAllEntitiesCount(ListFilter filter) {
-    return dao.getAggregatedEntitiesCount(filter.getCondition());
+    return dao.getAggregatedEntitiesCount(filter.getCondition(), filter.getBindings());
   }
 
   public ServicesCount getAllServicesCount(ListFilter filter) {
-    return dao.getAggregatedServicesCount(filter.getCondition());
+    return dao.getAggregatedServicesCount(filter.getCondition(), filter.getBindings());
   }
 
   public ResultList<Settings> listAllConfigs() {
@@ -88,6 +88,7 @@ import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.RestUtil;
 import org.openmetadata.service.util.ResultList;
+import org.openmetadata.service.util.SampleDataCodec;
 
 @Slf4j
 public class TableRepository extends EntityRepository<Table> {
@@ -209,23 +210,53 @@ public class TableRepository extends EntityRepository<Table> {
       }
     }
 
-    daoCollection
-        .entityExtensionDAO()
-        .insert(tableId.toString(), TABLE_SAMPLE_DATA_EXTENSION, "tableData", JsonUtils.pojoToJson(tableData));
+    storeSampleData(tableId, tableData);
     setFieldsInternal(table, Fields.EMPTY_FIELDS);
     return table.withSampleData(tableData);
   }
 
+  private void storeSampleData(UUID tableId, TableData tableData) throws IOException {
+    // Replaces the sample data stored as JSON before the chunks were used too
+    daoCollection
+        .tableSampleDataDAO()
+        .replace(tableId.toString(), SampleDataCodec.encode(tableData), TABLE_SAMPLE_DATA_EXTENSION);
+  }
+
+  /**
+   * Get the rows from offset to offset + limit of the sample data of a table, with the given columns only or all the
+   * columns when null. Only the chunks holding these rows and columns are read.
+   */
   @Transaction
-  public Table getSampleData(UUID tableId) throws IOException {
+  public Table getSampleData(UUID tableId, List<String> columns, int offset, int limit) throws IOException {
     // Validate the request content
     Table table = dao.findEntityById(tableId);
 
-    TableData sampleData =
-        JsonUtils.readValue(
-            daoCollection.entityExtensionDAO().getExtension(table.getId().toString(), TABLE_SAMPLE_DATA_EXTENSION),
-            TableData.class);
-    table.setSampleData(sampleData);
+    String id = table.getId().toString();
+    byte[] headerChunk = daoCollection.tableSampleDataDAO().getChunk(id, SampleDataCodec.HEADER_CHUNK);
+    if (headerChunk == null) {
+      // Convert the sample data stored as JSON, if any, when it is first read
+      TableData legacy =
+          JsonUtils.readValue(
+              daoCollection.entityExtensionDAO().getExtension(id, TABLE_SAMPLE_DATA_EXTENSION), TableData.class);
+      if (legacy != null) {
+        // Concurrent first reads convert the same sample data, only the first one that deletes the JSON stores the
+        // chunks. Nothing is stored when new sample data replaced the JSON meanwhile
+        daoCollection
+            .tableSampleDataDAO()
+            .insertConverted(id, SampleDataCodec.encode(legacy), TABLE_SAMPLE_DATA_EXTENSION);
+        headerChunk = daoCollection.tableSampleDataDAO().getChunk(id, SampleDataCodec.HEADER_CHUNK);
+      }
+    }
+    if (headerChunk != null) {
+      SampleDataCodec.Header header = SampleDataCodec.decodeHeader(headerChunk);
+      List<Integer> columnIndexes = header.columnIndexes(columns);
+      List<Integer> chunkNumbers = header.chunks(columnIndexes, offset, limit);
+      Map<Integer, byte[]> chunks =
+          chunkNumbers.isEmpty()
+              ? Collections.emptyMap()
+              : daoCollection.tableSampleDataDAO().getChunks(id, chunkNumbers);
+      table.setSampleData(SampleDataCodec.decode(header, chunks, columnIndexes, offset, limit));
+    }
     setFieldsInternal(table, Fields.EMPTY_FIELDS);
     return table;
   }
@@ -235,11 +266,18 @@ public class TableRepository extends EntityRepository<Table> {
     // Validate the request content
     Table table = dao.findEntityById(tableId);
 
+    daoCollection.tableSampleDataDAO().delete(tableId.toString());
     daoCollection.entityExtensionDAO().delete(tableId.toString(), TABLE_SAMPLE_DATA_EXTENSION);
     setFieldsInternal(table, Fields.EMPTY_FIELDS);
     return table;
   }
 
+  @Override
+  protected void cleanup(Table table) throws IOException {
+    daoCollection.tableSampleDataDAO().delete(table.getId().toString());
+    super.cleanup(table);
+  }
+
   @Transaction
   public TableProfilerConfig getTableProfilerConfig(Table table) throws IOException {
     return JsonUtils.readValue(
@@ -33,14 +33,17 @@ import static org.openmetadata.service.exception.CatalogExceptionMessage.CREATE_
 import static org.openmetadata.service.exception.CatalogExceptionMessage.DELETE_ORGANIZATION;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.INVALID_GROUP_TEAM_CHILDREN_UPDATE;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.INVALID_GROUP_TEAM_UPDATE;
-import static org.openmetadata.service.exception.CatalogExceptionMessage.TEAM_HIERARCHY;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.UNEXPECTED_PARENT;
+import static org.openmetadata.service.exception.CatalogExceptionMessage.entityNotFound;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.invalidChild;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.invalidParent;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.invalidParentCount;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -49,10 +52,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.lang3.tuple.Pair;
 import org.openmetadata.csv.CsvUtil;
 import org.openmetadata.csv.EntityCsv;
 import org.openmetadata.schema.api.teams.CreateTeam.TeamType;
@@ -73,7 +78,6 @@ import org.openmetadata.service.security.policyevaluator.SubjectCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.JsonUtils;
-import org.openmetadata.service.util.ResultList;
 
 @Slf4j
 public class TeamRepository extends EntityRepository<Team> {
@@ -81,6 +85,7 @@ public class TeamRepository extends EntityRepository<Team> {
   static final String TEAM_PATCH_FIELDS = "owner,profile,users,defaultRoles,parents,children,policies,teamType";
   private static final String DEFAULT_ROLES = "defaultRoles";
   private Team organization = null;
+  private static volatile Supplier<OrganizationTree> organizationTree;
 
   public TeamRepository(CollectionDAO dao) {
     super(TeamResource.COLLECTION_PATH, TEAM, Team.class, dao.teamDAO(), dao, TEAM_PATCH_FIELDS, TEAM_UPDATE_FIELDS);
@@ -142,6 +147,12 @@ public class TeamRepository extends EntityRepository<Team> {
         .withParents(parents)
         .withChildren(children)
         .withPolicies(policies);
+    if (update) {
+      // Name, display name, joinability, parents, children, or the deleted flag of the team may have changed.
+      // Invalidate once the team is stored, so that the caches aren't loaded again with the team before the update
+      invalidateOrganizationTree();
+      SubjectCache.getInstance().invalidateTeam(team.getId());
+    }
   }
 
   @Override
@@ -166,6 +177,7 @@ public class TeamRepository extends EntityRepository<Team> {
     for (EntityReference policy : listOrEmpty(team.getPolicies())) {
       addRelationship(team.getId(), policy.getId(), TEAM, POLICY, Relationship.HAS);
     }
+    invalidateOrganizationTree();
   }
 
   @Override
@@ -194,6 +206,14 @@ public class TeamRepository extends EntityRepository<Team> {
     }
     super.cleanup(team);
     SubjectCache.getInstance().invalidateTeam(team.getId());
+    invalidateOrganizationTree();
+  }
+
+  @Override
+  public Team restoreEntity(String updatedBy, String entityType, UUID id) throws IOException {
+    Team team = super.restoreEntity(updatedBy, entityType, id);
+    invalidateOrganizationTree();
+    return team;
   }
 
   @Override
@@ -213,105 +233,52 @@ public class TeamRepository extends EntityRepository<Team> {
     return SubjectCache.getInstance().getRolesForTeams(getParentsForInheritedRoles(team));
   }
 
-  private TeamHierarchy getTeamHierarchy(Team team) {
-    return new TeamHierarchy()
-        .withId(team.getId())
-        .withTeamType(team.getTeamType())
-        .withName(team.getName())
-        .withDisplayName(team.getDisplayName())
-        .withHref(team.getHref())
-        .withFullyQualifiedName(team.getFullyQualifiedName())
-        .withIsJoinable(team.getIsJoinable())
-        .withChildren(null);
-  }
-
-  private TeamHierarchy deepCopy(TeamHierarchy team) {
-    TeamHierarchy newTeam =
-        new TeamHierarchy()
-            .withId(team.getId())
-            .withTeamType(team.getTeamType())
-            .withName(team.getName())
-            .withDisplayName(team.getDisplayName())
-            .withHref(team.getHref())
-            .withFullyQualifiedName(team.getFullyQualifiedName())
-            .withIsJoinable(team.getIsJoinable());
-    if (team.getChildren() != null) {
-      List<TeamHierarchy> children = new ArrayList<>();
-      for (TeamHierarchy n : team.getChildren()) {
-        children.add(deepCopy(n));
-      }
-      newTeam.withChildren(children);
+  /**
+   * List the hierarchy of the teams under the given parent team, or under the organization when no parent is given.
+   * The hierarchy is read from the cached {@link OrganizationTree}.
+   */
+  public List<TeamHierarchy> listHierarchy(String parentTeam, Integer depth, int limit, Boolean isJoinable)
+      throws IOException {
+    UUID parentId = parentTeam == null ? null : getByName(null, parentTeam, Fields.EMPTY_FIELDS).getId();
+    OrganizationTree tree = getOrganizationTree();
+    if (parentId != null && !tree.contains(parentId)) {
+      throw EntityNotFoundException.byMessage(entityNotFound(TEAM, parentTeam));
     }
-    return newTeam;
+    return tree.getHierarchy(parentId, depth, Boolean.TRUE.equals(isJoinable), limit);
   }
 
-  private TeamHierarchy mergeTrees(TeamHierarchy team1, TeamHierarchy team2) {
-    List<TeamHierarchy> team1Children = team1.getChildren();
-    List<TeamHierarchy> team2Children = team2.getChildren();
-    if (team1Children != null && team2Children != null) {
-      List<TeamHierarchy> toMerge = new ArrayList<>(team1Children);
-      toMerge.retainAll(team2Children);
-
-      for (TeamHierarchy n : toMerge) mergeTrees(n, team2Children.get(team2Children.indexOf(n)));
+  private OrganizationTree getOrganizationTree() throws IOException {
+    Supplier<OrganizationTree> supplier = organizationTree;
+    if (supplier == null) {
+      // Expire the tree even without changes, to pick up the changes made through other servers
+      supplier = Suppliers.memoizeWithExpiration(this::buildOrganizationTree, 10, TimeUnit.MINUTES);
+      organizationTree = supplier;
     }
-    if (team2Children != null) {
-      List<TeamHierarchy> toAdd = new ArrayList<>(team2Children);
-      if (team1Children != null) {
-        toAdd.removeAll(team1Children);
-      } else {
-        team1.setChildren(new ArrayList<>());
-      }
-      for (TeamHierarchy n : toAdd) team1.getChildren().add(deepCopy(n));
+    try {
+      return supplier.get();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
     }
+  }
 
-    return team1;
+  /** Build the tree from all the teams and their parent relationships, with one query each */
+  private OrganizationTree buildOrganizationTree() {
+    try {
+      List<Team> teams = listAll(Fields.EMPTY_FIELDS, new ListFilter(Include.NON_DELETED));
+      Map<UUID, UUID> parents = new HashMap<>();
+      for (Pair<UUID, UUID> parentOf :
+          daoCollection.relationshipDAO().findAll(TEAM, TEAM, Relationship.PARENT_OF.ordinal())) {
+        parents.putIfAbsent(parentOf.getRight(), parentOf.getLeft()); // First parent ordered by id
+      }
+      return new OrganizationTree(organization.getId(), teams, parents);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
-  public List<TeamHierarchy> listHierarchy(ListFilter filter, int limit, Boolean isJoinable) throws IOException {
-    Fields fields = getFields("parents");
-    Map<UUID, TeamHierarchy> map = new HashMap<>();
-    ResultList<Team> resultList = listAfter(null, fields, filter, limit, null);
-    List<Team> allTeams = resultList.getData();
-    List<Team> joinableTeams =
-        allTeams.stream()
-            .filter(Boolean.TRUE.equals(isJoinable) ? Team::getIsJoinable : t -> true)
-            .filter(t -> !t.getName().equals(ORGANIZATION_NAME))
-            .collect(Collectors.toList());
-    // build hierarchy of joinable teams
-    joinableTeams.forEach(
-        team -> {
-          Team currentTeam = team;
-          TeamHierarchy currentHierarchy = getTeamHierarchy(team);
-          while (currentTeam != null
-              && currentTeam.getParents().size() > 0
-              && !currentTeam.getParents().get(0).getName().equals(ORGANIZATION_NAME)) {
-            EntityReference parentRef = currentTeam.getParents().get(0);
-            Team parent =
-                allTeams.stream()
-                    .filter(t -> t.getId().equals(parentRef.getId()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalArgumentException(TEAM_HIERARCHY));
-            currentHierarchy = getTeamHierarchy(parent).withChildren(new ArrayList<>(List.of(currentHierarchy)));
-            if (map.containsKey(parent.getId())) {
-              TeamHierarchy parentTeam = map.get(parent.getId());
-              currentHierarchy = mergeTrees(parentTeam, currentHierarchy);
-              currentTeam =
-                  allTeams.stream()
-                      .filter(t -> t.getId().equals(parent.getId()))
-                      .findFirst()
-                      .orElseThrow(() -> new IllegalArgumentException(TEAM_HIERARCHY));
-            } else {
-              currentTeam = parent;
-            }
-          }
-          UUID currentId = currentHierarchy.getId();
-          if (!map.containsKey(currentId)) {
-            map.put(currentId, currentHierarchy);
-          } else {
-            map.put(currentId, mergeTrees(map.get(currentId), currentHierarchy));
-          }
-        });
-    return new ArrayList<>(map.values());
+  /** Discard the cached organization tree after a team is created, moved, updated, or deleted */
+  public static void invalidateOrganizationTree() {
+    organizationTree = null;
   }
 
   private List<EntityReference> getUsers(Team team) throws IOException {
@@ -672,6 +639,11 @@ public class TeamRepository extends EntityRepository<Team> {
       List<EntityReference> updatedUsers = listOrEmpty(updatedTeam.getUsers());
       updateToRelationships(
           "users", TEAM, origTeam.getId(), Relationship.HAS, Entity.USER, origUsers, updatedUsers, false);
+      // Teams of the users added to or removed from the team have changed
+      if (!new HashSet<>(origUsers).equals(new HashSet<>(updatedUsers))) {
+        origUsers.forEach(user -> SubjectCache.getInstance().invalidateUser(user.getName()));
+        updatedUsers.forEach(user -> SubjectCache.getInstance().invalidateUser(user.getName()));
+      }
     }
 
     private void updateDefaultRoles(Team origTeam, Team updatedTeam) throws JsonProcessingException {
@@ -20,11 +20,17 @@ import static org.openmetadata.service.Entity.MLMODEL;
 import static org.openmetadata.service.Entity.TABLE;
 import static org.openmetadata.service.util.EntityUtil.fieldUpdated;
 
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.mapper.RowMapper;
@@ -35,13 +41,16 @@ import org.openmetadata.schema.entity.data.Chart;
 import org.openmetadata.schema.entity.data.Dashboard;
 import org.openmetadata.schema.entity.data.MlModel;
 import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.BulkUsage;
 import org.openmetadata.schema.type.ChangeDescription;
 import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.DailyCount;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.EntityUsage;
+import org.openmetadata.schema.type.EntityUsageCount;
 import org.openmetadata.schema.type.EventType;
 import org.openmetadata.schema.type.Include;
+import org.openmetadata.schema.type.Relationship;
 import org.openmetadata.schema.type.UsageDetails;
 import org.openmetadata.schema.type.UsageStats;
 import org.openmetadata.service.Entity;
@@ -53,6 +62,15 @@ import org.openmetadata.service.util.RestUtil;
 public class UsageRepository {
   private static final String PUT = "createOrUpdate";
   private static final String POST = "createNew";
+  private static final int BULK_BATCH_SIZE = 1000;
+
+  // Type of the entity that contains an entity for which usage is reported
+  private static final Map<String, String> PARENT_TYPES =
+      Map.of(
+          TABLE, Entity.DATABASE_SCHEMA,
+          DASHBOARD, Entity.DASHBOARD_SERVICE,
+          CHART, Entity.DASHBOARD_SERVICE,
+          MLMODEL, Entity.MLMODEL_SERVICE);
   private final CollectionDAO dao;
 
   public UsageRepository(CollectionDAO dao) {
@@ -106,6 +124,80 @@ public class UsageRepository {
     dao.usageDAO().computePercentile(entityType, date);
   }
 
+  /**
+   * Report the usage of many entities of a type on a date. The daily counts of the entities are written in batches,
+   * the usage of tables is rolled up to their schemas and databases, and the rolling counts and the percentiles are
+   * computed once for all the entities. Usage reported again for an entity on the same date is added to its count.
+   *
+   * <p>Unlike the single entity APIs, this does not generate change events for the updated usage summaries. Entities
+   * that are not found are skipped.
+   */
+  @Transaction
+  public void createBulk(BulkUsage bulkUsage) {
+    String entityType = bulkUsage.getEntityType().toLowerCase();
+    String parentType = PARENT_TYPES.get(entityType);
+    if (parentType == null) {
+      throw new IllegalArgumentException(CatalogExceptionMessage.entityTypeNotSupported(bulkUsage.getEntityType()));
+    }
+    String date = bulkUsage.getDate();
+    Map<String, Integer> counts = new LinkedHashMap<>();
+    for (EntityUsageCount usage : bulkUsage.getUsage()) {
+      counts.merge(usage.getId().toString(), usage.getCount(), Integer::sum);
+    }
+
+    int recorded = 0;
+    Map<String, Integer> schemaCounts = new HashMap<>(); // Usage added to the schemas of the tables
+    for (List<String> batch : Lists.partition(new ArrayList<>(counts.keySet()), BULK_BATCH_SIZE)) {
+      // Entities without a parent don't exist
+      Map<String, String> parents =
+          dao.relationshipDAO().findFromBatch(batch, entityType, Relationship.CONTAINS.ordinal(), parentType);
+      List<String> ids = batch.stream().filter(parents::containsKey).collect(Collectors.toList());
+      if (ids.size() < batch.size()) {
+        LOG.warn("Skipping usage of {} {} entities that are not found", batch.size() - ids.size(), entityType);
+      }
+      if (ids.isEmpty()) {
+        continue;
+      }
+      List<Integer> idCounts = ids.stream().map(counts::get).collect(Collectors.toList());
+      dao.usageDAO().addCounts(date, ids, entityType, idCounts);
+      dao.usageDAO().updateRollingCounts(date, ids);
+      if (entityType.equals(TABLE)) {
+        for (String id : ids) {
+          schemaCounts.merge(parents.get(id), counts.get(id), Integer::sum);
+        }
+      }
+      recorded += ids.size();
+    }
+    dao.usageDAO().computePercentile(entityType, date);
+
+    if (entityType.equals(TABLE) && !schemaCounts.isEmpty()) {
+      Map<String, Integer> databaseCounts = new HashMap<>();
+      for (List<String> batch : Lists.partition(new ArrayList<>(schemaCounts.keySet()), BULK_BATCH_SIZE)) {
+        Map<String, String> databases =
+            dao.relationshipDAO()
+                .findFromBatch(batch, Entity.DATABASE_SCHEMA, Relationship.CONTAINS.ordinal(), Entity.DATABASE);
+        for (String schemaId : batch) {
+          if (databases.containsKey(schemaId)) {
+            databaseCounts.merge(databases.get(schemaId), schemaCounts.get(schemaId), Integer::sum);
+          }
+        }
+      }
+      addRolledUpCounts(date, Entity.DATABASE_SCHEMA, schemaCounts);
+      addRolledUpCounts(date, Entity.DATABASE, databaseCounts);
+    }
+    LOG.info("Recorded usage of {} {} entities on {}", recorded, entityType, date);
+  }
+
+  private void addRolledUpCounts(String date, String entityType, Map<String, Integer> counts) {
+    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+      dao.usageDAO().addCount(date, entry.getKey(), entityType, entry.getValue());
+    }
+    for (List<String> batch : Lists.partition(new ArrayList<>(counts.keySet()), BULK_BATCH_SIZE)) {
+      dao.usageDAO().updateRollingCounts(date, batch);
+    }
+    dao.usageDAO().computePercentile(entityType, date);
+  }
+
   private RestUtil.PutResponse<?> addUsage(String method, String entityType, String entityId, DailyCount usage)
       throws IOException {
     String fields = "usageSummary";
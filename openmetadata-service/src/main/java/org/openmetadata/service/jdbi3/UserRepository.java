@@ -427,6 +427,7 @@ public class UserRepository extends EntityRepository<User> {
     public void entitySpecificUpdate() throws IOException {
       updateRoles(original, updated);
       updateTeams(original, updated);
+      SubjectCache.getInstance().invalidateUser(original.getName()); // Roles and teams of the user may have changed
       recordChange("profile", original.getProfile(), updated.getProfile(), true);
       recordChange("timezone", original.getTimezone(), updated.getTimezone());
       recordChange("isBot", original.getIsBot(), updated.getIsBot());
@@ -3,6 +3,7 @@ package org.openmetadata.service.jdbi3;
 import static org.openmetadata.service.Entity.WEB_ANALYTIC_EVENT;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import javax.ws.rs.core.Response;
@@ -13,6 +14,7 @@ import org.openmetadata.schema.analytics.type.WebAnalyticEventType;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.MicroBatcher;
 import org.openmetadata.service.util.ResultList;
 
 public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEvent> {
@@ -20,6 +22,10 @@ public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEven
   private static final String UPDATE_FIELDS = "owner";
   private static final String PATCH_FIELDS = "owner";
   private static final String WEB_ANALYTICS_EVENT_DATA_EXTENSION = "webAnalyticEvent.webAnalyticEventData";
+  private static final int MAX_BATCH_SIZE = 500;
+  private static final long MAX_BATCH_DELAY_MILLIS = 5;
+  /** One batcher per server, the repositories write to the same database whichever of them created it */
+  private static MicroBatcher<WebAnalyticEventData> batcher;
 
   public WebAnalyticEventRepository(CollectionDAO dao) {
     super(
@@ -30,6 +36,13 @@ public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEven
         dao,
         PATCH_FIELDS,
         UPDATE_FIELDS);
+    synchronized (WebAnalyticEventRepository.class) {
+      if (batcher == null) {
+        batcher =
+            new MicroBatcher<>(
+                "webAnalyticEventData", MAX_BATCH_SIZE, MAX_BATCH_DELAY_MILLIS, this::insertWebAnalyticEventData);
+      }
+    }
   }
 
   @Override
@@ -57,20 +70,36 @@ public class WebAnalyticEventRepository extends EntityRepository<WebAnalyticEven
     storeOwner(entity, entity.getOwner());
   }
 
-  @Transaction
   public Response addWebAnalyticEventData(WebAnalyticEventData webAnalyticEventData) throws IOException {
-    webAnalyticEventData.setEventId(UUID.randomUUID());
-    daoCollection
-        .entityExtensionTimeSeriesDao()
-        .insert(
-            webAnalyticEventData.getEventType().value(),
-            WEB_ANALYTICS_EVENT_DATA_EXTENSION,
-            "webAnalyticEventData",
-            JsonUtils.pojoToJson(webAnalyticEventData));
-
+    addWebAnalyticEventData(List.of(webAnalyticEventData));
     return Response.ok(webAnalyticEventData).build();
   }
 
+  /**
+   * Add the events. Events added by concurrent requests, such as the page views of the users of the UI, are written
+   * with one multi-row insert, returning once the events are stored.
+   */
+  public List<WebAnalyticEventData> addWebAnalyticEventData(List<WebAnalyticEventData> webAnalyticEventData)
+      throws IOException {
+    webAnalyticEventData.forEach(eventData -> eventData.setEventId(UUID.randomUUID()));
+    batcher.write(webAnalyticEventData);
+    return webAnalyticEventData;
+  }
+
+  private void insertWebAnalyticEventData(List<WebAnalyticEventData> batch) throws IOException {
+    List<CollectionDAO.TimeSeriesRow> rows = new ArrayList<>(batch.size());
+    for (WebAnalyticEventData eventData : batch) {
+      rows.add(
+          new CollectionDAO.TimeSeriesRow(
+              eventData.getEventType().value(),
+              WEB_ANALYTICS_EVENT_DATA_EXTENSION,
+              "webAnalyticEventData",
+              JsonUtils.pojoToJson(eventData)));
+    }
+    // A failed batch is written again one submission at a time, don't leave a part of it behind
+    daoCollection.entityExtensionTimeSeriesDao().insertAll(rows, MAX_BATCH_SIZE);
+  }
+
   @Transaction
   public void deleteWebAnalyticEventData(WebAnalyticEventType name, Long timestamp) {
     daoCollection
@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3.routing;
+
+import java.lang.reflect.Method;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import org.jdbi.v3.sqlobject.Handler;
+import org.jdbi.v3.sqlobject.HandlerDecorator;
+import org.openmetadata.service.monitoring.QueryMetrics;
+
+/**
+ * Tells {@link RoutingDataSource} which statements may run on the replica. Statements of SQL query methods may, unless
+ * they run in a transaction, after a statement that may have written on the current thread, or for a request other
+ * than GET and HEAD. The state is kept per thread and reset at the start of every request, so that a request reads its
+ * own writes.
+ */
+public final class ReadRouting {
+  private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+  private ReadRouting() {}
+
+  /** Whether the statement about to be prepared on this thread may read from the replica */
+  static boolean isReplicaAllowed() {
+    State state = STATE.get();
+    return state.readDepth > 0 && !state.wrote;
+  }
+
+  /** Records that a statement that may write ran on this thread, reads of the request now go to the primary */
+  static void wrote() {
+    STATE.get().wrote = true;
+  }
+
+  static void reset() {
+    STATE.remove();
+  }
+
+  /** Marks the statements of SQL query methods as reads */
+  public static class Decorator implements HandlerDecorator {
+    @Override
+    public Handler decorateHandler(Handler base, Class<?> sqlObjectType, Method method) {
+      if (!QueryMetrics.isQuery(method)) {
+        return base;
+      }
+      return (target, args, handleSupplier) -> {
+        State state = STATE.get();
+        state.readDepth++;
+        try {
+          return base.invoke(target, args, handleSupplier);
+        } finally {
+          state.readDepth--;
+        }
+      };
+    }
+  }
+
+  /**
+   * Starts every request without writes. Requests that may write read from the primary from their first statement,
+   * the reads an update is based on must not be stale, the others only after they write.
+   */
+  public static class RequestFilter implements ContainerRequestFilter {
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+      reset();
+      String method = requestContext.getMethod();
+      if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+        wrote();
+      }
+    }
+  }
+
+  private static class State {
+    private int readDepth;
+    private boolean wrote;
+  }
+}
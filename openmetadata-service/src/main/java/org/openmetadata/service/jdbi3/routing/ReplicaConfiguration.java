@@ -0,0 +1,35 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3.routing;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.db.DataSourceFactory;
+import javax.validation.Valid;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ReplicaConfiguration {
+  /** Read replica of the database, reads are not routed when it is not set */
+  @JsonProperty("database")
+  @Valid
+  private DataSourceFactory dataSourceFactory;
+
+  /** Reads go to the primary while the replica lags behind it by more than this */
+  private long maxLagMs = 5000;
+
+  /** How often the lag of the replica is measured */
+  private long lagCheckIntervalMs = 5000;
+}
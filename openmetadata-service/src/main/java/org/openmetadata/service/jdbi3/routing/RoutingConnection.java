@@ -0,0 +1,113 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3.routing;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Connection of a JDBI handle that holds up to two connections, one to the primary and one to the replica, each taken
+ * from its pool on first use. Statements go to the replica when {@link RoutingDataSource#useReplica} allows it and the
+ * primary connection is not in a transaction. Everything else, including transactions, goes to the primary.
+ */
+final class RoutingConnection implements InvocationHandler {
+  private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "createStatement", "prepareCall");
+
+  private final RoutingDataSource dataSource;
+  private Connection primary;
+  private Connection replica;
+  private boolean closed;
+
+  private RoutingConnection(RoutingDataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  static Connection create(RoutingDataSource dataSource) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] {Connection.class}, new RoutingConnection(dataSource));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    switch (method.getName()) {
+      case "close":
+        close();
+        return null;
+      case "isClosed":
+        return closed;
+      case "getAutoCommit":
+        // Connections are in auto-commit until a transaction starts on the primary
+        return primary == null || primary.getAutoCommit();
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      case "toString":
+        return "RoutingConnection[primary=" + primary + ", replica=" + replica + "]";
+      default:
+        Connection target = STATEMENT_METHODS.contains(method.getName()) ? route() : primary();
+        try {
+          return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+          throw e.getCause();
+        }
+    }
+  }
+
+  private Connection route() throws SQLException {
+    boolean inTransaction = primary != null && !primary.getAutoCommit();
+    if (!inTransaction && ReadRouting.isReplicaAllowed() && dataSource.useReplica()) {
+      dataSource.routed(RoutingDataSource.REPLICA);
+      if (replica == null) {
+        replica = dataSource.getReplica().getConnection();
+      }
+      return replica;
+    }
+    if (!ReadRouting.isReplicaAllowed()) {
+      // Statements outside of SQL query methods may write
+      ReadRouting.wrote();
+    }
+    dataSource.routed(RoutingDataSource.PRIMARY);
+    return primary();
+  }
+
+  private Connection primary() throws SQLException {
+    if (closed) {
+      throw new SQLException("Connection is closed");
+    }
+    if (primary == null) {
+      primary = dataSource.getPrimary().getConnection();
+    }
+    return primary;
+  }
+
+  private void close() throws SQLException {
+    closed = true;
+    try {
+      if (replica != null) {
+        replica.close();
+      }
+    } finally {
+      if (primary != null) {
+        primary.close();
+      }
+    }
+  }
+}
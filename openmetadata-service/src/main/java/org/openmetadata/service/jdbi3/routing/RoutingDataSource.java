@@ -0,0 +1,203 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3.routing;
+
+import io.dropwizard.db.ManagedDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Data source that sends reads to a replica of the database and everything else to the primary, see {@link
+ * RoutingConnection} and {@link ReadRouting}.
+ *
+ * <p>The lag of the replica is the replication lag reported by the replica, measured periodically: the time since the
+ * last replayed transaction on Postgres, unless the replica replayed all it received, and Seconds_Behind_Source on
+ * MySQL. Reads go to the primary while the lag is over the configured maximum, unknown, or the replica can't be
+ * reached. The statements routed to each pool and the lag are recorded as metrics.
+ */
+@Slf4j
+public class RoutingDataSource implements ManagedDataSource {
+  public static final String ROUTED_COUNTER = "db.routed";
+  public static final String REPLICA_LAG_GAUGE = "db.replica.lag";
+  public static final String POOL_TAG = "pool";
+  static final String PRIMARY = "primary";
+  static final String REPLICA = "replica";
+  private static final String POSTGRES_LAG =
+      "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+          + "ELSE (EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000)::bigint END";
+  private static final String MYSQL_REPLICA_STATUS = "SHOW REPLICA STATUS";
+  private static final String MYSQL_SLAVE_STATUS = "SHOW SLAVE STATUS"; // Before MySQL 8.0.22
+
+  @Getter private final ManagedDataSource primary;
+  @Getter private final ManagedDataSource replica;
+  private final ReplicaConfiguration config;
+  private final Counter primaryCounter;
+  private final Counter replicaCounter;
+  private ScheduledExecutorService lagChecker;
+  private volatile long lagMs = Long.MAX_VALUE; // Replica is not used until its lag is known
+
+  public RoutingDataSource(
+      ManagedDataSource primary, ManagedDataSource replica, ReplicaConfiguration config, MeterRegistry registry) {
+    this.primary = primary;
+    this.replica = replica;
+    this.config = config;
+    this.primaryCounter = counter(registry, PRIMARY);
+    this.replicaCounter = counter(registry, REPLICA);
+    if (registry != null) {
+      Gauge.builder(REPLICA_LAG_GAUGE, this, RoutingDataSource::getLagMs).baseUnit("milliseconds").register(registry);
+    }
+  }
+
+  private static Counter counter(MeterRegistry registry, String pool) {
+    return registry == null ? null : Counter.builder(ROUTED_COUNTER).tag(POOL_TAG, pool).register(registry);
+  }
+
+  /** Lag of the replica in milliseconds, {@link Long#MAX_VALUE} when it is unknown or the replica is unreachable */
+  public long getLagMs() {
+    return lagMs;
+  }
+
+  boolean useReplica() {
+    return lagMs <= config.getMaxLagMs();
+  }
+
+  void routed(String pool) {
+    Counter counter = REPLICA.equals(pool) ? replicaCounter : primaryCounter;
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  void checkLag() {
+    try {
+      Long lag = replicationLag(replica);
+      lagMs = lag == null ? Long.MAX_VALUE : Math.max(0, lag);
+    } catch (Exception e) {
+      LOG.warn("Failed to measure the lag of the replica, reading from the primary", e);
+      lagMs = Long.MAX_VALUE;
+    }
+  }
+
+  /** Replication lag reported by the replica in milliseconds, null when it doesn't replicate */
+  private static Long replicationLag(DataSource dataSource) throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      if (connection.getMetaData().getDatabaseProductName().contains("PostgreSQL")) {
+        try (ResultSet resultSet = statement.executeQuery(POSTGRES_LAG)) {
+          if (!resultSet.next()) {
+            return null;
+          }
+          long lag = resultSet.getLong(1);
+          return resultSet.wasNull() ? null : lag;
+        }
+      }
+      try (ResultSet resultSet = statement.executeQuery(MYSQL_REPLICA_STATUS)) {
+        return secondsBehind(resultSet, "Seconds_Behind_Source");
+      } catch (SQLException e) {
+        try (ResultSet resultSet = statement.executeQuery(MYSQL_SLAVE_STATUS)) {
+          return secondsBehind(resultSet, "Seconds_Behind_Master");
+        }
+      }
+    }
+  }
+
+  private static Long secondsBehind(ResultSet resultSet, String column) throws SQLException {
+    if (!resultSet.next()) {
+      return null;
+    }
+    // The lag is null when the replication is stopped
+    long seconds = resultSet.getLong(column);
+    return resultSet.wasNull() ? null : TimeUnit.SECONDS.toMillis(seconds);
+  }
+
+  @Override
+  public Connection getConnection() {
+    return RoutingConnection.create(this);
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    // Connections with other credentials are not routed
+    return primary.getConnection(username, password);
+  }
+
+  @Override
+  public void start() throws Exception {
+    primary.start();
+    replica.start();
+    lagChecker = Executors.newSingleThreadScheduledExecutor();
+    lagChecker.scheduleWithFixedDelay(this::checkLag, 0, config.getLagCheckIntervalMs(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() throws Exception {
+    if (lagChecker != null) {
+      lagChecker.shutdownNow();
+    }
+    try {
+      replica.stop();
+    } finally {
+      primary.stop();
+    }
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return primary.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    primary.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    primary.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return primary.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return primary.getParentLogger();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    return primary.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return primary.isWrapperFor(iface);
+  }
+}
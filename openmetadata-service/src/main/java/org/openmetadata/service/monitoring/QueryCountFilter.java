@@ -0,0 +1,77 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.Method;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+
+/**
+ * Counts the SQL statements run while handling a request. The count is recorded in a histogram per resource method and
+ * optionally returned in the {@value #QUERY_COUNT_HEADER} response header, which makes N+1 query patterns visible.
+ * Statements are counted by {@link QueryLogger} on the request thread.
+ */
+public class QueryCountFilter implements ContainerRequestFilter, ContainerResponseFilter {
+  public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+  public static final String REQUEST_QUERIES = "http.request.queries";
+  private static final ThreadLocal<int[]> QUERY_COUNT = new ThreadLocal<>();
+
+  @Context private ResourceInfo resourceInfo;
+  private final MeterRegistry registry;
+  private final boolean addHeader;
+
+  public QueryCountFilter(MeterRegistry registry, boolean addHeader) {
+    this.registry = registry;
+    this.addHeader = addHeader;
+  }
+
+  /** Count a statement run on the current thread, if it is handling a request */
+  public static void increment() {
+    int[] count = QUERY_COUNT.get();
+    if (count != null) {
+      count[0]++;
+    }
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    QUERY_COUNT.set(new int[1]);
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    int[] count = QUERY_COUNT.get();
+    if (count == null) {
+      return;
+    }
+    QUERY_COUNT.remove();
+    Method method = resourceInfo.getResourceMethod();
+    if (registry != null && method != null) {
+      DistributionSummary.builder(REQUEST_QUERIES)
+          .tag("resource", resourceInfo.getResourceClass().getSimpleName() + "." + method.getName())
+          .serviceLevelObjectives(1, 5, 10, 50, 100, 500, 1000)
+          .register(registry)
+          .record(count[0]);
+    }
+    if (addHeader) {
+      responseContext.getHeaders().putSingle(QUERY_COUNT_HEADER, count[0]);
+    }
+  }
+}
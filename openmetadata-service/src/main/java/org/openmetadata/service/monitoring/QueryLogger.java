@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.monitoring;
+
+import java.sql.SQLException;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.jdbi.v3.core.extension.ExtensionMethod;
+import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.StatementContext;
+
+/**
+ * Logs every statement at debug level and a sample of the statements slower than the configured threshold at warn
+ * level. The bound values of slow queries are only logged when configured so, as they can hold user data. Also counts
+ * the statements run for the current request, see {@link QueryCountFilter}.
+ */
+@Slf4j
+public class QueryLogger implements SqlLogger {
+  private static final int MAX_SQL_LENGTH = 2000;
+  private final QueryMetricsConfiguration config;
+
+  public QueryLogger(QueryMetricsConfiguration config) {
+    this.config = config;
+  }
+
+  @Override
+  public void logBeforeExecution(StatementContext context) {
+    LOG.debug("sql {}, parameters {}", context.getRenderedSql(), context.getBinding());
+  }
+
+  @Override
+  public void logAfterExecution(StatementContext context) {
+    QueryCountFilter.increment();
+    long timeTaken = context.getElapsedTime(ChronoUnit.MILLIS);
+    LOG.debug("sql {}, parameters {}, timeTaken {} ms", context.getRenderedSql(), context.getBinding(), timeTaken);
+    if (isLoggedAsSlow(timeTaken)) {
+      LOG.warn(
+          "Slow query {} took {} ms, sql {}, parameters {}",
+          methodName(context),
+          timeTaken,
+          truncate(context.getRenderedSql()),
+          bindings(context));
+    }
+  }
+
+  @Override
+  public void logException(StatementContext context, SQLException ex) {
+    QueryCountFilter.increment();
+  }
+
+  private boolean isLoggedAsSlow(long timeTaken) {
+    return config.getSlowQueryThresholdMs() >= 0
+        && timeTaken >= config.getSlowQueryThresholdMs()
+        && ThreadLocalRandom.current().nextDouble() < config.getSlowQuerySampleRate();
+  }
+
+  private String bindings(StatementContext context) {
+    switch (config.getSlowQueryBindings()) {
+      case VALUES:
+        return String.valueOf(context.getBinding());
+      case NAMES:
+        return String.valueOf(context.getParsedSql().getParameters().getParameterNames());
+      default:
+        return "[redacted]";
+    }
+  }
+
+  private static String methodName(StatementContext context) {
+    ExtensionMethod method = context.getExtensionMethod();
+    return method == null ? "<handle>" : QueryMetrics.methodName(method.getType(), method.getMethod());
+  }
+
+  private static String truncate(String sql) {
+    return sql == null || sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+  }
+}
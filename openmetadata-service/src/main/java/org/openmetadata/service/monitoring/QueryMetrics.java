@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.jdbi.v3.sqlobject.Handler;
+import org.jdbi.v3.sqlobject.HandlerDecorator;
+import org.jdbi.v3.sqlobject.SqlOperation;
+import org.jdbi.v3.sqlobject.statement.SqlQuery;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQueryContainer;
+
+/**
+ * Records a timer and a histogram of the number of rows returned or updated for every SQL method of the DAOs, named
+ * after the method such as {@code CollectionDAO.EntityRelationshipDAO.findTo}. Default methods of the DAOs are not
+ * instrumented, the SQL methods they call are.
+ */
+public class QueryMetrics implements HandlerDecorator {
+  public static final String QUERY_TIMER = "db.query";
+  public static final String QUERY_ROWS = "db.query.rows";
+  public static final String METHOD_TAG = "method";
+
+  private final MeterRegistry registry;
+
+  public QueryMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Handler decorateHandler(Handler base, Class<?> sqlObjectType, Method method) {
+    if (!isSqlMethod(method)) {
+      return base;
+    }
+    String name = methodName(sqlObjectType, method);
+    Timer timer = Timer.builder(QUERY_TIMER).tag(METHOD_TAG, name).register(registry);
+    DistributionSummary rows =
+        DistributionSummary.builder(QUERY_ROWS)
+            .tag(METHOD_TAG, name)
+            .serviceLevelObjectives(0, 1, 10, 100, 1000, 10000)
+            .register(registry);
+    boolean countRows = method.getReturnType() != void.class;
+    boolean query = isQuery(method);
+    return (target, args, handleSupplier) -> {
+      long start = System.nanoTime();
+      try {
+        Object result = base.invoke(target, args, handleSupplier);
+        Long rowCount = countRows ? rowCount(result, query) : null;
+        if (rowCount != null) {
+          rows.record(rowCount);
+        }
+        return result;
+      } finally {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    };
+  }
+
+  /** Name of a DAO method relative to the package of the DAO, such as {@code CollectionDAO.TableDAO.listAfter} */
+  public static String methodName(Class<?> sqlObjectType, Method method) {
+    String typeName = sqlObjectType.getName().substring(sqlObjectType.getPackageName().length() + 1);
+    return typeName.replace('$', '.') + "." + method.getName();
+  }
+
+  static boolean isSqlMethod(Method method) {
+    return Arrays.stream(method.getAnnotations())
+        .map(Annotation::annotationType)
+        .anyMatch(type -> type.isAnnotationPresent(SqlOperation.class));
+  }
+
+  public static boolean isQuery(Method method) {
+    return method.isAnnotationPresent(SqlQuery.class)
+        || method.isAnnotationPresent(ConnectionAwareSqlQueryContainer.class);
+  }
+
+  /** Number of rows in the result of a SQL method, or null when it can't be known without consuming the result */
+  static Long rowCount(Object result, boolean query) {
+    if (result == null) {
+      return 0L;
+    }
+    if (result instanceof Collection) {
+      return (long) ((Collection<?>) result).size();
+    }
+    if (result instanceof Map) {
+      return (long) ((Map<?, ?>) result).size();
+    }
+    if (result instanceof Optional) {
+      return ((Optional<?>) result).isPresent() ? 1L : 0L;
+    }
+    if (result instanceof int[]) {
+      return Arrays.stream((int[]) result).asLongStream().sum();
+    }
+    if (!query && result instanceof Number) {
+      // Update count of a SqlUpdate
+      return ((Number) result).longValue();
+    }
+    if (result instanceof Iterable || result instanceof Iterator || result instanceof Stream) {
+      return null;
+    }
+    return 1L;
+  }
+}
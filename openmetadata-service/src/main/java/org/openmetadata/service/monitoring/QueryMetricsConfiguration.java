@@ -0,0 +1,42 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.monitoring;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class QueryMetricsConfiguration {
+  /** How the bound values of a slow query are written to the log */
+  public enum SlowQueryBindings {
+    VALUES,
+    NAMES,
+    NONE
+  }
+
+  /** Record a timer and a row count histogram for every DAO method */
+  private boolean enabled = true;
+
+  /** Statements that take at least this long are logged as slow queries. A negative value disables the log. */
+  private long slowQueryThresholdMs = 1000;
+
+  /** Fraction of the slow queries that are logged, between 0 and 1 */
+  private double slowQuerySampleRate = 1.0;
+
+  private SlowQueryBindings slowQueryBindings = SlowQueryBindings.NAMES;
+
+  /** Return the number of statements run for a request in the X-Query-Count response header */
+  private boolean queryCountHeader = true;
+}
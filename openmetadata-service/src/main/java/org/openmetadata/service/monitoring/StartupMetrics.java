@@ -0,0 +1,59 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records how long each phase of the server startup takes, as {@code startup.phase} timers tagged with the phase, and
+ * the time from the start of the JVM until the server is ready to serve requests as the {@code startup.ready} timer.
+ */
+@Slf4j
+public class StartupMetrics {
+  public static final String PHASE_TIMER = "startup.phase";
+  public static final String READY_TIMER = "startup.ready";
+  public static final String PHASE_TAG = "phase";
+
+  private final MeterRegistry registry;
+  private long phaseStart = System.nanoTime();
+
+  /** Timings are only logged when the registry is null */
+  public StartupMetrics(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  /** Ends the phase started when the previous phase ended, or when this was created for the first phase */
+  public void endPhase(String phase) {
+    long end = System.nanoTime();
+    long duration = end - phaseStart;
+    phaseStart = end;
+    LOG.info("Startup phase {} took {} ms", phase, TimeUnit.NANOSECONDS.toMillis(duration));
+    if (registry != null) {
+      Timer.builder(PHASE_TIMER).tag(PHASE_TAG, phase).register(registry).record(duration, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Records the uptime of the JVM once the server is ready */
+  public void ready() {
+    long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+    LOG.info("Server ready {} ms after the JVM started", uptime);
+    if (registry != null) {
+      Timer.builder(READY_TIMER).register(registry).record(uptime, TimeUnit.MILLISECONDS);
+    }
+  }
+}
@@ -16,24 +16,33 @@ package org.openmetadata.service.resources;
 import com.google.common.annotations.VisibleForTesting;
 import io.dropwizard.setup.Environment;
 import io.swagger.annotations.Api;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Enumeration;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.Path;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.annotations.processor.ResourceIndexProcessor;
 import org.openmetadata.schema.Function;
 import org.openmetadata.schema.type.CollectionDescriptor;
 import org.openmetadata.schema.type.CollectionInfo;
@@ -115,15 +124,7 @@ public final class CollectionRegistry {
    * those conditions and makes it available for listing them over API to author expressions in Rules.
    */
   private void loadConditionFunctions() {
-    Reflections reflections =
-        new Reflections(
-            new ConfigurationBuilder()
-                .setUrls(ClasspathHelper.forPackage("org.openmetadata.service"))
-                .setScanners(new MethodAnnotationsScanner()));
-
-    // Get classes marked with @Collection annotation
-    Set<Method> methods = reflections.getMethodsAnnotatedWith(Function.class);
-    for (Method method : methods) {
+    for (Method method : getFunctionMethods()) {
       Function annotation = method.getAnnotation(Function.class);
       List<org.openmetadata.schema.type.Function> functionList =
           functionMap.computeIfAbsent(method.getDeclaringClass(), k -> new ArrayList<>());
@@ -145,6 +146,58 @@ public final class CollectionRegistry {
     }
   }
 
+  /** Get methods marked with @Function annotation, from the index built at compile time when it is available */
+  private static Set<Method> getFunctionMethods() {
+    List<Class<?>> classes = readIndex(ResourceIndexProcessor.FUNCTION_INDEX);
+    if (classes == null) {
+      LOG.warn("{} not found, scanning the classpath for functions", ResourceIndexProcessor.FUNCTION_INDEX);
+      Reflections reflections =
+          new Reflections(
+              new ConfigurationBuilder()
+                  .setUrls(ClasspathHelper.forPackage("org.openmetadata.service"))
+                  .setScanners(new MethodAnnotationsScanner()));
+      return reflections.getMethodsAnnotatedWith(Function.class);
+    }
+    Set<Method> methods = new LinkedHashSet<>();
+    for (Class<?> clz : classes) {
+      for (Method method : clz.getDeclaredMethods()) {
+        if (method.isAnnotationPresent(Function.class)) {
+          methods.add(method);
+        }
+      }
+    }
+    return methods;
+  }
+
+  /**
+   * Read the classes listed in an index written by {@link ResourceIndexProcessor}, or return null when the classes were
+   * compiled without it.
+   */
+  private static List<Class<?>> readIndex(String index) {
+    try {
+      ClassLoader classLoader = CollectionRegistry.class.getClassLoader();
+      Enumeration<URL> urls = classLoader.getResources(index);
+      if (!urls.hasMoreElements()) {
+        return null;
+      }
+      List<Class<?>> classes = new ArrayList<>();
+      while (urls.hasMoreElements()) {
+        try (BufferedReader reader =
+            new BufferedReader(new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+          for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (!line.isBlank()) {
+              classes.add(Class.forName(line.trim(), false, classLoader));
+            }
+          }
+        }
+      }
+      return classes;
+    } catch (IOException | ClassNotFoundException e) {
+      LOG.warn("Failed to read {}", index, e);
+      return null;
+    }
+  }
+
   @VisibleForTesting
   public static void addTestResource(Object testResource) {
     getInstance().testResources.add(testResource);
@@ -157,17 +210,24 @@ public final class CollectionRegistry {
       OpenMetadataApplicationConfig config,
       Authorizer authorizer,
       AuthenticatorHandler authenticatorHandler) {
+    // The on demand DAO holds no connection, all the resources share it
+    CollectionDAO daoObject = jdbi.onDemand(CollectionDAO.class);
+    Objects.requireNonNull(daoObject, "CollectionDAO must not be null");
+
     // Build list of ResourceDescriptors
     for (Map.Entry<String, CollectionDetails> e : collectionMap.entrySet()) {
       CollectionDetails details = e.getValue();
       String resourceClass = details.resourceClass;
       try {
-        CollectionDAO daoObject = jdbi.onDemand(CollectionDAO.class);
-        Objects.requireNonNull(daoObject, "CollectionDAO must not be null");
+        long start = System.nanoTime();
         Object resource = createResource(daoObject, resourceClass, config, authorizer, authenticatorHandler);
         details.setResource(resource);
         environment.jersey().register(resource);
-        LOG.info("Registering {} with order {}", resourceClass, details.order);
+        LOG.info(
+            "Registering {} with order {} in {} ms",
+            resourceClass,
+            details.order,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
       } catch (Exception ex) {
         LOG.warn("Failed to create resource for class {} {}", resourceClass, ex);
       }
@@ -206,10 +266,13 @@ public final class CollectionRegistry {
 
   /** Compile a list of REST collections based on Resource classes marked with {@code Collection} annotation */
   private static List<CollectionDetails> getCollections() {
-    Reflections reflections = new Reflections("org.openmetadata.service.resources");
-
-    // Get classes marked with @Collection annotation
-    Set<Class<?>> collectionClasses = reflections.getTypesAnnotatedWith(Collection.class);
+    // Get classes marked with @Collection annotation, from the index built at compile time when it is available
+    List<Class<?>> collectionClasses = readIndex(ResourceIndexProcessor.COLLECTION_INDEX);
+    if (collectionClasses == null) {
+      LOG.warn("{} not found, scanning the classpath for collections", ResourceIndexProcessor.COLLECTION_INDEX);
+      Reflections reflections = new Reflections("org.openmetadata.service.resources");
+      collectionClasses = new ArrayList<>(reflections.getTypesAnnotatedWith(Collection.class));
+    }
     List<CollectionDetails> collections = new ArrayList<>();
     for (Class<?> cl : collectionClasses) {
       CollectionDetails cd = getCollection(cl);
@@ -0,0 +1,205 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.resources;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.TreeSet;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response.Status;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.exception.PreconditionFailedException;
+import org.openmetadata.service.util.EntityUtil.Fields;
+import org.openmetadata.service.util.ResultList;
+
+/**
+ * Adds strong ETags to the entities and lists returned by GET requests, and answers 304 Not Modified when the
+ * If-None-Match header of the request has the current one.
+ *
+ * <p>An entity requested with no fields gets a tag computed from its version, since the fields such as owner and tags
+ * can change without a new version of the entity. {@link EntityResource} checks it against the entity as stored. Other
+ * entities and lists get a tag computed from the body of the response, which saves sending it but not building it.
+ *
+ * <p>Tags of entities start with the version of the entity, which is what If-Match is checked against on updates.
+ * Conditions of the request are kept on the request thread, like {@link
+ * org.openmetadata.service.monitoring.QueryCountFilter} does for the query counts.
+ */
+public class ETagFilter implements ContainerRequestFilter, ContainerResponseFilter {
+  private static final ThreadLocal<Conditions> CONDITIONS = new ThreadLocal<>();
+
+  private final ObjectMapper mapper;
+
+  public ETagFilter(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext) {
+    // Only GET requests are answered with 304 Not Modified
+    boolean get = HttpMethod.GET.equals(requestContext.getMethod());
+    CONDITIONS.set(
+        new Conditions(
+            get ? requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH) : null,
+            requestContext.getHeaderString(HttpHeaders.IF_MATCH)));
+  }
+
+  @Override
+  public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+      throws JsonProcessingException {
+    Conditions conditions = CONDITIONS.get();
+    if (conditions == null) {
+      return;
+    }
+    CONDITIONS.remove();
+    Object entity = responseContext.getEntity();
+    if (!HttpMethod.GET.equals(requestContext.getMethod())
+        || responseContext.getStatus() != Status.OK.getStatusCode()
+        || !(entity instanceof EntityInterface || entity instanceof ResultList)) {
+      return;
+    }
+
+    EntityTag tag = conditions.taggedEntity == entity ? conditions.entityTag : null;
+    if (tag == null) {
+      // Serialize the body once, to compute its tag and to send it
+      String json = mapper.writeValueAsString(entity);
+      Double version = entity instanceof EntityInterface ? ((EntityInterface) entity).getVersion() : null;
+      tag = contentTag(version, json);
+      responseContext.setEntity(json, responseContext.getEntityAnnotations(), MediaType.APPLICATION_JSON_TYPE);
+    }
+    responseContext.getHeaders().putSingle(HttpHeaders.ETAG, tag);
+    if (matches(conditions.ifNoneMatch, tag)) {
+      responseContext.setStatus(Status.NOT_MODIFIED.getStatusCode());
+      responseContext.setEntity(null);
+    }
+  }
+
+  /** If-None-Match header of the request handled on this thread, null when there is none */
+  public static String getIfNoneMatch() {
+    Conditions conditions = CONDITIONS.get();
+    return conditions == null ? null : conditions.ifNoneMatch;
+  }
+
+  /**
+   * Sets the tag of an entity read by the request handled on this thread, used rather than hashing the body when the
+   * entity is the one returned.
+   */
+  public static void setEntityTag(EntityInterface entity, EntityTag tag) {
+    Conditions conditions = CONDITIONS.get();
+    if (conditions != null) {
+      conditions.taggedEntity = entity;
+      conditions.entityTag = tag;
+    }
+  }
+
+  /** Whether the entity returned with these fields changes only along with its version */
+  public static boolean isVersioned(Fields fields) {
+    return fields.getFieldList().isEmpty();
+  }
+
+  /**
+   * Tag of an entity returned without fields, which changes only along with its version. The user is part of it since
+   * resources may hide parts of the entity depending on who reads it.
+   */
+  public static EntityTag versionTag(EntityInterface entity, Fields fields, Include include, String user) {
+    Hasher hasher =
+        Hashing.murmur3_128()
+            .newHasher()
+            .putString(String.valueOf(entity.getId()), StandardCharsets.UTF_8)
+            .putString(String.valueOf(entity.getVersion()), StandardCharsets.UTF_8)
+            .putString(String.valueOf(entity.getUpdatedAt()), StandardCharsets.UTF_8)
+            .putString(String.valueOf(entity.getFullyQualifiedName()), StandardCharsets.UTF_8)
+            .putString(String.valueOf(entity.getDeleted()), StandardCharsets.UTF_8)
+            .putString(new TreeSet<>(fields.getFieldList()).toString(), StandardCharsets.UTF_8)
+            .putString(String.valueOf(include), StandardCharsets.UTF_8)
+            .putString(String.valueOf(user), StandardCharsets.UTF_8);
+    return new EntityTag(entity.getVersion() + "-" + hasher.hash());
+  }
+
+  /** Tag of the body of a response, prefixed with the version of the entity returned if any */
+  public static EntityTag contentTag(Double version, String json) {
+    String hash = Hashing.murmur3_128().hashString(json, StandardCharsets.UTF_8).toString();
+    return new EntityTag(version != null ? version + "-" + hash : hash);
+  }
+
+  /** Whether an If-None-Match header matches a tag, with the weak comparison */
+  public static boolean matches(String ifNoneMatch, EntityTag tag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String value : ifNoneMatch.split(",")) {
+      String candidate = value.trim();
+      if (candidate.equals("*") || EntityTag.valueOf(candidate).getValue().equals(tag.getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Whether the request handled on this thread has an If-Match header */
+  public static boolean hasIfMatch() {
+    Conditions conditions = CONDITIONS.get();
+    return conditions != null && conditions.ifMatch != null;
+  }
+
+  /**
+   * Checks the If-Match header of the request handled on this thread against the entity to update, null when it does
+   * not exist. A tag matches when the entity is still at the version it starts with.
+   */
+  public static void checkIfMatch(EntityInterface current) {
+    Conditions conditions = CONDITIONS.get();
+    String ifMatch = conditions == null ? null : conditions.ifMatch;
+    if (ifMatch == null) {
+      return;
+    }
+    if (current == null) {
+      throw PreconditionFailedException.notFound(ifMatch);
+    }
+    for (String value : ifMatch.split(",")) {
+      String candidate = value.trim();
+      if (candidate.equals("*")) {
+        return;
+      }
+      EntityTag tag = EntityTag.valueOf(candidate);
+      int separator = tag.getValue().indexOf('-');
+      String version = separator > 0 ? tag.getValue().substring(0, separator) : null;
+      if (!tag.isWeak() && String.valueOf(current.getVersion()).equals(version)) {
+        return;
+      }
+    }
+    throw PreconditionFailedException.modified(current.getVersion(), ifMatch);
+  }
+
+  private static class Conditions {
+    private final String ifNoneMatch;
+    private final String ifMatch;
+    private EntityInterface taggedEntity;
+    private EntityTag entityTag;
+
+    Conditions(String ifNoneMatch, String ifMatch) {
+      this.ifNoneMatch = ifNoneMatch;
+      this.ifMatch = ifMatch;
+    }
+  }
+}
@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import javax.json.JsonPatch;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
@@ -22,6 +23,7 @@ import org.openmetadata.schema.type.MetadataOperation;
 import org.openmetadata.schema.type.csv.CsvImportResult;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
+import org.openmetadata.service.exception.NotModifiedException;
 import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.security.Authorizer;
@@ -140,7 +142,15 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
       ResourceContextInterface resourceContext)
       throws IOException {
     authorizer.authorize(securityContext, operationContext, resourceContext);
-    return addHref(uriInfo, dao.get(uriInfo, id, fields, include));
+    boolean versioned = ETagFilter.isVersioned(fields);
+    if (versioned && ETagFilter.getIfNoneMatch() != null) {
+      checkNotModified(securityContext, dao.dao.findEntityById(id, include), fields, include);
+    }
+    T entity = addHref(uriInfo, dao.get(uriInfo, id, fields, include));
+    if (versioned) {
+      ETagFilter.setEntityTag(entity, ETagFilter.versionTag(entity, fields, include, getUserName(securityContext)));
+    }
+    return entity;
   }
 
   public T getVersionInternal(SecurityContext securityContext, UUID id, String version) throws IOException {
@@ -193,7 +203,30 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
       ResourceContextInterface resourceContext)
       throws IOException {
     authorizer.authorize(securityContext, operationContext, resourceContext);
-    return addHref(uriInfo, dao.getByName(uriInfo, name, fields, include));
+    boolean versioned = ETagFilter.isVersioned(fields);
+    if (versioned && ETagFilter.getIfNoneMatch() != null) {
+      checkNotModified(securityContext, dao.dao.findEntityByName(name, include), fields, include);
+    }
+    T entity = addHref(uriInfo, dao.getByName(uriInfo, name, fields, include));
+    if (versioned) {
+      ETagFilter.setEntityTag(entity, ETagFilter.versionTag(entity, fields, include, getUserName(securityContext)));
+    }
+    return entity;
+  }
+
+  /**
+   * Answers 304 Not Modified, before loading the fields of the entity, when the client already has the current version
+   * of the entity as stored.
+   */
+  private void checkNotModified(SecurityContext securityContext, T stored, Fields fields, Include include) {
+    EntityTag tag = ETagFilter.versionTag(stored, fields, include, getUserName(securityContext));
+    if (ETagFilter.matches(ETagFilter.getIfNoneMatch(), tag)) {
+      throw new NotModifiedException(tag);
+    }
+  }
+
+  private static String getUserName(SecurityContext securityContext) {
+    return securityContext.getUserPrincipal() == null ? null : securityContext.getUserPrincipal().getName();
   }
 
   public Response create(UriInfo uriInfo, SecurityContext securityContext, T entity) throws IOException {
@@ -211,7 +244,7 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     ResourceContext resourceContext = getResourceContextByName(entity.getFullyQualifiedName());
     OperationContext operationContext = new OperationContext(entityType, createOrUpdateOperation(resourceContext));
     authorizer.authorize(securityContext, operationContext, resourceContext);
-    PutResponse<T> response = dao.createOrUpdate(uriInfo, entity);
+    PutResponse<T> response = updateIfMatch(resourceContext.getEntity(), () -> dao.createOrUpdate(uriInfo, entity));
     addHref(uriInfo, response.getEntity());
     return response.toResponse();
   }
@@ -219,12 +252,38 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
   public Response patchInternal(UriInfo uriInfo, SecurityContext securityContext, UUID id, JsonPatch patch)
       throws IOException {
     OperationContext operationContext = new OperationContext(entityType, patch);
-    authorizer.authorize(securityContext, operationContext, getResourceContextById(id));
-    PatchResponse<T> response = dao.patch(uriInfo, id, securityContext.getUserPrincipal().getName(), patch);
+    ResourceContext resourceContext = getResourceContextById(id);
+    authorizer.authorize(securityContext, operationContext, resourceContext);
+    PatchResponse<T> response =
+        updateIfMatch(
+            resourceContext.getEntity(),
+            () -> dao.patch(uriInfo, id, securityContext.getUserPrincipal().getName(), patch));
     addHref(uriInfo, response.getEntity());
     return response.toResponse();
   }
 
+  @FunctionalInterface
+  private interface Update<R> {
+    R run() throws IOException;
+  }
+
+  /**
+   * Runs an update requested with If-Match holding the row lock of the entity, and checks the header against the
+   * entity as locked, so that no other update is stored between the check and the update.
+   */
+  private <R> R updateIfMatch(EntityInterface current, Update<R> update) throws IOException {
+    ETagFilter.checkIfMatch(current);
+    if (current == null || !ETagFilter.hasIfMatch()) {
+      return update.run();
+    }
+    return dao.dao.withEntityLock(
+        current.getId(),
+        locked -> {
+          ETagFilter.checkIfMatch(locked);
+          return update.run();
+        });
+  }
+
   public Response delete(
       UriInfo uriInfo, SecurityContext securityContext, UUID id, boolean recursive, boolean hardDelete)
       throws IOException {
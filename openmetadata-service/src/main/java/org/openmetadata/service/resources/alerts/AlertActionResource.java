@@ -436,6 +436,8 @@ public class AlertActionResource extends EntityResource<AlertAction, AlertAction
         .withBatchSize(create.getBatchSize())
         .withTimeout(create.getTimeout())
         .withReadTimeout(create.getReadTimeout())
+        .withCoalescingWindow(create.getCoalescingWindow())
+        .withMaxMessagesPerMinute(create.getMaxMessagesPerMinute())
         .withAlertActionConfig(create.getAlertActionConfig());
   }
 
@@ -8,10 +8,12 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import java.io.IOException;
+import java.util.List;
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
+import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
@@ -25,6 +27,7 @@ import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.analytics.ReportData;
 import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.ReportDataRepository;
 import org.openmetadata.service.resources.Collection;
@@ -48,6 +51,23 @@ public class ReportDataResource {
     this.dao = new ReportDataRepository(dao);
   }
 
+  public void initialize(OpenMetadataApplicationConfig config) {
+    // Rebuild the rollups of the report data added before they were maintained, charts fall back to search until then.
+    // The rebuild reads all the report data, it runs in the background rather than delaying the start
+    Thread rebuild =
+        new Thread(
+            () -> {
+              try {
+                dao.initializeRollups();
+              } catch (Exception e) {
+                LOG.error("Failed to rebuild the report data rollups", e);
+              }
+            },
+            "report-data-rollups");
+    rebuild.setDaemon(true);
+    rebuild.start();
+  }
+
   public static class ReportDataResultList extends ResultList<ReportData> {
     @SuppressWarnings("unused")
     public ReportDataResultList() {
@@ -112,4 +132,45 @@ public class ReportDataResource {
       throws IOException {
     return dao.addReportData(reportData);
   }
+
+  @POST
+  @Path("/bulk")
+  @Operation(
+      operationId = "addReportDataInBulk",
+      summary = "Add a list of report data",
+      tags = "reportData",
+      description = "Add a list of report data with one write to the database",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully added reportData.",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = ReportData.class)))
+      })
+  public Response addReportDataInBulk(
+      @Context UriInfo uriInfo, @Context SecurityContext securityContext, @Valid List<@Valid ReportData> reportData)
+      throws IOException {
+    return Response.ok(dao.addReportData(reportData)).build();
+  }
+
+  @PUT
+  @Path("/rollups")
+  @Operation(
+      operationId = "rebuildReportDataRollups",
+      summary = "Rebuild the report data rollups",
+      tags = "reportData",
+      description =
+          "Recompute the daily and weekly rollups of a report data type, which data insight charts are built from, "
+              + "from all its report data.",
+      responses = {@ApiResponse(responseCode = "200", description = "Rollups rebuilt")})
+  public Response rebuildRollups(
+      @Context SecurityContext securityContext,
+      @Parameter(description = "report data type", schema = @Schema(implementation = ReportDataType.class))
+          @NonNull
+          @QueryParam("reportDataType")
+          ReportDataType reportDataType)
+      throws IOException {
+    authorizer.authorizeAdmin(securityContext);
+    dao.rebuildRollups(reportDataType);
+    return Response.ok().build();
+  }
 }
@@ -437,6 +437,28 @@ public class WebAnalyticEventResource extends EntityResource<WebAnalyticEvent, W
     return dao.addWebAnalyticEventData(webAnalyticEventData);
   }
 
+  @PUT
+  @Path("/collect/bulk")
+  @Operation(
+      operationId = "addWebAnalyticEventDataInBulk",
+      summary = "Add a list of web analytic event data",
+      tags = "webAnalyticEvent",
+      description = "Add a list of web analytic event data with one write to the database",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully added web analytic event data",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = WebAnalyticEventData.class)))
+      })
+  public Response addWebAnalyticEventDataInBulk(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Valid List<@Valid WebAnalyticEventData> webAnalyticEventData)
+      throws IOException {
+    return Response.ok(dao.addWebAnalyticEventData(webAnalyticEventData)).build();
+  }
+
   @DELETE
   @Path("/{name}/{timestamp}/collect")
   @Operation(
@@ -57,6 +57,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.dataInsight.DataInsightAggregatorFactory;
 import org.openmetadata.service.dataInsight.DataInsightAggregatorInterface;
+import org.openmetadata.service.dataInsight.DataInsightChartResultCache;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.DataInsightChartRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
@@ -491,6 +492,32 @@ public class DataInsightChartResource extends EntityResource<DataInsightChart, D
           Long endTs)
       throws IOException, ParseException {
 
+    DataInsightChartResult processedData =
+        DataInsightChartResultCache.get(
+            dataInsightChartName,
+            dataReportIndex,
+            startTs,
+            endTs,
+            team,
+            tier,
+            () -> buildChartResult(dataInsightChartName, dataReportIndex, tier, team, startTs, endTs));
+    return Response.status(OK).entity(processedData).build();
+  }
+
+  private DataInsightChartResult buildChartResult(
+      DataInsightChartResult.DataInsightChartType dataInsightChartName,
+      String dataReportIndex,
+      String tier,
+      String team,
+      Long startTs,
+      Long endTs)
+      throws IOException, ParseException {
+    // The time series charts are built from the rollups of the report data, once they exist
+    DataInsightChartResult rollupData = dao.buildChartFromRollups(dataInsightChartName, startTs, endTs, tier, team);
+    if (rollupData != null) {
+      return rollupData;
+    }
+
     SearchSourceBuilder searchSourceBuilder =
         dao.buildQueryFilter(startTs, endTs, tier, team, dataInsightChartName.value());
     AbstractAggregationBuilder aggregationBuilder = dao.buildQueryAggregation(dataInsightChartName);
@@ -503,8 +530,7 @@ public class DataInsightChartResource extends EntityResource<DataInsightChart, D
 
     DataInsightAggregatorInterface processor =
         DataInsightAggregatorFactory.createDataAggregator(searchResponse.getAggregations(), dataInsightChartName);
-    DataInsightChartResult processedData = processor.process();
-    return Response.status(OK).entity(processedData).build();
+    return processor.process();
   }
 
   private DataInsightChart getDataInsightChart(CreateDataInsightChart create, String user) throws IOException {
@@ -23,7 +23,10 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import javax.json.JsonPatch;
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
@@ -512,7 +515,7 @@ public class TableResource extends EntityResource<Table, TableRepository> {
       operationId = "getSampleData",
       summary = "Get sample data",
       tags = "tables",
-      description = "Get sample data from the table.",
+      description = "Get sample data from the table, all of it or a page of rows and some of the columns.",
       responses = {
         @ApiResponse(
             responseCode = "200",
@@ -523,11 +526,28 @@ public class TableResource extends EntityResource<Table, TableRepository> {
       @Context UriInfo uriInfo,
       @Context SecurityContext securityContext,
       @Parameter(description = "Id of the table", schema = @Schema(type = "UUID")) @PathParam("id") UUID id,
+      @Parameter(
+              description = "Comma separated names of the columns returned, in this order. All the columns by default",
+              schema = @Schema(type = "string", example = "id,name"))
+          @QueryParam("columns")
+          String columnsParam,
+      @Parameter(description = "Index of the first row returned (default = 0)")
+          @DefaultValue("0")
+          @Min(0)
+          @QueryParam("offset")
+          int offsetParam,
+      @Parameter(description = "Number of rows returned. All the rows by default") @Min(0) @QueryParam("limit")
+          Integer limitParam,
       @Valid TableData tableData)
       throws IOException {
     OperationContext operationContext = new OperationContext(entityType, MetadataOperation.VIEW_SAMPLE_DATA);
     authorizer.authorize(securityContext, operationContext, getResourceContextById(id));
-    return addHref(uriInfo, dao.getSampleData(id));
+    List<String> columns = null;
+    if (columnsParam != null) {
+      columns = Arrays.stream(columnsParam.split(",")).map(String::trim).collect(Collectors.toList());
+    }
+    int limit = limitParam == null ? Integer.MAX_VALUE : limitParam;
+    return addHref(uriInfo, dao.getSampleData(id, columns, offsetParam, limit));
   }
 
   @DELETE
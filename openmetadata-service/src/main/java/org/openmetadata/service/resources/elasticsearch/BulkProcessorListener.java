@@ -5,25 +5,31 @@ import static org.openmetadata.service.resources.elasticsearch.BuildSearchIndexR
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.openmetadata.schema.settings.Checkpoint;
 import org.openmetadata.schema.settings.EventPublisherJob;
 import org.openmetadata.schema.settings.EventPublisherJob.Status;
 import org.openmetadata.schema.settings.FailureDetails;
 import org.openmetadata.schema.settings.Stats;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.resources.search.SearchResultCache;
 import org.openmetadata.service.socket.WebSocketManager;
 import org.openmetadata.service.util.JsonUtils;
 
 @Slf4j
 public class BulkProcessorListener implements BulkProcessor.Listener {
-  private volatile boolean updateTotalRequest = true;
   private volatile int totalSuccessCount = 0;
   private volatile int totalFailedCount = 0;
   private volatile int totalRequests = 0;
@@ -63,6 +69,7 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
         }
       }
       updateFailedAndSuccess(failedCount, bulkResponse.getItems().length - failedCount);
+      invalidateSearchResults(bulkRequest);
 
       EventPublisherJob.Status status = batchHasFailures ? Status.ACTIVE_WITH_ERROR : EventPublisherJob.Status.ACTIVE;
       Stats stats = new Stats().withFailed(totalFailedCount).withSuccess(totalSuccessCount).withTotal(totalRequests);
@@ -76,6 +83,7 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
   @Override
   public void afterBulk(long executionId, BulkRequest bulkRequest, Throwable throwable) {
     LOG.error("Failed to execute bulk", throwable);
+    invalidateSearchResults(bulkRequest);
     updateFailedAndSuccess(bulkRequest.numberOfActions(), 0);
     EventPublisherJob.Status status = Status.ACTIVE_WITH_ERROR;
     Stats stats = new Stats().withFailed(totalFailedCount).withSuccess(totalSuccessCount).withTotal(totalRequests);
@@ -89,22 +97,14 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
     updateElasticSearchStatus(status, hasFailureDetails, stats);
   }
 
-  public synchronized void addRequests(int count) {
-    if (updateTotalRequest) {
-      totalRequests += count;
-    }
-    updateTotalRequest = false;
-  }
-
-  public synchronized void allowTotalRequestUpdate() {
-    updateTotalRequest = true;
+  public synchronized void addTotalRequests(int count) {
+    totalRequests += count;
   }
 
   public synchronized void resetCounters() {
     totalRequests = 0;
     totalFailedCount = 0;
     totalSuccessCount = 0;
-    updateTotalRequest = true;
   }
 
   public synchronized void updateFailedAndSuccess(int failedCount, int successCount) {
@@ -112,14 +112,19 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
     totalSuccessCount += successCount;
   }
 
-  public void updateElasticSearchStatus(EventPublisherJob.Status status, FailureDetails failDetails, Stats newStats) {
+  // Partitions of the job are reindexed in parallel and update the same job record
+  public synchronized void updateElasticSearchStatus(
+      EventPublisherJob.Status status, FailureDetails failDetails, Stats newStats) {
     try {
       long updateTime = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()).getTime();
       String recordString =
           dao.entityExtensionTimeSeriesDao().getExtension(ELASTIC_SEARCH_ENTITY_FQN_BATCH, ELASTIC_SEARCH_EXTENSION);
       EventPublisherJob lastRecord = JsonUtils.readValue(recordString, EventPublisherJob.class);
       long originalLastUpdate = lastRecord.getTimestamp();
-      if (totalRequests == totalFailedCount + totalSuccessCount) {
+      if (status == EventPublisherJob.Status.COMPLETED) {
+        lastRecord.setStatus(status);
+        lastRecord.setEndTime(updateTime);
+      } else if (totalRequests == totalFailedCount + totalSuccessCount) {
         lastRecord.setStatus(EventPublisherJob.Status.IDLE);
       } else {
         lastRecord.setStatus(status);
@@ -132,7 +137,9 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
                 .withLastFailedAt(updateTime)
                 .withLastFailedReason(failDetails.getLastFailedReason()));
       }
-      lastRecord.setStats(newStats);
+      if (newStats != null) {
+        lastRecord.setStats(newStats);
+      }
       dao.entityExtensionTimeSeriesDao()
           .update(
               ELASTIC_SEARCH_ENTITY_FQN_BATCH,
@@ -145,4 +152,59 @@ public class BulkProcessorListener implements BulkProcessor.Listener {
       LOG.error("Failed to Update Elastic Search Job Info");
     }
   }
+
+  /** Save the progress of a partition of the job, replacing its previous checkpoint */
+  public synchronized void updateCheckpoint(Checkpoint checkpoint) {
+    try {
+      long updateTime = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()).getTime();
+      String recordString =
+          dao.entityExtensionTimeSeriesDao().getExtension(ELASTIC_SEARCH_ENTITY_FQN_BATCH, ELASTIC_SEARCH_EXTENSION);
+      EventPublisherJob lastRecord = JsonUtils.readValue(recordString, EventPublisherJob.class);
+      long originalLastUpdate = lastRecord.getTimestamp();
+      List<Checkpoint> checkpoints =
+          lastRecord.getCheckpoints() == null ? new ArrayList<>() : new ArrayList<>(lastRecord.getCheckpoints());
+      checkpoints.removeIf(c -> c.getPartition().equals(checkpoint.getPartition()));
+      checkpoints.add(checkpoint);
+      lastRecord.setCheckpoints(checkpoints);
+      lastRecord.setTimestamp(updateTime);
+      dao.entityExtensionTimeSeriesDao()
+          .update(
+              ELASTIC_SEARCH_ENTITY_FQN_BATCH,
+              ELASTIC_SEARCH_EXTENSION,
+              JsonUtils.pojoToJson(lastRecord),
+              originalLastUpdate);
+    } catch (Exception e) {
+      LOG.error("Failed to Update Elastic Search Job Checkpoint for partition {}", checkpoint.getPartition(), e);
+    }
+  }
+
+  public synchronized void clearCheckpoints() {
+    try {
+      String recordString =
+          dao.entityExtensionTimeSeriesDao().getExtension(ELASTIC_SEARCH_ENTITY_FQN_BATCH, ELASTIC_SEARCH_EXTENSION);
+      EventPublisherJob lastRecord = JsonUtils.readValue(recordString, EventPublisherJob.class);
+      long originalLastUpdate = lastRecord.getTimestamp();
+      lastRecord.setCheckpoints(new ArrayList<>());
+      dao.entityExtensionTimeSeriesDao()
+          .update(
+              ELASTIC_SEARCH_ENTITY_FQN_BATCH,
+              ELASTIC_SEARCH_EXTENSION,
+              JsonUtils.pojoToJson(lastRecord),
+              originalLastUpdate);
+    } catch (Exception e) {
+      LOG.error("Failed to Clear Elastic Search Job Checkpoints", e);
+    }
+  }
+
+  public synchronized Stats getStats() {
+    return new Stats().withFailed(totalFailedCount).withSuccess(totalSuccessCount).withTotal(totalRequests);
+  }
+
+  private static void invalidateSearchResults(BulkRequest bulkRequest) {
+    Set<String> indexes = new HashSet<>();
+    for (DocWriteRequest<?> request : bulkRequest.requests()) {
+      indexes.add(request.index());
+    }
+    indexes.forEach(SearchResultCache::invalidateIndex);
+  }
 }
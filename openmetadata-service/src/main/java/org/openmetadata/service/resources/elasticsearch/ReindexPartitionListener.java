@@ -0,0 +1,131 @@
+package org.openmetadata.service.resources.elasticsearch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+
+/**
+ * Bulk listener of a partition of a batch reindex job. Pages of entities are added to the {@link BulkProcessor}
+ * without waiting for the previous bulks to complete, and bulks may complete out of order. This listener tracks the
+ * pages whose entities have all been indexed and reports the cursor after the last of them as the checkpoint of the
+ * partition, so that a resumed job doesn't skip entities of a bulk that was still in flight.
+ *
+ * <p>Bulk results are passed on to the job listener that maintains the stats of the job.
+ */
+public class ReindexPartitionListener implements BulkProcessor.Listener {
+  private final BulkProcessor.Listener jobListener;
+  private final Consumer<String> checkpointConsumer;
+  private final long checkpointIntervalMillis;
+
+  private final Deque<Bulk> bulks = new ArrayDeque<>(); // Bulks in the order they are executed
+  private final Set<Long> completedBulks = new HashSet<>(); // Completed bulks that follow an incomplete one
+  private final Deque<Page> pages = new ArrayDeque<>(); // Pages not yet fully indexed
+  private long addedRequests = 0;
+  private long indexedRequests = 0; // Requests of the bulks that completed along with all the bulks before them
+  private String checkpoint;
+  private String savedCheckpoint;
+  private long lastSavedAt = 0;
+
+  public ReindexPartitionListener(
+      BulkProcessor.Listener jobListener, Consumer<String> checkpointConsumer, long checkpointIntervalMillis) {
+    this.jobListener = jobListener;
+    this.checkpointConsumer = checkpointConsumer;
+    this.checkpointIntervalMillis = checkpointIntervalMillis;
+  }
+
+  /** Record that a page of {@code requests} requests was added to the bulk processor, with the cursor after it */
+  public synchronized void pageAdded(int requests, String after) {
+    addedRequests += requests;
+    if (after != null) {
+      pages.add(new Page(addedRequests, after));
+      advanceCheckpoint();
+    }
+  }
+
+  /** Save the checkpoint now if it moved since it was last saved */
+  public void saveCheckpoint() {
+    String toSave;
+    synchronized (this) {
+      if (checkpoint == null || checkpoint.equals(savedCheckpoint)) {
+        return;
+      }
+      toSave = checkpoint;
+      savedCheckpoint = checkpoint;
+      lastSavedAt = System.currentTimeMillis();
+    }
+    checkpointConsumer.accept(toSave);
+  }
+
+  public synchronized String getCheckpoint() {
+    return checkpoint;
+  }
+
+  @Override
+  public void beforeBulk(long executionId, BulkRequest request) {
+    synchronized (this) {
+      bulks.add(new Bulk(executionId, request.numberOfActions()));
+    }
+    jobListener.beforeBulk(executionId, request);
+  }
+
+  @Override
+  public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+    jobListener.afterBulk(executionId, request, response);
+    bulkCompleted(executionId);
+  }
+
+  @Override
+  public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+    // Failed requests are reported in the job stats and are not retried when the job is resumed
+    jobListener.afterBulk(executionId, request, failure);
+    bulkCompleted(executionId);
+  }
+
+  private void bulkCompleted(long executionId) {
+    boolean save;
+    synchronized (this) {
+      completedBulks.add(executionId);
+      while (!bulks.isEmpty() && completedBulks.remove(bulks.peek().executionId)) {
+        indexedRequests += bulks.poll().requests;
+      }
+      save = advanceCheckpoint() && System.currentTimeMillis() - lastSavedAt >= checkpointIntervalMillis;
+    }
+    if (save) {
+      saveCheckpoint();
+    }
+  }
+
+  private boolean advanceCheckpoint() {
+    boolean advanced = false;
+    while (!pages.isEmpty() && pages.peek().requests <= indexedRequests) {
+      checkpoint = pages.poll().after;
+      advanced = true;
+    }
+    return advanced;
+  }
+
+  private static class Bulk {
+    private final long executionId;
+    private final int requests;
+
+    Bulk(long executionId, int requests) {
+      this.executionId = executionId;
+      this.requests = requests;
+    }
+  }
+
+  private static class Page {
+    private final long requests; // Requests added up to and including this page
+    private final String after;
+
+    Page(long requests, String after) {
+      this.requests = requests;
+      this.after = after;
+    }
+  }
+}
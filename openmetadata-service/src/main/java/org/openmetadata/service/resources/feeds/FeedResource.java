@@ -429,6 +429,22 @@ public class FeedResource {
     return dao.getThreadsCount(entityLink, threadType, taskStatus, isResolved);
   }
 
+  @PUT
+  @Path("/count/repair")
+  @Operation(
+      operationId = "repairThreadCounts",
+      summary = "Recompute the counts of threads",
+      tags = "feeds",
+      description =
+          "Recompute the counts of threads returned by `/count` from the threads. "
+              + "The counts are maintained with the threads, this repairs them if they have drifted.",
+      responses = {@ApiResponse(responseCode = "200", description = "The counts of threads are recomputed")})
+  public Response repairThreadCounts(@Context SecurityContext securityContext) {
+    authorizer.authorizeAdmin(securityContext);
+    dao.repairThreadCounts();
+    return Response.ok().build();
+  }
+
   @POST
   @Operation(
       operationId = "createThread",
@@ -456,7 +472,7 @@ public class FeedResource {
       operationId = "addPostToThread",
       summary = "Add post to a thread",
       tags = "feeds",
-      description = "Add a post to an existing thread.",
+      description = "Add a post to an existing thread. The thread is returned with its latest posts.",
       responses = {
         @ApiResponse(
             responseCode = "200",
@@ -505,7 +521,7 @@ public class FeedResource {
           JsonPatch patch)
       throws IOException {
     // validate and get thread & post
-    Thread thread = dao.get(threadId);
+    Thread thread = dao.getWithRecentPosts(threadId);
     Post post = dao.getPostById(thread, postId);
 
     PatchResponse<Post> response = dao.patchPost(thread, post, securityContext.getUserPrincipal().getName(), patch);
@@ -531,7 +547,7 @@ public class FeedResource {
           String threadId)
       throws IOException {
     // validate and get the thread
-    Thread thread = dao.get(threadId);
+    Thread thread = dao.getWithRecentPosts(threadId);
     // delete thread only if the admin/bot/author tries to delete it
     OperationContext operationContext = new OperationContext(Entity.THREAD, MetadataOperation.DELETE);
     ResourceContextInterface resourceContext = new ThreadResourceContext(dao.getOwnerReference(thread.getCreatedBy()));
@@ -561,7 +577,7 @@ public class FeedResource {
           String postId)
       throws IOException {
     // validate and get thread & post
-    Thread thread = dao.get(threadId);
+    Thread thread = dao.getWithRecentPosts(threadId);
     Post post = dao.getPostById(thread, postId);
     // delete post only if the admin/bot/author tries to delete it
     // TODO fix this
@@ -577,18 +593,32 @@ public class FeedResource {
       operationId = "getAllPostOfThread",
       summary = "Get all the posts of a thread",
       tags = "feeds",
-      description = "Get all the posts of an existing thread.",
+      description = "Get the posts of an existing thread, all of them or a page of them when a limit is given.",
       responses = {
         @ApiResponse(
             responseCode = "200",
             description = "The posts of the given thread.",
             content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostList.class))),
       })
-  public PostList getPosts(
+  public ResultList<Post> getPosts(
       @Context UriInfo uriInfo,
-      @Parameter(description = "Id of the thread", schema = @Schema(type = "string")) @PathParam("id") String id)
+      @Parameter(description = "Id of the thread", schema = @Schema(type = "string")) @PathParam("id") String id,
+      @Parameter(
+              description = "Limit the number of posts returned, in chronological order. All the posts by default",
+              schema = @Schema(type = "integer"))
+          @Min(1)
+          @Max(1000000)
+          @QueryParam("limit")
+          Integer limitParam,
+      @Parameter(description = "Returns list of posts before this cursor", schema = @Schema(type = "string"))
+          @QueryParam("before")
+          String before,
+      @Parameter(description = "Returns list of posts after this cursor", schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after)
       throws IOException {
-    return new PostList(dao.listPosts(id));
+    RestUtil.validateCursors(before, after);
+    return dao.listPosts(id, limitParam, before, after);
   }
 
   private Thread getThread(SecurityContext securityContext, CreateThread create) {
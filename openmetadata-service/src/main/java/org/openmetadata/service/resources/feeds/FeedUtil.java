@@ -21,8 +21,9 @@ public final class FeedUtil {
   private FeedUtil() {}
 
   public static void addPost(Thread thread, Post post) {
-    // Add new post to the thread
+    // Add new post to the thread. The thread may only hold its latest posts, the count is of all its posts
+    int postsCount = thread.getPostsCount() == null ? thread.getPosts().size() : thread.getPostsCount();
     thread.getPosts().add(post);
-    thread.withPostsCount(thread.getPosts().size());
+    thread.withPostsCount(postsCount + 1);
   }
 }
@@ -18,6 +18,7 @@ import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
 import static org.openmetadata.service.Entity.FIELD_DESCRIPTION;
 import static org.openmetadata.service.Entity.FIELD_DISPLAY_NAME;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.swagger.annotations.Api;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,9 +26,13 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
@@ -37,17 +42,29 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.ClosePointInTimeRequest;
+import org.elasticsearch.action.search.OpenPointInTimeRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.unit.Fuzziness;
 import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.common.xcontent.LoggingDeprecationHandler;
 import org.elasticsearch.common.xcontent.NamedXContentRegistry;
+import org.elasticsearch.common.xcontent.ToXContent;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
 import org.elasticsearch.common.xcontent.XContentParser;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.query.BoolQueryBuilder;
@@ -59,12 +76,15 @@ import org.elasticsearch.index.query.QueryStringQueryBuilder;
 import org.elasticsearch.index.query.functionscore.FieldValueFactorFunctionBuilder;
 import org.elasticsearch.index.query.functionscore.FunctionScoreQueryBuilder;
 import org.elasticsearch.index.query.functionscore.ScoreFunctionBuilders;
+import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchModule;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.builder.PointInTimeBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortOrder;
 import org.elasticsearch.search.suggest.Suggest;
 import org.elasticsearch.search.suggest.SuggestBuilder;
@@ -73,7 +93,10 @@ import org.elasticsearch.search.suggest.completion.CompletionSuggestionBuilder;
 import org.elasticsearch.search.suggest.completion.context.CategoryQueryContext;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.resources.Collection;
+import org.openmetadata.service.resources.search.SearchResultCache.SearchFunction;
 import org.openmetadata.service.util.ElasticSearchClientUtils;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.RestUtil;
 
 @Slf4j
 @Path("/v1/search")
@@ -90,6 +113,10 @@ public class SearchResource {
   private static final String DISPLAY_NAME_KEYWORD = "displayName.keyword";
   private static final String DESCRIPTION = "description";
   private static final String UNIFIED = "unified";
+  private static final String NDJSON = "application/x-ndjson";
+  private static final int MAX_EXPORT_BATCH_SIZE = 10000;
+  private static final TimeValue CURSOR_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+  private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
 
   private static final NamedXContentRegistry xContentRegistry;
 
@@ -104,6 +131,7 @@ public class SearchResource {
   public void initialize(OpenMetadataApplicationConfig config) {
     if (config.getElasticSearchConfiguration() != null) {
       this.client = ElasticSearchClientUtils.createElasticSearchClient(config.getElasticSearchConfiguration());
+      SearchResultCache.initialize(config.getElasticSearchConfiguration());
     }
   }
 
@@ -187,61 +215,27 @@ public class SearchResource {
               description =
                   "Get only selected fields of the document body for each hit. Empty value will return all fields")
           @QueryParam("include_source_fields")
-          List<String> includeSourceFields)
+          List<String> includeSourceFields,
+      @Parameter(
+              description =
+                  "Paginate with an `after` cursor instead of `from`. The response includes an `after` cursor "
+                      + "when more results are available")
+          @DefaultValue("false")
+          @QueryParam("cursor")
+          boolean cursor,
+      @Parameter(
+              description =
+                  "Returns the next page of results after this cursor. Pass the `after` cursor returned by the "
+                      + "previous search response")
+          @QueryParam("after")
+          String after)
       throws IOException {
 
     if (nullOrEmpty(query)) {
       query = "*";
     }
 
-    SearchSourceBuilder searchSourceBuilder;
-
-    switch (index) {
-      case "topic_search_index":
-        searchSourceBuilder = buildTopicSearchBuilder(query, from, size);
-        break;
-      case "dashboard_search_index":
-        searchSourceBuilder = buildDashboardSearchBuilder(query, from, size);
-        break;
-      case "pipeline_search_index":
-        searchSourceBuilder = buildPipelineSearchBuilder(query, from, size);
-        break;
-      case "mlmodel_search_index":
-        searchSourceBuilder = buildMlModelSearchBuilder(query, from, size);
-        break;
-      case "table_search_index":
-        searchSourceBuilder = buildTableSearchBuilder(query, from, size);
-        break;
-      case "user_search_index":
-        searchSourceBuilder = buildUserSearchBuilder(query, from, size);
-        break;
-      case "team_search_index":
-        searchSourceBuilder = buildTeamSearchBuilder(query, from, size);
-        break;
-      case "glossary_search_index":
-        searchSourceBuilder = buildGlossaryTermSearchBuilder(query, from, size);
-        break;
-      case "tag_search_index":
-        searchSourceBuilder = buildTagSearchBuilder(query, from, size);
-        break;
-      default:
-        searchSourceBuilder = buildAggregateSearchBuilder(query, from, size);
-        break;
-    }
-
-    if (!nullOrEmpty(queryFilter)) {
-      try {
-        XContentParser filterParser =
-            XContentType.JSON
-                .xContent()
-                .createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, queryFilter);
-        QueryBuilder filter = SearchSourceBuilder.fromXContent(filterParser).query();
-        BoolQueryBuilder newQuery = QueryBuilders.boolQuery().must(searchSourceBuilder.query()).filter(filter);
-        searchSourceBuilder.query(newQuery);
-      } catch (Exception ex) {
-        LOG.warn("Error parsing query_filter from query parameters, ignoring filter", ex);
-      }
-    }
+    SearchSourceBuilder searchSourceBuilder = buildSearchSourceBuilder(index, query, from, size, queryFilter);
 
     if (!nullOrEmpty(postFilter)) {
       try {
@@ -255,8 +249,7 @@ public class SearchResource {
     }
 
     /* For backward-compatibility we continue supporting the deleted argument, this should be removed in future versions */
-    searchSourceBuilder.query(
-        QueryBuilders.boolQuery().must(searchSourceBuilder.query()).must(QueryBuilders.termQuery("deleted", deleted)));
+    addDeletedFilter(searchSourceBuilder, deleted);
 
     if (!nullOrEmpty(sortFieldParam)) {
       searchSourceBuilder.sort(sortFieldParam, sortOrder);
@@ -277,10 +270,159 @@ public class SearchResource {
     }
 
     searchSourceBuilder.timeout(new TimeValue(30, TimeUnit.SECONDS));
-    String response =
-        client.search(new SearchRequest(index).source(searchSourceBuilder), RequestOptions.DEFAULT).toString();
+    if (cursor || after != null) {
+      return Response.status(OK).entity(searchWithCursor(index, searchSourceBuilder, size, after)).build();
+    }
+    SearchRequest searchRequest = new SearchRequest(index).source(searchSourceBuilder);
+    return searchResponse(
+        index, "search", searchSourceBuilder, () -> client.search(searchRequest, RequestOptions.DEFAULT).toString());
+  }
+
+  @GET
+  @Path("/export")
+  @Produces(NDJSON)
+  @Operation(
+      operationId = "exportSearchEntities",
+      summary = "Export all the entities matching a search",
+      tags = "search",
+      description =
+          "Stream the document body of every entity matching the search query as newline delimited JSON. "
+              + "Use this instead of paginating the search API to walk all the entities of an index.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Newline delimited JSON documents",
+            content = @Content(mediaType = NDJSON))
+      })
+  public Response export(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Search Query Text, defaults to all the entities") @DefaultValue("*") @QueryParam("q")
+          String query,
+      @Parameter(description = "ElasticSearch Index name, defaults to table_search_index")
+          @DefaultValue("table_search_index")
+          @QueryParam("index")
+          String index,
+      @Parameter(description = "Filter documents by deleted param. By default deleted is false")
+          @DefaultValue("false")
+          @QueryParam("deleted")
+          boolean deleted,
+      @Parameter(
+              description =
+                  "Elasticsearch query that will be combined with the query_string query generator from the `query` argument")
+          @QueryParam("query_filter")
+          String queryFilter,
+      @Parameter(
+              description =
+                  "Get only selected fields of the document body for each hit. Empty value will return all fields")
+          @QueryParam("include_source_fields")
+          List<String> includeSourceFields,
+      @Parameter(description = "Number of documents fetched from ElasticSearch in each batch, defaults to 1000")
+          @DefaultValue("1000")
+          @Min(1)
+          @Max(MAX_EXPORT_BATCH_SIZE)
+          @QueryParam("batch_size")
+          int batchSize) {
+    if (nullOrEmpty(query)) {
+      query = "*";
+    }
+    SearchSourceBuilder queryBuilder = buildSearchSourceBuilder(index, query, 0, batchSize, queryFilter);
+    addDeletedFilter(queryBuilder, deleted);
+    // Scrolling does not need scoring, aggregations or highlights. Sort by index order which is the cheapest to scroll
+    SearchSourceBuilder searchSourceBuilder =
+        new SearchSourceBuilder()
+            .query(queryBuilder.query())
+            .size(batchSize)
+            .sort(FieldSortBuilder.DOC_FIELD_NAME)
+            .fetchSource(new FetchSourceContext(true, includeSourceFields.toArray(String[]::new), new String[] {}));
+    SearchRequest searchRequest = new SearchRequest(index).source(searchSourceBuilder).scroll(SCROLL_KEEP_ALIVE);
+    StreamingOutput output = outputStream -> scroll(searchRequest, outputStream);
+    return Response.status(OK).entity(output).build();
+  }
 
-    return Response.status(OK).entity(response).build();
+  private void scroll(SearchRequest searchRequest, OutputStream outputStream) throws IOException {
+    SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
+    String scrollId = searchResponse.getScrollId();
+    try {
+      SearchHit[] hits = searchResponse.getHits().getHits();
+      while (hits.length > 0) {
+        for (SearchHit hit : hits) {
+          hit.getSourceRef().writeTo(outputStream);
+          outputStream.write('\n');
+        }
+        outputStream.flush();
+        searchResponse =
+            client.scroll(new SearchScrollRequest(scrollId).scroll(SCROLL_KEEP_ALIVE), RequestOptions.DEFAULT);
+        scrollId = searchResponse.getScrollId();
+        hits = searchResponse.getHits().getHits();
+      }
+    } finally {
+      ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+      clearScrollRequest.addScrollId(scrollId);
+      client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT);
+    }
+  }
+
+  /**
+   * Search with search_after on a point in time of the index. Unlike `from`, the cost of fetching a page does not grow
+   * with the depth of the page and is not limited by `max_result_window`. The point in time id and the sort values of
+   * the last hit are returned to the caller as an opaque `after` cursor.
+   */
+  private String searchWithCursor(String index, SearchSourceBuilder searchSourceBuilder, int size, String after)
+      throws IOException {
+    SearchCursor searchCursor = after == null ? null : SearchCursor.decode(after);
+    String pitId = searchCursor == null ? openPointInTime(index) : searchCursor.getPitId();
+    searchSourceBuilder.from(0).pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(CURSOR_KEEP_ALIVE));
+    if (searchCursor != null) {
+      searchSourceBuilder.searchAfter(searchCursor.getSortValues().toArray());
+    }
+    // Indices are not allowed in a point in time search request, they are part of the point in time
+    SearchResponse searchResponse =
+        client.search(new SearchRequest().source(searchSourceBuilder), RequestOptions.DEFAULT);
+    if (searchResponse.pointInTimeId() != null) {
+      pitId = searchResponse.pointInTimeId();
+    }
+
+    String nextAfter = null;
+    SearchHit[] hits = searchResponse.getHits().getHits();
+    if (size > 0 && hits.length == size) {
+      nextAfter = new SearchCursor(pitId, Arrays.asList(hits[hits.length - 1].getSortValues())).encode();
+    } else {
+      // Last page - release the point in time instead of waiting for keep alive to expire
+      client.closePointInTime(new ClosePointInTimeRequest(pitId), RequestOptions.DEFAULT);
+    }
+
+    XContentBuilder builder = XContentFactory.jsonBuilder();
+    builder.startObject();
+    searchResponse.innerToXContent(builder, ToXContent.EMPTY_PARAMS);
+    builder.field("after", nextAfter);
+    builder.endObject();
+    return Strings.toString(builder);
+  }
+
+  private String openPointInTime(String index) throws IOException {
+    OpenPointInTimeRequest request = new OpenPointInTimeRequest(index).keepAlive(CURSOR_KEEP_ALIVE);
+    return client.openPointInTime(request, RequestOptions.DEFAULT).getPointInTimeId();
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  static class SearchCursor {
+    private String pitId;
+    private List<Object> sortValues;
+
+    String encode() throws JsonProcessingException {
+      return RestUtil.encodeCursor(JsonUtils.pojoToJson(this));
+    }
+
+    static SearchCursor decode(String after) {
+      try {
+        return JsonUtils.readValue(RestUtil.decodeCursor(after), SearchCursor.class);
+      } catch (Exception e) {
+        throw new IllegalArgumentException("Invalid search cursor " + after);
+      }
+    }
   }
 
   @GET
@@ -351,10 +493,15 @@ public class SearchResource {
         .fetchSource(new FetchSourceContext(fetchSource, includeSourceFields.toArray(String[]::new), new String[] {}));
     SearchRequest searchRequest = new SearchRequest(index).source(searchSourceBuilder);
 
-    SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
-    Suggest suggest = searchResponse.getSuggest();
-
-    return Response.status(OK).entity(suggest.toString()).build();
+    return searchResponse(
+        index,
+        "suggest",
+        searchSourceBuilder,
+        () -> {
+          SearchResponse searchResponse = client.search(searchRequest, RequestOptions.DEFAULT);
+          Suggest suggest = searchResponse.getSuggest();
+          return suggest.toString();
+        });
   }
 
   @GET
@@ -388,9 +535,80 @@ public class SearchResource {
             AggregationBuilders.terms(fieldName).field(fieldName).size(MAX_AGGREGATE_SIZE).order(BucketOrder.key(true)))
         .size(0);
     searchSourceBuilder.timeout(new TimeValue(30, TimeUnit.SECONDS));
-    String response =
-        client.search(new SearchRequest(index).source(searchSourceBuilder), RequestOptions.DEFAULT).toString();
-    return Response.status(OK).entity(response).build();
+    SearchRequest searchRequest = new SearchRequest(index).source(searchSourceBuilder);
+    return searchResponse(
+        index, "aggregate", searchSourceBuilder, () -> client.search(searchRequest, RequestOptions.DEFAULT).toString());
+  }
+
+  /** Serve the response from the search result cache when it is enabled. */
+  private Response searchResponse(
+      String index, String operation, SearchSourceBuilder searchSourceBuilder, SearchFunction search)
+      throws IOException {
+    SearchResultCache cache = SearchResultCache.getInstance();
+    if (cache == null) {
+      return Response.status(OK).entity(search.search()).build();
+    }
+    byte[] response = cache.get(index, operation + ":" + searchSourceBuilder, search);
+    return Response.status(OK).entity(response).type(MediaType.APPLICATION_JSON_TYPE).build();
+  }
+
+  private SearchSourceBuilder buildSearchSourceBuilder(
+      String index, String query, int from, int size, String queryFilter) {
+    SearchSourceBuilder searchSourceBuilder;
+
+    switch (index) {
+      case "topic_search_index":
+        searchSourceBuilder = buildTopicSearchBuilder(query, from, size);
+        break;
+      case "dashboard_search_index":
+        searchSourceBuilder = buildDashboardSearchBuilder(query, from, size);
+        break;
+      case "pipeline_search_index":
+        searchSourceBuilder = buildPipelineSearchBuilder(query, from, size);
+        break;
+      case "mlmodel_search_index":
+        searchSourceBuilder = buildMlModelSearchBuilder(query, from, size);
+        break;
+      case "table_search_index":
+        searchSourceBuilder = buildTableSearchBuilder(query, from, size);
+        break;
+      case "user_search_index":
+        searchSourceBuilder = buildUserSearchBuilder(query, from, size);
+        break;
+      case "team_search_index":
+        searchSourceBuilder = buildTeamSearchBuilder(query, from, size);
+        break;
+      case "glossary_search_index":
+        searchSourceBuilder = buildGlossaryTermSearchBuilder(query, from, size);
+        break;
+      case "tag_search_index":
+        searchSourceBuilder = buildTagSearchBuilder(query, from, size);
+        break;
+      default:
+        searchSourceBuilder = buildAggregateSearchBuilder(query, from, size);
+        break;
+    }
+
+    if (!nullOrEmpty(queryFilter)) {
+      try {
+        XContentParser filterParser =
+            XContentType.JSON
+                .xContent()
+                .createParser(xContentRegistry, LoggingDeprecationHandler.INSTANCE, queryFilter);
+        QueryBuilder filter = SearchSourceBuilder.fromXContent(filterParser).query();
+        BoolQueryBuilder newQuery = QueryBuilders.boolQuery().must(searchSourceBuilder.query()).filter(filter);
+        searchSourceBuilder.query(newQuery);
+      } catch (Exception ex) {
+        LOG.warn("Error parsing query_filter from query parameters, ignoring filter", ex);
+      }
+    }
+
+    return searchSourceBuilder;
+  }
+
+  private void addDeletedFilter(SearchSourceBuilder searchSourceBuilder, boolean deleted) {
+    searchSourceBuilder.query(
+        QueryBuilders.boolQuery().must(searchSourceBuilder.query()).must(QueryBuilders.termQuery("deleted", deleted)));
   }
 
   private SearchSourceBuilder buildAggregateSearchBuilder(String query, int from, int size) {
@@ -0,0 +1,188 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.resources.search;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.service.configuration.elasticsearch.ElasticSearchConfiguration;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Caches the serialized ElasticSearch responses of search, suggest and aggregate queries. The landing and explore pages
+ * repeat the same queries and aggregations many times, and serving them from this cache avoids a round trip to
+ * ElasticSearch and the re-serialization of the response.
+ *
+ * <p>Entries are keyed by the index and the normalized search request. They expire after a short TTL. Each index has a
+ * generation that is incremented when it is written to, and each entry records the generation of the indexes its query
+ * reads from as of before the search was run. An entry whose generation is behind is stale and is searched again, so
+ * a write costs an increment instead of a scan of the cache, and a search running while the index is written can't
+ * cache a result that would outlive the write. Queries on aliases, wildcards or any other index name not managed by
+ * OpenMetadata could read from any index, and are stale after any write.
+ */
+@Slf4j
+public class SearchResultCache {
+  private static final Set<String> KNOWN_INDEXES =
+      Arrays.stream(ElasticSearchIndexType.values()).map(type -> type.indexName).collect(Collectors.toSet());
+  private static volatile SearchResultCache INSTANCE;
+
+  private final Cache<SearchCacheKey, CachedResponse> cache;
+  private final Map<String, AtomicLong> generations = new HashMap<>();
+  private final AtomicLong writes = new AtomicLong(); // Generation of the queries on indexes not in KNOWN_INDEXES
+
+  public SearchResultCache(long maxSizeInMegaBytes, long ttlInSeconds) {
+    cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeInMegaBytes * 1024 * 1024)
+            .weigher(
+                (SearchCacheKey key, CachedResponse cached) -> key.getRequest().length() + cached.response.length)
+            .expireAfterWrite(ttlInSeconds, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    for (String index : KNOWN_INDEXES) {
+      generations.put(index, new AtomicLong());
+    }
+  }
+
+  // Expected to be called only once from the SearchResource during initialization
+  public static void initialize(ElasticSearchConfiguration config) {
+    if (INSTANCE != null) {
+      return;
+    }
+    Integer maxSize = config.getSearchResultCacheSizeMB();
+    Integer ttl = config.getSearchResultCacheTtlSecs();
+    if (maxSize == null || maxSize <= 0 || ttl == null || ttl <= 0) {
+      LOG.info("Search result cache is disabled");
+      return;
+    }
+    INSTANCE = new SearchResultCache(maxSize, ttl);
+    if (MicrometerBundleSingleton.prometheusMeterRegistry != null) {
+      GuavaCacheMetrics.monitor(MicrometerBundleSingleton.prometheusMeterRegistry, INSTANCE.cache, "search_results");
+    }
+  }
+
+  /** Returns the cache when it is enabled, null otherwise */
+  public static SearchResultCache getInstance() {
+    return INSTANCE;
+  }
+
+  /** Invalidate the cached responses of the queries that could have read from the given index */
+  public static void invalidateIndex(String index) {
+    if (INSTANCE != null) {
+      INSTANCE.invalidate(index);
+    }
+  }
+
+  /**
+   * Return the serialized response for the request from the cache. On a miss, the search is run once for all the
+   * concurrent callers of the same request and its response is cached.
+   */
+  public byte[] get(String index, String request, SearchFunction search) throws IOException {
+    SearchCacheKey key = new SearchCacheKey(index, request);
+    long generation = generation(key);
+    CachedResponse cached = cache.getIfPresent(key);
+    if (cached != null) {
+      if (cached.generation == generation) {
+        return cached.response;
+      }
+      cache.asMap().remove(key, cached);
+    }
+    try {
+      return cache.get(key, () -> new CachedResponse(generation, search.search().getBytes(StandardCharsets.UTF_8)))
+          .response;
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      }
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw new IOException(ex.getCause());
+    }
+  }
+
+  public void invalidate(String index) {
+    AtomicLong generation = generations.get(index);
+    if (generation != null) {
+      generation.incrementAndGet();
+    }
+    writes.incrementAndGet();
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Generation of the indexes a query reads from. Generations only increase, so the sum of the generations of the
+   * indexes named by the query increases with any write to one of them.
+   */
+  private long generation(SearchCacheKey key) {
+    long generation = 0;
+    for (String queryIndex : key.getIndex().split(",")) {
+      AtomicLong indexGeneration = generations.get(queryIndex.trim());
+      if (indexGeneration == null) {
+        return writes.get();
+      }
+      generation += indexGeneration.get();
+    }
+    return generation;
+  }
+
+  @FunctionalInterface
+  public interface SearchFunction {
+    String search() throws IOException;
+  }
+
+  @Getter
+  @EqualsAndHashCode
+  static class SearchCacheKey {
+    private final String index;
+    private final String request;
+
+    SearchCacheKey(String index, String request) {
+      this.index = index;
+      this.request = request;
+    }
+  }
+
+  private static class CachedResponse {
+    private final long generation;
+    private final byte[] response;
+
+    CachedResponse(long generation, byte[] response) {
+      this.generation = generation;
+      this.response = response;
+    }
+  }
+}
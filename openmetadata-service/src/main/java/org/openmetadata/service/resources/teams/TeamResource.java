@@ -139,10 +139,18 @@ public class TeamResource extends EntityResource<Team, TeamRepository> {
               description = "Filter the results by whether the team can be joined by any user or not",
               schema = @Schema(type = "boolean"))
           @QueryParam("isJoinable")
-          Boolean isJoinable)
+          Boolean isJoinable,
+      @Parameter(
+              description = "List the hierarchy under the team with this name instead of the organization",
+              schema = @Schema(type = "string"))
+          @QueryParam("parentTeam")
+          String parentTeam,
+      @Parameter(description = "Limit the number of levels of teams listed", schema = @Schema(type = "integer"))
+          @Min(1)
+          @QueryParam("depth")
+          Integer depth)
       throws IOException {
-    ListFilter filter = new ListFilter(Include.NON_DELETED);
-    return new ResultList<>(dao.listHierarchy(filter, limitParam, isJoinable));
+    return new ResultList<>(dao.listHierarchy(parentTeam, depth, limitParam, isJoinable));
   }
 
   @GET
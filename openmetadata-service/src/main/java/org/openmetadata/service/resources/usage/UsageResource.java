@@ -37,6 +37,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.type.BulkUsage;
 import org.openmetadata.schema.type.DailyCount;
 import org.openmetadata.schema.type.EntityUsage;
 import org.openmetadata.service.Entity;
@@ -278,6 +279,27 @@ public class UsageResource {
     return dao.createOrUpdateByName(entity, fullyQualifiedName, usage).toResponse();
   }
 
+  @POST
+  @Path("/bulk")
+  @Operation(
+      operationId = "reportBulkEntityUsage",
+      summary = "Report usage of many entities",
+      tags = "usage",
+      description =
+          "Report usage information of many entities of a type on a given date in a single request. Percentiles "
+              + "are computed for the given date once the usage is recorded. Usage reported again for an entity "
+              + "on the same date is added to its previous count.",
+      responses = {
+        @ApiResponse(responseCode = "201", description = "Usage recorded"),
+        @ApiResponse(responseCode = "400", description = "Bad request")
+      })
+  public Response createBulk(
+      @Context UriInfo uriInfo,
+      @Parameter(description = "Usage information of the entities on a given date") @Valid BulkUsage usage) {
+    dao.createBulk(usage);
+    return Response.status(Response.Status.CREATED).build();
+  }
+
   @POST
   @Path("/compute.percentile/{entity}/{date}")
   @Operation(
@@ -62,6 +62,7 @@ public class RoleCache {
   public void invalidateRole(UUID roleId) {
     try {
       ROLE_CACHE.invalidate(roleId);
+      SubjectCache.invalidatePolicies(); // Policies materialized from the role
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for role {}", roleId, ex);
     }
@@ -18,15 +18,22 @@ import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Stack;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.CheckForNull;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +44,9 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.TeamRepository;
 import org.openmetadata.service.jdbi3.UserRepository;
+import org.openmetadata.service.security.policyevaluator.SubjectContext.PolicyContext;
+import org.openmetadata.service.security.policyevaluator.SubjectContext.PolicyIterator;
+import org.openmetadata.service.security.policyevaluator.SubjectContext.RolePolicyIterator;
 import org.openmetadata.service.util.EntityUtil.Fields;
 
 /** Subject context used for Access Control Policies */
@@ -47,6 +57,9 @@ public class SubjectCache {
   protected static LoadingCache<String, SubjectContext> USER_CACHE;
   protected static LoadingCache<UUID, SubjectContext> USER_CACHE_WIH_ID;
   protected static LoadingCache<UUID, Team> TEAM_CACHE;
+  protected static LoadingCache<UUID, TeamClosure> TEAM_CLOSURE_CACHE;
+  protected static LoadingCache<UUID, List<PolicyContext>> TEAM_POLICIES_CACHE;
+  private static final AtomicLong GENERATION = new AtomicLong();
   protected static UserRepository USER_REPOSITORY;
   protected static Fields USER_FIELDS;
   protected static TeamRepository TEAM_REPOSITORY;
@@ -64,6 +77,16 @@ public class SubjectCache {
               .build(new UserLoaderWithId());
       TEAM_CACHE =
           CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new TeamLoader());
+      TEAM_CLOSURE_CACHE =
+          CacheBuilder.newBuilder()
+              .maximumSize(1000)
+              .expireAfterWrite(3, TimeUnit.MINUTES)
+              .build(new TeamClosureLoader());
+      TEAM_POLICIES_CACHE =
+          CacheBuilder.newBuilder()
+              .maximumSize(1000)
+              .expireAfterWrite(3, TimeUnit.MINUTES)
+              .build(new TeamPoliciesLoader());
       USER_REPOSITORY = (UserRepository) Entity.getEntityRepository(Entity.USER);
       USER_FIELDS = USER_REPOSITORY.getFields("roles, teams, isAdmin");
       TEAM_REPOSITORY = (TeamRepository) Entity.getEntityRepository(Entity.TEAM);
@@ -104,30 +127,87 @@ public class SubjectCache {
     }
   }
 
+  /** Returns the team and all its ancestors, or null if the team is not found */
+  public TeamClosure getTeamClosure(UUID teamId) {
+    try {
+      return TEAM_CLOSURE_CACHE.get(teamId);
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      return null;
+    }
+  }
+
   /** Return true if given list of teams is part of the hierarchy of parentTeam */
   public boolean isInTeam(String parentTeam, List<EntityReference> teams) {
-    Stack<EntityReference> stack = new Stack<>();
-    listOrEmpty(teams).forEach(stack::push);
-    while (!stack.empty()) {
-      Team parent = getTeam(stack.pop().getId());
-      if (parent.getName().equals(parentTeam)) {
+    for (EntityReference team : listOrEmpty(teams)) {
+      TeamClosure closure = getTeamClosure(team.getId());
+      if (closure != null && closure.contains(parentTeam)) {
         return true;
       }
-      listOrEmpty(parent.getParents()).forEach(stack::push);
     }
     return false;
   }
 
+  /**
+   * Returns the policies of the given teams and their ancestors, in the order they are inherited. Each team is visited
+   * once, even when it is an ancestor of several of the teams.
+   */
+  public List<PolicyContext> getTeamPolicies(List<EntityReference> teams) {
+    if (listOrEmpty(teams).size() == 1) {
+      return getTeamPolicies(teams.get(0).getId());
+    }
+    List<PolicyContext> policies = new ArrayList<>();
+    Set<UUID> teamsVisited = new HashSet<>();
+    for (EntityReference team : listOrEmpty(teams)) {
+      TeamClosure closure = getTeamClosure(team.getId());
+      for (UUID teamId : closure == null ? Set.<UUID>of() : closure.getTeamIds()) {
+        if (teamsVisited.add(teamId)) {
+          addPolicies(getTeam(teamId), policies);
+        }
+      }
+    }
+    return policies;
+  }
+
+  /** Returns the policies of the team and its ancestors, in the order they are inherited */
+  public List<PolicyContext> getTeamPolicies(UUID teamId) {
+    try {
+      return TEAM_POLICIES_CACHE.get(teamId);
+    } catch (ExecutionException | UncheckedExecutionException ex) {
+      return List.of();
+    }
+  }
+
+  /**
+   * Generation of the team hierarchy and the roles cached. It changes when they are updated, and the policies
+   * materialized from them are then computed again.
+   */
+  public static long getGeneration() {
+    return GENERATION.get();
+  }
+
+  /** Discard the policies materialized from the team hierarchy and the roles, when a team or a role changes */
+  public static void invalidatePolicies() {
+    GENERATION.incrementAndGet();
+    if (INITIALIZED) {
+      TEAM_CLOSURE_CACHE.invalidateAll();
+      TEAM_POLICIES_CACHE.invalidateAll();
+    }
+  }
+
   public static void cleanUp() {
     LOG.info("Subject cache is cleaned up");
     USER_CACHE.invalidateAll();
+    USER_CACHE_WIH_ID.invalidateAll();
     TEAM_CACHE.invalidateAll();
+    TEAM_CLOSURE_CACHE.invalidateAll();
+    TEAM_POLICIES_CACHE.invalidateAll();
     INITIALIZED = false;
   }
 
   public void invalidateUser(String userName) {
     try {
       USER_CACHE.invalidate(userName);
+      USER_CACHE_WIH_ID.asMap().values().removeIf(subject -> subject.getUser().getName().equals(userName));
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for user {}", userName, ex);
     }
@@ -136,21 +216,62 @@ public class SubjectCache {
   public void invalidateTeam(UUID teamId) {
     try {
       TEAM_CACHE.invalidate(teamId);
+      // The closures of the descendants of the team and the policies they inherit may have changed as well
+      invalidatePolicies();
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for team {}", teamId, ex);
     }
   }
 
   public List<EntityReference> getRolesForTeams(List<EntityReference> teams) {
-    List<EntityReference> roles = new ArrayList<>();
+    Set<EntityReference> roles = new LinkedHashSet<>();
+    Set<UUID> teamsVisited = new HashSet<>();
     for (EntityReference teamRef : listOrEmpty(teams)) {
-      Team team = getTeam(teamRef.getId());
-      if (team != null) {
-        roles.addAll(team.getDefaultRoles());
-        roles.addAll(getRolesForTeams(team.getParents()));
+      TeamClosure closure = getTeamClosure(teamRef.getId());
+      for (UUID teamId : closure == null ? Set.<UUID>of() : closure.getTeamIds()) {
+        Team team = teamsVisited.add(teamId) ? getTeam(teamId) : null;
+        if (team != null) {
+          roles.addAll(listOrEmpty(team.getDefaultRoles()));
+        }
       }
     }
-    return roles.stream().distinct().collect(Collectors.toList());
+    return new ArrayList<>(roles);
+  }
+
+  /** Add the policies of the default roles of the team followed by the policies of the team */
+  private static void addPolicies(Team team, List<PolicyContext> policies) {
+    if (team == null) {
+      return;
+    }
+    if (team.getDefaultRoles() != null) {
+      new RolePolicyIterator(Entity.TEAM, team.getName(), team.getDefaultRoles()).forEachRemaining(policies::add);
+    }
+    if (team.getPolicies() != null) {
+      new PolicyIterator(Entity.TEAM, team.getName(), null, team.getPolicies()).forEachRemaining(policies::add);
+    }
+  }
+
+  /** A team and all its ancestors up to the organization, in the order their policies are inherited */
+  public static class TeamClosure {
+    private final Map<UUID, String> teams;
+    private final Set<String> teamNames;
+
+    TeamClosure(Map<UUID, String> teams) {
+      this.teams = ImmutableMap.copyOf(teams);
+      this.teamNames = ImmutableSet.copyOf(teams.values());
+    }
+
+    public Set<UUID> getTeamIds() {
+      return teams.keySet();
+    }
+
+    public Set<String> getTeamNames() {
+      return teamNames;
+    }
+
+    public boolean contains(String teamName) {
+      return teamNames.contains(teamName);
+    }
   }
 
   static class UserLoader extends CacheLoader<String, SubjectContext> {
@@ -179,4 +300,29 @@ public class SubjectCache {
       return team;
     }
   }
+
+  /** Builds the closure of a team from the closures of its parents, so that each closure is computed once */
+  static class TeamClosureLoader extends CacheLoader<UUID, TeamClosure> {
+    @Override
+    public TeamClosure load(@NonNull UUID teamId) throws ExecutionException {
+      Team team = TEAM_CACHE.get(teamId);
+      Map<UUID, String> teams = new LinkedHashMap<>();
+      teams.put(team.getId(), team.getName());
+      for (EntityReference parent : listOrEmpty(team.getParents())) {
+        TEAM_CLOSURE_CACHE.get(parent.getId()).teams.forEach(teams::putIfAbsent);
+      }
+      return new TeamClosure(teams);
+    }
+  }
+
+  static class TeamPoliciesLoader extends CacheLoader<UUID, List<PolicyContext>> {
+    @Override
+    public List<PolicyContext> load(@NonNull UUID teamId) throws ExecutionException {
+      List<PolicyContext> policies = new ArrayList<>();
+      for (UUID id : TEAM_CLOSURE_CACHE.get(teamId).getTeamIds()) {
+        addPolicies(TEAM_CACHE.get(id), policies);
+      }
+      return ImmutableList.copyOf(policies);
+    }
+  }
 }
@@ -17,13 +17,14 @@ import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import org.openmetadata.schema.entity.teams.Team;
 import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.service.Entity;
@@ -32,6 +33,7 @@ import org.openmetadata.service.Entity;
 @Slf4j
 public class SubjectContext {
   @Getter protected final User user;
+  private volatile EffectivePolicies effectivePolicies;
 
   protected SubjectContext(User user) {
     this.user = user;
@@ -64,7 +66,7 @@ public class SubjectContext {
 
   /** Returns true if the user of this SubjectContext is under the team hierarchy of parentTeam */
   public boolean isUserUnderTeam(String parentTeam) {
-    return isInTeam(parentTeam, user.getTeams());
+    return getEffectivePolicies().teams.contains(parentTeam);
   }
 
   /** Returns true if the user of this SubjectContext is under the team hierarchy of parentTeam */
@@ -74,8 +76,7 @@ public class SubjectContext {
       SubjectContext subjectContext = SubjectCache.getInstance().getSubjectContext(owner.getName());
       return subjectContext.isUserUnderTeam(parentTeam);
     } else if (owner.getType().equals(Entity.TEAM)) {
-      Team team = SubjectCache.getInstance().getTeam(owner.getId());
-      return isInTeam(parentTeam, List.of(team.getEntityReference()));
+      return isInTeam(parentTeam, List.of(owner));
     }
     return false;
   }
@@ -87,7 +88,7 @@ public class SubjectContext {
 
   // Iterate over all the policies of the team hierarchy the user belongs to
   public Iterator<PolicyContext> getPolicies() {
-    return new UserPolicyIterator(user, new ArrayList<>());
+    return getEffectivePolicies().policies.iterator();
   }
 
   // Iterate over all the policies of the team hierarchy the resource belongs to
@@ -96,9 +97,7 @@ public class SubjectContext {
       SubjectContext subjectContext = SubjectCache.getInstance().getSubjectContext(owner.getName());
       return subjectContext.getPolicies();
     } else if (owner.getType().equals(Entity.TEAM)) {
-      Team team = SubjectCache.getInstance().getTeam(owner.getId());
-      List<UUID> teamsVisited = new ArrayList<>();
-      return new TeamPolicyIterator(team.getId(), teamsVisited);
+      return SubjectCache.getInstance().getTeamPolicies(owner.getId()).iterator();
     }
     return Collections.emptyIterator();
   }
@@ -107,20 +106,63 @@ public class SubjectContext {
     return user.getTeams();
   }
 
+  /** Policies and team hierarchy of the user, materialized once per generation of the subject cache */
+  private EffectivePolicies getEffectivePolicies() {
+    long generation = SubjectCache.getGeneration();
+    EffectivePolicies effective = effectivePolicies;
+    if (effective == null || effective.generation != generation) {
+      effective = new EffectivePolicies(generation, user);
+      effectivePolicies = effective;
+    }
+    return effective;
+  }
+
+  /**
+   * The policies of a user are the policies of the user roles, followed by the policies of the teams the user belongs
+   * to and of their ancestors. Note that ** Bots don't inherit policies or default roles from teams **
+   */
+  private static class EffectivePolicies {
+    private final long generation;
+    private final List<PolicyContext> policies = new ArrayList<>();
+    private final Set<String> teams = new HashSet<>();
+
+    EffectivePolicies(long generation, User user) {
+      this.generation = generation;
+      SubjectCache subjectCache = SubjectCache.getInstance();
+      if (user.getRoles() != null) {
+        new RolePolicyIterator(Entity.USER, user.getName(), user.getRoles()).forEachRemaining(policies::add);
+      }
+      if (!Boolean.TRUE.equals(user.getIsBot())) {
+        policies.addAll(subjectCache.getTeamPolicies(user.getTeams()));
+      }
+      for (EntityReference team : listOrEmpty(user.getTeams())) {
+        SubjectCache.TeamClosure closure = subjectCache.getTeamClosure(team.getId());
+        if (closure != null) {
+          teams.addAll(closure.getTeamNames());
+        }
+      }
+    }
+  }
+
   @Getter
   static class PolicyContext {
     private final String entityType;
     private final String entityName;
     private final String roleName;
     private final String policyName;
-    private final List<CompiledRule> rules;
+    private final UUID policyId;
 
-    PolicyContext(String entityType, String entityName, String role, String policy, List<CompiledRule> rules) {
+    PolicyContext(String entityType, String entityName, String role, String policy, UUID policyId) {
       this.entityType = entityType;
       this.entityName = entityName;
       this.roleName = role;
       this.policyName = policy;
-      this.rules = rules;
+      this.policyId = policyId;
+    }
+
+    /** Rules are looked up on each use, as policy contexts outlive the updates of their policy */
+    public List<CompiledRule> getRules() {
+      return PolicyCache.getInstance().getPolicyRules(policyId);
     }
   }
 
@@ -154,8 +196,7 @@ public class SubjectContext {
         throw new NoSuchElementException();
       }
       EntityReference policy = policies.get(policyIndex++);
-      return new PolicyContext(
-          entityType, entityName, roleName, policy.getName(), PolicyCache.getInstance().getPolicyRules(policy.getId()));
+      return new PolicyContext(entityType, entityName, roleName, policy.getName(), policy.getId());
     }
   }
 
@@ -196,100 +237,4 @@ public class SubjectContext {
       return policyIterators.get(iteratorIndex).next();
     }
   }
-
-  /**
-   * A class that allows iterating over policies of a user using iterator of iterators. For a user, the policies in user
-   * roles are visited one by one, followed by policies in the teams that a user belongs to.
-   */
-  static class UserPolicyIterator implements Iterator<PolicyContext> {
-    private final User user;
-    private int iteratorIndex = 0;
-    private final List<Iterator<PolicyContext>> iterators = new ArrayList<>();
-
-    /** Policy iterator for a user */
-    UserPolicyIterator(User user, List<UUID> teamsVisited) {
-      this.user = user;
-
-      // Iterate over policies in user role
-      if (user.getRoles() != null) {
-        iterators.add(new RolePolicyIterator(Entity.USER, user.getName(), user.getRoles()));
-      }
-
-      if (!Boolean.TRUE.equals(user.getIsBot())) {
-        // Finally, iterate over policies of teams to which the user belongs to
-        // Note that ** Bots don't inherit policies or default roles from teams **
-        for (EntityReference team : user.getTeams()) {
-          iterators.add(new TeamPolicyIterator(team.getId(), teamsVisited));
-        }
-      }
-    }
-
-    @Override
-    public boolean hasNext() {
-      while (iteratorIndex < iterators.size()) {
-        if (iterators.get(iteratorIndex).hasNext()) {
-          return true;
-        }
-        iteratorIndex++;
-      }
-      LOG.debug("Subject {} policy iteration done" + user.getName());
-      return false;
-    }
-
-    @Override
-    public PolicyContext next() {
-      if (!hasNext()) {
-        throw new NoSuchElementException();
-      }
-      return iterators.get(iteratorIndex).next();
-    }
-  }
-
-  /**
-   * A class that allows iterating over policies of a team using iterator of iterators. For a team, the policies in team
-   * roles are visited one by one, followed by the policies in the parent teams.
-   */
-  static class TeamPolicyIterator implements Iterator<PolicyContext> {
-    private int iteratorIndex = 0;
-    private final List<Iterator<PolicyContext>> iterators = new ArrayList<>();
-
-    /** Policy iterator for a team */
-    TeamPolicyIterator(UUID teamId, List<UUID> teamsVisited) {
-      Team team = SubjectCache.getInstance().getTeam(teamId);
-
-      // If a team is already visited (because user can belong to multiple teams
-      // and a team can belong to multiple teams) then don't visit the roles/policies of that team
-      if (!teamsVisited.contains(teamId)) {
-        teamsVisited.add(teamId);
-        if (team.getDefaultRoles() != null) {
-          iterators.add(new RolePolicyIterator(Entity.TEAM, team.getName(), team.getDefaultRoles()));
-        }
-        if (team.getPolicies() != null) {
-          iterators.add(new PolicyIterator(Entity.TEAM, team.getName(), null, team.getPolicies()));
-        }
-        for (EntityReference parentTeam : listOrEmpty(team.getParents())) {
-          iterators.add(new TeamPolicyIterator(parentTeam.getId(), teamsVisited));
-        }
-      }
-    }
-
-    @Override
-    public boolean hasNext() {
-      while (iteratorIndex < iterators.size()) {
-        if (iterators.get(iteratorIndex).hasNext()) {
-          return true;
-        }
-        iteratorIndex++;
-      }
-      return false;
-    }
-
-    @Override
-    public PolicyContext next() {
-      if (!hasNext()) {
-        throw new NoSuchElementException();
-      }
-      return iterators.get(iteratorIndex).next();
-    }
-  }
 }
@@ -28,7 +28,7 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -42,7 +42,6 @@ import javax.json.JsonValue;
 import javax.json.JsonValue.ValueType;
 import javax.json.stream.JsonParsingException;
 import org.apache.commons.lang.StringUtils;
-import org.bitbucket.cowwoc.diffmatchpatch.DiffMatchPatch;
 import org.openmetadata.common.utils.CommonUtil;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.dataInsight.kpi.Kpi;
@@ -73,6 +72,7 @@ public final class ChangeEventParser {
   public static final String FEED_SPAN_CLOSE = "</span>";
   public static final String FEED_LINE_BREAK = " <br/> ";
   public static final String SLACK_LINE_BREAK = "\n";
+  public static final int MAX_DIGEST_GROUPS = 50;
 
   private ChangeEventParser() {}
 
@@ -295,6 +295,122 @@ public final class ChangeEventParser {
     return gChatMessage;
   }
 
+  /**
+   * Digest messages are built from the groups of events of a coalescing window, each group holding the events of an
+   * entity with the same change type and owner. A digest lists at most {@link #MAX_DIGEST_GROUPS} groups, with the
+   * changes of their events.
+   */
+  public static SlackMessage buildSlackDigest(List<List<ChangeEvent>> groups) {
+    SlackMessage slackMessage = new SlackMessage();
+    slackMessage.setText(getDigestTitle(groups));
+    List<SlackAttachment> attachmentList = new ArrayList<>();
+    for (List<ChangeEvent> group : getDigestGroups(groups)) {
+      SlackAttachment attachment = new SlackAttachment();
+      attachment.setMarkdownIn(List.of("text"));
+      attachment.setTitle(getDigestLine(PUBLISH_TO.SLACK, group));
+      attachment.setText(String.join(SLACK_LINE_BREAK, getDigestChanges(PUBLISH_TO.SLACK, group)));
+      attachmentList.add(attachment);
+    }
+    slackMessage.setAttachments(attachmentList.toArray(new SlackAttachment[0]));
+    return slackMessage;
+  }
+
+  public static EmailMessage buildEmailDigest(List<List<ChangeEvent>> groups) {
+    EmailMessage emailMessage = new EmailMessage();
+    emailMessage.setUpdatedBy(getDigestUsers(groups.stream().flatMap(List::stream).collect(Collectors.toList())));
+    emailMessage.setEntityUrl(getDigestTitle(groups));
+    List<String> changeMessage = new ArrayList<>();
+    for (List<ChangeEvent> group : getDigestGroups(groups)) {
+      changeMessage.add(getDigestLine(PUBLISH_TO.EMAIL, group));
+      changeMessage.addAll(getDigestChanges(PUBLISH_TO.SLACK, group));
+    }
+    emailMessage.setChangeMessage(changeMessage);
+    return emailMessage;
+  }
+
+  public static TeamsMessage buildTeamsDigest(List<List<ChangeEvent>> groups) {
+    TeamsMessage teamsMessage = new TeamsMessage();
+    teamsMessage.setSummary(getDigestTitle(groups));
+    List<TeamsMessage.Section> sections = new ArrayList<>();
+    for (List<ChangeEvent> group : getDigestGroups(groups)) {
+      TeamsMessage.Section section = new TeamsMessage.Section();
+      section.setActivityTitle(getDigestLine(PUBLISH_TO.TEAMS, group));
+      section.setActivityText(String.join(FEED_LINE_BREAK, getDigestChanges(PUBLISH_TO.TEAMS, group)));
+      sections.add(section);
+    }
+    teamsMessage.setSections(sections);
+    return teamsMessage;
+  }
+
+  public static GChatMessage buildGChatDigest(List<List<ChangeEvent>> groups) {
+    GChatMessage gChatMessage = new GChatMessage();
+    gChatMessage.setText(getDigestTitle(groups));
+    List<GChatMessage.Widget> widgets = new ArrayList<>();
+    for (List<ChangeEvent> group : getDigestGroups(groups)) {
+      List<String> lines = new ArrayList<>();
+      lines.add(getDigestLine(PUBLISH_TO.GCHAT, group));
+      lines.addAll(getDigestChanges(PUBLISH_TO.GCHAT, group));
+      GChatMessage.Widget widget = new GChatMessage.Widget();
+      widget.setTextParagraph(new GChatMessage.TextParagraph(String.join(FEED_LINE_BREAK, lines)));
+      widgets.add(widget);
+    }
+    GChatMessage.Section section = new GChatMessage.Section();
+    section.setWidgets(widgets);
+    GChatMessage.CardHeader cardHeader = new GChatMessage.CardHeader();
+    cardHeader.setTitle(getDigestTitle(groups));
+    GChatMessage.Card card = new GChatMessage.Card();
+    card.setHeader(cardHeader);
+    card.setSections(List.of(section));
+    GChatMessage.CardsV2 cardsV2 = new GChatMessage.CardsV2();
+    cardsV2.setCard(card);
+    gChatMessage.setCardsV2(List.of(cardsV2));
+    return gChatMessage;
+  }
+
+  private static String getDigestTitle(List<List<ChangeEvent>> groups) {
+    int events = groups.stream().mapToInt(List::size).sum();
+    String title = String.format("%d changes on %d entities", events, groups.size());
+    if (groups.size() > MAX_DIGEST_GROUPS) {
+      title += String.format(", the first %d are listed", MAX_DIGEST_GROUPS);
+    }
+    return title;
+  }
+
+  private static List<List<ChangeEvent>> getDigestGroups(List<List<ChangeEvent>> groups) {
+    return groups.size() > MAX_DIGEST_GROUPS ? groups.subList(0, MAX_DIGEST_GROUPS) : groups;
+  }
+
+  private static String getDigestUsers(List<ChangeEvent> events) {
+    return events.stream()
+        .map(ChangeEvent::getUserName)
+        .filter(Objects::nonNull)
+        .distinct()
+        .collect(Collectors.joining(", "));
+  }
+
+  private static String getDigestLine(PUBLISH_TO publishTo, List<ChangeEvent> group) {
+    ChangeEvent event = group.get(group.size() - 1);
+    String entity = event.getEntity() != null ? getEntityUrl(publishTo, event) : "";
+    if (entity.isEmpty()) {
+      entity = event.getEntityFullyQualifiedName();
+    }
+    String users = getDigestUsers(group);
+    String line = String.format("%s %s %s %s", users, event.getEventType().value(), event.getEntityType(), entity);
+    return group.size() > 1 ? String.format("%s (%d changes)", line, group.size()) : line;
+  }
+
+  private static List<String> getDigestChanges(PUBLISH_TO publishTo, List<ChangeEvent> group) {
+    Set<String> changes = new LinkedHashSet<>();
+    for (ChangeEvent event : group) {
+      if (event.getEntity() != null && event.getChangeDescription() != null) {
+        changes.addAll(
+            getFormattedMessages(publishTo, event.getChangeDescription(), (EntityInterface) event.getEntity())
+                .values());
+      }
+    }
+    return new ArrayList<>(changes);
+  }
+
   public static Map<EntityLink, String> getFormattedMessages(
       PUBLISH_TO publishTo, ChangeDescription changeDescription, EntityInterface entity) {
     // Store a map of entityLink -> message
@@ -505,6 +621,10 @@ public final class ChangeEventParser {
 
   private static String getPlainTextUpdateMessage(
       PUBLISH_TO publishTo, String updatedField, String oldValue, String newValue) {
+    if (TextDiff.isOverBudget(oldValue, newValue)) {
+      // Too long to diff while the change is written, such as large descriptions
+      return String.format(String.format("Updated %s", getBold(publishTo)), updatedField);
+    }
     // Get diff of old value and new value
     String diff = getPlaintextDiff(publishTo, oldValue, newValue);
     if (nullOrEmpty(diff)) {
@@ -522,9 +642,11 @@ public final class ChangeEventParser {
     // check if each key's value is the same
     for (String key : keys) {
       if (!newJson.get(key).equals(oldJson.get(key))) {
-        labels.add(
-            String.format(
-                "%s: %s", key, getPlaintextDiff(publishTo, oldJson.get(key).toString(), newJson.get(key).toString())));
+        String oldValue = String.valueOf(oldJson.get(key));
+        String newValue = newJson.get(key).toString();
+        String diff =
+            TextDiff.isOverBudget(oldValue, newValue) ? "updated" : getPlaintextDiff(publishTo, oldValue, newValue);
+        labels.add(String.format("%s: %s", key, diff));
       }
     }
     String updates = String.join(getLineBreak(publishTo), labels);
@@ -644,27 +766,10 @@ public final class ChangeEventParser {
   }
 
   public static String getPlaintextDiff(PUBLISH_TO publishTo, String oldValue, String newValue) {
-    // create a configured DiffRowGenerator
+    // Diff with the additions and removals between markers, bounded in time and size and computed once per change
     String addMarker = FEED_ADD_MARKER;
     String removeMarker = FEED_REMOVE_MARKER;
-
-    DiffMatchPatch dmp = new DiffMatchPatch();
-    LinkedList<DiffMatchPatch.Diff> diffs = dmp.diffMain(oldValue, newValue);
-    dmp.diffCleanupSemantic(diffs);
-    StringBuilder outputStr = new StringBuilder();
-    for (DiffMatchPatch.Diff d : diffs) {
-      if (DiffMatchPatch.Operation.EQUAL.equals(d.operation)) {
-        // merging equal values of both string
-        outputStr.append(d.text.trim());
-      } else if (DiffMatchPatch.Operation.INSERT.equals(d.operation)) {
-        // merging added values with addMarker before and after of new values added
-        outputStr.append(addMarker).append(d.text.trim()).append(addMarker).append(" ");
-      } else {
-        // merging deleted values with removeMarker before and after of old value removed ..
-        outputStr.append(" ").append(removeMarker).append(d.text.trim()).append(removeMarker).append(" ");
-      }
-    }
-    String diff = outputStr.toString().trim();
+    String diff = TextDiff.diff(oldValue, newValue);
     // The additions and removals will be wrapped by <!add> and <!remove> tags
     // Replace them with html tags to render nicely in the UI
     // Example: This is a test <!remove>sentence<!remove><!add>line<!add>
@@ -3,8 +3,18 @@ package org.openmetadata.service.util;
 import static org.openmetadata.schema.analytics.ReportData.ReportDataType.ENTITY_REPORT_DATA;
 import static org.openmetadata.schema.analytics.ReportData.ReportDataType.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA;
 import static org.openmetadata.schema.analytics.ReportData.ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA;
+import static org.openmetadata.service.Entity.DASHBOARD;
+import static org.openmetadata.service.Entity.DASHBOARD_SERVICE;
+import static org.openmetadata.service.Entity.DATABASE_SERVICE;
+import static org.openmetadata.service.Entity.MESSAGING_SERVICE;
+import static org.openmetadata.service.Entity.MLMODEL;
+import static org.openmetadata.service.Entity.MLMODEL_SERVICE;
+import static org.openmetadata.service.Entity.PIPELINE;
+import static org.openmetadata.service.Entity.PIPELINE_SERVICE;
 import static org.openmetadata.service.Entity.TABLE;
 import static org.openmetadata.service.Entity.TEAM;
+import static org.openmetadata.service.Entity.TOPIC;
+import static org.openmetadata.service.Entity.USER;
 import static org.openmetadata.service.resources.elasticsearch.BuildSearchIndexResource.ELASTIC_SEARCH_ENTITY_FQN_BATCH;
 import static org.openmetadata.service.resources.elasticsearch.BuildSearchIndexResource.ELASTIC_SEARCH_EXTENSION;
 
@@ -13,23 +23,33 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.bulk.BackoffPolicy;
 import org.elasticsearch.action.bulk.BulkProcessor;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
@@ -39,21 +59,55 @@ import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.analytics.ReportData;
 import org.openmetadata.schema.api.CreateEventPublisherJob;
 import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.settings.Checkpoint;
 import org.openmetadata.schema.settings.EventPublisherJob;
 import org.openmetadata.schema.settings.FailureDetails;
 import org.openmetadata.schema.settings.Stats;
+import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexFactory;
 import org.openmetadata.service.elasticsearch.ReportDataIndexes;
+import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.resources.elasticsearch.BulkProcessorListener;
+import org.openmetadata.service.resources.elasticsearch.ReindexPartitionListener;
+import org.openmetadata.service.resources.search.SearchResultCache;
 
+/**
+ * Batch reindexing of the entities into ElasticSearch.
+ *
+ * <p>The entities of each type are split into partitions, one per service for the entity types that belong to a
+ * service. Partitions are reindexed in parallel by a pool of workers. Each worker pages through its partition and keeps
+ * adding the pages to its bulk processor while the previous bulks are in flight. The cursor after the last fully
+ * indexed page of each partition is saved in the job record, and a job started with {@code resume} continues from
+ * there.
+ *
+ * <p>When {@code recreateIndex} is set, the entities are indexed into new indexes and the aliases used for search are
+ * swapped to them once all the partitions of an index are done, so search keeps working during the reindex.
+ */
 @Slf4j
 public class ElasticSearchIndexUtil {
+  private static final long CHECKPOINT_INTERVAL_MILLIS = 10_000;
+  private static final int MAX_CHANGE_PASSES = 3;
+  private static final long CHANGE_CLOCK_SKEW_MILLIS = 5_000;
+
+  // Entity types that are partitioned by their service, as the service name is the prefix of their FQN
+  private static final Map<String, String> PARTITION_SERVICES =
+      Map.of(
+          TABLE, DATABASE_SERVICE,
+          TOPIC, MESSAGING_SERVICE,
+          DASHBOARD, DASHBOARD_SERVICE,
+          PIPELINE, PIPELINE_SERVICE,
+          MLMODEL, MLMODEL_SERVICE);
+
+  // Fields removed from the search documents, which are not worth fetching from the database
+  private static final Map<String, List<String>> NON_INDEXED_FIELDS =
+      Map.of(TABLE, List.of("joins", "sampleData", "tableProfile"), USER, List.of("owns", "follows"));
 
   private final CollectionDAO dao;
   private final ExecutorService threadScheduler;
@@ -75,7 +129,7 @@ public class ElasticSearchIndexUtil {
             2, 2, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(5), new ThreadPoolExecutor.CallerRunsPolicy());
   }
 
-  private BulkProcessor getBulkProcessor(BulkProcessorListener listener, int bulkSize, int flushIntervalInSeconds) {
+  private BulkProcessor getBulkProcessor(BulkProcessor.Listener listener, int bulkSize, int flushIntervalInSeconds) {
     BiConsumer<BulkRequest, ActionListener<BulkResponse>> bulkConsumer =
         (request, bulkListener) -> client.bulkAsync(request, RequestOptions.DEFAULT, bulkListener);
     BulkProcessor.Builder builder = BulkProcessor.builder(bulkConsumer, listener, "es-reindex");
@@ -88,29 +142,42 @@ public class ElasticSearchIndexUtil {
 
   public synchronized Response startReindexingBatchMode(
       UriInfo uriInfo, UUID startedBy, CreateEventPublisherJob createRequest) {
-    // create a new Job
-    threadScheduler.submit(
-        () -> {
-          try {
-            this.submitBatchJob(uriInfo, startedBy, createRequest);
-          } catch (IOException e) {
-            LOG.error("Reindexing Batch Job error", e);
-          }
-        });
+    // The job runs on the calling thread when the queue is full, holding this monitor
+    try (VirtualThreads.Pinned ignored = VirtualThreads.pinned("ElasticSearchIndexUtil.startReindexingBatchMode")) {
+      // create a new Job
+      threadScheduler.submit(
+          () -> {
+            try {
+              this.submitBatchJob(uriInfo, startedBy, createRequest);
+            } catch (IOException e) {
+              LOG.error("Reindexing Batch Job error", e);
+            } catch (InterruptedException e) {
+              LOG.error("Reindexing Batch Job interrupted", e);
+              Thread.currentThread().interrupt();
+            }
+          });
+    }
     return Response.status(Response.Status.OK).entity("Reindexing Started").build();
   }
 
   private synchronized void submitBatchJob(UriInfo uriInfo, UUID startedBy, CreateEventPublisherJob createRequest)
-      throws IOException {
+      throws IOException, InterruptedException {
     long updateTime = Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()).getTime();
     String recordString =
         dao.entityExtensionTimeSeriesDao().getExtension(ELASTIC_SEARCH_ENTITY_FQN_BATCH, ELASTIC_SEARCH_EXTENSION);
     EventPublisherJob lastRecord = JsonUtils.readValue(recordString, EventPublisherJob.class);
     long originalLastUpdate = lastRecord.getTimestamp();
+    Map<String, Checkpoint> checkpoints = new LinkedHashMap<>();
+    if (Boolean.TRUE.equals(createRequest.getResume()) && lastRecord.getCheckpoints() != null) {
+      lastRecord.getCheckpoints().forEach(checkpoint -> checkpoints.put(checkpoint.getPartition(), checkpoint));
+    }
     lastRecord.setStatus(EventPublisherJob.Status.STARTING);
     lastRecord.setStats(new Stats().withFailed(0).withTotal(0).withSuccess(0));
     lastRecord.setTimestamp(updateTime);
+    lastRecord.setStartTime(updateTime);
+    lastRecord.setEndTime(null);
     lastRecord.setEntities(createRequest.getEntities());
+    lastRecord.setCheckpoints(new ArrayList<>(checkpoints.values()));
     dao.entityExtensionTimeSeriesDao()
         .update(
             ELASTIC_SEARCH_ENTITY_FQN_BATCH,
@@ -118,18 +185,291 @@ public class ElasticSearchIndexUtil {
             JsonUtils.pojoToJson(lastRecord),
             originalLastUpdate);
 
-    // Update Listener for only Batch
+    // Listener for the stats of the whole job, shared by the partitions
     BulkProcessorListener bulkProcessorListener = new BulkProcessorListener(dao, startedBy);
-    BulkProcessor processor =
-        getBulkProcessor(bulkProcessorListener, createRequest.getBatchSize(), createRequest.getFlushIntervalInSec());
 
+    // Glossaries and glossary terms share an index that is rebuilt once
+    Map<ElasticSearchIndexType, List<String>> entitiesByIndex = new LinkedHashMap<>();
     for (String entityName : createRequest.getEntities()) {
       try {
-        updateEntityBatch(processor, bulkProcessorListener, uriInfo, entityName, createRequest);
+        ElasticSearchIndexType indexType = ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityName);
+        entitiesByIndex.computeIfAbsent(indexType, k -> new ArrayList<>()).add(entityName);
       } catch (Exception ex) {
         LOG.error("Reindexing intermittent failure for entityType : {}", entityName, ex);
       }
     }
+
+    int workers = createRequest.getWorkers() == null ? 4 : Math.max(1, createRequest.getWorkers());
+    ExecutorService reindexWorkers = Executors.newFixedThreadPool(workers);
+    boolean failed = false;
+    try {
+      Map<ElasticSearchIndexType, String> targetIndexes = new LinkedHashMap<>();
+      Map<ElasticSearchIndexType, List<Future<Boolean>>> results = new LinkedHashMap<>();
+      for (Map.Entry<ElasticSearchIndexType, List<String>> entry : entitiesByIndex.entrySet()) {
+        ElasticSearchIndexType indexType = entry.getKey();
+        List<Future<Boolean>> indexResults = new ArrayList<>();
+        try {
+          String targetIndex = getTargetIndex(indexType, entry.getValue(), checkpoints, createRequest);
+          targetIndexes.put(indexType, targetIndex);
+          for (String entityType : entry.getValue()) {
+            for (Checkpoint partition : getPartitions(entityType, targetIndex, checkpoints)) {
+              indexResults.add(
+                  reindexWorkers.submit(
+                      () ->
+                          reindexPartition(
+                              uriInfo, entityType, indexType, partition, bulkProcessorListener, createRequest)));
+            }
+          }
+        } catch (Exception ex) {
+          LOG.error("Reindexing intermittent failure for index : {}", indexType.indexName, ex);
+          indexResults.add(CompletableFuture.completedFuture(false));
+        }
+        results.put(indexType, indexResults);
+      }
+
+      for (Map.Entry<ElasticSearchIndexType, List<Future<Boolean>>> entry : results.entrySet()) {
+        boolean indexed = true;
+        for (Future<Boolean> result : entry.getValue()) {
+          indexed &= getResult(result);
+        }
+        failed |= !indexed;
+        ElasticSearchIndexType indexType = entry.getKey();
+        String targetIndex = targetIndexes.get(indexType);
+        if (indexed && targetIndex != null && !targetIndex.equals(indexType.indexName)) {
+          // All the partitions of the new index are done, start serving searches from it
+          indexed = indexChanges(uriInfo, indexType, entitiesByIndex.get(indexType), targetIndex, createRequest);
+          failed |= !indexed;
+          if (indexed) {
+            elasticSearchIndexDefinition.swapIndexAlias(indexType, targetIndex);
+          }
+        }
+        SearchResultCache.invalidateIndex(indexType.indexName);
+      }
+    } finally {
+      reindexWorkers.shutdown();
+    }
+
+    if (!failed) {
+      // Nothing to resume from once the job completed
+      bulkProcessorListener.clearCheckpoints();
+    }
+    bulkProcessorListener.updateElasticSearchStatus(
+        failed ? EventPublisherJob.Status.ACTIVE_WITH_ERROR : EventPublisherJob.Status.COMPLETED,
+        null,
+        bulkProcessorListener.getStats());
+  }
+
+  private boolean getResult(Future<Boolean> result) throws InterruptedException {
+    try {
+      return result.get();
+    } catch (ExecutionException ex) {
+      LOG.error("Reindexing partition failed", ex.getCause());
+      return false;
+    }
+  }
+
+  /**
+   * Index into the new index the entities changed since it was created. The event publisher writes the changes to the
+   * index used for search only, so the changes made while the new index was built would be lost when the alias is
+   * swapped to it. The changes are read from the change events, and the entities are indexed again as they are now, or
+   * deleted from the new index when they don't exist anymore. Passes are repeated until they find no more changes, to
+   * narrow the window before the swap. Returns true when all the changes are indexed.
+   */
+  private boolean indexChanges(
+      UriInfo uriInfo,
+      ElasticSearchIndexType indexType,
+      List<String> entityTypes,
+      String targetIndex,
+      CreateEventPublisherJob createRequest)
+      throws InterruptedException {
+    // Report data is only appended, and is not written by the event publisher
+    List<String> changedTypes = entityTypes.stream().filter(type -> !isReportData(type)).collect(Collectors.toList());
+    if (changedTypes.isEmpty()) {
+      return true;
+    }
+    // The name of the new index ends with the time it was created
+    long since = Long.parseLong(targetIndex.substring(targetIndex.lastIndexOf('_') + 1));
+    for (int pass = 0; pass < MAX_CHANGE_PASSES; pass++) {
+      long started = System.currentTimeMillis();
+      Map<UUID, String> changedEntities = new LinkedHashMap<>();
+      for (String json : dao.changeEventDAO().listSince(changedTypes, since)) {
+        ChangeEvent event = JsonUtils.readValue(json, ChangeEvent.class);
+        changedEntities.put(event.getEntityId(), event.getEntityType());
+      }
+      if (changedEntities.isEmpty()) {
+        return true;
+      }
+      LOG.info("Indexing {} entities changed while {} was built", changedEntities.size(), targetIndex);
+      BulkProcessor processor =
+          getBulkProcessor(new ChangeListener(), createRequest.getBatchSize(), createRequest.getFlushIntervalInSec());
+      for (Map.Entry<UUID, String> entity : changedEntities.entrySet()) {
+        indexChangedEntity(uriInfo, processor, targetIndex, entity.getValue(), entity.getKey());
+      }
+      if (!processor.awaitClose(createRequest.getFlushIntervalInSec() + 60L, TimeUnit.SECONDS)) {
+        LOG.error("Timed out indexing the entities changed while {} was built", targetIndex);
+        return false;
+      }
+      // Event times are taken on the servers that made the changes, overlap the passes to allow for clock skew
+      since = started - CHANGE_CLOCK_SKEW_MILLIS;
+    }
+    LOG.warn("Entities of {} kept changing while {} was built, swapping it anyway", indexType.indexName, targetIndex);
+    return true;
+  }
+
+  private static boolean isReportData(String entityType) {
+    return entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.ENTITY_REPORT_DATA)
+        || entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA)
+        || entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA);
+  }
+
+  private void indexChangedEntity(
+      UriInfo uriInfo, BulkProcessor processor, String targetIndex, String entityType, UUID id) {
+    EntityRepository<? extends EntityInterface> entityRepository = Entity.getEntityRepository(entityType);
+    try {
+      EntityInterface entity =
+          entityRepository.get(
+              uriInfo, id, getIndexedFields(entityType, entityRepository.getAllowedFields()), Include.ALL);
+      updateElasticSearchForEntityBatch(processor, targetIndex, false, entityType, List.of(entity));
+    } catch (EntityNotFoundException e) {
+      processor.add(new DeleteRequest(targetIndex, id.toString()));
+    } catch (Exception e) {
+      LOG.error("Failed to index the changed {} {} into {}", entityType, id, targetIndex, e);
+    }
+  }
+
+  /**
+   * Returns the index the entities are written to. That's the index currently used for search, unless the index is
+   * recreated. Then it's a new index, or the one the job being resumed was building.
+   */
+  private String getTargetIndex(
+      ElasticSearchIndexType indexType,
+      List<String> entityTypes,
+      Map<String, Checkpoint> checkpoints,
+      CreateEventPublisherJob createRequest)
+      throws IOException {
+    if (!Boolean.TRUE.equals(createRequest.getRecreateIndex())) {
+      return indexType.indexName;
+    }
+    String targetIndex =
+        checkpoints.values().stream()
+            .filter(checkpoint -> entityTypes.contains(getPartitionEntityType(checkpoint.getPartition())))
+            .map(Checkpoint::getIndex)
+            .filter(index -> index != null && !index.equals(indexType.indexName))
+            .findFirst()
+            .orElse(indexType.indexName + "_" + System.currentTimeMillis());
+    elasticSearchIndexDefinition.createIndex(indexType, targetIndex, lang);
+    return targetIndex;
+  }
+
+  /** Returns the partitions of an entity type that are not yet indexed, starting from their checkpoints */
+  private List<Checkpoint> getPartitions(String entityType, String targetIndex, Map<String, Checkpoint> checkpoints)
+      throws IOException {
+    List<String> partitionNames = new ArrayList<>();
+    String serviceType = PARTITION_SERVICES.get(entityType);
+    if (serviceType == null) {
+      partitionNames.add(entityType);
+    } else {
+      EntityRepository<? extends EntityInterface> serviceRepository = Entity.getEntityRepository(serviceType);
+      for (EntityInterface service :
+          serviceRepository.listAll(EntityUtil.Fields.EMPTY_FIELDS, new ListFilter(Include.ALL))) {
+        partitionNames.add(entityType + Entity.SEPARATOR + service.getFullyQualifiedName());
+      }
+    }
+    List<Checkpoint> partitions = new ArrayList<>();
+    for (String name : partitionNames) {
+      Checkpoint checkpoint = checkpoints.get(name);
+      if (checkpoint != null && targetIndex.equals(checkpoint.getIndex())) {
+        if (!Boolean.TRUE.equals(checkpoint.getCompleted())) {
+          partitions.add(checkpoint);
+        }
+      } else {
+        partitions.add(new Checkpoint().withPartition(name).withIndex(targetIndex).withCompleted(false));
+      }
+    }
+    return partitions;
+  }
+
+  private static String getPartitionEntityType(String partition) {
+    int separator = partition.indexOf(Entity.SEPARATOR);
+    return separator < 0 ? partition : partition.substring(0, separator);
+  }
+
+  private static String getPartitionService(String partition) {
+    int separator = partition.indexOf(Entity.SEPARATOR);
+    return separator < 0 ? null : partition.substring(separator + 1);
+  }
+
+  /** Index the entities of a partition. Returns true when all of them are indexed. */
+  private boolean reindexPartition(
+      UriInfo uriInfo,
+      String entityType,
+      ElasticSearchIndexType indexType,
+      Checkpoint partition,
+      BulkProcessorListener jobListener,
+      CreateEventPublisherJob createRequest)
+      throws InterruptedException {
+    ReindexPartitionListener listener =
+        new ReindexPartitionListener(
+            jobListener,
+            after -> jobListener.updateCheckpoint(checkpoint(partition, after, false)),
+            CHECKPOINT_INTERVAL_MILLIS);
+    BulkProcessor processor =
+        getBulkProcessor(listener, createRequest.getBatchSize(), createRequest.getFlushIntervalInSec());
+    // Documents of a new index don't need to be merged with existing ones
+    boolean upsert = indexType.indexName.equals(partition.getIndex());
+    boolean indexed = false;
+    try {
+      if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.ENTITY_REPORT_DATA)) {
+        fetchReportData(
+            String.valueOf(ENTITY_REPORT_DATA), partition, upsert, createRequest, processor, jobListener, listener);
+      } else if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA)) {
+        fetchReportData(
+            String.valueOf(WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA),
+            partition,
+            upsert,
+            createRequest,
+            processor,
+            jobListener,
+            listener);
+      } else if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA)) {
+        fetchReportData(
+            String.valueOf(WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA),
+            partition,
+            upsert,
+            createRequest,
+            processor,
+            jobListener,
+            listener);
+      } else {
+        updateEntityBatch(uriInfo, entityType, partition, upsert, createRequest, processor, jobListener, listener);
+      }
+      indexed = true;
+    } catch (Exception ex) {
+      LOG.error("Failed in listing all Entities of partition : {}, Reason : ", partition.getPartition(), ex);
+      FailureDetails failureDetails =
+          new FailureDetails()
+              .withContext(String.format("%s:Failure in fetching Data", partition.getPartition()))
+              .withLastFailedReason(
+                  String.format("Failed in listing all Entities \n Reason : %s", ExceptionUtils.getStackTrace(ex)));
+      jobListener.updateElasticSearchStatus(EventPublisherJob.Status.ACTIVE_WITH_ERROR, failureDetails, null);
+    } finally {
+      // Wait for the bulks in flight, so that the checkpoint covers them
+      indexed &= processor.awaitClose(createRequest.getFlushIntervalInSec() + 60L, TimeUnit.SECONDS);
+    }
+    if (indexed) {
+      jobListener.updateCheckpoint(checkpoint(partition, null, true));
+    } else {
+      listener.saveCheckpoint();
+    }
+    return indexed;
+  }
+
+  private static Checkpoint checkpoint(Checkpoint partition, String after, boolean completed) {
+    return new Checkpoint()
+        .withPartition(partition.getPartition())
+        .withIndex(partition.getIndex())
+        .withAfter(after)
+        .withCompleted(completed);
   }
 
   public ResultList<ReportData> getReportDataPagination(String entityFQN, int limit, String before, String after) {
@@ -190,163 +530,150 @@ public class ElasticSearchIndexUtil {
     return new ResultList<>(queries, before, after, total);
   }
 
-  private synchronized void fetchReportData(
+  private void fetchReportData(
       String entityFQN,
+      Checkpoint partition,
+      boolean upsert,
       CreateEventPublisherJob createRequest,
       BulkProcessor processor,
-      BulkProcessorListener listener,
-      String entityType,
-      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType) {
-    ResultList<ReportData> result;
-    String after = null;
-    try {
-      do {
-        result = getReportDataPagination(entityFQN, createRequest.getBatchSize(), null, after);
-        listener.addRequests(result.getPaging().getTotal());
-        updateElasticSearchForDataInsightBatch(processor, indexType, entityType, result.getData());
-        processor.flush();
-        after = result.getPaging().getAfter();
-      } while (after != null);
-    } catch (Exception ex) {
-      LOG.error("Failed in listing all Entities of type : {}, Reason : ", entityType, ex);
-      FailureDetails failureDetails =
-          new FailureDetails()
-              .withContext(String.format("%s:Failure in fetching Data", entityType))
-              .withLastFailedReason(
-                  String.format("Failed in listing all ReportData \n Reason : %s", ExceptionUtils.getStackTrace(ex)));
-      listener.updateElasticSearchStatus(EventPublisherJob.Status.IDLE, failureDetails, null);
+      BulkProcessorListener jobListener,
+      ReindexPartitionListener listener) {
+    String after = partition.getAfter();
+    ResultList<ReportData> result = getReportDataPagination(entityFQN, createRequest.getBatchSize(), null, after);
+    jobListener.addTotalRequests(result.getPaging().getTotal());
+    while (true) {
+      int added = updateElasticSearchForDataInsightBatch(processor, partition.getIndex(), upsert, result.getData());
+      after = result.getPaging().getAfter();
+      listener.pageAdded(added, after);
+      if (after == null) {
+        break;
+      }
+      result = getReportDataPagination(entityFQN, createRequest.getBatchSize(), null, after);
     }
   }
 
-  private synchronized void updateEntityBatch(
-      BulkProcessor processor,
-      BulkProcessorListener listener,
+  private void updateEntityBatch(
       UriInfo uriInfo,
       String entityType,
-      CreateEventPublisherJob createRequest) {
-    listener.allowTotalRequestUpdate();
-
-    ElasticSearchIndexDefinition.ElasticSearchIndexType indexType =
-        ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
-
-    if (Boolean.TRUE.equals(createRequest.getRecreateIndex())) {
-      // Delete index
-      elasticSearchIndexDefinition.deleteIndex(indexType);
-      // Create index
-      elasticSearchIndexDefinition.createIndex(indexType, lang);
+      Checkpoint partition,
+      boolean upsert,
+      CreateEventPublisherJob createRequest,
+      BulkProcessor processor,
+      BulkProcessorListener jobListener,
+      ReindexPartitionListener listener)
+      throws IOException {
+    EntityRepository<? extends EntityInterface> entityRepository = Entity.getEntityRepository(entityType);
+    EntityUtil.Fields fields = getIndexedFields(entityType, entityRepository.getAllowedFields());
+    ListFilter filter = new ListFilter(Include.ALL);
+    String service = getPartitionService(partition.getPartition());
+    if (service != null) {
+      filter.addQueryParam("service", service);
     }
+    jobListener.addTotalRequests(entityRepository.dao.listCount(filter));
+    String after = partition.getAfter();
+    do {
+      ResultList<? extends EntityInterface> result =
+          entityRepository.listAfterWithoutCount(uriInfo, fields, filter, createRequest.getBatchSize(), after);
+      int added =
+          updateElasticSearchForEntityBatch(processor, partition.getIndex(), upsert, entityType, result.getData());
+      after = result.getPaging().getAfter();
+      listener.pageAdded(added, after);
+    } while (after != null);
+  }
 
-    // Start fetching a list of Report Data and pushing them to ES
-    if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.ENTITY_REPORT_DATA)) {
-      fetchReportData(String.valueOf(ENTITY_REPORT_DATA), createRequest, processor, listener, entityType, indexType);
-    } else if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA)) {
-      fetchReportData(
-          String.valueOf(WEB_ANALYTIC_ENTITY_VIEW_REPORT_DATA),
-          createRequest,
-          processor,
-          listener,
-          entityType,
-          indexType);
-    } else if (entityType.equalsIgnoreCase(ElasticSearchIndexDefinition.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA)) {
-      fetchReportData(
-          String.valueOf(WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA),
-          createRequest,
-          processor,
-          listener,
-          entityType,
-          indexType);
-    } else {
-      // Start fetching a list of Entities and pushing them to ES
-      EntityRepository<? extends EntityInterface> entityRepository = Entity.getEntityRepository(entityType);
-      List<String> allowedFields = entityRepository.getAllowedFields();
-      String fields = String.join(",", allowedFields);
-      ResultList<? extends EntityInterface> result;
-      String after = null;
-      try {
-        do {
-          if (entityType.equals(TEAM)) {
-            // just name and display name are needed
-            fields = "name,displayName";
-          }
-          result =
-              entityRepository.listAfter(
-                  uriInfo,
-                  new EntityUtil.Fields(allowedFields, fields),
-                  new ListFilter(Include.ALL),
-                  createRequest.getBatchSize(),
-                  after);
-          listener.addRequests(result.getPaging().getTotal());
-          updateElasticSearchForEntityBatch(indexType, processor, entityType, result.getData());
-          processor.flush();
-          after = result.getPaging().getAfter();
-        } while (after != null);
-      } catch (Exception ex) {
-        LOG.error("Failed in listing all Entities of type : {}, Reason : ", entityType, ex);
-        FailureDetails failureDetails =
-            new FailureDetails()
-                .withContext(String.format("%s:Failure in fetching Data", entityType))
-                .withLastFailedReason(
-                    String.format("Failed in listing all Entities \n Reason : %s", ExceptionUtils.getStackTrace(ex)));
-        listener.updateElasticSearchStatus(EventPublisherJob.Status.IDLE, failureDetails, null);
-      }
+  private static EntityUtil.Fields getIndexedFields(String entityType, List<String> allowedFields) {
+    if (entityType.equals(TEAM)) {
+      // just name and display name are needed
+      return new EntityUtil.Fields(allowedFields, "name,displayName");
     }
+    List<String> nonIndexedFields = NON_INDEXED_FIELDS.getOrDefault(entityType, List.of());
+    String fields =
+        allowedFields.stream().filter(field -> !nonIndexedFields.contains(field)).collect(Collectors.joining(","));
+    return new EntityUtil.Fields(allowedFields, fields);
   }
 
-  private synchronized void updateElasticSearchForDataInsightBatch(
-      BulkProcessor bulkProcessor,
-      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType,
-      String entityType,
-      List<ReportData> entities) {
+  private int updateElasticSearchForDataInsightBatch(
+      BulkProcessor bulkProcessor, String index, boolean upsert, List<ReportData> entities) {
+    int added = 0;
     for (ReportData reportData : entities) {
-      UpdateRequest request = getUpdateRequest(indexType, entityType, reportData);
+      DocWriteRequest<?> request = getWriteRequest(index, upsert, reportData);
       if (request != null) {
         bulkProcessor.add(request);
+        added++;
       }
     }
+    return added;
   }
 
-  private synchronized void updateElasticSearchForEntityBatch(
-      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType,
+  private int updateElasticSearchForEntityBatch(
       BulkProcessor bulkProcessor,
+      String index,
+      boolean upsert,
       String entityType,
       List<? extends EntityInterface> entities) {
+    int added = 0;
     for (EntityInterface entity : entities) {
       if (entityType.equals(TABLE)) {
         ((Table) entity).getColumns().forEach(table -> table.setProfile(null));
       }
-      UpdateRequest request = getUpdateRequest(indexType, entityType, entity);
+      DocWriteRequest<?> request = getWriteRequest(index, upsert, entityType, entity);
       if (request != null) {
         bulkProcessor.add(request);
+        added++;
       }
     }
+    return added;
   }
 
-  private UpdateRequest getUpdateRequest(
-      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType, String entityType, EntityInterface entity) {
+  private DocWriteRequest<?> getWriteRequest(String index, boolean upsert, String entityType, EntityInterface entity) {
     try {
-      UpdateRequest updateRequest = new UpdateRequest(indexType.indexName, entity.getId().toString());
-      updateRequest.doc(
+      String doc =
           JsonUtils.pojoToJson(
-              Objects.requireNonNull(ElasticSearchIndexFactory.buildIndex(entityType, entity)).buildESDoc()),
-          XContentType.JSON);
-      updateRequest.docAsUpsert(true);
-      return updateRequest;
+              Objects.requireNonNull(ElasticSearchIndexFactory.buildIndex(entityType, entity)).buildESDoc());
+      return getWriteRequest(index, upsert, entity.getId().toString(), doc);
     } catch (Exception ex) {
-      LOG.error("Failed in creating update Request for indexType : {}, entityType: {}", indexType, entityType, ex);
+      LOG.error("Failed in creating update Request for index : {}, entityType: {}", index, entityType, ex);
     }
     return null;
   }
 
-  private UpdateRequest getUpdateRequest(
-      ElasticSearchIndexDefinition.ElasticSearchIndexType indexType, String entityType, ReportData reportData) {
+  private DocWriteRequest<?> getWriteRequest(String index, boolean upsert, ReportData reportData) {
     try {
-      UpdateRequest updateRequest = new UpdateRequest(indexType.indexName, reportData.getId().toString());
-      updateRequest.doc(JsonUtils.pojoToJson(new ReportDataIndexes(reportData).buildESDoc()), XContentType.JSON);
-      updateRequest.docAsUpsert(true);
-      return updateRequest;
+      String doc = JsonUtils.pojoToJson(new ReportDataIndexes(reportData).buildESDoc());
+      return getWriteRequest(index, upsert, reportData.getId().toString(), doc);
     } catch (Exception ex) {
-      LOG.error("Failed in creating update Request for indexType : {}, entityType: {}", indexType, entityType, ex);
+      LOG.error("Failed in creating update Request for index : {}, reportData: {}", index, reportData.getId(), ex);
     }
     return null;
   }
+
+  private static DocWriteRequest<?> getWriteRequest(String index, boolean upsert, String id, String doc) {
+    if (!upsert) {
+      return new IndexRequest(index).id(id).source(doc, XContentType.JSON);
+    }
+    UpdateRequest updateRequest = new UpdateRequest(index, id);
+    updateRequest.doc(doc, XContentType.JSON);
+    updateRequest.docAsUpsert(true);
+    return updateRequest;
+  }
+
+  /** Bulk listener of the changes indexed into a new index, which are not counted in the stats of the job */
+  private static class ChangeListener implements BulkProcessor.Listener {
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+      // Nothing to do before the bulk
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+      if (response.hasFailures()) {
+        LOG.error("Failed to index changed entities: {}", response.buildFailureMessage());
+      }
+    }
+
+    @Override
+    public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+      LOG.error("Failed to index changed entities", failure);
+    }
+  }
 }
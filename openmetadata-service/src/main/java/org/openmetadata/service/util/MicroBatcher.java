@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.util;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Coalesces the items submitted by concurrent requests within a few milliseconds into one batch, written by a single
+ * thread. A request waits until the batch with its items is written, so a successful response still means the items
+ * are stored, while the writes use one database connection at a time instead of one per request.
+ *
+ * <p>Records the size of the batches, the time to write them and the latency of the submissions in the {@code
+ * batch.size}, {@code batch.write} and {@code batch.latency} meters tagged with the name of the batcher.
+ */
+@Slf4j
+public class MicroBatcher<T> {
+  private static final int MAX_PENDING_SUBMISSIONS = 10_000;
+
+  private final String name;
+  private final int maxBatchSize;
+  private final long maxDelayNanos;
+  private final BatchWriter<T> writer;
+  private final BlockingQueue<Submission<T>> queue = new LinkedBlockingQueue<>(MAX_PENDING_SUBMISSIONS);
+  private final DistributionSummary batchSize;
+  private final Timer writeTime;
+  private final Timer latency;
+  private Thread worker;
+
+  @FunctionalInterface
+  public interface BatchWriter<T> {
+    void write(List<T> batch) throws IOException;
+  }
+
+  public MicroBatcher(String name, int maxBatchSize, long maxDelayMillis, BatchWriter<T> writer) {
+    this.name = name;
+    this.maxBatchSize = maxBatchSize;
+    this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    this.writer = writer;
+    MeterRegistry registry =
+        MicrometerBundleSingleton.prometheusMeterRegistry != null
+            ? MicrometerBundleSingleton.prometheusMeterRegistry
+            : Metrics.globalRegistry;
+    batchSize = DistributionSummary.builder("batch.size").tag("batcher", name).register(registry);
+    writeTime = Timer.builder("batch.write").tag("batcher", name).register(registry);
+    latency = Timer.builder("batch.latency").tag("batcher", name).register(registry);
+  }
+
+  /** Write the items with the next batch and wait until they are written */
+  public void write(List<T> items) throws IOException {
+    if (items.isEmpty()) {
+      return;
+    }
+    start();
+    Submission<T> submission = new Submission<>(items);
+    try {
+      queue.put(submission);
+      submission.future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while writing " + name, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private synchronized void start() {
+    // Replace a worker stopped by an error, so that the submissions are still written
+    if (worker == null || !worker.isAlive()) {
+      worker = new Thread(this::run, name + "-batcher");
+      worker.setDaemon(true);
+      worker.start();
+    }
+  }
+
+  private void run() {
+    List<Submission<T>> submissions = new ArrayList<>();
+    while (true) {
+      try {
+        submissions.add(queue.take());
+        int size = submissions.get(0).items.size();
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (size < maxBatchSize) {
+          Submission<T> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          submissions.add(next);
+          size += next.items.size();
+        }
+        writeBatch(submissions);
+      } catch (InterruptedException e) {
+        // Keep writing, nothing would take the submissions queued after the worker stopped
+        LOG.warn("The {} batcher was interrupted, failing the submissions of the batch", name);
+      } finally {
+        // Never leave a request waiting for a batch that wasn't written
+        submissions.forEach(s -> s.future.completeExceptionally(new IOException("Failed to write " + name)));
+        submissions.clear();
+      }
+    }
+  }
+
+  private void writeBatch(List<Submission<T>> submissions) {
+    List<T> batch = new ArrayList<>();
+    submissions.forEach(submission -> batch.addAll(submission.items));
+    try {
+      write(batch, submissions);
+    } catch (Exception e) {
+      if (submissions.size() == 1) {
+        submissions.get(0).future.completeExceptionally(e);
+        return;
+      }
+      // Don't fail every request of the batch for the items of one of them
+      LOG.warn("Failed to write a batch of {} {}, writing its submissions one by one", batch.size(), name, e);
+      for (Submission<T> submission : submissions) {
+        try {
+          write(submission.items, List.of(submission));
+        } catch (Exception ex) {
+          submission.future.completeExceptionally(ex);
+        }
+      }
+    }
+  }
+
+  private void write(List<T> batch, List<Submission<T>> submissions) throws IOException {
+    long start = System.nanoTime();
+    writer.write(batch);
+    long end = System.nanoTime();
+    writeTime.record(end - start, TimeUnit.NANOSECONDS);
+    batchSize.record(batch.size());
+    for (Submission<T> submission : submissions) {
+      latency.record(end - submission.submittedAt, TimeUnit.NANOSECONDS);
+      submission.future.complete(null);
+    }
+  }
+
+  private static class Submission<T> {
+    private final List<T> items;
+    private final long submittedAt = System.nanoTime();
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    Submission(List<T> items) {
+      this.items = items;
+    }
+  }
+}
@@ -136,10 +136,11 @@ public class NotificationHandler {
     String jsonThread = mapper.writeValueAsString(thread);
     WebSocketManager.getInstance().broadCastMessageToAll(WebSocketManager.FEED_BROADCAST_CHANNEL, jsonThread);
     List<MessageParser.EntityLink> mentions;
-    if (thread.getPostsCount() == 0) {
+    if (thread.getPostsCount() == 0 || thread.getPosts().isEmpty()) {
       mentions = MessageParser.getEntityLinks(thread.getMessage());
     } else {
-      Post latestPost = thread.getPosts().get(thread.getPostsCount() - 1);
+      // The thread may only hold its latest posts
+      Post latestPost = thread.getPosts().get(thread.getPosts().size() - 1);
       mentions = MessageParser.getEntityLinks(latestPost.getMessage());
     }
     mentions.forEach(
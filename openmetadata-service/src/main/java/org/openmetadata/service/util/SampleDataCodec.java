@@ -0,0 +1,316 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import lombok.Getter;
+import org.openmetadata.schema.type.TableData;
+
+/**
+ * Compressed, column oriented binary format of the sample data of a table.
+ *
+ * <p>The sample data is split in chunks of {@link #ROWS_PER_CHUNK} rows by {@link #COLUMNS_PER_CHUNK} columns, each
+ * stored on its own so that a page of rows or a few columns are read without reading the rest. Chunk 0 is the {@link
+ * Header} with the column names and the number of rows. The other chunks hold the values of their columns one column
+ * after the other, which compresses better than rows since the values of a column look alike. Chunks are deflated.
+ */
+public final class SampleDataCodec {
+  public static final int HEADER_CHUNK = 0;
+  static final int ROWS_PER_CHUNK = 50;
+  static final int COLUMNS_PER_CHUNK = 32;
+  private static final byte FORMAT_VERSION = 1;
+
+  // Types of the values
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte LONG = 2;
+  private static final byte DOUBLE = 3;
+  private static final byte TRUE = 4;
+  private static final byte FALSE = 5;
+  private static final byte JSON = 6; // Any other value, as JSON
+
+  private SampleDataCodec() {}
+
+  /** Encode the sample data into chunks, by chunk number */
+  public static Map<Integer, byte[]> encode(TableData tableData) throws IOException {
+    List<String> columns = tableData.getColumns() == null ? Collections.emptyList() : tableData.getColumns();
+    List<List<Object>> rows = tableData.getRows() == null ? Collections.emptyList() : tableData.getRows();
+    Header header = new Header(columns, rows.size(), ROWS_PER_CHUNK, COLUMNS_PER_CHUNK);
+
+    Map<Integer, byte[]> chunks = new LinkedHashMap<>();
+    chunks.put(HEADER_CHUNK, header.encode());
+    for (int rowChunk = 0; rowChunk < header.getRowChunks(); rowChunk++) {
+      int firstRow = rowChunk * header.rowsPerChunk;
+      int lastRow = Math.min(firstRow + header.rowsPerChunk, header.rowCount);
+      for (int columnChunk = 0; columnChunk < header.getColumnChunks(); columnChunk++) {
+        int firstColumn = columnChunk * header.columnsPerChunk;
+        int lastColumn = Math.min(firstColumn + header.columnsPerChunk, columns.size());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = deflate(bytes)) {
+          for (int column = firstColumn; column < lastColumn; column++) {
+            for (int row = firstRow; row < lastRow; row++) {
+              writeValue(out, value(rows.get(row), column));
+            }
+          }
+        }
+        chunks.put(header.chunk(rowChunk, columnChunk), bytes.toByteArray());
+      }
+    }
+    return chunks;
+  }
+
+  /** Value of the column in the row, null when the row has fewer values than the columns */
+  private static Object value(List<Object> row, int column) {
+    return row == null || column >= row.size() ? null : row.get(column);
+  }
+
+  public static Header decodeHeader(byte[] chunk) throws IOException {
+    try (DataInputStream in = inflate(chunk)) {
+      byte version = in.readByte();
+      if (version != FORMAT_VERSION) {
+        throw new IOException("Unsupported sample data format version " + version);
+      }
+      int rowCount = in.readInt();
+      int rowsPerChunk = in.readInt();
+      int columnsPerChunk = in.readInt();
+      int columnCount = in.readInt();
+      List<String> columns = new ArrayList<>(columnCount);
+      for (int i = 0; i < columnCount; i++) {
+        columns.add(readString(in));
+      }
+      return new Header(columns, rowCount, rowsPerChunk, columnsPerChunk);
+    }
+  }
+
+  /** End of the rows from firstRow to firstRow + limit, without overflowing when the limit is Integer.MAX_VALUE */
+  private static int lastRow(int firstRow, int limit, int rowCount) {
+    return (int) Math.min((long) firstRow + Math.max(limit, 0), rowCount);
+  }
+
+  /**
+   * Decode the rows from offset to offset + limit of the given columns, in the given order. The chunks must include
+   * the ones returned by {@link Header#chunks} for the same columns and rows.
+   */
+  public static TableData decode(
+      Header header, Map<Integer, byte[]> chunks, List<Integer> columns, int offset, int limit) throws IOException {
+    int firstRow = Math.min(Math.max(offset, 0), header.rowCount);
+    int lastRow = lastRow(firstRow, limit, header.rowCount);
+    List<List<Object>> rows = new ArrayList<>(lastRow - firstRow);
+    for (int row = firstRow; row < lastRow; row++) {
+      rows.add(new ArrayList<>(Collections.nCopies(columns.size(), null)));
+    }
+
+    int firstRowChunk = firstRow / header.rowsPerChunk;
+    for (int rowChunk = firstRowChunk; firstRow < lastRow && rowChunk * header.rowsPerChunk < lastRow; rowChunk++) {
+      int chunkFirstRow = rowChunk * header.rowsPerChunk;
+      int chunkRows = Math.min(header.rowsPerChunk, header.rowCount - chunkFirstRow);
+      for (int columnChunk : header.columnChunks(columns)) {
+        int firstColumn = columnChunk * header.columnsPerChunk;
+        int lastColumn = Math.min(firstColumn + header.columnsPerChunk, header.columns.size());
+        byte[] chunk = chunks.get(header.chunk(rowChunk, columnChunk));
+        if (chunk == null) {
+          throw new IOException("Missing sample data chunk " + header.chunk(rowChunk, columnChunk));
+        }
+        // Values of the chunk, by column of the chunk then by row of the chunk
+        List<List<Object>> values = new ArrayList<>(lastColumn - firstColumn);
+        try (DataInputStream in = inflate(chunk)) {
+          for (int column = firstColumn; column < lastColumn; column++) {
+            List<Object> columnValues = new ArrayList<>(chunkRows);
+            for (int row = 0; row < chunkRows; row++) {
+              columnValues.add(readValue(in));
+            }
+            values.add(columnValues);
+          }
+        }
+        for (int i = 0; i < columns.size(); i++) {
+          int column = columns.get(i);
+          if (column < firstColumn || column >= lastColumn) {
+            continue;
+          }
+          List<Object> columnValues = values.get(column - firstColumn);
+          int end = Math.min(lastRow, chunkFirstRow + chunkRows);
+          for (int row = Math.max(firstRow, chunkFirstRow); row < end; row++) {
+            rows.get(row - firstRow).set(i, columnValues.get(row - chunkFirstRow));
+          }
+        }
+      }
+    }
+
+    List<String> columnNames = new ArrayList<>(columns.size());
+    columns.forEach(column -> columnNames.add(header.columns.get(column)));
+    return new TableData().withColumns(columnNames).withRows(rows);
+  }
+
+  private static DataOutputStream deflate(ByteArrayOutputStream bytes) {
+    return new DataOutputStream(new DeflaterOutputStream(bytes));
+  }
+
+  private static DataInputStream inflate(byte[] chunk) {
+    return new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(chunk)));
+  }
+
+  private static void writeValue(DataOutputStream out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String) {
+      out.writeByte(STRING);
+      writeString(out, (String) value);
+    } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+      out.writeByte(LONG);
+      out.writeLong(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      out.writeByte(DOUBLE);
+      out.writeDouble(((Number) value).doubleValue());
+    } else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    } else {
+      // Big numbers, arrays and objects keep their JSON representation
+      out.writeByte(JSON);
+      writeString(out, JsonUtils.pojoToJson(value));
+    }
+  }
+
+  private static Object readValue(DataInputStream in) throws IOException {
+    byte type = in.readByte();
+    switch (type) {
+      case NULL:
+        return null;
+      case STRING:
+        return readString(in);
+      case LONG:
+        long value = in.readLong();
+        // Numbers read from JSON are integers when they fit
+        return value == (int) value ? (Object) (int) value : (Object) value;
+      case DOUBLE:
+        return in.readDouble();
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case JSON:
+        return JsonUtils.readValue(readString(in), Object.class);
+      default:
+        throw new IOException("Invalid sample data value type " + type);
+    }
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    // Not writeUTF, which is limited to 64 KB
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Column names, number of rows and layout of the chunks of the sample data of a table */
+  @Getter
+  public static class Header {
+    private final List<String> columns;
+    private final int rowCount;
+    private final int rowsPerChunk;
+    private final int columnsPerChunk;
+
+    Header(List<String> columns, int rowCount, int rowsPerChunk, int columnsPerChunk) {
+      this.columns = columns;
+      this.rowCount = rowCount;
+      this.rowsPerChunk = rowsPerChunk;
+      this.columnsPerChunk = columnsPerChunk;
+    }
+
+    public int getRowChunks() {
+      return (rowCount + rowsPerChunk - 1) / rowsPerChunk;
+    }
+
+    public int getColumnChunks() {
+      return (columns.size() + columnsPerChunk - 1) / columnsPerChunk;
+    }
+
+    int chunk(int rowChunk, int columnChunk) {
+      return 1 + rowChunk * getColumnChunks() + columnChunk;
+    }
+
+    /** Indexes of the given column names, or of all the columns when null. Unknown names are ignored */
+    public List<Integer> columnIndexes(List<String> names) {
+      List<Integer> indexes = new ArrayList<>();
+      if (names == null) {
+        for (int i = 0; i < columns.size(); i++) {
+          indexes.add(i);
+        }
+        return indexes;
+      }
+      for (String name : names) {
+        int index = columns.indexOf(name);
+        if (index >= 0) {
+          indexes.add(index);
+        }
+      }
+      return indexes;
+    }
+
+    private TreeSet<Integer> columnChunks(List<Integer> columnIndexes) {
+      TreeSet<Integer> columnChunks = new TreeSet<>();
+      columnIndexes.forEach(column -> columnChunks.add(column / columnsPerChunk));
+      return columnChunks;
+    }
+
+    /** Chunks holding the rows from offset to offset + limit of the given columns */
+    public List<Integer> chunks(List<Integer> columnIndexes, int offset, int limit) {
+      List<Integer> chunks = new ArrayList<>();
+      int firstRow = Math.max(offset, 0);
+      int lastRow = lastRow(firstRow, limit, rowCount);
+      if (firstRow >= lastRow) {
+        return chunks;
+      }
+      for (int rowChunk = firstRow / rowsPerChunk; rowChunk <= (lastRow - 1) / rowsPerChunk; rowChunk++) {
+        for (int columnChunk : columnChunks(columnIndexes)) {
+          chunks.add(chunk(rowChunk, columnChunk));
+        }
+      }
+      return chunks;
+    }
+
+    private byte[] encode() throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (DataOutputStream out = deflate(bytes)) {
+        out.writeByte(FORMAT_VERSION);
+        out.writeInt(rowCount);
+        out.writeInt(rowsPerChunk);
+        out.writeInt(columnsPerChunk);
+        out.writeInt(columns.size());
+        for (String column : columns) {
+          writeString(out, column);
+        }
+      }
+      return bytes.toByteArray();
+    }
+  }
+}
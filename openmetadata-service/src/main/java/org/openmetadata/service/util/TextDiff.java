@@ -0,0 +1,122 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import static org.openmetadata.service.util.ChangeEventParser.FEED_ADD_MARKER;
+import static org.openmetadata.service.util.ChangeEventParser.FEED_REMOVE_MARKER;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.bitbucket.cowwoc.diffmatchpatch.DiffMatchPatch;
+import org.openmetadata.service.events.ChangeEventDiffConfiguration;
+
+/**
+ * Diffs of the old and new values of the fields of a change, bounded in time and size. The messages of a change are
+ * built for the activity feed while the entity is written, and again by every alert publisher in its own format. The
+ * diffs are cached, so that they are computed once per change whatever the number of consumers.
+ */
+public final class TextDiff {
+  private static volatile ChangeEventDiffConfiguration config = new ChangeEventDiffConfiguration();
+  private static volatile MeterRegistry registry = Metrics.globalRegistry;
+  private static volatile Cache<DiffKey, String> cache = buildCache(config);
+
+  private TextDiff() {}
+
+  public static synchronized void initialize(ChangeEventDiffConfiguration configuration, MeterRegistry meterRegistry) {
+    config = configuration;
+    cache = buildCache(configuration);
+    if (meterRegistry != null) {
+      registry = meterRegistry;
+      GuavaCacheMetrics.monitor(meterRegistry, cache, "change_event_diffs");
+    }
+  }
+
+  /** Values over the size budget are not diffed, their messages only tell that they are updated */
+  public static boolean isOverBudget(String oldValue, String newValue) {
+    return (long) oldValue.length() + newValue.length() > config.getMaxDiffLength();
+  }
+
+  /**
+   * Diff of the values, where the additions are between {@link ChangeEventParser#FEED_ADD_MARKER} and the removals
+   * between {@link ChangeEventParser#FEED_REMOVE_MARKER}. Values over the size budget are all removed then added.
+   */
+  public static String diff(String oldValue, String newValue) {
+    long start = System.nanoTime();
+    if (isOverBudget(oldValue, newValue)) {
+      String removed = FEED_REMOVE_MARKER + oldValue.trim() + FEED_REMOVE_MARKER;
+      String added = FEED_ADD_MARKER + newValue.trim() + FEED_ADD_MARKER;
+      record("skipped", start);
+      return removed + " " + added;
+    }
+
+    DiffKey key = new DiffKey(oldValue, newValue);
+    String diff = cache.getIfPresent(key);
+    if (diff != null) {
+      return diff;
+    }
+    DiffMatchPatch dmp = new DiffMatchPatch();
+    dmp.diffTimeout = config.getDiffTimeoutMs() / 1000f;
+    LinkedList<DiffMatchPatch.Diff> diffs = dmp.diffMain(oldValue, newValue);
+    dmp.diffCleanupSemantic(diffs);
+    StringBuilder outputStr = new StringBuilder();
+    for (DiffMatchPatch.Diff d : diffs) {
+      if (DiffMatchPatch.Operation.EQUAL.equals(d.operation)) {
+        // merging equal values of both string
+        outputStr.append(d.text.trim());
+      } else if (DiffMatchPatch.Operation.INSERT.equals(d.operation)) {
+        // merging added values with addMarker before and after of new values added
+        outputStr.append(FEED_ADD_MARKER).append(d.text.trim()).append(FEED_ADD_MARKER).append(" ");
+      } else {
+        // merging deleted values with removeMarker before and after of old value removed ..
+        outputStr.append(" ").append(FEED_REMOVE_MARKER).append(d.text.trim()).append(FEED_REMOVE_MARKER).append(" ");
+      }
+    }
+    diff = outputStr.toString().trim();
+    // A diff that reached the timeout has coarser changes
+    boolean timedOut = System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(config.getDiffTimeoutMs());
+    record(timedOut ? "timedOut" : "complete", start);
+    cache.put(key, diff);
+    return diff;
+  }
+
+  private static void record(String result, long start) {
+    Timer.builder("change.event.diff")
+        .tag("result", result)
+        .register(registry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+  }
+
+  private static Cache<DiffKey, String> buildCache(ChangeEventDiffConfiguration configuration) {
+    return CacheBuilder.newBuilder()
+        .maximumWeight(configuration.getMaxCachedCharacters())
+        .<DiffKey, String>weigher((key, diff) -> key.oldValue.length() + key.newValue.length() + diff.length())
+        .recordStats()
+        .build();
+  }
+
+  @EqualsAndHashCode
+  @RequiredArgsConstructor
+  private static class DiffKey {
+    private final String oldValue;
+    private final String newValue;
+  }
+}
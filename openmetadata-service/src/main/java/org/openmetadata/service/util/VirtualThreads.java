@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual threads of JDK 21 and later, used by the server to run requests and event handlers when enabled with
+ * {@code server.enableVirtualThreads}. The server is built for Java 11, so the JDK 21 API is looked up by reflection,
+ * and platform threads are used on older JDKs.
+ *
+ * <p>A virtual thread blocking inside a {@code synchronized} block pins the platform thread carrying it. Sections
+ * that may block while holding a monitor are wrapped with {@link #pinned(String)}, which records how long virtual
+ * threads hold it as the {@code virtual.thread.pinned} timer tagged with the site.
+ */
+@Slf4j
+public final class VirtualThreads {
+  public static final String PINNED_TIMER = "virtual.thread.pinned";
+  public static final String SITE_TAG = "site";
+  private static final long PINNED_WARN_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+  private static final Pinned NOT_PINNED = () -> {};
+
+  private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+  private static final Method IS_VIRTUAL = method(Thread.class, "isVirtual");
+  private static volatile boolean enabled = false;
+
+  private VirtualThreads() {}
+
+  private static Method method(Class<?> clz, String name) {
+    try {
+      return clz.getMethod(name);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /** Whether the JDK running the server has virtual threads */
+  public static boolean isSupported() {
+    return OF_VIRTUAL != null;
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /** Enables virtual threads for the thread factories created after this, when the JDK has them */
+  public static void setEnabled(boolean enable) {
+    if (enable && !isSupported()) {
+      LOG.warn("Virtual threads need JDK 21 or later, running on JDK {} with platform threads", Runtime.version());
+    }
+    enabled = enable && isSupported();
+    LOG.info("Virtual threads {}", enabled ? "enabled" : "disabled");
+  }
+
+  /**
+   * Factory of virtual threads named with the given prefix when they are enabled, or else the given factory of
+   * platform threads.
+   */
+  public static ThreadFactory threadFactory(String name, ThreadFactory platformThreadFactory) {
+    if (!enabled) {
+      return platformThreadFactory;
+    }
+    try {
+      // Thread.ofVirtual().name(name + "-", 0).factory()
+      Object builder = OF_VIRTUAL.invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      LOG.warn("Failed to create virtual threads for {}, using platform threads", name, e);
+      return platformThreadFactory;
+    }
+  }
+
+  /** Whether the thread is a virtual thread */
+  public static boolean isVirtual(Thread thread) {
+    try {
+      return IS_VIRTUAL != null && (boolean) IS_VIRTUAL.invoke(thread);
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Starts measuring a section run while holding a monitor. The measure is recorded when the returned handle is
+   * closed, and only for virtual threads:
+   *
+   * <pre>
+   * synchronized (lock) {
+   *   try (VirtualThreads.Pinned ignored = VirtualThreads.pinned("ReportDataRepository.rollup")) {
+   *     ...
+   *   }
+   * }
+   * </pre>
+   */
+  public static Pinned pinned(String site) {
+    if (!enabled || !isVirtual(Thread.currentThread())) {
+      return NOT_PINNED;
+    }
+    long start = System.nanoTime();
+    return () -> {
+      long duration = System.nanoTime() - start;
+      if (duration > PINNED_WARN_NANOS) {
+        LOG.warn("Virtual thread {} pinned for {} ms in {}", Thread.currentThread(), duration / 1_000_000, site);
+      }
+      MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+      if (registry != null) {
+        Timer.builder(PINNED_TIMER).tag(SITE_TAG, site).register(registry).record(duration, TimeUnit.NANOSECONDS);
+      }
+    };
+  }
+
+  /** Section of code measured by {@link #pinned(String)} */
+  public interface Pinned extends AutoCloseable {
+    @Override
+    void close();
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.alerts;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.alerts.Alert;
+import org.openmetadata.schema.entity.alerts.AlertAction;
+import org.openmetadata.schema.entity.alerts.AlertActionStatus;
+import org.openmetadata.schema.entity.alerts.TriggerConfig;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.schema.type.Webhook;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.alerts.slack.SlackWebhookEventPublisher;
+import org.openmetadata.service.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.service.util.JsonUtils;
+
+class AlertDigestTest {
+  private HttpServer server;
+  private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+  private volatile int responseStatus = 200;
+
+  @BeforeEach
+  void setup() throws IOException {
+    // Local stand-in for the Slack webhook, recording the messages posted
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext(
+        "/slack",
+        exchange -> {
+          messages.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+          exchange.sendResponseHeaders(responseStatus, -1);
+          exchange.close();
+        });
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void testMessagePerEventWithoutCoalescingWindow() throws Exception {
+    AlertsActionPublisher publisher = new SlackWebhookEventPublisher(alert(), alertAction(0, 0));
+    publisher.onStart();
+    List<Table> tables = tables(3);
+    for (Table table : tables) {
+      publisher.onEvent(holder(updated(table, "user1")), 0, true);
+    }
+    publisher.onShutdown();
+    assertEquals(3, messages.size());
+  }
+
+  @Test
+  void testDigestOfCoalescingWindow() throws Exception {
+    // The window is long enough for the digest to be sent by the test only
+    AlertsActionPublisher publisher = new SlackWebhookEventPublisher(alert(), alertAction(3600, 0));
+    publisher.onStart();
+    List<Table> tables = tables(10);
+    for (int i = 0; i < 3; i++) {
+      for (Table table : tables) {
+        publisher.onEvent(holder(updated(table, "user" + i)), 0, true);
+      }
+    }
+    assertTrue(messages.isEmpty());
+
+    publisher.publishDigest();
+    assertEquals(1, messages.size());
+    JsonNode digest = JsonUtils.readTree(messages.get(0));
+    assertEquals("30 changes on 10 entities", digest.get("text").asText());
+    JsonNode attachments = digest.get("attachments");
+    assertEquals(10, attachments.size());
+    String title = attachments.get(0).get("title").asText();
+    assertTrue(title.startsWith("user0, user1, user2 entityUpdated table"), title);
+    assertTrue(title.endsWith("(3 changes)"), title);
+
+    // Nothing left to send
+    publisher.publishDigest();
+    assertEquals(1, messages.size());
+    publisher.onShutdown();
+  }
+
+  @Test
+  void testRateLimitHoldsBackEvents() throws Exception {
+    // One message per minute, the events over the limit are held back without waiting for the limit
+    AlertsActionPublisher publisher = new SlackWebhookEventPublisher(alert(), alertAction(0, 1));
+    publisher.onStart();
+    List<Table> tables = tables(3);
+    for (Table table : tables) {
+      publisher.onEvent(holder(updated(table, "user1")), 0, true);
+    }
+    assertEquals(1, messages.size());
+    assertEquals(2, publisher.getPendingEventCount());
+
+    // Still over the limit, the events are kept for the next digest
+    publisher.publishDigest();
+    assertEquals(1, messages.size());
+    assertEquals(2, publisher.getPendingEventCount());
+    publisher.onShutdown();
+  }
+
+  @Test
+  void testFailedDigestIsRetried() throws Exception {
+    AlertsActionPublisher publisher = new SlackWebhookEventPublisher(alert(), alertAction(3600, 0));
+    publisher.onStart();
+    for (Table table : tables(3)) {
+      publisher.onEvent(holder(updated(table, "user1")), 0, true);
+    }
+
+    // The events of the failed digest are kept and the alert action awaits the retry
+    responseStatus = 503;
+    publisher.publishDigest();
+    assertEquals(1, messages.size());
+    assertEquals(3, publisher.getPendingEventCount());
+    AlertActionStatus status = publisher.getAlertAction().getStatusDetails();
+    assertEquals(AlertActionStatus.Status.AWAITING_RETRY, status.getStatus());
+
+    // Not retried before the next attempt
+    publisher.publishDigest();
+    assertEquals(1, messages.size());
+
+    responseStatus = 200;
+    status.getFailureDetails().setNextAttempt(0L);
+    publisher.publishDigest();
+    assertEquals(2, messages.size());
+    assertEquals(0, publisher.getPendingEventCount());
+    assertEquals("3 changes on 3 entities", JsonUtils.readTree(messages.get(1)).get("text").asText());
+    assertEquals(AlertActionStatus.Status.ACTIVE, publisher.getAlertAction().getStatusDetails().getStatus());
+    publisher.onShutdown();
+  }
+
+  @Test
+  void testFailedMessageIsHeldBack() throws Exception {
+    AlertsActionPublisher publisher = new SlackWebhookEventPublisher(alert(), alertAction(0, 0));
+    publisher.onStart();
+    Table table = tables(1).get(0);
+
+    // The event of the failed message is held back without waiting for the backoff
+    responseStatus = 503;
+    publisher.onEvent(holder(updated(table, "user1")), 0, true);
+    assertEquals(1, messages.size());
+    assertEquals(1, publisher.getPendingEventCount());
+    AlertActionStatus status = publisher.getAlertAction().getStatusDetails();
+    assertEquals(AlertActionStatus.Status.AWAITING_RETRY, status.getStatus());
+
+    // The events are held back until the next attempt
+    publisher.onEvent(holder(updated(table, "user2")), 0, true);
+    assertEquals(1, messages.size());
+    assertEquals(2, publisher.getPendingEventCount());
+
+    responseStatus = 200;
+    status.getFailureDetails().setNextAttempt(0L);
+    publisher.publishDigest();
+    assertEquals(2, messages.size());
+    assertEquals(0, publisher.getPendingEventCount());
+    assertEquals(AlertActionStatus.Status.ACTIVE, publisher.getAlertAction().getStatusDetails().getStatus());
+    publisher.onShutdown();
+  }
+
+  @Test
+  void testCoalescerGroups() {
+    ChangeEventCoalescer coalescer = new ChangeEventCoalescer(10);
+    Table table = tables(1).get(0);
+    coalescer.add(updated(table, "user1"));
+    coalescer.add(updated(table, "user2"));
+    // Different change type
+    coalescer.add(updated(table, "user1").withEventType(EventType.ENTITY_SOFT_DELETED));
+    // Different owner
+    Table ownedTable =
+        new Table()
+            .withId(table.getId())
+            .withName(table.getName())
+            .withFullyQualifiedName(table.getFullyQualifiedName())
+            .withOwner(new EntityReference().withId(UUID.randomUUID()).withType(Entity.USER));
+    coalescer.add(updated(ownedTable, "user1"));
+
+    assertEquals(4, coalescer.getEventCount());
+    List<List<ChangeEvent>> groups = coalescer.drain();
+    assertEquals(3, groups.size());
+    assertEquals(2, groups.get(0).size());
+    assertEquals(0, coalescer.getEventCount());
+    assertTrue(coalescer.drain().isEmpty());
+  }
+
+  @Test
+  void testCoalescerDropsEventsWhenFull() {
+    ChangeEventCoalescer coalescer = new ChangeEventCoalescer(2);
+    Table table = tables(1).get(0);
+    assertTrue(coalescer.add(updated(table, "user1")));
+    assertTrue(coalescer.add(updated(table, "user2")));
+    assertFalse(coalescer.add(updated(table, "user3")));
+    assertEquals(1, coalescer.addAll(List.of(List.of(updated(table, "user4")))));
+    assertEquals(2, coalescer.getEventCount());
+  }
+
+  private Alert alert() {
+    return new Alert()
+        .withId(UUID.randomUUID())
+        .withName("digest")
+        .withTriggerConfig(new TriggerConfig().withType(TriggerConfig.AlertTriggerType.ALL_DATA_ASSETS));
+  }
+
+  private AlertAction alertAction(int coalescingWindow, int maxMessagesPerMinute) {
+    Webhook webhook =
+        new Webhook().withEndpoint(URI.create("http://localhost:" + server.getAddress().getPort() + "/slack"));
+    return new AlertAction()
+        .withId(UUID.randomUUID())
+        .withName("digest" + coalescingWindow)
+        .withAlertActionType(AlertAction.AlertActionType.SLACK_WEBHOOK)
+        .withAlertActionConfig(webhook)
+        .withCoalescingWindow(coalescingWindow)
+        .withMaxMessagesPerMinute(maxMessagesPerMinute);
+  }
+
+  private static List<Table> tables(int count) {
+    List<Table> tables = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String name = "table" + i;
+      tables.add(
+          new Table()
+              .withId(UUID.randomUUID())
+              .withName(name)
+              .withFullyQualifiedName("service.db.schema." + name)
+              .withHref(URI.create("http://localhost:8585/api/v1/tables/" + name)));
+    }
+    return tables;
+  }
+
+  private static ChangeEvent updated(Table table, String userName) {
+    ChangeDescription changeDescription =
+        new ChangeDescription()
+            .withFieldsUpdated(
+                List.of(new FieldChange().withName("description").withOldValue("old").withNewValue(userName)));
+    return new ChangeEvent()
+        .withEventType(EventType.ENTITY_UPDATED)
+        .withEntityType(Entity.TABLE)
+        .withEntityId(table.getId())
+        .withEntityFullyQualifiedName(table.getFullyQualifiedName())
+        .withUserName(userName)
+        .withTimestamp(System.currentTimeMillis())
+        .withChangeDescription(changeDescription)
+        .withEntity(table);
+  }
+
+  private static ChangeEventHolder holder(ChangeEvent event) {
+    ChangeEventHolder holder = new ChangeEventHolder();
+    holder.setEvent(event);
+    return holder;
+  }
+}
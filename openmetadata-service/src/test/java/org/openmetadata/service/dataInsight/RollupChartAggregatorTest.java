@@ -0,0 +1,84 @@
+package org.openmetadata.service.dataInsight;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.analytics.EntityReportData;
+import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.analytics.ReportData.ReportDataType;
+import org.openmetadata.schema.analytics.WebAnalyticUserActivityReportData;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult;
+import org.openmetadata.schema.dataInsight.DataInsightChartResult.DataInsightChartType;
+import org.openmetadata.schema.dataInsight.type.DailyActiveUsers;
+import org.openmetadata.schema.dataInsight.type.PercentageOfEntitiesWithDescriptionByType;
+import org.openmetadata.service.dataInsight.ReportDataRollup.Period;
+
+class RollupChartAggregatorTest {
+  // Monday, 2 January 2023 UTC
+  private static final long MONDAY = 1672617600000L;
+  private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+  @Test
+  void test_weeklyRollupAveragesSnapshots() {
+    ReportDataRollup week = ReportDataRollup.create(Period.WEEKLY, MONDAY + 3 * DAY);
+    assertEquals(MONDAY, week.getTimestamp());
+    week.add(entityReport(MONDAY, "team1", 10, 4));
+    week.add(entityReport(MONDAY, "team2", 10, 6));
+    week.add(entityReport(MONDAY + DAY, "team1", 20, 10));
+    week.add(entityReport(MONDAY + DAY, "team2", 20, 10));
+
+    DataInsightChartResult result =
+        new RollupChartAggregator(DataInsightChartType.PERCENTAGE_OF_ENTITIES_WITH_DESCRIPTION_BY_TYPE, b -> true)
+            .process(List.of(week));
+    PercentageOfEntitiesWithDescriptionByType point =
+        (PercentageOfEntitiesWithDescriptionByType) result.getData().get(0);
+    assertEquals(30, point.getEntityCount());
+    assertEquals(15, point.getCompletedDescription());
+    assertEquals(0.5, point.getCompletedDescriptionFraction());
+
+    result =
+        new RollupChartAggregator(
+                DataInsightChartType.PERCENTAGE_OF_ENTITIES_WITH_DESCRIPTION_BY_TYPE, b -> "team1".equals(b.getTeam()))
+            .process(List.of(week));
+    point = (PercentageOfEntitiesWithDescriptionByType) result.getData().get(0);
+    assertEquals(15, point.getEntityCount());
+    assertEquals(7, point.getCompletedDescription());
+  }
+
+  @Test
+  void test_dailyActiveUsers() {
+    ReportDataRollup day = ReportDataRollup.create(Period.DAILY, MONDAY + 1000);
+    for (String user : List.of("user1", "user2", "user3")) {
+      day.add(
+          new ReportData()
+              .withTimestamp(MONDAY + 1000)
+              .withReportDataType(ReportDataType.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA)
+              .withData(new WebAnalyticUserActivityReportData().withUserName(user).withTeam("team1")));
+    }
+    DataInsightChartResult result =
+        new RollupChartAggregator(DataInsightChartType.DAILY_ACTIVE_USERS, b -> true).process(List.of(day));
+    DailyActiveUsers point = (DailyActiveUsers) result.getData().get(0);
+    assertEquals(MONDAY, point.getTimestamp());
+    assertEquals(3, point.getActiveUsers());
+  }
+
+  @Test
+  void test_periodForRange() {
+    assertEquals(Period.DAILY, Period.forRange(MONDAY, MONDAY + 30 * DAY));
+    assertEquals(Period.WEEKLY, Period.forRange(MONDAY, MONDAY + 365 * DAY));
+  }
+
+  private static ReportData entityReport(long timestamp, String team, int entityCount, int completedDescriptions) {
+    return new ReportData()
+        .withTimestamp(timestamp)
+        .withReportDataType(ReportDataType.ENTITY_REPORT_DATA)
+        .withData(
+            new EntityReportData()
+                .withEntityType("Table")
+                .withTeam(team)
+                .withEntityCount(entityCount)
+                .withCompletedDescriptions(completedDescriptions));
+  }
+}
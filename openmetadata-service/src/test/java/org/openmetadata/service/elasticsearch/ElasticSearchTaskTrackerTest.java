@@ -0,0 +1,43 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.util.JsonUtils;
+
+class ElasticSearchTaskTrackerTest {
+  @Test
+  void testTaskFailures() throws JsonProcessingException {
+    assertNull(
+        ElasticSearchTaskTracker.getFailure(
+            JsonUtils.readTree(
+                "{\"completed\":true,\"response\":{\"updated\":10,\"version_conflicts\":2,\"failures\":[]}}")));
+    assertEquals(
+        "index closed",
+        ElasticSearchTaskTracker.getFailure(
+            JsonUtils.readTree(
+                "{\"completed\":true,\"error\":{\"type\":\"index_closed_exception\",\"reason\":\"index closed\"}}")));
+    assertEquals(
+        "2 documents failed to update, first: mapping conflict",
+        ElasticSearchTaskTracker.getFailure(
+            JsonUtils.readTree(
+                "{\"completed\":true,\"response\":{\"failures\":["
+                    + "{\"cause\":{\"reason\":\"mapping conflict\"}},"
+                    + "{\"cause\":{\"reason\":\"mapping conflict\"}}]}}")));
+  }
+}
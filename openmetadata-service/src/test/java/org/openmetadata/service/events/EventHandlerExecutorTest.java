@@ -0,0 +1,132 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.api.configuration.events.HandlerExecutorConfiguration;
+import org.openmetadata.schema.api.configuration.events.HandlerExecutorConfiguration.OverflowPolicy;
+
+class EventHandlerExecutorTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @Test
+  void testCallerRunsWhenQueueIsFull() throws InterruptedException {
+    HandlerExecutorConfiguration config =
+        new HandlerExecutorConfiguration()
+            .withThreads(1)
+            .withQueueSize(1)
+            .withOverflowPolicy(OverflowPolicy.CALLER_RUNS);
+    EventHandlerExecutor executor = new EventHandlerExecutor("test", config, registry);
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(2);
+    try {
+      // The thread is busy and the queue is full
+      executor.execute(() -> awaitQuietly(blocked));
+      executor.execute(done::countDown);
+      assertEquals(1.0, registry.get("event.handler.queue").tag("handler", "test").gauge().value());
+
+      AtomicReference<Thread> thread = new AtomicReference<>();
+      executor.execute(
+          () -> {
+            thread.set(Thread.currentThread());
+            done.countDown();
+          });
+      assertSame(Thread.currentThread(), thread.get());
+      assertEquals(1.0, registry.get("event.handler.rejected").tag("handler", "test").counter().count());
+      assertEquals(1, registry.get("event.handler.latency").tag("handler", "test").timer().count());
+    } finally {
+      blocked.countDown();
+    }
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    executor.shutdown();
+  }
+
+  @Test
+  void testDropWhenQueueIsFull() throws InterruptedException {
+    HandlerExecutorConfiguration config =
+        new HandlerExecutorConfiguration().withThreads(1).withQueueSize(1).withOverflowPolicy(OverflowPolicy.DROP);
+    EventHandlerExecutor executor = new EventHandlerExecutor("drop", config, registry);
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch handled = new CountDownLatch(1);
+    boolean[] dropped = {true};
+    try {
+      executor.execute(() -> awaitQuietly(blocked));
+      executor.execute(handled::countDown);
+      executor.execute(() -> dropped[0] = false);
+      assertEquals(1.0, registry.get("event.handler.rejected").tag("handler", "drop").counter().count());
+    } finally {
+      blocked.countDown();
+    }
+    assertTrue(handled.await(10, TimeUnit.SECONDS));
+    executor.shutdown();
+    assertTrue(dropped[0]);
+  }
+
+  @Test
+  void testShutdownHandlesQueuedEvents() throws InterruptedException {
+    HandlerExecutorConfiguration config =
+        new HandlerExecutorConfiguration().withThreads(1).withQueueSize(10).withOverflowPolicy(OverflowPolicy.DROP);
+    EventHandlerExecutor executor = new EventHandlerExecutor("drain", config, registry);
+    CountDownLatch blocked = new CountDownLatch(1);
+    AtomicInteger handled = new AtomicInteger();
+    AtomicBoolean daemon = new AtomicBoolean();
+    executor.execute(
+        () -> {
+          daemon.set(Thread.currentThread().isDaemon());
+          awaitQuietly(blocked);
+        });
+    for (int i = 0; i < 5; i++) {
+      executor.execute(handled::incrementAndGet);
+    }
+    executor.shutdown();
+    blocked.countDown();
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(5, handled.get());
+    assertTrue(daemon.get());
+  }
+
+  @Test
+  void testShutdownTimeoutDropsQueuedEvents() throws InterruptedException {
+    HandlerExecutorConfiguration config =
+        new HandlerExecutorConfiguration().withThreads(1).withQueueSize(10).withOverflowPolicy(OverflowPolicy.DROP);
+    EventHandlerExecutor executor = new EventHandlerExecutor("timeout", config, registry);
+    CountDownLatch blocked = new CountDownLatch(1);
+    AtomicInteger handled = new AtomicInteger();
+    executor.execute(() -> awaitQuietly(blocked));
+    executor.execute(handled::incrementAndGet);
+    executor.shutdown();
+    // The running event is interrupted and the queued one is dropped
+    assertFalse(executor.awaitTermination(100, TimeUnit.MILLISECONDS));
+    assertEquals(0, handled.get());
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.dropwizard.db.DataSourceFactory;
+import java.util.List;
+import java.util.Map;
+import org.jdbi.v3.core.Handle;
+import org.jdbi.v3.core.Jdbi;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.OpenMetadataApplicationTest;
+
+/** Checks that the common list filters are answered from an index rather than by scanning the entity table */
+class ListFilterIndexTest extends OpenMetadataApplicationTest {
+  private Handle handle;
+  private boolean postgres;
+
+  @BeforeAll
+  void openHandle() {
+    DataSourceFactory dataSource = APP.getConfiguration().getDataSourceFactory();
+    postgres = dataSource.getDriverClass().contains("postgresql");
+    handle = Jdbi.create(dataSource.getUrl(), dataSource.getUser(), dataSource.getPassword()).open();
+    if (postgres) {
+      // The test tables are small, don't let the planner prefer a sequential scan over the indexes
+      handle.execute("SET enable_seqscan = off");
+    }
+  }
+
+  @AfterAll
+  void closeHandle() {
+    if (handle != null) {
+      handle.close();
+    }
+  }
+
+  @Test
+  void test_fqnPrefixFilterUsesIndex() {
+    assertUsesIndex(
+        "table_entity",
+        new ListFilter().addQueryParam("service", "mysql_sample"),
+        "table_entity_fqn_pattern_index",
+        "fullyQualifiedName");
+  }
+
+  @Test
+  void test_testCaseEntityFilterUsesIndex() {
+    assertUsesIndex(
+        "test_case",
+        new ListFilter().addQueryParam("entityFQN", "mysql_sample.default.shopify.dim_address"),
+        "test_case_entity_fqn_index",
+        "test_case_entity_fqn_index");
+  }
+
+  @Test
+  void test_booleanFiltersUseIndex() {
+    assertUsesIndex("user_entity", new ListFilter().addQueryParam("isBot", "true"), "user_entity_is_bot_index");
+    assertUsesIndex("user_entity", new ListFilter().addQueryParam("isAdmin", "true"), "user_entity_is_admin_index");
+    assertUsesIndex(
+        "team_entity", new ListFilter().addQueryParam("isJoinable", "true"), "team_entity_is_joinable_index");
+  }
+
+  @Test
+  void test_categoryFilterUsesIndex() {
+    assertUsesIndex("type_entity", new ListFilter().addQueryParam("category", "field"), "type_entity_category_index");
+  }
+
+  private void assertUsesIndex(String table, ListFilter filter, String index) {
+    assertUsesIndex(table, filter, index, index);
+  }
+
+  /** The unnamed unique keys of MySQL are named after their column, and have another name than on Postgres */
+  private void assertUsesIndex(String table, ListFilter filter, String postgresIndex, String mysqlIndex) {
+    String sql = String.format("EXPLAIN SELECT count(*) FROM %s %s", table, filter.getCondition());
+    List<Map<String, Object>> plan = handle.createQuery(sql).bindMap(filter.getBindings()).mapToMap().list();
+    if (postgres) {
+      String planText = plan.toString();
+      assertTrue(planText.contains(postgresIndex), planText);
+    } else {
+      // MySQL reports the indexes that can answer the condition, the optimizer may still scan a tiny table
+      Object possibleKeys = plan.get(0).get("possible_keys");
+      assertNotNull(possibleKeys, plan.toString());
+      assertTrue(List.of(possibleKeys.toString().split(",")).contains(mysqlIndex), plan.toString());
+    }
+  }
+}
@@ -2,17 +2,51 @@ package org.openmetadata.service.jdbi3;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Map;
 import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.Include;
 
 class ListFilterTest {
   @Test
-  void test_escapeApostrophe() {
-    assertEquals("abcd", ListFilter.escape("abcd"));
-    assertEquals("a''bcd", ListFilter.escape("a'bcd"));
-    assertEquals("a''b''cd", ListFilter.escape("a'b'cd"));
-    assertEquals("a''b''c''d", ListFilter.escape("a'b'c'd"));
-    assertEquals("a''b''c\\_d", ListFilter.escape("a'b'c_d"));
-    assertEquals("a''b\\_c\\_d", ListFilter.escape("a'b_c_d"));
-    assertEquals("a\\_b\\_c\\_d", ListFilter.escape("a_b_c_d"));
+  void test_escapeLike() {
+    assertEquals("abcd", ListFilter.escapeLike("abcd"));
+    assertEquals("a'bcd", ListFilter.escapeLike("a'bcd"));
+    assertEquals("a\\_b\\_c\\_d", ListFilter.escapeLike("a_b_c_d"));
+    assertEquals("a\\%b", ListFilter.escapeLike("a%b"));
+    assertEquals("a\\\\b", ListFilter.escapeLike("a\\b"));
+  }
+
+  @Test
+  void test_conditionIsIndependentOfValues() {
+    ListFilter filter = new ListFilter().addQueryParam("service", "svc'1_a").addQueryParam("isBot", "false");
+    assertEquals(
+        "WHERE deleted = FALSE AND fullyQualifiedName LIKE :servicePrefix AND (isBot IS NULL OR isBot = FALSE)",
+        filter.getCondition());
+    assertEquals(Map.of("servicePrefix", "svc'1\\_a.%"), filter.getBindings());
+
+    ListFilter other = new ListFilter().addQueryParam("service", "other").addQueryParam("isBot", "false");
+    assertEquals(filter.getCondition(), other.getCondition());
+  }
+
+  @Test
+  void test_testCaseCondition() {
+    ListFilter filter =
+        new ListFilter(Include.ALL).addQueryParam("entityFQN", "db.'t'").addQueryParam("includeAllTests", "true");
+    assertEquals("WHERE (entityFQN LIKE :entityFQNPrefix OR entityFQN = :entityFQN)", filter.getCondition());
+    assertEquals(Map.of("entityFQN", "db.'t'", "entityFQNPrefix", "db.'t'.%"), filter.getBindings());
+
+    filter = new ListFilter(Include.DELETED).addQueryParam("entityFQN", "db.t").addQueryParam("testSuiteId", "id'");
+    assertEquals(
+        "WHERE tc.deleted = TRUE AND tc.entityFQN = :entityFQN AND tc.id IN (SELECT toId FROM entity_relationship "
+            + "WHERE fromId = :testSuiteId AND toEntity = 'testCase' AND relation = 0 AND fromEntity = 'testSuite')",
+        filter.getCondition("tc"));
+    assertEquals(Map.of("entityFQN", "db.t", "testSuiteId", "id'"), filter.getBindings());
+  }
+
+  @Test
+  void test_noCondition() {
+    ListFilter filter = new ListFilter(Include.ALL);
+    assertEquals("WHERE TRUE", filter.getCondition());
+    assertTrue(filter.getBindings().isEmpty());
   }
 }
@@ -0,0 +1,74 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.teams.Team;
+import org.openmetadata.schema.entity.teams.TeamHierarchy;
+
+class OrganizationTreeTest {
+  private static final UUID ORGANIZATION = UUID.randomUUID();
+
+  // Organization -> [bu1 -> [div11 -> [dep111], dep12], bu2]; only dep111 and bu2 are joinable
+  private final Team bu1 = team("bu1", false);
+  private final Team bu2 = team("bu2", true);
+  private final Team div11 = team("div11", false);
+  private final Team dep111 = team("dep111", true);
+  private final Team dep12 = team("dep12", false);
+  private final OrganizationTree tree =
+      new OrganizationTree(
+          ORGANIZATION,
+          List.of(bu1, bu2, dep111, dep12, div11),
+          Map.of(div11.getId(), bu1.getId(), dep111.getId(), div11.getId(), dep12.getId(), bu1.getId()));
+
+  @Test
+  void test_hierarchy() {
+    List<TeamHierarchy> hierarchy = tree.getHierarchy(null, null, false, 100);
+    assertEquals(List.of("bu1", "bu2"), names(hierarchy));
+    assertEquals(List.of("dep12", "div11"), names(hierarchy.get(0).getChildren()));
+    assertEquals(List.of("dep111"), names(hierarchy.get(0).getChildren().get(1).getChildren()));
+    assertNull(hierarchy.get(1).getChildren());
+  }
+
+  @Test
+  void test_joinableHierarchy() {
+    // Teams that are not joinable are listed only when they lead to joinable teams
+    List<TeamHierarchy> hierarchy = tree.getHierarchy(null, null, true, 100);
+    assertEquals(List.of("bu1", "bu2"), names(hierarchy));
+    assertEquals(List.of("div11"), names(hierarchy.get(0).getChildren()));
+    assertEquals(List.of("dep111"), names(hierarchy.get(0).getChildren().get(0).getChildren()));
+  }
+
+  @Test
+  void test_subtreeDepthAndLimit() {
+    List<TeamHierarchy> hierarchy = tree.getHierarchy(bu1.getId(), 1, false, 100);
+    assertEquals(List.of("dep12", "div11"), names(hierarchy));
+    assertNull(hierarchy.get(1).getChildren());
+
+    assertTrue(tree.getHierarchy(dep12.getId(), null, false, 100).isEmpty());
+    assertEquals(List.of("bu1"), names(tree.getHierarchy(null, null, false, 1)));
+    assertTrue(tree.contains(ORGANIZATION));
+    assertTrue(tree.contains(dep111.getId()));
+  }
+
+  @Test
+  void test_missingParent() {
+    Map<UUID, UUID> parents = Map.of(bu1.getId(), UUID.randomUUID());
+    assertThrows(IllegalArgumentException.class, () -> new OrganizationTree(ORGANIZATION, List.of(bu1), parents));
+  }
+
+  private static Team team(String name, boolean isJoinable) {
+    return new Team().withId(UUID.randomUUID()).withName(name).withFullyQualifiedName(name).withIsJoinable(isJoinable);
+  }
+
+  private static List<String> names(List<TeamHierarchy> hierarchy) {
+    return hierarchy.stream().map(TeamHierarchy::getName).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.jdbi3.routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.dropwizard.db.ManagedDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import org.jdbi.v3.sqlobject.Handler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+
+class RoutingDataSourceTest {
+  private static final String POSTGRES = "PostgreSQL";
+  private static final String MYSQL = "MySQL";
+  private final ManagedDataSource primary = mock(ManagedDataSource.class);
+  private final ManagedDataSource replica = mock(ManagedDataSource.class);
+  private final Connection primaryConnection = mock(Connection.class);
+  private final Connection replicaConnection = mock(Connection.class);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ReplicaConfiguration config = new ReplicaConfiguration();
+  private RoutingDataSource dataSource;
+  private Handler query;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    when(primary.getConnection()).thenReturn(primaryConnection);
+    when(replica.getConnection()).thenReturn(replicaConnection);
+    when(primaryConnection.getAutoCommit()).thenReturn(true);
+    dataSource = new RoutingDataSource(primary, replica, config, registry);
+    Method findTo = EntityRelationshipDAO.class.getMethod("findTo", String.class, String.class, List.class);
+    query =
+        new ReadRouting.Decorator()
+            .decorateHandler(
+                (target, args, handle) -> ((Connection) target).prepareStatement("SELECT"),
+                EntityRelationshipDAO.class,
+                findTo);
+    ReadRouting.reset();
+  }
+
+  @AfterEach
+  void tearDown() {
+    ReadRouting.reset();
+  }
+
+  @Test
+  void testReadsGoToReplicaUntilWrite() throws Throwable {
+    setReplicaLag(POSTGRES, 0L);
+    Connection connection = dataSource.getConnection();
+    query.invoke(connection, null, null);
+    verify(replicaConnection).prepareStatement("SELECT");
+
+    // Reads after a write go to the primary, until the next request
+    connection.prepareStatement("UPDATE");
+    query.invoke(connection, null, null);
+    verify(primaryConnection).prepareStatement("UPDATE");
+    verify(primaryConnection).prepareStatement("SELECT");
+    ReadRouting.reset();
+    query.invoke(connection, null, null);
+    verify(replicaConnection, times(2)).prepareStatement("SELECT");
+
+    connection.close();
+    verify(primaryConnection).close();
+    verify(replicaConnection).close();
+    assertEquals(2, registry.get(RoutingDataSource.ROUTED_COUNTER).tag("pool", "replica").counter().count());
+    assertEquals(2, registry.get(RoutingDataSource.ROUTED_COUNTER).tag("pool", "primary").counter().count());
+  }
+
+  @Test
+  void testReadsInTransactionGoToPrimary() throws Throwable {
+    setReplicaLag(POSTGRES, 0L);
+    Connection connection = dataSource.getConnection();
+    connection.setAutoCommit(false);
+    when(primaryConnection.getAutoCommit()).thenReturn(false);
+    query.invoke(connection, null, null);
+    verify(primaryConnection).prepareStatement("SELECT");
+    verify(replicaConnection, never()).prepareStatement(anyString());
+  }
+
+  @Test
+  void testWriteRequestsReadFromPrimary() throws Throwable {
+    setReplicaLag(POSTGRES, 0L);
+    ContainerRequestContext request = mock(ContainerRequestContext.class);
+    when(request.getMethod()).thenReturn(HttpMethod.PUT);
+    new ReadRouting.RequestFilter().filter(request);
+    query.invoke(dataSource.getConnection(), null, null);
+    verify(primaryConnection).prepareStatement("SELECT");
+    verify(replicaConnection, never()).prepareStatement(anyString());
+
+    when(request.getMethod()).thenReturn(HttpMethod.GET);
+    new ReadRouting.RequestFilter().filter(request);
+    query.invoke(dataSource.getConnection(), null, null);
+    verify(replicaConnection).prepareStatement("SELECT");
+  }
+
+  @Test
+  void testReadsGoToPrimaryWhenReplicaLags() throws Throwable {
+    config.setMaxLagMs(10);
+    setReplicaLag(POSTGRES, 20L);
+    assertEquals(20, dataSource.getLagMs());
+    query.invoke(dataSource.getConnection(), null, null);
+    verify(primaryConnection).prepareStatement("SELECT");
+
+    // MySQL reports the lag in seconds
+    setReplicaLag(MYSQL, 2L);
+    assertEquals(2000, dataSource.getLagMs());
+
+    // The lag is unknown when the replication is stopped or the database is not a replica
+    setReplicaLag(MYSQL, null);
+    assertEquals(Long.MAX_VALUE, dataSource.getLagMs());
+    setReplicaLag(POSTGRES, null);
+    assertEquals(Long.MAX_VALUE, dataSource.getLagMs());
+
+    when(replica.getConnection()).thenThrow(new SQLException("unreachable"));
+    dataSource.checkLag();
+    assertEquals(Long.MAX_VALUE, dataSource.getLagMs());
+  }
+
+  private void setReplicaLag(String database, Long lag) throws SQLException {
+    // The lag is measured on a connection of its own
+    Connection connection = mock(Connection.class);
+    DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+    Statement statement = mock(Statement.class);
+    ResultSet resultSet = mock(ResultSet.class);
+    when(connection.getMetaData()).thenReturn(metaData);
+    when(metaData.getDatabaseProductName()).thenReturn(database);
+    when(connection.createStatement()).thenReturn(statement);
+    when(statement.executeQuery(anyString())).thenReturn(resultSet);
+    when(resultSet.next()).thenReturn(true);
+    when(resultSet.getLong(1)).thenReturn(lag == null ? 0 : lag);
+    when(resultSet.getLong("Seconds_Behind_Source")).thenReturn(lag == null ? 0 : lag);
+    when(resultSet.wasNull()).thenReturn(lag == null);
+    when(replica.getConnection()).thenReturn(connection, replicaConnection);
+    dataSource.checkLag();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.openmetadata.service.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.jdbi.v3.sqlobject.Handler;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+
+class QueryMetricsTest {
+  @Test
+  void testSqlMethodIsTimedWithRowCount() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    Method findTo = EntityRelationshipDAO.class.getMethod("findTo", String.class, String.class, List.class);
+    Handler handler =
+        new QueryMetrics(registry)
+            .decorateHandler((target, args, handle) -> List.of("a", "b", "c"), EntityRelationshipDAO.class, findTo);
+    handler.invoke(null, null, null);
+    handler.invoke(null, null, null);
+
+    String name = "CollectionDAO.EntityRelationshipDAO.findTo";
+    Timer timer = registry.get(QueryMetrics.QUERY_TIMER).tag(QueryMetrics.METHOD_TAG, name).timer();
+    assertEquals(2, timer.count());
+    DistributionSummary rows = registry.get(QueryMetrics.QUERY_ROWS).tag(QueryMetrics.METHOD_TAG, name).summary();
+    assertEquals(6, rows.totalAmount());
+  }
+
+  @Test
+  void testDefaultMethodIsNotDecorated() throws Exception {
+    Method findTo = EntityRelationshipDAO.class.getMethod("findTo", String.class, String.class, int.class);
+    Handler base = (target, args, handle) -> null;
+    QueryMetrics queryMetrics = new QueryMetrics(new SimpleMeterRegistry());
+    assertSame(base, queryMetrics.decorateHandler(base, EntityRelationshipDAO.class, findTo));
+  }
+
+  @Test
+  void testRowCount() {
+    assertEquals(0, QueryMetrics.rowCount(null, true));
+    assertEquals(2, QueryMetrics.rowCount(List.of(1, 2), true));
+    assertEquals(1, QueryMetrics.rowCount(Optional.of("json"), true));
+    assertEquals(1, QueryMetrics.rowCount(42, true));
+    assertEquals(42, QueryMetrics.rowCount(42, false));
+    assertEquals(3, QueryMetrics.rowCount(new int[] {1, 1, 1}, false));
+    assertNull(QueryMetrics.rowCount(Stream.empty(), true));
+  }
+}
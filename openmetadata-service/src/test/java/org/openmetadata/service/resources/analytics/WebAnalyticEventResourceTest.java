@@ -12,6 +12,7 @@ import static org.openmetadata.service.util.TestUtils.assertResponseContains;
 
 import java.io.IOException;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -109,6 +110,29 @@ public class WebAnalyticEventResourceTest extends EntityResourceTest<WebAnalytic
     assertEquals(emptyWebAnalyticEventDataResultList.getData().size(), 0);
   }
 
+  @Test
+  void put_web_analytic_event_data_bulk_200() throws IOException, ParseException {
+    Long timestamp = TestUtils.dateToTimestamp("2022-09-15");
+    List<WebAnalyticEventData> webAnalyticEventData = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      webAnalyticEventData.add(
+          new WebAnalyticEventData()
+              .withTimestamp(timestamp)
+              .withEventType(WebAnalyticEventType.PAGE_VIEW)
+              .withEventData(
+                  new PageViewData()
+                      .withHostname("http://localhost")
+                      .withUserId(UUID.randomUUID())
+                      .withSessionId(UUID.randomUUID())));
+    }
+    WebTarget target = getCollection().path("/collect/bulk");
+    TestUtils.put(target, webAnalyticEventData, OK, ADMIN_AUTH_HEADERS);
+
+    ResultList<WebAnalyticEventData> webAnalyticEventDataResultList =
+        getWebAnalyticEventData(WebAnalyticEventType.PAGE_VIEW.value(), timestamp, timestamp, ADMIN_AUTH_HEADERS);
+    verifyWebAnalyticEventData(webAnalyticEventDataResultList, webAnalyticEventData, 3);
+  }
+
   @Test
   void put_and_delete_web_analytic_event_data_403() throws IOException, ParseException {
     WebAnalyticEventData webAnalyticEventData =
@@ -18,7 +18,9 @@ import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.CREATED;
 import static javax.ws.rs.core.Response.Status.FORBIDDEN;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static javax.ws.rs.core.Response.Status.OK;
+import static javax.ws.rs.core.Response.Status.PRECONDITION_FAILED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -76,6 +78,10 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.client.HttpResponseException;
@@ -132,6 +138,7 @@ import org.openmetadata.service.resources.services.DatabaseServiceResourceTest;
 import org.openmetadata.service.resources.tags.ClassificationResourceTest;
 import org.openmetadata.service.resources.tags.TagResourceTest;
 import org.openmetadata.service.resources.teams.UserResourceTest;
+import org.openmetadata.service.security.SecurityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
@@ -940,6 +947,35 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     assertEquals(tableData, table.getSampleData());
   }
 
+  @Test
+  void get_tableSampleDataPage_200(TestInfo test) throws IOException {
+    Table table = createAndCheckEntity(createRequest(test), ADMIN_AUTH_HEADERS);
+    List<String> columns = Arrays.asList(C1, C2, C3);
+    List<List<Object>> rows = new ArrayList<>();
+    for (int i = 0; i < 120; i++) {
+      rows.add(Arrays.asList("c1Value" + i, i, i % 2 == 0));
+    }
+    putSampleData(table, columns, rows, ADMIN_AUTH_HEADERS);
+
+    // A page of rows spanning two chunks, with some of the columns in the requested order
+    WebTarget target =
+        getResource(table.getId())
+            .path("/sampleData")
+            .queryParam("columns", C3 + "," + C1)
+            .queryParam("offset", 45)
+            .queryParam("limit", 10);
+    TableData page = TestUtils.get(target, Table.class, ADMIN_AUTH_HEADERS).getSampleData();
+    assertEquals(Arrays.asList(C3, C1), page.getColumns());
+    assertEquals(10, page.getRows().size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(Arrays.asList(rows.get(45 + i).get(2), rows.get(45 + i).get(0)), page.getRows().get(i));
+    }
+
+    // Deleting the sample data deletes all its chunks
+    TestUtils.delete(getResource(table.getId()).path("/sampleData"), Table.class, ADMIN_AUTH_HEADERS);
+    assertNull(getSampleData(table.getId(), ADMIN_AUTH_HEADERS).getSampleData());
+  }
+
   @Test
   void put_tableInvalidSampleData_4xx(TestInfo test) throws IOException {
     Table table = createAndCheckEntity(createRequest(test), ADMIN_AUTH_HEADERS);
@@ -1708,6 +1744,46 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     assertEquals(location.getId(), table.getLocation().getId(), "The locations are different");
   }
 
+  @Test
+  void get_tableWithETag_304(TestInfo test) throws IOException {
+    Table table = createEntity(createRequest(test), ADMIN_AUTH_HEADERS);
+
+    // Tables requested with fields are tagged from the response, the tag starting with the version
+    for (String fields : List.of("owner,tags", "columns,followers")) {
+      WebTarget target = getResource(table.getId()).queryParam("fields", fields);
+      Response response = SecurityUtil.addHeaders(target, ADMIN_AUTH_HEADERS).get();
+      assertEquals(OK.getStatusCode(), response.getStatus());
+      EntityTag tag = response.getEntityTag();
+      assertNotNull(tag);
+      assertTrue(tag.getValue().startsWith(table.getVersion() + "-"));
+
+      response = SecurityUtil.addHeaders(target, ADMIN_AUTH_HEADERS).header(HttpHeaders.IF_NONE_MATCH, tag).get();
+      assertEquals(NOT_MODIFIED.getStatusCode(), response.getStatus());
+      assertEquals(tag, response.getEntityTag());
+    }
+
+    // Updating the table changes its tag
+    WebTarget target = getResource(table.getId());
+    EntityTag tag = SecurityUtil.addHeaders(target, ADMIN_AUTH_HEADERS).get().getEntityTag();
+    String originalJson = JsonUtils.pojoToJson(table);
+    table.setDescription("updated description");
+    String patch = JsonUtils.getJsonPatch(originalJson, JsonUtils.pojoToJson(table)).toJsonArray().toString();
+    Response response =
+        SecurityUtil.addHeaders(target, ADMIN_AUTH_HEADERS)
+            .header(HttpHeaders.IF_MATCH, tag)
+            .method("PATCH", javax.ws.rs.client.Entity.entity(patch, MediaType.APPLICATION_JSON_PATCH_JSON_TYPE));
+    assertEquals(OK.getStatusCode(), response.getStatus());
+    response = SecurityUtil.addHeaders(target, ADMIN_AUTH_HEADERS).header(HttpHeaders.IF_NONE_MATCH, tag).get();
+    assertEquals(OK.getStatusCode(), response.getStatus());
+
+    // Updating the table with a stale tag fails
+    response =
+        SecurityUtil.addHeaders(target, ADMIN_AUTH_HEADERS)
+            .header(HttpHeaders.IF_MATCH, tag)
+            .method("PATCH", javax.ws.rs.client.Entity.entity(patch, MediaType.APPLICATION_JSON_PATCH_JSON_TYPE));
+    assertEquals(PRECONDITION_FAILED.getStatusCode(), response.getStatus());
+  }
+
   @Test
   void test_mutuallyExclusiveTags(TestInfo testInfo) {
     // Apply mutually exclusive tags to a table
@@ -0,0 +1,83 @@
+package org.openmetadata.service.resources.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.junit.jupiter.api.Test;
+
+class ReindexPartitionListenerTest {
+  private static final BulkProcessor.Listener JOB_LISTENER =
+      new BulkProcessor.Listener() {
+        @Override
+        public void beforeBulk(long executionId, BulkRequest request) {}
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {}
+
+        @Override
+        public void afterBulk(long executionId, BulkRequest request, Throwable failure) {}
+      };
+
+  @Test
+  void test_checkpointFollowsIndexedPages() {
+    List<String> saved = new ArrayList<>();
+    ReindexPartitionListener listener = new ReindexPartitionListener(JOB_LISTENER, saved::add, 0);
+
+    // Two pages of 2 requests sent in bulks of 3 requests
+    BulkRequest bulk1 = bulk(3);
+    BulkRequest bulk2 = bulk(1);
+    listener.pageAdded(2, "page1");
+    listener.beforeBulk(1, bulk1);
+    listener.pageAdded(2, "page2");
+    listener.beforeBulk(2, bulk2);
+    assertNull(listener.getCheckpoint());
+
+    // The second bulk completes first, the first page is still in flight
+    listener.afterBulk(2, bulk2, response());
+    assertNull(listener.getCheckpoint());
+
+    listener.afterBulk(1, bulk1, new RuntimeException("bulk failed"));
+    assertEquals("page2", listener.getCheckpoint());
+    assertEquals(List.of("page2"), saved);
+  }
+
+  @Test
+  void test_checkpointWithinBulk() {
+    List<String> saved = new ArrayList<>();
+    ReindexPartitionListener listener = new ReindexPartitionListener(JOB_LISTENER, saved::add, Long.MAX_VALUE);
+
+    // Two pages fit in one bulk and the last page has no cursor after it
+    BulkRequest bulk = bulk(3);
+    listener.pageAdded(1, "page1");
+    listener.pageAdded(2, null);
+    listener.beforeBulk(1, bulk);
+    listener.afterBulk(1, bulk, response());
+    assertEquals("page1", listener.getCheckpoint());
+
+    // Saving is throttled, and saving the same checkpoint twice is skipped
+    assertEquals(List.of(), saved);
+    listener.saveCheckpoint();
+    listener.saveCheckpoint();
+    assertEquals(List.of("page1"), saved);
+  }
+
+  private static BulkRequest bulk(int requests) {
+    BulkRequest bulk = new BulkRequest();
+    for (int i = 0; i < requests; i++) {
+      bulk.add(new IndexRequest("index").id(String.valueOf(i)).source(Map.of("name", i)));
+    }
+    return bulk;
+  }
+
+  private static BulkResponse response() {
+    return new BulkResponse(new BulkItemResponse[0], 1);
+  }
+}
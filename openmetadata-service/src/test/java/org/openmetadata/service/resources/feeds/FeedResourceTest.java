@@ -29,6 +29,7 @@ import static org.openmetadata.service.Entity.ADMIN_USER_NAME;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.ANNOUNCEMENT_INVALID_START_TIME;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.ANNOUNCEMENT_OVERLAP;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.entityNotFound;
+import static org.openmetadata.service.exception.CatalogExceptionMessage.notAdmin;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.permissionNotAllowed;
 import static org.openmetadata.service.resources.EntityResourceTest.C1;
 import static org.openmetadata.service.resources.EntityResourceTest.USER_ADDRESS_TAG_LABEL;
@@ -48,6 +49,7 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -101,6 +103,7 @@ import org.openmetadata.schema.type.TaskType;
 import org.openmetadata.schema.type.ThreadType;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationTest;
+import org.openmetadata.service.jdbi3.FeedRepository;
 import org.openmetadata.service.jdbi3.FeedRepository.FilterType;
 import org.openmetadata.service.resources.databases.TableResourceTest;
 import org.openmetadata.service.resources.feeds.FeedResource.PostList;
@@ -850,6 +853,45 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     assertEquals(POST_COUNT, postList.getData().size());
   }
 
+  @Test
+  void get_listPostsWithPagination_200() throws HttpResponseException {
+    Thread thread = createAndCheck(create(), AUTH_HEADERS);
+    // Add more posts than the latest posts kept in the thread
+    int POST_COUNT = FeedRepository.RECENT_POSTS + 2;
+    for (int i = 0; i < POST_COUNT; i++) {
+      Thread returned = addPost(thread.getId(), createPost("message" + i), AUTH_HEADERS);
+      assertEquals(i + 1, returned.getPostsCount());
+      assertEquals("message" + i, returned.getPosts().get(returned.getPosts().size() - 1).getMessage());
+    }
+
+    // Getting the thread returns all its posts
+    Thread getThread = getThread(thread.getId(), AUTH_HEADERS);
+    assertEquals(POST_COUNT, getThread.getPostsCount());
+    assertEquals(POST_COUNT, getThread.getPosts().size());
+
+    // Page through the posts in chronological order
+    String threadId = thread.getId().toString();
+    List<String> messages = new ArrayList<>();
+    String after = null;
+    PostList page;
+    do {
+      page = listPosts(threadId, 5, null, after, AUTH_HEADERS);
+      assertEquals(POST_COUNT, page.getPaging().getTotal());
+      page.getData().forEach(post -> messages.add(post.getMessage()));
+      after = page.getPaging().getAfter();
+    } while (after != null);
+    for (int i = 0; i < POST_COUNT; i++) {
+      assertEquals("message" + i, messages.get(i));
+    }
+    assertEquals(POST_COUNT, messages.size());
+
+    // Page back from the last page
+    page = listPosts(threadId, 5, page.getPaging().getBefore(), null, AUTH_HEADERS);
+    assertEquals(5, page.getData().size());
+    assertEquals("message5", page.getData().get(0).getMessage());
+    assertEquals("message9", page.getData().get(4).getMessage());
+  }
+
   @Test
   void patch_thread_200() throws IOException {
     // create a thread
@@ -1234,6 +1276,21 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     assertResponse(() -> getThread(thread.getId(), AUTH_HEADERS), NOT_FOUND, entityNotFound("Thread", thread.getId()));
   }
 
+  @Test
+  void delete_thread_updatesThreadCount_200() throws HttpResponseException {
+    Thread thread = createAndCheck(create(), AUTH_HEADERS);
+    int count = getThreadCount(thread.getAbout(), AUTH_HEADERS);
+
+    // Deleting the thread decrements the count of its entity
+    deleteThread(thread.getId(), AUTH_HEADERS);
+    assertEquals(count - 1, getThreadCount(thread.getAbout(), AUTH_HEADERS));
+
+    // Recomputing the counts from the threads leaves them unchanged
+    assertResponse(() -> repairThreadCounts(AUTH_HEADERS), FORBIDDEN, notAdmin(USER.getName()));
+    repairThreadCounts(ADMIN_AUTH_HEADERS);
+    assertEquals(count - 1, getThreadCount(thread.getAbout(), AUTH_HEADERS));
+  }
+
   @Test
   void delete_post_unauthorized_403() throws HttpResponseException {
     // Create a thread and add a post as admin user
@@ -1357,6 +1414,10 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
     return TestUtils.delete(getResource("feed/" + threadId), Thread.class, authHeaders);
   }
 
+  public void repairThreadCounts(Map<String, String> authHeaders) throws HttpResponseException {
+    TestUtils.put(getResource("feed/count/repair"), "", Status.OK, authHeaders);
+  }
+
   public Post deletePost(UUID threadId, UUID postId, Map<String, String> authHeaders) throws HttpResponseException {
     return TestUtils.delete(getResource("feed/" + threadId + "/posts/" + postId), Post.class, authHeaders);
   }
@@ -1489,7 +1550,16 @@ public class FeedResourceTest extends OpenMetadataApplicationTest {
   }
 
   public PostList listPosts(String threadId, Map<String, String> authHeaders) throws HttpResponseException {
+    return listPosts(threadId, null, null, null, authHeaders);
+  }
+
+  public PostList listPosts(
+      String threadId, Integer limit, String before, String after, Map<String, String> authHeaders)
+      throws HttpResponseException {
     WebTarget target = getResource(String.format("feed/%s/posts", threadId));
+    target = limit != null ? target.queryParam("limit", limit) : target;
+    target = before != null ? target.queryParam("before", before) : target;
+    target = after != null ? target.queryParam("after", after) : target;
     return TestUtils.get(target, PostList.class, authHeaders);
   }
 
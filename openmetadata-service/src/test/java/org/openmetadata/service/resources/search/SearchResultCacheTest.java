@@ -0,0 +1,86 @@
+package org.openmetadata.service.resources.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SearchResultCacheTest {
+  private static final String TABLE_INDEX = "table_search_index";
+  private static final String TOPIC_INDEX = "topic_search_index";
+
+  @Test
+  void test_cacheHitsDoNotSearch() throws IOException {
+    SearchResultCache cache = new SearchResultCache(1, 60);
+    AtomicInteger searches = new AtomicInteger();
+    SearchResultCache.SearchFunction search = () -> "response" + searches.incrementAndGet();
+
+    byte[] response = cache.get(TABLE_INDEX, "q=*", search);
+    assertArrayEquals("response1".getBytes(StandardCharsets.UTF_8), response);
+    assertArrayEquals(response, cache.get(TABLE_INDEX, "q=*", search));
+    assertEquals(1, searches.get());
+
+    // Different request or different index is a cache miss
+    cache.get(TABLE_INDEX, "q=foo", search);
+    cache.get(TOPIC_INDEX, "q=*", search);
+    assertEquals(3, searches.get());
+  }
+
+  @Test
+  void test_invalidateIndex() throws IOException {
+    SearchResultCache cache = new SearchResultCache(1, 60);
+    AtomicInteger searches = new AtomicInteger();
+    SearchResultCache.SearchFunction search = () -> "response" + searches.incrementAndGet();
+    String[] indexes = {TABLE_INDEX, TOPIC_INDEX, TABLE_INDEX + "," + TOPIC_INDEX, "all"};
+    for (String index : indexes) {
+      cache.get(index, "q=*", search);
+    }
+    assertEquals(4, searches.get());
+
+    // Queries on the written index, on multiple indexes including it and on unknown indexes or aliases are searched
+    // again, the others are still served from the cache
+    cache.invalidate(TABLE_INDEX);
+    for (String index : indexes) {
+      cache.get(index, "q=*", search);
+    }
+    assertEquals(7, searches.get());
+    cache.invalidate(TOPIC_INDEX);
+    cache.get(TABLE_INDEX, "q=*", search);
+    assertEquals(7, searches.get());
+  }
+
+  @Test
+  void test_searchRunningDuringWriteIsStale() throws IOException {
+    SearchResultCache cache = new SearchResultCache(1, 60);
+    AtomicInteger searches = new AtomicInteger();
+    // The index is written while the search runs, its result is returned but is not served to later queries
+    cache.get(
+        TABLE_INDEX,
+        "q=*",
+        () -> {
+          cache.invalidate(TABLE_INDEX);
+          return "response" + searches.incrementAndGet();
+        });
+    byte[] response = cache.get(TABLE_INDEX, "q=*", () -> "response" + searches.incrementAndGet());
+    assertArrayEquals("response2".getBytes(StandardCharsets.UTF_8), response);
+  }
+
+  @Test
+  void test_searchFailureIsNotCached() {
+    SearchResultCache cache = new SearchResultCache(1, 60);
+    assertThrows(
+        IOException.class,
+        () ->
+            cache.get(
+                TABLE_INDEX,
+                "q=*",
+                () -> {
+                  throw new IOException("search failed");
+                }));
+    assertEquals(0, cache.size());
+  }
+}
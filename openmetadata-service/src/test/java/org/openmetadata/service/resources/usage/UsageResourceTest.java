@@ -20,6 +20,7 @@ import static org.openmetadata.common.utils.CommonUtil.getDateStringByOffset;
 import static org.openmetadata.service.Entity.TABLE;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.entityNotFound;
 import static org.openmetadata.service.exception.CatalogExceptionMessage.entityTypeNotFound;
+import static org.openmetadata.service.exception.CatalogExceptionMessage.entityTypeNotSupported;
 import static org.openmetadata.service.util.TestUtils.ADMIN_AUTH_HEADERS;
 import static org.openmetadata.service.util.TestUtils.NON_EXISTENT_ENTITY;
 import static org.openmetadata.service.util.TestUtils.assertResponse;
@@ -47,8 +48,10 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.openmetadata.schema.api.data.CreateTable;
 import org.openmetadata.schema.entity.data.Database;
 import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.BulkUsage;
 import org.openmetadata.schema.type.DailyCount;
 import org.openmetadata.schema.type.EntityUsage;
+import org.openmetadata.schema.type.EntityUsageCount;
 import org.openmetadata.schema.type.UsageDetails;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.OpenMetadataApplicationTest;
@@ -292,6 +295,60 @@ class UsageResourceTest extends OpenMetadataApplicationTest {
     Assertions.assertEquals(usage.getUsage().get(0), database.getUsageSummary());
   }
 
+  @Test
+  void post_bulkUsage_200_OK(TestInfo test) throws HttpResponseException {
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    List<Table> tables = new ArrayList<>();
+    // Four tables, so that the percentile ranks are exact whatever the rounding of the database
+    for (int i = 0; i < 4; i++) {
+      tables.add(tableResourceTest.createEntity(tableResourceTest.createRequest(test, i), ADMIN_AUTH_HEADERS));
+    }
+    UUID schemaId = tables.get(0).getDatabaseSchema().getId();
+
+    // Use dates in the past that other tests don't report usage for
+    String today = RestUtil.DATE_FORMAT.format(new Date());
+    String day1 = getDateStringByOffset(RestUtil.DATE_FORMAT, today, -100);
+    String day2 = getDateStringByOffset(RestUtil.DATE_FORMAT, today, -99);
+
+    // Usage of unknown entities is skipped
+    BulkUsage bulkUsage = bulkUsage(day1, tables, 1, 2, 3, 4);
+    bulkUsage.getUsage().add(new EntityUsageCount().withId(NON_EXISTENT_ENTITY).withCount(10));
+    reportBulkUsage(bulkUsage);
+    for (int i = 0; i < tables.size(); i++) {
+      checkUsage(day1, TABLE, tables.get(i).getId(), i + 1, i + 1, i + 1, ADMIN_AUTH_HEADERS);
+      EntityUsage usage = getUsage(TABLE, tables.get(i).getId(), day1, 1, ADMIN_AUTH_HEADERS);
+      assertEquals(25.0 * i, usage.getUsage().get(0).getDailyStats().getPercentileRank());
+    }
+    checkUsage(day1, Entity.DATABASE_SCHEMA, schemaId, 10, 10, 10, ADMIN_AUTH_HEADERS);
+
+    // Usage reported again for the same date is added to the previous usage, also in the schema usage
+    reportBulkUsage(bulkUsage(day1, tables, 2, 2, 2, 2));
+    checkUsage(day1, TABLE, tables.get(0).getId(), 3, 3, 3, ADMIN_AUTH_HEADERS);
+    checkUsage(day1, Entity.DATABASE_SCHEMA, schemaId, 18, 18, 18, ADMIN_AUTH_HEADERS);
+
+    // Rolling counts include the usage of the previous days
+    reportBulkUsage(bulkUsage(day2, tables, 1, 1, 1, 1));
+    checkUsage(day2, TABLE, tables.get(0).getId(), 1, 4, 4, ADMIN_AUTH_HEADERS);
+    checkUsage(day2, Entity.DATABASE_SCHEMA, schemaId, 4, 22, 22, ADMIN_AUTH_HEADERS);
+
+    assertResponse(
+        () -> reportBulkUsage(bulkUsage(day1, tables, 1, 2, 3, 4).withEntityType("invalid")),
+        BAD_REQUEST,
+        entityTypeNotSupported("invalid"));
+  }
+
+  private static BulkUsage bulkUsage(String date, List<Table> tables, int... counts) {
+    List<EntityUsageCount> usage = new ArrayList<>();
+    for (int i = 0; i < tables.size(); i++) {
+      usage.add(new EntityUsageCount().withId(tables.get(i).getId()).withCount(counts[i]));
+    }
+    return new BulkUsage().withEntityType(TABLE).withDate(date).withUsage(usage);
+  }
+
+  public void reportBulkUsage(BulkUsage usage) throws HttpResponseException {
+    TestUtils.post(getResource("usage/bulk"), usage, ADMIN_AUTH_HEADERS);
+  }
+
   public DailyCount usageReport() {
     Random random = new Random();
     String today = RestUtil.DATE_FORMAT.format(new Date());
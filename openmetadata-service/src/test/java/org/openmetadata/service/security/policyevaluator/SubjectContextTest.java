@@ -192,6 +192,33 @@ public class SubjectContextTest {
     assertPolicyIterator(list, actualPolicyIterator);
   }
 
+  @Test
+  void testTeamHierarchyChange() {
+    // team2 has team21 as child and user2 belongs to team21
+    List<Role> team2Roles = getRoles("team2", 1);
+    List<Policy> team2Policies = getPolicies("team2", 1);
+    Team team2 = createTeam("team2", team2Roles, team2Policies, null);
+    List<Role> team21Roles = getRoles("team21", 1);
+    List<Policy> team21Policies = getPolicies("team21", 1);
+    Team team21 = createTeam("team21", team21Roles, team21Policies, List.of(team2));
+    User user2 = new User().withName("user2").withRoles(List.of()).withTeams(List.of(team21.getEntityReference()));
+    SubjectContext subjectContext = new SubjectContext(user2);
+    assertTrue(subjectContext.isUserUnderTeam("team2"));
+    assertFalse(subjectContext.isUserUnderTeam("team1"));
+    List<String> expectedPolicyOrder = new ArrayList<>(getAllTeamPolicies(team21Roles, team21Policies));
+    expectedPolicyOrder.addAll(getAllTeamPolicies(team2Roles, team2Policies));
+    assertPolicyIterator(expectedPolicyOrder, subjectContext.getPolicies());
+
+    // Move team21 under team1, the closures and the policies of the user are computed again
+    SubjectCache.TEAM_CACHE.put(team21.getId(), team21.withParents(List.of(team1.getEntityReference())));
+    SubjectCache.invalidatePolicies();
+    assertTrue(subjectContext.isUserUnderTeam("team1"));
+    assertFalse(subjectContext.isUserUnderTeam("team2"));
+    expectedPolicyOrder = new ArrayList<>(getAllTeamPolicies(team21Roles, team21Policies));
+    expectedPolicyOrder.addAll(getAllTeamPolicies(team1Roles, team1Policies));
+    assertPolicyIterator(expectedPolicyOrder, subjectContext.getPolicies());
+  }
+
   private static List<Role> getRoles(String prefix, int count) {
     // Create roles with 3 policies each and each policy with 3 rules
     List<Role> roles = new ArrayList<>(count);
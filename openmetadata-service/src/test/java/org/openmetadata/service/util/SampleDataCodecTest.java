@@ -0,0 +1,134 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.TableData;
+
+class SampleDataCodecTest {
+  private static final int COLUMNS = 70;
+  private static final int ROWS = 120;
+
+  @Test
+  void testEncodeDecode() throws IOException {
+    TableData tableData = tableData();
+    Map<Integer, byte[]> chunks = SampleDataCodec.encode(tableData);
+    // Header, then 3 row chunks of 3 column chunks
+    assertEquals(10, chunks.size());
+    int size = chunks.values().stream().mapToInt(chunk -> chunk.length).sum();
+    assertTrue(size * 3 < JsonUtils.pojoToJson(tableData).length(), "Sample data of " + size + " bytes");
+
+    SampleDataCodec.Header header = SampleDataCodec.decodeHeader(chunks.get(SampleDataCodec.HEADER_CHUNK));
+    assertEquals(ROWS, header.getRowCount());
+    assertEquals(tableData, SampleDataCodec.decode(header, chunks, header.columnIndexes(null), 0, Integer.MAX_VALUE));
+  }
+
+  @Test
+  void testDecodePage() throws IOException {
+    TableData tableData = tableData();
+    Map<Integer, byte[]> chunks = SampleDataCodec.encode(tableData);
+    SampleDataCodec.Header header = SampleDataCodec.decodeHeader(chunks.get(SampleDataCodec.HEADER_CHUNK));
+
+    // Rows 45 to 54 of two columns, in the requested order. Unknown columns are ignored
+    List<Integer> columns = header.columnIndexes(List.of("c65", "c1", "unknown"));
+    List<Integer> chunkNumbers = header.chunks(columns, 45, 10);
+    assertEquals(List.of(1, 3, 4, 6), chunkNumbers);
+    Map<Integer, byte[]> readChunks = new HashMap<>();
+    chunkNumbers.forEach(chunk -> readChunks.put(chunk, chunks.get(chunk)));
+
+    TableData page = SampleDataCodec.decode(header, readChunks, columns, 45, 10);
+    assertEquals(List.of("c65", "c1"), page.getColumns());
+    assertEquals(10, page.getRows().size());
+    for (int i = 0; i < 10; i++) {
+      List<Object> row = tableData.getRows().get(45 + i);
+      assertEquals(Arrays.asList(row.get(65), row.get(1)), page.getRows().get(i));
+    }
+
+    // Past the last row
+    assertTrue(header.chunks(columns, ROWS, 10).isEmpty());
+    assertTrue(SampleDataCodec.decode(header, Map.of(), columns, ROWS, 10).getRows().isEmpty());
+  }
+
+  @Test
+  void testDecodeOffsetWithoutLimit() throws IOException {
+    TableData tableData = tableData();
+    Map<Integer, byte[]> chunks = SampleDataCodec.encode(tableData);
+    SampleDataCodec.Header header = SampleDataCodec.decodeHeader(chunks.get(SampleDataCodec.HEADER_CHUNK));
+
+    // The rows after the offset, when the limit is not given
+    List<Integer> columns = header.columnIndexes(null);
+    assertEquals(9, header.chunks(columns, 10, Integer.MAX_VALUE).size());
+    TableData rows = SampleDataCodec.decode(header, chunks, columns, 10, Integer.MAX_VALUE);
+    assertEquals(tableData.getRows().subList(10, ROWS), rows.getRows());
+  }
+
+  @Test
+  void testEncodeShortRows() throws IOException {
+    // Rows with fewer values than the columns, as in sample data stored as JSON, get null for the missing values
+    TableData tableData =
+        new TableData()
+            .withColumns(List.of("c0", "c1", "c2"))
+            .withRows(List.of(List.of("a", "b", "c"), List.of("d"), new ArrayList<>()));
+    Map<Integer, byte[]> chunks = SampleDataCodec.encode(tableData);
+    SampleDataCodec.Header header = SampleDataCodec.decodeHeader(chunks.get(SampleDataCodec.HEADER_CHUNK));
+
+    TableData decoded = SampleDataCodec.decode(header, chunks, header.columnIndexes(null), 0, Integer.MAX_VALUE);
+    assertEquals(
+        List.of(Arrays.asList("a", "b", "c"), Arrays.asList("d", null, null), Arrays.asList(null, null, null)),
+        decoded.getRows());
+  }
+
+  private static TableData tableData() {
+    List<String> columns = new ArrayList<>();
+    for (int column = 0; column < COLUMNS; column++) {
+      columns.add("c" + column);
+    }
+    List<List<Object>> rows = new ArrayList<>();
+    for (int row = 0; row < ROWS; row++) {
+      List<Object> values = new ArrayList<>();
+      for (int column = 0; column < COLUMNS; column++) {
+        switch (column % 6) {
+          case 0:
+            values.add("value" + row);
+            break;
+          case 1:
+            values.add(row * column);
+            break;
+          case 2:
+            values.add(row + 0.5);
+            break;
+          case 3:
+            values.add(row % 2 == 0);
+            break;
+          case 4:
+            values.add(Map.of("nested", List.of(row)));
+            break;
+          default:
+            values.add(null);
+        }
+      }
+      rows.add(values);
+    }
+    return new TableData().withColumns(columns).withRows(rows);
+  }
+}
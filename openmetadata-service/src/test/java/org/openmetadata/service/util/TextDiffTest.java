@@ -0,0 +1,72 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.service.events.ChangeEventDiffConfiguration;
+import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
+
+class TextDiffTest {
+  @AfterEach
+  void tearDown() {
+    TextDiff.initialize(new ChangeEventDiffConfiguration(), null);
+  }
+
+  @Test
+  void testDiffIsCached() {
+    String diff = TextDiff.diff("BLOB", "INT");
+    assertEquals("<!remove>BLOB<!remove> <!add>INT<!add>", diff);
+    // Consumers of the same change get the same diff, in their own format
+    assertSame(diff, TextDiff.diff("BLOB", "INT"));
+    assertEquals(
+        "<span class=\"diff-removed\">BLOB</span> <span class=\"diff-added\">INT</span>",
+        ChangeEventParser.getPlaintextDiff(ChangeEventParser.PUBLISH_TO.FEED, "BLOB", "INT"));
+  }
+
+  @Test
+  void testValuesOverBudgetAreNotDiffed() {
+    ChangeEventDiffConfiguration config = new ChangeEventDiffConfiguration();
+    config.setMaxDiffLength(100);
+    TextDiff.initialize(config, null);
+
+    String oldValue = "a".repeat(60);
+    String newValue = "b".repeat(60);
+    assertFalse(TextDiff.isOverBudget("a", "b"));
+    assertTrue(TextDiff.isOverBudget(oldValue, newValue));
+    assertEquals("<!remove>" + oldValue + "<!remove> <!add>" + newValue + "<!add>", TextDiff.diff(oldValue, newValue));
+
+    // The message tells that the description is updated, without the changes
+    Table table = new Table().withId(UUID.randomUUID()).withName("orders").withFullyQualifiedName("s.d.s.orders");
+    ChangeDescription changeDescription =
+        new ChangeDescription()
+            .withFieldsUpdated(
+                List.of(new FieldChange().withName("description").withOldValue(oldValue).withNewValue(newValue)));
+    Map<EntityLink, String> messages =
+        ChangeEventParser.getFormattedMessages(ChangeEventParser.PUBLISH_TO.FEED, changeDescription, table);
+    assertEquals(1, messages.size());
+    assertEquals("Updated **description**", messages.values().iterator().next());
+  }
+}
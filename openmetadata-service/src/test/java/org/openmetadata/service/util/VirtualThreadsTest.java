@@ -0,0 +1,65 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadsTest {
+  private final ThreadFactory platformThreadFactory = Executors.defaultThreadFactory();
+
+  @AfterEach
+  void tearDown() {
+    VirtualThreads.setEnabled(false);
+  }
+
+  @Test
+  void testPlatformThreadsWhenDisabled() {
+    VirtualThreads.setEnabled(false);
+    assertSame(platformThreadFactory, VirtualThreads.threadFactory("test", platformThreadFactory));
+    assertFalse(VirtualThreads.isVirtual(Thread.currentThread()));
+    VirtualThreads.pinned("test").close();
+  }
+
+  @Test
+  void testVirtualThreadsWhenEnabled() throws InterruptedException {
+    VirtualThreads.setEnabled(true);
+    assertEquals(VirtualThreads.isSupported(), VirtualThreads.isEnabled());
+    ThreadFactory threadFactory = VirtualThreads.threadFactory("test", platformThreadFactory);
+    if (!VirtualThreads.isSupported()) {
+      assertSame(platformThreadFactory, threadFactory);
+      return;
+    }
+
+    boolean[] virtual = new boolean[1];
+    Thread thread =
+        threadFactory.newThread(
+            () -> {
+              try (VirtualThreads.Pinned ignored = VirtualThreads.pinned("test")) {
+                virtual[0] = VirtualThreads.isVirtual(Thread.currentThread());
+              }
+            });
+    assertTrue(thread.getName().startsWith("test-"));
+    thread.start();
+    thread.join();
+    assertTrue(virtual[0]);
+  }
+}